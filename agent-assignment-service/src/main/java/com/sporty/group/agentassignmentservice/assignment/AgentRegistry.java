@@ -0,0 +1,329 @@
+package com.sporty.group.agentassignmentservice.assignment;
+
+import com.sporty.group.agentassignmentservice.model.entity.Agent;
+import com.sporty.group.agentassignmentservice.repository.AgentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory view of the agents, their load and their availability, used to pick agents for new tickets without
+ * querying the agents table.
+ * <p>
+ * Every registered agent gets a dense index. The available agents, which are below their capacity, are kept as a
+ * bitset over these indexes, and an inverted index maps each skill to the bitset of available agents with that
+ * skill. Finding the available agents with a set of skills is therefore an AND of a few bitsets, one bit per agent,
+ * instead of a scan over the agents and their skill lists. In addition, the available agents are kept in sorted
+ * sets ordered by load, one over all of them and one per skill, so the least-loaded candidate is found in
+ * O(log n). A changed load moves the agent in the sorted sets of its skills.
+ * <p>
+ * The registry is loaded with a single query once the application is ready and kept up to date by
+ * {@link #claim(Set)}, {@link #claim(UUID, Set)}, {@link #refresh(UUID)} and {@link #updateAvailability(UUID, Agent.AgentAvailability)}.
+ * Skills are kept in lower case.
+ * A claim here only reserves the agent in this instance; the assignment itself is stored with conditional updates,
+ * which decide between concurrent assignments of the same agent across threads and instances.
+ */
+@Component
+@Slf4j
+public class AgentRegistry {
+
+    private final AgentRepository agentRepository;
+
+    // Guarded by this
+    private final Map<UUID, Integer> indexes = new HashMap<>();
+    private final List<UUID> agentIds = new ArrayList<>();
+    private final List<Set<String>> agentSkills = new ArrayList<>();
+    private int[] loads = new int[64];
+    private int[] capacities = new int[64];
+    private final Map<String, BitSet> availableBySkill = new HashMap<>();
+    private final BitSet available = new BitSet();
+    // Ordered by load, then by index; an agent must be removed before its load changes
+    private final Comparator<Integer> leastLoaded =
+            Comparator.<Integer>comparingInt(index -> loads[index]).thenComparingInt(index -> index);
+    private final Map<String, TreeSet<Integer>> leastLoadedBySkill = new HashMap<>();
+    private final TreeSet<Integer> leastLoadedAvailable = new TreeSet<>(leastLoaded);
+    private volatile Set<String> skills = Set.of();
+
+    /**
+     * An available agent with its skills, in lower case, and its load.
+     */
+    public record AvailableAgent(UUID agentId, Set<String> skills, int load, int capacity) {
+    }
+
+    public AgentRegistry(AgentRepository agentRepository) {
+        this.agentRepository = agentRepository;
+    }
+
+    /**
+     * Load all agents with their skills, replacing the current content of the registry.
+     * Runs before the other listeners of the ready event, which may use the registry.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void load() {
+        indexes.clear();
+        agentIds.clear();
+        agentSkills.clear();
+        availableBySkill.clear();
+        available.clear();
+        leastLoadedBySkill.clear();
+        leastLoadedAvailable.clear();
+        for (Agent agent : agentRepository.findAllWithSkills()) {
+            register(agent);
+        }
+        refreshSkills();
+        log.info("Agent registry loaded with {} agent(s), {} available", agentIds.size(), available.cardinality());
+    }
+
+    /**
+     * Get the skills of all registered agents, in lower case.
+     */
+    public Set<String> skills() {
+        return skills;
+    }
+
+    /**
+     * Find the available agents that have all the given skills.
+     *
+     * @param requiredSkills the required skills, in lower case; all available agents match an empty set
+     * @return the IDs of the matching agents
+     */
+    public synchronized List<UUID> availableAgentsWithSkills(Set<String> requiredSkills) {
+        BitSet candidates = availableWithAll(requiredSkills);
+        List<UUID> result = new ArrayList<>(candidates.cardinality());
+        for (int index = candidates.nextSetBit(0); index >= 0; index = candidates.nextSetBit(index + 1)) {
+            result.add(agentIds.get(index));
+        }
+        return result;
+    }
+
+    /**
+     * Get the available agents with their skills and load.
+     */
+    public synchronized List<AvailableAgent> availableAgents() {
+        List<AvailableAgent> result = new ArrayList<>(available.cardinality());
+        for (int index = available.nextSetBit(0); index >= 0; index = available.nextSetBit(index + 1)) {
+            result.add(new AvailableAgent(agentIds.get(index), agentSkills.get(index), loads[index], capacities[index]));
+        }
+        return result;
+    }
+
+    /**
+     * Claim the least-loaded available agent for a ticket that needs the given skills, adding the ticket to its load.
+     * An agent with all required skills is preferred; otherwise an agent with at least one of them is claimed.
+     * A ticket without required skills can be handled by any available agent.
+     *
+     * @param requiredSkills the required skills, in lower case
+     * @return the claimed agent, or empty if no available agent has any of the required skills
+     */
+    public synchronized Optional<UUID> claim(Set<String> requiredSkills) {
+        Integer index = leastLoadedWithAll(requiredSkills);
+        if (index == null) {
+            index = leastLoadedWithAny(requiredSkills);
+        }
+        if (index == null) {
+            return Optional.empty();
+        }
+        int load = loads[index] + 1;
+        update(index, load, load < capacities[index]);
+        return Optional.of(agentIds.get(index));
+    }
+
+    /**
+     * Claim a given agent for a ticket that needs the given skills, adding the ticket to its load. The agent is
+     * claimed if it is available and has at least one of the required skills, or if no skill is required.
+     *
+     * @param agentId        the agent to claim
+     * @param requiredSkills the required skills, in lower case
+     * @return true if the agent was claimed
+     */
+    public synchronized boolean claim(UUID agentId, Set<String> requiredSkills) {
+        Integer index = indexes.get(agentId);
+        if (index == null || !available.get(index)) {
+            return false;
+        }
+        if (!requiredSkills.isEmpty() && requiredSkills.stream().noneMatch(agentSkills.get(index)::contains)) {
+            return false;
+        }
+        int load = loads[index] + 1;
+        update(index, load, load < capacities[index]);
+        return true;
+    }
+
+    /**
+     * Check whether an agent is registered and available.
+     */
+    public synchronized boolean isAvailable(UUID agentId) {
+        Integer index = indexes.get(agentId);
+        return index != null && available.get(index);
+    }
+
+    /**
+     * Reload the load, capacity and availability of an agent from the database, e.g. after its assignment was stored
+     * or failed to be stored. The database is the source of truth: an agent that was claimed here but taken by a
+     * concurrent assignment stays unavailable, while an agent whose assignment was rolled back gets its capacity
+     * back. An agent that is not registered yet is registered.
+     */
+    public synchronized void refresh(UUID agentId) {
+        agentRepository.findWithSkillsByAgentId(agentId).ifPresent(agent -> {
+            Integer index = indexes.get(agentId);
+            if (index == null) {
+                register(agent);
+                refreshSkills();
+                return;
+            }
+            capacities[index] = agent.getCapacity();
+            update(index, agent.getLoad(), agent.getAvailability() == Agent.AgentAvailability.AVAILABLE);
+        });
+    }
+
+    /**
+     * Apply an availability change of an agent that was made outside of the registry.
+     * An agent that is not registered yet is loaded from the database.
+     */
+    public synchronized void updateAvailability(UUID agentId, Agent.AgentAvailability availability) {
+        Integer index = indexes.get(agentId);
+        if (index == null) {
+            agentRepository.findWithSkillsByAgentId(agentId).ifPresent(agent -> {
+                register(agent);
+                refreshSkills();
+            });
+            index = indexes.get(agentId);
+        }
+        if (index != null) {
+            update(index, loads[index], availability == Agent.AgentAvailability.AVAILABLE);
+        }
+    }
+
+    private BitSet availableWithAll(Set<String> requiredSkills) {
+        BitSet result = null;
+        for (String skill : requiredSkills) {
+            BitSet agentsWithSkill = availableBySkill.get(skill);
+            if (agentsWithSkill == null) {
+                return new BitSet();
+            }
+            if (result == null) {
+                result = (BitSet) agentsWithSkill.clone();
+            } else {
+                result.and(agentsWithSkill);
+            }
+        }
+        return result != null ? result : (BitSet) available.clone();
+    }
+
+    /**
+     * Walk the available agents with the rarest required skill in load order, and take the first one that has the
+     * other required skills too.
+     */
+    private Integer leastLoadedWithAll(Set<String> requiredSkills) {
+        if (requiredSkills.isEmpty()) {
+            return leastLoadedAvailable.isEmpty() ? null : leastLoadedAvailable.first();
+        }
+        TreeSet<Integer> rarest = null;
+        for (String skill : requiredSkills) {
+            TreeSet<Integer> agentsWithSkill = leastLoadedBySkill.get(skill);
+            if (agentsWithSkill == null || agentsWithSkill.isEmpty()) {
+                return null;
+            }
+            if (rarest == null || agentsWithSkill.size() < rarest.size()) {
+                rarest = agentsWithSkill;
+            }
+        }
+        for (Integer index : rarest) {
+            if (hasAll(index, requiredSkills)) {
+                return index;
+            }
+        }
+        return null;
+    }
+
+    private Integer leastLoadedWithAny(Set<String> requiredSkills) {
+        Integer result = null;
+        for (String skill : requiredSkills) {
+            TreeSet<Integer> agentsWithSkill = leastLoadedBySkill.get(skill);
+            if (agentsWithSkill != null && !agentsWithSkill.isEmpty()) {
+                Integer candidate = agentsWithSkill.first();
+                if (result == null || leastLoaded.compare(candidate, result) < 0) {
+                    result = candidate;
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean hasAll(int index, Set<String> requiredSkills) {
+        for (String skill : requiredSkills) {
+            if (!availableBySkill.get(skill).get(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void register(Agent agent) {
+        int index = agentIds.size();
+        Set<String> skillsOfAgent = normalize(agent.getSkills());
+        indexes.put(agent.getAgentId(), index);
+        agentIds.add(agent.getAgentId());
+        agentSkills.add(skillsOfAgent);
+        if (index == loads.length) {
+            loads = Arrays.copyOf(loads, index * 2);
+            capacities = Arrays.copyOf(capacities, index * 2);
+        }
+        capacities[index] = agent.getCapacity();
+        for (String skill : skillsOfAgent) {
+            availableBySkill.computeIfAbsent(skill, key -> new BitSet());
+            leastLoadedBySkill.computeIfAbsent(skill, key -> new TreeSet<>(leastLoaded));
+        }
+        update(index, agent.getLoad(), agent.getAvailability() == Agent.AgentAvailability.AVAILABLE);
+    }
+
+    private void update(int index, int load, boolean isAvailable) {
+        if (available.get(index)) {
+            leastLoadedAvailable.remove(index);
+            for (String skill : agentSkills.get(index)) {
+                leastLoadedBySkill.get(skill).remove(index);
+            }
+        }
+        loads[index] = load;
+        available.set(index, isAvailable);
+        for (String skill : agentSkills.get(index)) {
+            availableBySkill.get(skill).set(index, isAvailable);
+        }
+        if (isAvailable) {
+            leastLoadedAvailable.add(index);
+            for (String skill : agentSkills.get(index)) {
+                leastLoadedBySkill.get(skill).add(index);
+            }
+        }
+    }
+
+    private void refreshSkills() {
+        skills = Set.copyOf(availableBySkill.keySet());
+    }
+
+    private static Set<String> normalize(Collection<String> skills) {
+        if (skills == null) {
+            return Set.of();
+        }
+        return skills.stream().map(skill -> skill.toLowerCase(Locale.ROOT)).collect(Collectors.toUnmodifiableSet());
+    }
+}
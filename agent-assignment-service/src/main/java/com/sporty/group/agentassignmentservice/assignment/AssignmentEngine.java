@@ -0,0 +1,222 @@
+package com.sporty.group.agentassignmentservice.assignment;
+
+import com.sporty.group.agentassignmentservice.assignment.AgentRegistry.AvailableAgent;
+import com.sporty.group.agentassignmentservice.assignment.BatchAssignmentOptimizer.Match;
+import com.sporty.group.agentassignmentservice.assignment.PendingTicketQueue.PendingTicket;
+import com.sporty.group.agentassignmentservice.model.entity.Ticket;
+import com.sporty.group.agentassignmentservice.service.TicketService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Assigns new tickets to agents as they arrive, and waiting tickets to agents as they free up.
+ * <p>
+ * The skills a ticket needs are taken from its subject and description, and an available agent with those skills is
+ * claimed in the {@link AgentRegistry}, so no agent query runs to find it. The assignment is then stored with
+ * conditional updates of the ticket and the agent, and the ticket assigned event is written to the outbox, in one
+ * transaction. If a concurrent assignment took the ticket or the agent first, the transaction is rolled back and the
+ * agent's availability is reloaded into the registry.
+ * <p>
+ * Tickets for which no agent is available wait in the {@link PendingTicketQueue}, ordered by priority and SLA
+ * deadline. When an agent releases capacity because one of its tickets was resolved or closed, the queue is drained
+ * for it: the agent takes the first waiting tickets it can handle. The queue is rebuilt from the database when the
+ * service starts, and drained for every available agent. Waiting tickets can also be assigned through the API.
+ * <p>
+ * In batch mode, enabled with {@code assignment.batch.enabled}, agents that free up are not offered the queue one by
+ * one. Instead, every {@code assignment.batch.interval-ms} the first {@code assignment.batch.max-tickets} waiting
+ * tickets are matched to all available agents at once by the {@link BatchAssignmentOptimizer}, which weighs skill fit,
+ * priority and load across the whole batch. New tickets are still assigned as they arrive while agents are available.
+ */
+@Service
+@Slf4j
+public class AssignmentEngine {
+
+    private final AgentRegistry agentRegistry;
+    private final SkillMatcher skillMatcher;
+    private final TicketService ticketService;
+    private final PendingTicketQueue pendingTicketQueue;
+    private final BatchAssignmentOptimizer batchAssignmentOptimizer;
+    private final boolean enabled;
+    private final int waitingTicketsScanSize;
+    private final boolean batchEnabled;
+    private final int batchMaxTickets;
+    private final Duration batchTimeBudget;
+
+    public AssignmentEngine(AgentRegistry agentRegistry,
+                            SkillMatcher skillMatcher,
+                            TicketService ticketService,
+                            PendingTicketQueue pendingTicketQueue,
+                            BatchAssignmentOptimizer batchAssignmentOptimizer,
+                            @Value("${assignment.auto.enabled:true}") boolean enabled,
+                            @Value("${assignment.release.scan-size:100}") int waitingTicketsScanSize,
+                            @Value("${assignment.batch.enabled:false}") boolean batchEnabled,
+                            @Value("${assignment.batch.max-tickets:10000}") int batchMaxTickets,
+                            @Value("${assignment.batch.time-budget-ms:200}") long batchTimeBudgetMs) {
+        this.agentRegistry = agentRegistry;
+        this.skillMatcher = skillMatcher;
+        this.ticketService = ticketService;
+        this.pendingTicketQueue = pendingTicketQueue;
+        this.batchAssignmentOptimizer = batchAssignmentOptimizer;
+        this.enabled = enabled;
+        this.waitingTicketsScanSize = waitingTicketsScanSize;
+        this.batchEnabled = batchEnabled;
+        this.batchMaxTickets = batchMaxTickets;
+        this.batchTimeBudget = Duration.ofMillis(batchTimeBudgetMs);
+    }
+
+    /**
+     * Rebuild the queue of waiting tickets from the database once the agent registry is loaded, and offer the waiting
+     * tickets to the available agents.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingTickets() {
+        if (!enabled) {
+            return;
+        }
+        Set<String> skills = agentRegistry.skills();
+        pendingTicketQueue.load(ticketService.getWaitingTickets().stream()
+                .map(ticket -> PendingTicket.of(ticket, skillMatcher.requiredSkills(ticket.getSubject(), ticket.getDescription(), skills)))
+                .toList());
+        log.info("Pending ticket queue loaded with {} waiting ticket(s)", pendingTicketQueue.size());
+        for (UUID agentId : agentRegistry.availableAgentsWithSkills(Set.of())) {
+            offer(agentId);
+        }
+    }
+
+    /**
+     * Assign a new, unassigned ticket to an available agent with matching skills, or queue it if no agent is
+     * available. If the assignment to the claimed agent cannot be stored, the agent is reloaded into the registry and
+     * the ticket is queued if it is still waiting.
+     *
+     * @param ticket the stored ticket
+     * @return the assigned agent, or empty if automatic assignment is disabled or no agent is available
+     */
+    public Optional<UUID> assign(Ticket ticket) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Set<String> requiredSkills = skillMatcher.requiredSkills(ticket.getSubject(), ticket.getDescription(), agentRegistry.skills());
+        Optional<UUID> agentId = agentRegistry.claim(requiredSkills);
+        if (agentId.isEmpty()) {
+            pendingTicketQueue.add(PendingTicket.of(ticket, requiredSkills));
+            log.info("No available agent for ticket {} with skills {}, queued with priority {}",
+                    ticket.getTicketId(), requiredSkills, ticket.getPriority());
+            return Optional.empty();
+        }
+
+        try {
+            ticketService.assignClaimedAgent(ticket.getTicketId(), agentId.get());
+        } catch (RuntimeException e) {
+            agentRegistry.refresh(agentId.get());
+            requeueIfWaiting(PendingTicket.of(ticket, requiredSkills));
+            log.info("Could not assign ticket {} to agent {}: {}", ticket.getTicketId(), agentId.get(), e.getMessage());
+            return Optional.empty();
+        }
+        log.info("Ticket {} automatically assigned to agent {} for skills {}", ticket.getTicketId(), agentId.get(), requiredSkills);
+        return agentId;
+    }
+
+    /**
+     * Offer an agent that released capacity the waiting tickets, in queue order. The agent takes each ticket that
+     * needs none or any of its skills, until it is at capacity again. At most {@code assignment.release.scan-size}
+     * tickets are tried per ticket taken, and at most that many tickets are taken. In batch mode the agent waits for
+     * the next batch instead.
+     *
+     * @param agentId the agent that released capacity
+     * @return the number of tickets assigned to the agent
+     */
+    public int offer(UUID agentId) {
+        if (!enabled || batchEnabled) {
+            return 0;
+        }
+        int assigned = 0;
+        for (int attempt = 0; attempt < waitingTicketsScanSize && agentRegistry.isAvailable(agentId); attempt++) {
+            Optional<PendingTicket> ticket = pendingTicketQueue.pollFirstMatching(
+                    pending -> agentRegistry.claim(agentId, pending.requiredSkills()), waitingTicketsScanSize);
+            if (ticket.isEmpty()) {
+                break;
+            }
+            if (assignWaitingTicket(ticket.get(), agentId)) {
+                assigned++;
+            }
+        }
+        return assigned;
+    }
+
+    /**
+     * Match the first waiting tickets to all available agents at once, and store the assignments. A matched agent
+     * is claimed in the registry before its ticket is assigned, so tickets that were assigned, or agents that were
+     * claimed, since the batch was read are skipped and wait for the next batch.
+     *
+     * @return the number of assigned tickets, 0 if batch mode is disabled
+     */
+    @Scheduled(fixedDelayString = "${assignment.batch.interval-ms:1000}")
+    public int assignBatch() {
+        if (!enabled || !batchEnabled) {
+            return 0;
+        }
+        List<PendingTicket> tickets = pendingTicketQueue.head(batchMaxTickets);
+        if (tickets.isEmpty()) {
+            return 0;
+        }
+        List<AvailableAgent> agents = agentRegistry.availableAgents();
+        if (agents.isEmpty()) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        List<Match> matches = batchAssignmentOptimizer.match(tickets, agents, batchTimeBudget);
+        log.debug("Matched {} of {} waiting ticket(s) to {} agent(s) in {} ms",
+                matches.size(), tickets.size(), agents.size(), (System.nanoTime() - start) / 1_000_000);
+        int assigned = 0;
+        for (Match match : matches) {
+            Optional<PendingTicket> ticket = pendingTicketQueue.take(match.ticket().ticketId(),
+                    pending -> agentRegistry.claim(match.agentId(), pending.requiredSkills()));
+            if (ticket.isPresent() && assignWaitingTicket(ticket.get(), match.agentId())) {
+                assigned++;
+            }
+        }
+        if (assigned > 0) {
+            log.info("Batch assigned {} of {} waiting ticket(s) to {} available agent(s)", assigned, tickets.size(), agents.size());
+        }
+        return assigned;
+    }
+
+    /**
+     * Store the assignment of a waiting ticket to the agent claimed for it. If that fails, the agent is reloaded into
+     * the registry, and the ticket goes back to the queue if it is still waiting.
+     */
+    private boolean assignWaitingTicket(PendingTicket ticket, UUID agentId) {
+        try {
+            ticketService.assignClaimedAgent(ticket.ticketId(), agentId);
+        } catch (RuntimeException e) {
+            agentRegistry.refresh(agentId);
+            requeueIfWaiting(ticket);
+            log.info("Could not assign waiting ticket {} to agent {}: {}", ticket.ticketId(), agentId, e.getMessage());
+            return false;
+        }
+        pendingTicketQueue.recordAssigned(ticket);
+        log.info("Waiting ticket {} with priority {} assigned to agent {} for skills {}",
+                ticket.ticketId(), ticket.priority(), agentId, ticket.requiredSkills());
+        return true;
+    }
+
+    /**
+     * Queue a ticket whose assignment failed, if it is still open and unassigned in the database.
+     */
+    private void requeueIfWaiting(PendingTicket ticket) {
+        ticketService.getTicketById(ticket.ticketId())
+                .filter(stored -> stored.getStatus() == Ticket.TicketStatus.OPEN && stored.getAssigneeId() == null)
+                .ifPresent(stored -> pendingTicketQueue.add(ticket));
+    }
+}
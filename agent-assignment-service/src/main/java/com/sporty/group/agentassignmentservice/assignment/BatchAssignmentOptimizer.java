@@ -0,0 +1,338 @@
+package com.sporty.group.agentassignmentservice.assignment;
+
+import com.sporty.group.agentassignmentservice.assignment.AgentRegistry.AvailableAgent;
+import com.sporty.group.agentassignmentservice.assignment.PendingTicketQueue.PendingTicket;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Matches waiting tickets to available agents all at once, maximizing the total benefit of the assignments, to drain
+ * a backlog when several agents are free.
+ * <p>
+ * Every free slot of an agent, up to its capacity, can take one ticket that needs none or any of the agent's skills.
+ * The benefit of a ticket for a slot is a fixed amount for the assignment, plus weights for the ticket priority, for
+ * the share of the required skills that the agent has and for the headroom the agent has left with that slot. A
+ * specialist is therefore preferred over an agent with only some of the skills, and the first free slot of an agent
+ * over its last one.
+ * <p>
+ * The matching is found with the auction algorithm, with the smaller side bidding: the slots when more tickets wait,
+ * the tickets otherwise. Each bidder without a match bids for the item with the highest benefit net of its price,
+ * raising the price by the margin over its second-best choice, and the bidder that held the item before bids again.
+ * Bidders that find no item worth its price stay unmatched. Every bid raises a price by at least 1, so the bidding
+ * ends, and the total benefit of the final matching is at most 1 per bidder below the best one. The prices start at
+ * 0 on every run: an item that nobody bid for has to stay at the lowest price for that bound to hold, so prices are
+ * not carried over between runs or scaled down in rounds. Each bid keeps a valid matching, so once the time budget is
+ * spent the bidding stops with the matching found so far, and bidders that end unmatched are given the best free
+ * item they can take.
+ */
+@Component
+public class BatchAssignmentOptimizer {
+
+    static final int ASSIGNMENT_BENEFIT = 1000;
+    static final int PRIORITY_BENEFIT = 250;
+    static final int SKILL_FIT_BENEFIT = 200;
+    static final int HEADROOM_BENEFIT = 100;
+
+    private static final int BIDS_PER_DEADLINE_CHECK = 256;
+
+    /**
+     * A ticket matched to an agent.
+     */
+    public record Match(PendingTicket ticket, UUID agentId) {
+    }
+
+    /**
+     * Match the given tickets to free slots of the given agents.
+     *
+     * @param tickets    the waiting tickets
+     * @param agents     the available agents
+     * @param timeBudget the time after which the bidding stops
+     * @return the matches, in the order of the given tickets
+     */
+    public List<Match> match(List<PendingTicket> tickets, List<AvailableAgent> agents, Duration timeBudget) {
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        Slots slots = new Slots(agents);
+        if (slots.count == 0 || tickets.isEmpty()) {
+            return List.of();
+        }
+        Candidates candidates = new Candidates(tickets, agents);
+
+        int[] slotOfTicket;
+        if (slots.count <= tickets.size()) {
+            Auction auction = slotsBidForTickets(candidates, slots, tickets.size());
+            auction.run(deadline);
+            auction.assignUnmatchedBidders();
+            slotOfTicket = auction.owners;
+        } else {
+            Auction auction = ticketsBidForSlots(candidates, slots, tickets.size());
+            auction.run(deadline);
+            auction.assignUnmatchedBidders();
+            slotOfTicket = auction.assignments;
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (int ticket = 0; ticket < tickets.size(); ticket++) {
+            int slot = slotOfTicket[ticket];
+            if (slot >= 0) {
+                matches.add(new Match(tickets.get(ticket), agents.get(slots.agents[slot]).agentId()));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * The benefit of an assignment, apart from the headroom of the slot.
+     *
+     * @param matchingSkills the number of required skills that the agent has
+     */
+    public static int benefit(PendingTicket ticket, int matchingSkills) {
+        int skillFit = ticket.requiredSkills().isEmpty() ? 0
+                : SKILL_FIT_BENEFIT * matchingSkills / ticket.requiredSkills().size();
+        return ASSIGNMENT_BENEFIT + PRIORITY_BENEFIT * ticket.priority().ordinal() + skillFit;
+    }
+
+    /**
+     * The benefit of the headroom an agent has left when a slot is filled.
+     *
+     * @param slot the number of tickets given to the agent before, in the same matching
+     */
+    public static int headroomBenefit(int load, int capacity, int slot) {
+        return HEADROOM_BENEFIT * (capacity - load - slot) / capacity;
+    }
+
+    /**
+     * Let every slot bid for the tickets its agent can handle. The slots of an agent share the ticket lists of the
+     * agent, and the headroom of each slot is added to its bids.
+     */
+    private static Auction slotsBidForTickets(Candidates candidates, Slots slots, int ticketCount) {
+        int[][] items = new int[slots.count][];
+        int[][] benefits = new int[slots.count][];
+        for (int slot = 0; slot < slots.count; slot++) {
+            items[slot] = candidates.tickets[slots.agents[slot]];
+            benefits[slot] = candidates.benefits[slots.agents[slot]];
+        }
+        return new Auction(items, benefits, slots.headroom, ticketCount);
+    }
+
+    /**
+     * Let every ticket bid for the slots of the agents that can handle it.
+     */
+    private static Auction ticketsBidForSlots(Candidates candidates, Slots slots, int ticketCount) {
+        int[] edgeCounts = new int[ticketCount];
+        for (int agent = 0; agent < candidates.tickets.length; agent++) {
+            for (int ticket : candidates.tickets[agent]) {
+                edgeCounts[ticket] += slots.perAgent[agent];
+            }
+        }
+        int[][] items = new int[ticketCount][];
+        int[][] benefits = new int[ticketCount][];
+        for (int ticket = 0; ticket < ticketCount; ticket++) {
+            items[ticket] = new int[edgeCounts[ticket]];
+            benefits[ticket] = new int[edgeCounts[ticket]];
+            edgeCounts[ticket] = 0;
+        }
+        for (int agent = 0; agent < candidates.tickets.length; agent++) {
+            for (int i = 0; i < candidates.tickets[agent].length; i++) {
+                int ticket = candidates.tickets[agent][i];
+                for (int slot = slots.first[agent]; slot < slots.first[agent] + slots.perAgent[agent]; slot++) {
+                    items[ticket][edgeCounts[ticket]] = slot;
+                    benefits[ticket][edgeCounts[ticket]++] = candidates.benefits[agent][i] + slots.headroom[slot];
+                }
+            }
+        }
+        return new Auction(items, benefits, new int[ticketCount], slots.count);
+    }
+
+    /**
+     * The free slots of the agents, numbered agent by agent.
+     */
+    private static final class Slots {
+
+        private final int count;
+        // Per agent: its first slot and its number of slots
+        private final int[] first;
+        private final int[] perAgent;
+        // Per slot: its agent and the benefit of the headroom left with it
+        private final int[] agents;
+        private final int[] headroom;
+
+        Slots(List<AvailableAgent> availableAgents) {
+            first = new int[availableAgents.size()];
+            perAgent = new int[availableAgents.size()];
+            int slots = 0;
+            for (int agent = 0; agent < availableAgents.size(); agent++) {
+                AvailableAgent available = availableAgents.get(agent);
+                first[agent] = slots;
+                perAgent[agent] = Math.max(0, available.capacity() - available.load());
+                slots += perAgent[agent];
+            }
+            count = slots;
+            agents = new int[slots];
+            headroom = new int[slots];
+            for (int agent = 0; agent < availableAgents.size(); agent++) {
+                AvailableAgent available = availableAgents.get(agent);
+                for (int slot = 0; slot < perAgent[agent]; slot++) {
+                    agents[first[agent] + slot] = agent;
+                    headroom[first[agent] + slot] = headroomBenefit(available.load(), available.capacity(), slot);
+                }
+            }
+        }
+    }
+
+    /**
+     * The tickets each agent can handle, with their benefits apart from the headroom.
+     */
+    private static final class Candidates {
+
+        private final int[][] tickets;
+        private final int[][] benefits;
+
+        Candidates(List<PendingTicket> pendingTickets, List<AvailableAgent> agents) {
+            Map<String, List<Integer>> ticketsBySkill = new HashMap<>();
+            List<Integer> ticketsWithoutSkills = new ArrayList<>();
+            for (int ticket = 0; ticket < pendingTickets.size(); ticket++) {
+                if (pendingTickets.get(ticket).requiredSkills().isEmpty()) {
+                    ticketsWithoutSkills.add(ticket);
+                }
+                for (String skill : pendingTickets.get(ticket).requiredSkills()) {
+                    ticketsBySkill.computeIfAbsent(skill, key -> new ArrayList<>()).add(ticket);
+                }
+            }
+
+            tickets = new int[agents.size()][];
+            benefits = new int[agents.size()][];
+            int[] matchingSkills = new int[pendingTickets.size()];
+            int[] candidates = new int[pendingTickets.size()];
+            for (int agent = 0; agent < agents.size(); agent++) {
+                int candidateCount = 0;
+                for (String skill : agents.get(agent).skills()) {
+                    for (int ticket : ticketsBySkill.getOrDefault(skill, List.of())) {
+                        if (matchingSkills[ticket]++ == 0) {
+                            candidates[candidateCount++] = ticket;
+                        }
+                    }
+                }
+                for (int ticket : ticketsWithoutSkills) {
+                    candidates[candidateCount++] = ticket;
+                }
+                tickets[agent] = Arrays.copyOf(candidates, candidateCount);
+                benefits[agent] = new int[candidateCount];
+                for (int i = 0; i < candidateCount; i++) {
+                    int ticket = candidates[i];
+                    benefits[agent][i] = benefit(pendingTickets.get(ticket), matchingSkills[ticket]);
+                    matchingSkills[ticket] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * The bids of one side for the items of the other side, and the matching they lead to.
+     */
+    private static final class Auction {
+
+        // Per bidder: the items it can take, their benefits, a bonus added to all of them and the matched item, or -1
+        private final int[][] items;
+        private final int[][] benefits;
+        private final int[] bonus;
+        private final int[] assignments;
+        // Per item: its price and the bidder that holds it, or -1
+        private final int[] prices;
+        private final int[] owners;
+
+        Auction(int[][] items, int[][] benefits, int[] bonus, int itemCount) {
+            this.items = items;
+            this.benefits = benefits;
+            this.bonus = bonus;
+            assignments = new int[items.length];
+            prices = new int[itemCount];
+            owners = new int[itemCount];
+            Arrays.fill(assignments, -1);
+            Arrays.fill(owners, -1);
+        }
+
+        /**
+         * Let the bidders bid until every bidder is matched or stays unmatched, or the deadline passes.
+         */
+        void run(long deadline) {
+            int[] bidders = new int[items.length];
+            int bidderCount = 0;
+            for (int bidder = items.length - 1; bidder >= 0; bidder--) {
+                bidders[bidderCount++] = bidder;
+            }
+            int bids = 0;
+            while (bidderCount > 0) {
+                if (++bids % BIDS_PER_DEADLINE_CHECK == 0 && System.nanoTime() - deadline > 0) {
+                    return;
+                }
+                int outbid = bid(bidders[--bidderCount]);
+                if (outbid >= 0) {
+                    bidders[bidderCount++] = outbid;
+                }
+            }
+        }
+
+        /**
+         * Let a bidder bid for its best item.
+         *
+         * @return the bidder that held the item and has to bid again, or -1
+         */
+        private int bid(int bidder) {
+            int[] candidates = items[bidder];
+            int best = -1;
+            int bestValue = Integer.MIN_VALUE;
+            // Staying unmatched is worth 0
+            int secondValue = 0;
+            for (int i = 0; i < candidates.length; i++) {
+                int value = benefits[bidder][i] + bonus[bidder] - prices[candidates[i]];
+                if (value > bestValue) {
+                    secondValue = Math.max(secondValue, bestValue);
+                    bestValue = value;
+                    best = candidates[i];
+                } else if (value > secondValue) {
+                    secondValue = value;
+                }
+            }
+            if (best < 0 || bestValue < 0) {
+                return -1;
+            }
+
+            prices[best] += bestValue - secondValue + 1;
+            int outbid = owners[best];
+            owners[best] = bidder;
+            assignments[bidder] = best;
+            if (outbid >= 0) {
+                assignments[outbid] = -1;
+            }
+            return outbid;
+        }
+
+        /**
+         * Give each unmatched bidder the free item with the highest benefit that it can take.
+         */
+        void assignUnmatchedBidders() {
+            for (int bidder = 0; bidder < items.length; bidder++) {
+                if (assignments[bidder] >= 0) {
+                    continue;
+                }
+                int best = -1;
+                for (int i = 0; i < items[bidder].length; i++) {
+                    if (owners[items[bidder][i]] < 0 && (best < 0 || benefits[bidder][i] > benefits[bidder][best])) {
+                        best = i;
+                    }
+                }
+                if (best >= 0) {
+                    owners[items[bidder][best]] = bidder;
+                    assignments[bidder] = items[bidder][best];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.sporty.group.agentassignmentservice.assignment;
+
+import com.sporty.group.agentassignmentservice.model.entity.Ticket;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Queue of the tickets that wait for an agent, ordered by priority and then by SLA deadline.
+ * <p>
+ * The tickets are kept in a sorted set, so adding a ticket and taking the first one cost O(log n). A map from ticket
+ * ID to entry lets tickets that were assigned or closed elsewhere be removed in O(log n) as well. Each entry carries
+ * the skills the ticket needs, so draining the queue does not match ticket text again. The queue lives in memory and
+ * the tickets table is its persistent backing: the queue is rebuilt from the open, unassigned tickets when the service
+ * starts.
+ * <p>
+ * The number of waiting tickets per priority is published as the {@code assignment.queue.depth} gauge. The time from
+ * creation to assignment of every ticket taken from the queue is published as the {@code assignment.queue.wait}
+ * timer, per priority.
+ */
+@Component
+public class PendingTicketQueue {
+
+    /**
+     * A waiting ticket with the skills it needs.
+     */
+    public record PendingTicket(UUID ticketId,
+                                Ticket.TicketPriority priority,
+                                LocalDateTime slaDeadline,
+                                LocalDateTime createdAt,
+                                Set<String> requiredSkills) {
+
+        public static PendingTicket of(Ticket ticket, Set<String> requiredSkills) {
+            Ticket.TicketPriority priority = ticket.getPriority() != null ? ticket.getPriority() : Ticket.TicketPriority.NORMAL;
+            LocalDateTime createdAt = ticket.getCreatedAt() != null ? ticket.getCreatedAt() : LocalDateTime.now();
+            LocalDateTime slaDeadline = ticket.getSlaDeadline() != null ? ticket.getSlaDeadline() : priority.slaDeadline(createdAt);
+            return new PendingTicket(ticket.getTicketId(), priority, slaDeadline, createdAt, requiredSkills);
+        }
+    }
+
+    private static final Comparator<PendingTicket> ORDER = Comparator
+            .comparing(PendingTicket::priority, Comparator.reverseOrder())
+            .thenComparing(PendingTicket::slaDeadline)
+            .thenComparing(PendingTicket::ticketId);
+
+    // Guarded by this
+    private final TreeSet<PendingTicket> tickets = new TreeSet<>(ORDER);
+    private final Map<UUID, PendingTicket> ticketsById = new HashMap<>();
+    private final Map<Ticket.TicketPriority, Integer> depths = new EnumMap<>(Ticket.TicketPriority.class);
+
+    private final Map<Ticket.TicketPriority, Timer> waitTimers = new EnumMap<>(Ticket.TicketPriority.class);
+
+    public PendingTicketQueue(MeterRegistry meterRegistry) {
+        for (Ticket.TicketPriority priority : Ticket.TicketPriority.values()) {
+            depths.put(priority, 0);
+            Gauge.builder("assignment.queue.depth", this, queue -> queue.size(priority))
+                    .description("Tickets waiting for an agent")
+                    .tag("priority", priority.name())
+                    .register(meterRegistry);
+            waitTimers.put(priority, Timer.builder("assignment.queue.wait")
+                    .description("Time from creation to assignment of tickets that waited for an agent")
+                    .tag("priority", priority.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Replace the content of the queue with the given tickets.
+     */
+    public synchronized void load(Collection<PendingTicket> pendingTickets) {
+        tickets.clear();
+        ticketsById.clear();
+        depths.replaceAll((priority, depth) -> 0);
+        pendingTickets.forEach(this::add);
+    }
+
+    /**
+     * Add a waiting ticket, replacing its previous entry if it is queued already.
+     */
+    public synchronized void add(PendingTicket ticket) {
+        remove(ticket.ticketId());
+        tickets.add(ticket);
+        ticketsById.put(ticket.ticketId(), ticket);
+        depths.merge(ticket.priority(), 1, Integer::sum);
+    }
+
+    /**
+     * Remove a ticket that no longer waits.
+     *
+     * @return true if the ticket was queued
+     */
+    public synchronized boolean remove(UUID ticketId) {
+        PendingTicket ticket = ticketsById.remove(ticketId);
+        if (ticket == null) {
+            return false;
+        }
+        tickets.remove(ticket);
+        depths.merge(ticket.priority(), -1, Integer::sum);
+        return true;
+    }
+
+    /**
+     * Get the queued entry of a ticket.
+     */
+    public synchronized Optional<PendingTicket> get(UUID ticketId) {
+        return Optional.ofNullable(ticketsById.get(ticketId));
+    }
+
+    /**
+     * Get the first waiting tickets, in queue order, without taking them.
+     *
+     * @param limit the maximum number of tickets to return
+     */
+    public synchronized List<PendingTicket> head(int limit) {
+        return tickets.stream().limit(limit).toList();
+    }
+
+    /**
+     * Take a given ticket if it is still queued and the given claim accepts it. The claim is called with the queue
+     * locked, like in {@link #pollFirstMatching(Predicate, int)}.
+     *
+     * @param ticketId the ticket to take
+     * @param claim    reserves an agent for the ticket, returning false if the ticket cannot be served
+     * @return the taken ticket, or empty if it is no longer queued or the claim did not accept it
+     */
+    public synchronized Optional<PendingTicket> take(UUID ticketId, Predicate<PendingTicket> claim) {
+        PendingTicket ticket = ticketsById.get(ticketId);
+        if (ticket == null || !claim.test(ticket)) {
+            return Optional.empty();
+        }
+        remove(ticketId);
+        return Optional.of(ticket);
+    }
+
+    /**
+     * Take the first ticket, in queue order, that the given claim accepts. The claim is called with the queue locked,
+     * so a ticket it accepts is never handed to anyone else. Only the first {@code scanLimit} tickets are tried, which
+     * bounds the work for an agent that can handle none of them.
+     *
+     * @param claim     reserves an agent for the ticket, returning false if the ticket cannot be served
+     * @param scanLimit the maximum number of tickets to try
+     * @return the taken ticket, or empty if the claim accepted none of the tried tickets
+     */
+    public synchronized Optional<PendingTicket> pollFirstMatching(Predicate<PendingTicket> claim, int scanLimit) {
+        Iterator<PendingTicket> iterator = tickets.iterator();
+        for (int scanned = 0; scanned < scanLimit && iterator.hasNext(); scanned++) {
+            PendingTicket ticket = iterator.next();
+            if (claim.test(ticket)) {
+                iterator.remove();
+                ticketsById.remove(ticket.ticketId());
+                depths.merge(ticket.priority(), -1, Integer::sum);
+                return Optional.of(ticket);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Record the wait time of a ticket taken from the queue that was assigned.
+     */
+    public void recordAssigned(PendingTicket ticket) {
+        waitTimers.get(ticket.priority()).record(Duration.between(ticket.createdAt(), LocalDateTime.now()));
+    }
+
+    public synchronized int size() {
+        return tickets.size();
+    }
+
+    public synchronized int size(Ticket.TicketPriority priority) {
+        return depths.get(priority);
+    }
+}
@@ -0,0 +1,292 @@
+package com.sporty.group.agentassignmentservice.assignment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Finds the agent skills a ticket asks for in its subject and description.
+ * A skill is required if its name, or one of its synonyms, occurs in the text as a whole word, ignoring case, so
+ * "Java" matches "Java heap error" but not "JavaScript bundle". Synonyms are configured as {@code synonym:skill}
+ * pairs in {@code assignment.skills.synonyms}, e.g. {@code k8s:kubernetes}, and only apply while an agent has the
+ * skill.
+ * <p>
+ * All skill names and synonyms are compiled into an Aho-Corasick automaton, which finds every term in one pass over
+ * the text, however many terms there are. The automaton is a dense transition table over the characters that occur
+ * in the terms, so a ticket is matched without regular expressions and, up to the returned set of two or more
+ * skills, without allocating. The automaton is compiled for a skill vocabulary and compiled again when the
+ * vocabulary changes: the terms of new skills are added to the trie it is compiled from, and the terms of skills
+ * that are gone stop producing matches. Until then tickets are matched with the previous automaton.
+ */
+@Component
+public class SkillMatcher {
+
+    // Skill -> its synonyms, in lower case
+    private final Map<String, Set<String>> synonyms = new HashMap<>();
+
+    // Guarded by this
+    private final Trie trie = new Trie();
+    private volatile Automaton automaton = Automaton.compile(trie, List.of());
+
+    public SkillMatcher(@Value("${assignment.skills.synonyms:}") List<String> synonymPairs) {
+        for (String pair : synonymPairs) {
+            int separator = pair.lastIndexOf(':');
+            if (separator <= 0 || separator == pair.length() - 1) {
+                throw new IllegalArgumentException("Invalid skill synonym, expected synonym:skill: " + pair);
+            }
+            synonyms.computeIfAbsent(normalize(pair.substring(separator + 1)), skill -> new HashSet<>())
+                    .add(normalize(pair.substring(0, separator)));
+        }
+    }
+
+    /**
+     * Get the skills mentioned in the given ticket text.
+     *
+     * @param subject     the ticket subject, may be null
+     * @param description the ticket description, may be null
+     * @param skills      the known skills, in lower case; the automaton is compiled again whenever another collection
+     *                    is passed, so the same instance should be passed while the skills do not change
+     * @return the mentioned skills, in lower case
+     */
+    public Set<String> requiredSkills(String subject, String description, Collection<String> skills) {
+        Automaton current = automaton;
+        if (current.vocabulary != skills) {
+            current = compile(skills);
+        }
+        return current.match(subject != null ? subject : "", description != null ? description : "");
+    }
+
+    private synchronized Automaton compile(Collection<String> skills) {
+        if (automaton.vocabulary == skills) {
+            return automaton;
+        }
+        // Terms that are in the trie already are not added again
+        for (String skill : skills) {
+            trie.add(skill, skill);
+            for (String synonym : synonyms.getOrDefault(skill, Set.of())) {
+                trie.add(synonym, skill);
+            }
+        }
+        automaton = Automaton.compile(trie, skills);
+        return automaton;
+    }
+
+    private static String normalize(String term) {
+        return term.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The trie of all terms added so far, each with the skill it stands for.
+     */
+    private static final class Trie {
+
+        private final List<Map<Character, Integer>> children = new ArrayList<>(List.of(new TreeMap<>()));
+        private final List<Integer> depths = new ArrayList<>(List.of(0));
+        // Node -> the skills of the terms that end at it
+        private final Map<Integer, Set<String>> skills = new HashMap<>();
+
+        void add(String term, String skill) {
+            if (term.isEmpty()) {
+                return;
+            }
+            int node = 0;
+            for (int i = 0; i < term.length(); i++) {
+                char c = term.charAt(i);
+                Integer child = children.get(node).get(c);
+                if (child == null) {
+                    child = children.size();
+                    children.add(new TreeMap<>());
+                    depths.add(i + 1);
+                    children.get(node).put(c, child);
+                }
+                node = child;
+            }
+            skills.computeIfAbsent(node, key -> new TreeSet<>()).add(skill);
+        }
+    }
+
+    /**
+     * An Aho-Corasick automaton over the terms of the skills in a vocabulary.
+     */
+    private static final class Automaton {
+
+        // The vocabulary it was compiled for, and its distinct skills in order
+        private final Collection<String> vocabulary;
+        private final List<String> skills;
+        private final List<Set<String>> singletons;
+        // Character -> column in the transition table; column 0 stands for all characters outside the terms
+        private final int[] asciiColumns;
+        private final char[] otherCharacters;
+        private final int[] otherColumns;
+        private final int columns;
+        // State x column -> next state, with the failure links folded in
+        private final int[] transitions;
+        // Per state: the length of the terms ending at it, and the skills of these terms as a range of outputSkills
+        private final int[] depths;
+        private final int[] outputStart;
+        private final int[] outputSkills;
+        // Per state: the nearest state on its failure chain at which a term ends, or 0
+        private final int[] outputLinks;
+
+        private Automaton(Collection<String> vocabulary, List<String> skills, int[] asciiColumns, char[] otherCharacters,
+                          int[] otherColumns, int columns, int[] transitions, int[] depths, int[] outputStart,
+                          int[] outputSkills, int[] outputLinks) {
+            this.vocabulary = vocabulary;
+            this.skills = skills;
+            this.singletons = skills.stream().map(Set::of).toList();
+            this.asciiColumns = asciiColumns;
+            this.otherCharacters = otherCharacters;
+            this.otherColumns = otherColumns;
+            this.columns = columns;
+            this.transitions = transitions;
+            this.depths = depths;
+            this.outputStart = outputStart;
+            this.outputSkills = outputSkills;
+            this.outputLinks = outputLinks;
+        }
+
+        static Automaton compile(Trie trie, Collection<String> vocabulary) {
+            List<String> skills = List.copyOf(new LinkedHashSet<>(vocabulary));
+            Map<String, Integer> skillIndexes = new HashMap<>();
+            for (int i = 0; i < skills.size(); i++) {
+                skillIndexes.put(skills.get(i), i);
+            }
+
+            // Columns for the characters of the terms
+            TreeSet<Character> characters = new TreeSet<>();
+            trie.children.forEach(children -> characters.addAll(children.keySet()));
+            int[] asciiColumns = new int[128];
+            List<Character> others = new ArrayList<>();
+            int columns = 1;
+            for (char c : characters) {
+                if (c < 128) {
+                    asciiColumns[c] = columns++;
+                } else {
+                    others.add(c);
+                }
+            }
+            char[] otherCharacters = new char[others.size()];
+            int[] otherColumns = new int[others.size()];
+            for (int i = 0; i < others.size(); i++) {
+                otherCharacters[i] = others.get(i);
+                otherColumns[i] = columns++;
+            }
+
+            int states = trie.children.size();
+            int[] transitions = new int[states * columns];
+            int[] depths = new int[states];
+            int[] failures = new int[states];
+            int[] outputLinks = new int[states];
+            int[] outputStart = new int[states + 1];
+            List<Integer> outputSkills = new ArrayList<>();
+
+            // Outputs of the active terms, limited to the skills of the vocabulary
+            for (int state = 0; state < states; state++) {
+                depths[state] = trie.depths.get(state);
+                outputStart[state] = outputSkills.size();
+                for (String skill : trie.skills.getOrDefault(state, Set.of())) {
+                    Integer index = skillIndexes.get(skill);
+                    if (index != null) {
+                        outputSkills.add(index);
+                    }
+                }
+            }
+            outputStart[states] = outputSkills.size();
+
+            // Breadth-first over the trie: the failure of a child is where the failure of its parent goes on the
+            // same character, and missing transitions take the transition of the failure state
+            Queue<Integer> queue = new ArrayDeque<>();
+            for (Map.Entry<Character, Integer> child : trie.children.get(0).entrySet()) {
+                transitions[column(child.getKey(), asciiColumns, otherCharacters, otherColumns)] = child.getValue();
+                queue.add(child.getValue());
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.remove();
+                int failure = failures[state];
+                outputLinks[state] = outputStart[failure] < outputStart[failure + 1] ? failure : outputLinks[failure];
+                System.arraycopy(transitions, failure * columns, transitions, state * columns, columns);
+                for (Map.Entry<Character, Integer> child : trie.children.get(state).entrySet()) {
+                    int column = column(child.getKey(), asciiColumns, otherCharacters, otherColumns);
+                    failures[child.getValue()] = transitions[failure * columns + column];
+                    transitions[state * columns + column] = child.getValue();
+                    queue.add(child.getValue());
+                }
+            }
+
+            return new Automaton(vocabulary, skills, asciiColumns, otherCharacters, otherColumns, columns, transitions,
+                    depths, outputStart, outputSkills.stream().mapToInt(Integer::intValue).toArray(), outputLinks);
+        }
+
+        /**
+         * Find the skills whose terms occur as whole words in the subject, followed by a line break and the
+         * description.
+         */
+        Set<String> match(String subject, String description) {
+            int length = subject.length() + 1 + description.length();
+            int first = -1;
+            Set<String> found = null;
+            int state = 0;
+            for (int position = 0; position < length; position++) {
+                char c = Character.toLowerCase(charAt(subject, description, position));
+                state = transitions[state * columns + column(c, asciiColumns, otherCharacters, otherColumns)];
+                for (int output = outputStart[state] < outputStart[state + 1] ? state : outputLinks[state];
+                     output != 0; output = outputLinks[output]) {
+                    int start = position - depths[output] + 1;
+                    if (!isWordBoundary(subject, description, start - 1, length)
+                            || !isWordBoundary(subject, description, position + 1, length)) {
+                        continue;
+                    }
+                    for (int i = outputStart[output]; i < outputStart[output + 1]; i++) {
+                        int skill = outputSkills[i];
+                        if (first < 0) {
+                            first = skill;
+                        } else if (skill != first) {
+                            if (found == null) {
+                                found = new LinkedHashSet<>();
+                                found.add(skills.get(first));
+                            }
+                            found.add(skills.get(skill));
+                        }
+                    }
+                }
+            }
+            if (found != null) {
+                return found;
+            }
+            return first >= 0 ? singletons.get(first) : Set.of();
+        }
+
+        private static int column(char c, int[] asciiColumns, char[] otherCharacters, int[] otherColumns) {
+            if (c < 128) {
+                return asciiColumns[c];
+            }
+            int index = Arrays.binarySearch(otherCharacters, c);
+            return index >= 0 ? otherColumns[index] : 0;
+        }
+
+        private static boolean isWordBoundary(String subject, String description, int position, int length) {
+            return position < 0 || position >= length || !Character.isLetterOrDigit(charAt(subject, description, position));
+        }
+
+        private static char charAt(String subject, String description, int position) {
+            if (position < subject.length()) {
+                return subject.charAt(position);
+            }
+            return position == subject.length() ? '\n' : description.charAt(position - subject.length() - 1);
+        }
+    }
+}
@@ -29,6 +29,7 @@ public class DataInitializer {
             agent1.setFirstName("John");
             agent1.setLastName("Doe");
             agent1.setAvailability(Agent.AgentAvailability.AVAILABLE);
+            agent1.setCapacity(3);
             agent1.setSkills(Set.of("Java", "Spring", "Kafka"));
 
             Agent agent2 = new Agent();
@@ -36,6 +37,7 @@ public class DataInitializer {
             agent2.setFirstName("Jane");
             agent2.setLastName("Smith");
             agent2.setAvailability(Agent.AgentAvailability.AVAILABLE);
+            agent2.setCapacity(2);
             agent2.setSkills(Set.of("JavaScript", "React", "Node.js"));
 
             Agent agent3 = new Agent();
@@ -43,6 +45,7 @@ public class DataInitializer {
             agent3.setFirstName("Bob");
             agent3.setLastName("Johnson");
             agent3.setAvailability(Agent.AgentAvailability.NOT_AVAILABLE);
+            agent3.setLoad(1);
             agent3.setSkills(Set.of("Python", "Django", "Flask"));
             agent3.setTicketId(UUID.fromString("99999999-9999-9999-9999-999999999999"));
 
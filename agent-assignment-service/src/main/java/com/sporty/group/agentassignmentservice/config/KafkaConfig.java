@@ -1,20 +1,30 @@
 package com.sporty.group.agentassignmentservice.config;
 
+import com.sporty.group.sportygroupticketingcommons.outbox.OutboxConfiguration;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.kafka.config.TopicBuilder;
 
+// Outbound events go through the transactional outbox shared with the other services
 @Configuration
+@Import(OutboxConfiguration.class)
 public class KafkaConfig {
 
     public static final String TICKET_CREATED_TOPIC = "ticket-created";
     public static final String TICKET_ASSIGNMENTS_TOPIC = "ticket-assignments";
+    public static final String TICKET_UPDATES_TOPIC = "ticket-updates";
+
+    // Events are keyed by ticket ID, so the events of a ticket share a partition and are consumed in order
+    @Value("${kafka.topic.partitions:6}")
+    private int topicPartitions;
 
     @Bean
     public NewTopic ticketCreatedTopic() {
         return TopicBuilder.name(TICKET_CREATED_TOPIC)
-                .partitions(1)
+                .partitions(topicPartitions)
                 .replicas(1)
                 .build();
     }
@@ -22,8 +32,16 @@ public class KafkaConfig {
     @Bean
     public NewTopic ticketAssignmentsTopic() {
         return TopicBuilder.name(TICKET_ASSIGNMENTS_TOPIC)
-                .partitions(1)
+                .partitions(topicPartitions)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic ticketUpdatesTopic() {
+        return TopicBuilder.name(TICKET_UPDATES_TOPIC)
+                .partitions(topicPartitions)
                 .replicas(1)
                 .build();
     }
-}
\ No newline at end of file
+}
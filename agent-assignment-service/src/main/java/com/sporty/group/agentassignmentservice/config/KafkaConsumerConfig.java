@@ -1,16 +1,21 @@
 package com.sporty.group.agentassignmentservice.config;
 
 import com.sporty.group.sportygroupticketingcommons.event.NewTicketEvent;
+import com.sporty.group.sportygroupticketingcommons.event.TicketStatusUpdatedEvent;
+import com.sporty.group.sportygroupticketingcommons.serialization.NewTicketEventDeserializer;
+import com.sporty.group.sportygroupticketingcommons.serialization.TicketStatusUpdatedEventDeserializer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -24,6 +29,21 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${kafka.consumer.concurrency:3}")
+    private int concurrency;
+
+    @Value("${kafka.consumer.isolation-level:read_committed}")
+    private String isolationLevel;
+
+    @Value("${kafka.consumer.status-update.max-attempts:30}")
+    private int statusUpdateMaxAttempts;
+
+    @Value("${kafka.consumer.status-update.retry-backoff-ms:1000}")
+    private long statusUpdateRetryBackoffMs;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
     @Bean
     public Map<String, Object> consumerConfigs() {
         Map<String, Object> props = new HashMap<>();
@@ -32,8 +52,9 @@ public class KafkaConsumerConfig {
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
-        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
-        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        // Skip NewTicketEvents of aborted transactions when the ticket management service publishes them transactionally
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, isolationLevel);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, NewTicketEventDeserializer.class);
         return props;
     }
 
@@ -42,14 +63,46 @@ public class KafkaConsumerConfig {
         return new DefaultKafkaConsumerFactory<>(
                 consumerConfigs(),
                 new StringDeserializer(),
-                new ErrorHandlingDeserializer<>(new JsonDeserializer<>(NewTicketEvent.class, false))
+                new ErrorHandlingDeserializer<>(new NewTicketEventDeserializer())
         );
     }
 
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, NewTicketEvent> newTicketKafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, NewTicketEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(newTicketConsumerFactory());
+        return listenerContainerFactory(newTicketConsumerFactory(), "ticket-created-listener-");
+    }
+
+    @Bean
+    public ConsumerFactory<String, TicketStatusUpdatedEvent> ticketStatusUpdatedConsumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(
+                consumerConfigs(),
+                new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new TicketStatusUpdatedEventDeserializer())
+        );
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, TicketStatusUpdatedEvent> ticketStatusUpdatedKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, TicketStatusUpdatedEvent> factory =
+                listenerContainerFactory(ticketStatusUpdatedConsumerFactory(), "ticket-updates-listener-");
+        // A status update that arrives before its new ticket event is retried until the ticket exists
+        factory.setCommonErrorHandler(new DefaultErrorHandler(
+                new FixedBackOff(statusUpdateRetryBackoffMs, statusUpdateMaxAttempts - 1L)));
+        return factory;
+    }
+
+    private <V> ConcurrentKafkaListenerContainerFactory<String, V> listenerContainerFactory(
+            ConsumerFactory<String, V> consumerFactory, String threadNamePrefix) {
+        ConcurrentKafkaListenerContainerFactory<String, V> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        // The consumers share the partitions of the topic; consumers beyond the partition count stay idle
+        factory.setConcurrency(concurrency);
+        if (virtualThreadsEnabled) {
+            // Run the consumer threads as virtual threads, so blocking JPA calls do not tie up platform threads
+            SimpleAsyncTaskExecutor listenerTaskExecutor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+            listenerTaskExecutor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(listenerTaskExecutor);
+        }
         return factory;
     }
-}
\ No newline at end of file
+}
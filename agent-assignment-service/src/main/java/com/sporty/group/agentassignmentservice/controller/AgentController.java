@@ -3,6 +3,7 @@ package com.sporty.group.agentassignmentservice.controller;
 import com.sporty.group.agentassignmentservice.model.entity.Agent;
 import com.sporty.group.agentassignmentservice.service.AgentService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,10 +13,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/agents")
@@ -38,15 +44,41 @@ public class AgentController {
         return ResponseEntity.ok(agentService.getAllAgents());
     }
 
-    @Operation(summary = "Get available agents", description = "Retrieves a list of all available agents")
+    @Operation(summary = "Get available agents", description = "Retrieves a list of all available agents, optionally only those with all the given skills")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of available agents",
                 content = @Content(mediaType = "application/json",
                 schema = @Schema(implementation = Agent.class)))
     })
     @GetMapping("/available")
-    public ResponseEntity<List<Agent>> getAvailableAgents() {
-        log.info("Request to get available agents");
-        return ResponseEntity.ok(agentService.getAvailableAgents());
+    public ResponseEntity<List<Agent>> getAvailableAgents(
+            @Parameter(description = "Only agents with all these skills, ignoring case") @RequestParam(name = "skill", required = false) Set<String> skills) {
+        if (skills == null || skills.isEmpty()) {
+            log.info("Request to get available agents");
+            return ResponseEntity.ok(agentService.getAvailableAgents());
+        }
+        log.info("Request to get available agents with skills {}", skills);
+        return ResponseEntity.ok(agentService.getAvailableAgentsWithSkills(skills));
+    }
+
+    @Operation(summary = "Set agent capacity", description = "Sets the number of tickets an agent works on at the same time")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully updated the capacity",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = Agent.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid capacity or agent ID supplied",
+                content = @Content)
+    })
+    @PutMapping("/{agentId}/capacity")
+    public ResponseEntity<Agent> updateCapacity(
+            @Parameter(description = "ID of the agent") @PathVariable UUID agentId,
+            @Parameter(description = "Maximum number of tickets the agent works on at the same time") @RequestParam int capacity) {
+        log.info("Request to set capacity of agent {} to {}", agentId, capacity);
+        try {
+            return ResponseEntity.ok(agentService.updateCapacity(agentId, capacity));
+        } catch (RuntimeException e) {
+            log.error("Error updating agent capacity: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 }
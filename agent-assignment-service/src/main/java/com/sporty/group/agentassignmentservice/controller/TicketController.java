@@ -2,6 +2,7 @@ package com.sporty.group.agentassignmentservice.controller;
 
 import com.sporty.group.agentassignmentservice.model.entity.Ticket;
 import com.sporty.group.agentassignmentservice.service.TicketService;
+import com.sporty.group.sportygroupticketingcommons.pagination.TicketPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,7 +15,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -26,28 +26,49 @@ public class TicketController {
 
     private final TicketService ticketService;
 
-    @Operation(summary = "Get all tickets", description = "Retrieves a list of all tickets in the system")
+    @Operation(summary = "Get tickets", description = "Retrieves a page of tickets ordered by creation time, optionally filtered by status, user and assignee")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of tickets",
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of tickets",
                 content = @Content(mediaType = "application/json",
-                schema = @Schema(implementation = Ticket.class)))
+                schema = @Schema(implementation = TicketPage.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or filter",
+                content = @Content)
     })
     @GetMapping
-    public ResponseEntity<List<Ticket>> getAllTickets() {
-        log.info("Request to get all tickets");
-        return ResponseEntity.ok(ticketService.getAllTickets());
+    public ResponseEntity<TicketPage<Ticket>> getAllTickets(
+            @Parameter(description = "Only tickets with this status") @RequestParam(required = false) Ticket.TicketStatus status,
+            @Parameter(description = "Only tickets of this user") @RequestParam(required = false) String userId,
+            @Parameter(description = "Only tickets assigned to this agent") @RequestParam(required = false) UUID assigneeId,
+            @Parameter(description = "Next cursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of tickets (1-" + TicketService.MAX_PAGE_SIZE + ")") @RequestParam(defaultValue = "50") int limit) {
+        log.info("Request to get tickets (status={}, userId={}, assigneeId={}, limit={})", status, userId, assigneeId, limit);
+        try {
+            return ResponseEntity.ok(ticketService.getTickets(status, userId, assigneeId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid ticket listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
-    @Operation(summary = "Get new tickets", description = "Retrieves a list of all new tickets that haven't been assigned")
+    @Operation(summary = "Get new tickets", description = "Retrieves a page of the new tickets that haven't been assigned, ordered by creation time")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of new tickets",
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of new tickets",
                 content = @Content(mediaType = "application/json",
-                schema = @Schema(implementation = Ticket.class)))
+                schema = @Schema(implementation = TicketPage.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or limit",
+                content = @Content)
     })
     @GetMapping("/new")
-    public ResponseEntity<List<Ticket>> getNewTickets() {
-        log.info("Request to get new tickets");
-        return ResponseEntity.ok(ticketService.getNewTickets());
+    public ResponseEntity<TicketPage<Ticket>> getNewTickets(
+            @Parameter(description = "Next cursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of tickets (1-" + TicketService.MAX_PAGE_SIZE + ")") @RequestParam(defaultValue = "50") int limit) {
+        log.info("Request to get new tickets (limit={})", limit);
+        try {
+            return ResponseEntity.ok(ticketService.getNewTickets(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid ticket listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @Operation(summary = "Assign agent to ticket", description = "Assigns a specific agent to a specific ticket")
@@ -71,4 +92,25 @@ public class TicketController {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    @Operation(summary = "Set ticket priority", description = "Sets the priority of a ticket, which also sets its SLA deadline. Waiting tickets with a higher priority or an earlier SLA deadline are assigned first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully updated the priority",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = Ticket.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid ticket ID or priority supplied",
+                content = @Content)
+    })
+    @PutMapping("/{ticketId}/priority")
+    public ResponseEntity<Ticket> updatePriority(
+            @Parameter(description = "ID of the ticket") @PathVariable UUID ticketId,
+            @Parameter(description = "New priority of the ticket") @RequestParam Ticket.TicketPriority priority) {
+        log.info("Request to set priority of ticket {} to {}", ticketId, priority);
+        try {
+            return ResponseEntity.ok(ticketService.updatePriority(ticketId, priority));
+        } catch (RuntimeException e) {
+            log.error("Error updating ticket priority: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
@@ -22,14 +22,37 @@ public class Agent {
     
     private String lastName;
     
+    /**
+     * Whether the agent can take another ticket, which is the case while it is not off duty and its load is below its
+     * capacity
+     */
     @Enumerated(EnumType.STRING)
     private AgentAvailability availability;
+
+    /**
+     * Whether the agent was made unavailable by hand. An agent off duty stays unavailable when its load drops, until
+     * it is made available again.
+     */
+    private boolean offDuty;
+
+    /**
+     * Maximum number of tickets the agent works on at the same time
+     */
+    private int capacity = 1;
+
+    /**
+     * Number of tickets the agent is currently working on
+     */
+    private int load;
     
     @ElementCollection
     @CollectionTable(name = "agent_skills", joinColumns = @JoinColumn(name = "agent_id"))
     @Column(name = "skill")
     private Set<String> skills;
     
+    /**
+     * The ticket most recently assigned to the agent
+     */
     private UUID ticketId;
     
     public enum AgentAvailability {
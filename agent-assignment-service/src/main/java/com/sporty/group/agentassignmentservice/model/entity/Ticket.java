@@ -5,11 +5,22 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * A ticket as seen by the agent assignment service.
+ * The indexes back the ticket listing, which is ordered by creation time and ticket ID and optionally filtered by
+ * status, user or assignee.
+ */
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets", indexes = {
+        @Index(name = "idx_tickets_created_at", columnList = "created_at, ticket_id"),
+        @Index(name = "idx_tickets_status_created_at", columnList = "status, created_at, ticket_id"),
+        @Index(name = "idx_tickets_user_created_at", columnList = "user_id, created_at, ticket_id"),
+        @Index(name = "idx_tickets_assignee_created_at", columnList = "assignee_id, created_at, ticket_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,6 +40,17 @@ public class Ticket {
     private String userId;
     
     private UUID assigneeId;
+
+    /**
+     * Priority of the ticket; waiting tickets with a higher priority are assigned first
+     */
+    @Enumerated(EnumType.STRING)
+    private TicketPriority priority = TicketPriority.NORMAL;
+
+    /**
+     * Time by which the ticket should have an agent, which is its creation time plus the SLA of its priority
+     */
+    private LocalDateTime slaDeadline;
     
     private LocalDateTime createdAt;
     
@@ -39,6 +61,12 @@ public class Ticket {
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
         }
+        if (priority == null) {
+            priority = TicketPriority.NORMAL;
+        }
+        if (slaDeadline == null) {
+            slaDeadline = priority.slaDeadline(createdAt);
+        }
         updatedAt = LocalDateTime.now();
     }
     
@@ -53,4 +81,24 @@ public class Ticket {
         RESOLVED,
         CLOSED
     }
-}
\ No newline at end of file
+
+    /**
+     * Ticket priorities, from lowest to highest, with the time within which a ticket should get an agent.
+     */
+    public enum TicketPriority {
+        LOW(Duration.ofHours(72)),
+        NORMAL(Duration.ofHours(24)),
+        HIGH(Duration.ofHours(4)),
+        URGENT(Duration.ofHours(1));
+
+        private final Duration sla;
+
+        TicketPriority(Duration sla) {
+            this.sla = sla;
+        }
+
+        public LocalDateTime slaDeadline(LocalDateTime createdAt) {
+            return createdAt.plus(sla);
+        }
+    }
+}
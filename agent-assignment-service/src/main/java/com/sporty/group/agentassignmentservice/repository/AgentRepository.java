@@ -1,13 +1,109 @@
 package com.sporty.group.agentassignmentservice.repository;
 
 import com.sporty.group.agentassignmentservice.model.entity.Agent;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface AgentRepository extends JpaRepository<Agent, UUID> {
+    @EntityGraph(attributePaths = "skills")
     List<Agent> findByAvailability(Agent.AgentAvailability availability);
-}
\ No newline at end of file
+
+    /**
+     * Find all agents with their skills, loaded in the same query instead of one skills query per agent.
+     */
+    @EntityGraph(attributePaths = "skills")
+    @Query("SELECT a FROM Agent a")
+    List<Agent> findAllWithSkills();
+
+    /**
+     * Find an agent with its skills loaded.
+     */
+    @EntityGraph(attributePaths = "skills")
+    Optional<Agent> findWithSkillsByAgentId(UUID agentId);
+
+    /**
+     * Find the agents with the given IDs with their skills loaded.
+     */
+    @EntityGraph(attributePaths = "skills")
+    List<Agent> findWithSkillsByAgentIdIn(Collection<UUID> agentIds);
+
+    /**
+     * Add a ticket to the load of an agent with a single statement, but only if the agent is available and below its
+     * capacity. The agent becomes unavailable once its load reaches its capacity. Like a compare-and-set, concurrent
+     * claims of the same agent are serialized by its row lock, and each one sees the load left by the previous one.
+     *
+     * @param available   the availability of an agent that can take tickets
+     * @param unavailable the availability of an agent at capacity
+     * @return the number of updated agents: 0 if the agent does not exist, is not available or is at capacity
+     */
+    @Modifying
+    @Query("UPDATE Agent a SET a.load = a.load + 1, a.ticketId = :ticketId, "
+            + "a.availability = CASE WHEN a.load + 1 < a.capacity THEN :available ELSE :unavailable END "
+            + "WHERE a.agentId = :agentId AND a.availability = :available AND a.load < a.capacity")
+    int claimCapacity(@Param("agentId") UUID agentId,
+                      @Param("ticketId") UUID ticketId,
+                      @Param("available") Agent.AgentAvailability available,
+                      @Param("unavailable") Agent.AgentAvailability unavailable);
+
+    /**
+     * Set the capacity of an agent, making it available if it is not off duty and its load is below the new capacity,
+     * and unavailable otherwise.
+     *
+     * @return the number of updated agents
+     */
+    @Modifying
+    @Query("UPDATE Agent a SET a.capacity = :capacity, "
+            + "a.availability = CASE WHEN a.offDuty = false AND a.load < :capacity THEN :available ELSE :unavailable END "
+            + "WHERE a.agentId = :agentId")
+    int updateCapacity(@Param("agentId") UUID agentId,
+                       @Param("capacity") int capacity,
+                       @Param("available") Agent.AgentAvailability available,
+                       @Param("unavailable") Agent.AgentAvailability unavailable);
+
+    /**
+     * Take an agent off duty or put it back on duty with a single statement, without touching its load. An agent on
+     * duty is available if its load is below its capacity, and an agent off duty is unavailable.
+     *
+     * @param offDuty     whether the agent is made unavailable by hand
+     * @param available   the availability of an agent that can take tickets
+     * @param unavailable the availability of an agent at capacity or off duty
+     * @return the number of updated agents: 0 if the agent does not exist
+     */
+    @Modifying
+    @Query("UPDATE Agent a SET a.offDuty = :offDuty, "
+            + "a.availability = CASE WHEN :offDuty = false AND a.load < a.capacity THEN :available ELSE :unavailable END "
+            + "WHERE a.agentId = :agentId")
+    int updateOffDuty(@Param("agentId") UUID agentId,
+                      @Param("offDuty") boolean offDuty,
+                      @Param("available") Agent.AgentAvailability available,
+                      @Param("unavailable") Agent.AgentAvailability unavailable);
+
+    /**
+     * Remove a finished ticket from the load of an agent with a single statement. The agent becomes available again
+     * if its load drops below its capacity, unless it is off duty. If the ticket is the one most recently assigned to
+     * the agent, the agent no longer refers to it.
+     *
+     * @param ticketId    the finished ticket
+     * @param available   the availability of an agent that can take tickets
+     * @param unavailable the availability of an agent at capacity or off duty
+     * @return the number of updated agents: 0 if the agent does not exist or has no load
+     */
+    @Modifying
+    @Query("UPDATE Agent a SET a.load = a.load - 1, a.ticketId = NULLIF(a.ticketId, :ticketId), "
+            + "a.availability = CASE WHEN a.offDuty = false AND a.load - 1 < a.capacity THEN :available ELSE :unavailable END "
+            + "WHERE a.agentId = :agentId AND a.load > 0")
+    int releaseCapacity(@Param("agentId") UUID agentId,
+                        @Param("ticketId") UUID ticketId,
+                        @Param("available") Agent.AgentAvailability available,
+                        @Param("unavailable") Agent.AgentAvailability unavailable);
+}
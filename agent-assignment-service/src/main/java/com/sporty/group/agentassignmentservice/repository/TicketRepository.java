@@ -2,12 +2,53 @@ package com.sporty.group.agentassignmentservice.repository;
 
 import com.sporty.group.agentassignmentservice.model.entity.Ticket;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, UUID> {
-    List<Ticket> findByStatus(Ticket.TicketStatus status);
-}
\ No newline at end of file
+public interface TicketRepository extends JpaRepository<Ticket, UUID>, JpaSpecificationExecutor<Ticket> {
+
+    /**
+     * Assign an agent to an open ticket that has no assignee yet, with a single statement and without loading the
+     * ticket. A resolved or closed ticket is never assigned, so it is not reopened.
+     *
+     * @param openStatus the status of a ticket that can be assigned
+     * @param status     the status of the assigned ticket
+     * @return 1 if the ticket was assigned, 0 if it does not exist, is already assigned or is not open
+     */
+    @Modifying
+    @Query("UPDATE Ticket t SET t.assigneeId = :agentId, t.status = :status, t.updatedAt = :updatedAt "
+            + "WHERE t.ticketId = :ticketId AND t.assigneeId IS NULL AND t.status = :openStatus")
+    int assignIfUnassigned(@Param("ticketId") UUID ticketId,
+                           @Param("agentId") UUID agentId,
+                           @Param("openStatus") Ticket.TicketStatus openStatus,
+                           @Param("status") Ticket.TicketStatus status,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Set the status of a ticket with a single statement, but only if its current status is one of the given ones.
+     * Like a compare-and-set, of two concurrent updates from the same status only one applies.
+     *
+     * @return 1 if the status was updated, 0 if the ticket does not exist or has another status
+     */
+    @Modifying
+    @Query("UPDATE Ticket t SET t.status = :status, t.updatedAt = :updatedAt "
+            + "WHERE t.ticketId = :ticketId AND t.status IN :expectedStatuses")
+    int updateStatusIfIn(@Param("ticketId") UUID ticketId,
+                         @Param("status") Ticket.TicketStatus status,
+                         @Param("expectedStatuses") Collection<Ticket.TicketStatus> expectedStatuses,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Find the tickets with the given status that have no assignee.
+     */
+    List<Ticket> findByStatusAndAssigneeIdIsNull(Ticket.TicketStatus status);
+}
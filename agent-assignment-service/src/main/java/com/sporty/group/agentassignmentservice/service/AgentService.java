@@ -1,14 +1,21 @@
 package com.sporty.group.agentassignmentservice.service;
 
+import com.sporty.group.agentassignmentservice.assignment.AgentRegistry;
 import com.sporty.group.agentassignmentservice.model.entity.Agent;
 import com.sporty.group.agentassignmentservice.repository.AgentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -16,26 +23,121 @@ import java.util.UUID;
 public class AgentService {
 
     private final AgentRepository agentRepository;
+    private final AgentRegistry agentRegistry;
 
     public List<Agent> getAllAgents() {
-        return agentRepository.findAll();
+        return agentRepository.findAllWithSkills();
     }
 
     public List<Agent> getAvailableAgents() {
         return agentRepository.findByAvailability(Agent.AgentAvailability.AVAILABLE);
     }
 
+    /**
+     * Get the available agents that have all the given skills, ignoring case.
+     * The agents are looked up in the {@link AgentRegistry} skill index, and only the matching agents are loaded.
+     */
+    public List<Agent> getAvailableAgentsWithSkills(Set<String> skills) {
+        Set<String> requiredSkills = skills.stream()
+                .map(skill -> skill.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        List<UUID> agentIds = agentRegistry.availableAgentsWithSkills(requiredSkills);
+        if (agentIds.isEmpty()) {
+            return List.of();
+        }
+        return agentRepository.findWithSkillsByAgentIdIn(agentIds);
+    }
+
     public Optional<Agent> getAgentById(UUID agentId) {
         return agentRepository.findById(agentId);
     }
 
-    public Agent updateAgentAvailability(UUID agentId, Agent.AgentAvailability availability, UUID ticketId) {
+    /**
+     * Make an agent available or unavailable by hand with a single conditional update, which leaves the load to
+     * concurrent assignments and releases. An agent made unavailable is off duty: it stays unavailable when it
+     * releases capacity, until it is made available again. An agent made available takes tickets again once its load
+     * is below its capacity. The agent registry reloads the agent once the transaction has committed.
+     *
+     * @return the updated agent
+     * @throws IllegalStateException if the agent does not exist
+     */
+    @Transactional
+    public Agent updateAgentAvailability(UUID agentId, Agent.AgentAvailability availability) {
+        if (agentRepository.updateOffDuty(agentId, availability == Agent.AgentAvailability.NOT_AVAILABLE,
+                Agent.AgentAvailability.AVAILABLE, Agent.AgentAvailability.NOT_AVAILABLE) == 0) {
+            throw new IllegalStateException("Agent not found with ID: " + agentId);
+        }
+        afterCommit(() -> agentRegistry.refresh(agentId));
         return agentRepository.findById(agentId)
-                .map(agent -> {
-                    agent.setAvailability(availability);
-                    agent.setTicketId(ticketId);
-                    return agentRepository.save(agent);
-                })
-                .orElseThrow(() -> new RuntimeException("Agent not found with ID: " + agentId));
+                .orElseThrow(() -> new IllegalStateException("Agent not found with ID: " + agentId));
+    }
+
+    /**
+     * Claim capacity of an available agent for a ticket with a single conditional update, so concurrent assignments
+     * can never take the same agent beyond its capacity. The agent registry reloads the agent once the transaction
+     * has committed.
+     *
+     * @throws IllegalStateException if the agent does not exist, is not available or is at capacity
+     */
+    public void claimAgent(UUID agentId, UUID ticketId) {
+        if (agentRepository.claimCapacity(agentId, ticketId, Agent.AgentAvailability.AVAILABLE,
+                Agent.AgentAvailability.NOT_AVAILABLE) == 0) {
+            throw new IllegalStateException(agentRepository.existsById(agentId)
+                    ? "Agent is not available"
+                    : "Agent not found with ID: " + agentId);
+        }
+        afterCommit(() -> agentRegistry.refresh(agentId));
+    }
+
+    /**
+     * Release the capacity an agent held for a finished ticket with a single conditional update. The agent registry
+     * reloads the agent once the transaction has committed.
+     *
+     * @param agentId  the agent assigned to the ticket
+     * @param ticketId the finished ticket
+     * @return true if the capacity was released, false if the agent does not exist or holds no tickets
+     */
+    public boolean releaseAgent(UUID agentId, UUID ticketId) {
+        if (agentRepository.releaseCapacity(agentId, ticketId, Agent.AgentAvailability.AVAILABLE,
+                Agent.AgentAvailability.NOT_AVAILABLE) == 0) {
+            log.warn("Agent {} holds no tickets, nothing to release", agentId);
+            return false;
+        }
+        afterCommit(() -> agentRegistry.refresh(agentId));
+        return true;
+    }
+
+    /**
+     * Set the number of tickets an agent works on at the same time.
+     *
+     * @return the updated agent
+     * @throws IllegalArgumentException if the capacity is not positive
+     * @throws IllegalStateException    if the agent does not exist
+     */
+    @Transactional
+    public Agent updateCapacity(UUID agentId, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        if (agentRepository.updateCapacity(agentId, capacity, Agent.AgentAvailability.AVAILABLE,
+                Agent.AgentAvailability.NOT_AVAILABLE) == 0) {
+            throw new IllegalStateException("Agent not found with ID: " + agentId);
+        }
+        afterCommit(() -> agentRegistry.refresh(agentId));
+        return agentRepository.findById(agentId)
+                .orElseThrow(() -> new IllegalStateException("Agent not found with ID: " + agentId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
\ No newline at end of file
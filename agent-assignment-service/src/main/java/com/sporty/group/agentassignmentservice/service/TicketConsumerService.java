@@ -1,16 +1,18 @@
 package com.sporty.group.agentassignmentservice.service;
 
+import com.sporty.group.agentassignmentservice.assignment.AssignmentEngine;
 import com.sporty.group.agentassignmentservice.config.KafkaConfig;
 import com.sporty.group.agentassignmentservice.model.entity.Ticket;
 import com.sporty.group.agentassignmentservice.repository.TicketRepository;
+import com.sporty.group.sportygroupticketingcommons.event.EventTimestamps;
 import com.sporty.group.sportygroupticketingcommons.event.NewTicketEvent;
+import com.sporty.group.sportygroupticketingcommons.event.TicketStatusUpdatedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.UUID;
 
 @Service
@@ -19,37 +21,64 @@ import java.util.UUID;
 public class TicketConsumerService {
 
     private final TicketRepository ticketRepository;
+    private final AssignmentEngine assignmentEngine;
+    private final TicketService ticketService;
 
     @KafkaListener(topics = KafkaConfig.TICKET_CREATED_TOPIC, groupId = "${spring.kafka.consumer.group-id}", containerFactory = "newTicketKafkaListenerContainerFactory")
     public void consumeNewTicketEvent(NewTicketEvent event) {
         log.info("Received new ticket event: {}", event);
 
         try {
+            UUID ticketId = UUID.fromString(event.getTicketId());
+            // NewTicketEvents are delivered at least once; a redelivered event must not reset the assignment or status
+            if (ticketRepository.existsById(ticketId)) {
+                log.info("Ticket {} already exists, skipping duplicate new ticket event", ticketId);
+                return;
+            }
+
             Ticket ticket = new Ticket();
-            ticket.setTicketId(UUID.fromString(event.getTicketId()));
+            ticket.setTicketId(ticketId);
             ticket.setSubject(event.getSubject());
             ticket.setDescription(event.getDescription());
             ticket.setStatus(Ticket.TicketStatus.valueOf(event.getStatus().toUpperCase()));
             ticket.setUserId(event.getUserId());
 
-            // Parse createdAt if provided
-            if (event.getCreatedAt() != null && !event.getCreatedAt().isEmpty()) {
-                try {
-                    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-                    LocalDateTime createdAt = LocalDateTime.parse(event.getCreatedAt(), formatter);
-                    ticket.setCreatedAt(createdAt);
-                } catch (Exception e) {
-                    log.warn("Could not parse createdAt date: {}, using current time", event.getCreatedAt());
-                    ticket.setCreatedAt(LocalDateTime.now());
-                }
-            } else {
-                ticket.setCreatedAt(LocalDateTime.now());
-            }
+            LocalDateTime createdAt = EventTimestamps.toLocalDateTime(event.getCreatedAtEpochNanos());
+            ticket.setCreatedAt(createdAt != null ? createdAt : LocalDateTime.now());
 
             ticketRepository.save(ticket);
             log.info("Saved new ticket with ID: {}", ticket.getTicketId());
+
+            assignmentEngine.assign(ticket);
         } catch (Exception e) {
             log.error("Error processing new ticket event: {}", e.getMessage(), e);
         }
     }
+
+    /**
+     * Apply a ticket status update. When a ticket is resolved or closed, its agent's capacity is released and the
+     * agent is offered the first waiting tickets, by priority and SLA deadline, right away.
+     * <p>
+     * Status updates and new tickets arrive on different topics, so a status update may arrive before its ticket.
+     * The update then fails and is retried by the container's error handler until the ticket exists, instead of being
+     * dropped and leaving the ticket open. Events with an invalid ticket ID or status are skipped.
+     */
+    @KafkaListener(topics = KafkaConfig.TICKET_UPDATES_TOPIC, groupId = "${spring.kafka.consumer.group-id}", containerFactory = "ticketStatusUpdatedKafkaListenerContainerFactory")
+    public void consumeTicketStatusUpdatedEvent(TicketStatusUpdatedEvent event) {
+        log.info("Received ticket status updated event: {}", event);
+
+        UUID ticketId;
+        Ticket.TicketStatus status;
+        try {
+            ticketId = UUID.fromString(event.getTicketId());
+            status = Ticket.TicketStatus.valueOf(event.getStatus().toUpperCase());
+        } catch (RuntimeException e) {
+            log.error("Error processing ticket status updated event: {}", e.getMessage(), e);
+            return;
+        }
+        ticketService.updateStatus(ticketId, status).ifPresent(agentId -> {
+            log.info("Agent {} released from ticket {}", agentId, ticketId);
+            assignmentEngine.offer(agentId);
+        });
+    }
 }
@@ -2,37 +2,46 @@ package com.sporty.group.agentassignmentservice.service;
 
 import com.sporty.group.agentassignmentservice.config.KafkaConfig;
 import com.sporty.group.sportygroupticketingcommons.event.TicketAssignedEvent;
+import com.sporty.group.sportygroupticketingcommons.outbox.OutboxEvent;
+import com.sporty.group.sportygroupticketingcommons.outbox.OutboxEventRepository;
+import com.sporty.group.sportygroupticketingcommons.outbox.OutboxRelay;
+import com.sporty.group.sportygroupticketingcommons.serialization.TicketAssignedEventSerializer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * Publishes ticket assigned events through the transactional outbox.
+ * The event is written in the caller's transaction and sent by the {@link OutboxRelay} once that transaction has
+ * committed, so a rolled back assignment never reaches Kafka and the caller never waits on the broker.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TicketProducerService {
 
-    private final KafkaTemplate<String, TicketAssignedEvent> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final TicketAssignedEventSerializer serializer = new TicketAssignedEventSerializer();
 
+    @Transactional
     public void sendTicketAssignedEvent(UUID ticketId, UUID assigneeId) {
         TicketAssignedEvent event = new TicketAssignedEvent(
                 ticketId.toString(),
                 assigneeId.toString()
         );
-        
-        log.info("Sending ticket assigned event: {}", event);
-        
-        kafkaTemplate.send(KafkaConfig.TICKET_ASSIGNMENTS_TOPIC, event)
-                .whenComplete((result, ex) -> {
-                    if (ex == null) {
-                        log.info("Sent message=[{}] with offset=[{}]",
-                                event,
-                                result.getRecordMetadata().offset());
-                    } else {
-                        log.error("Unable to send message=[{}] due to : {}", event, ex.getMessage(), ex);
-                    }
-                });
+
+        log.info("Writing ticket assigned event to outbox: {}", event);
+
+        // Keyed by ticket ID, so the assignments of a ticket are consumed in the order they were sent
+        outboxEventRepository.save(OutboxEvent.builder()
+                .topic(KafkaConfig.TICKET_ASSIGNMENTS_TOPIC)
+                .eventKey(event.getTicketId())
+                .payload(serializer.serialize(KafkaConfig.TICKET_ASSIGNMENTS_TOPIC, event))
+                .createdAt(LocalDateTime.now())
+                .build());
     }
-}
\ No newline at end of file
+}
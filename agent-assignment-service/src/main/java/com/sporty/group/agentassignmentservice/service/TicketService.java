@@ -1,15 +1,29 @@
 package com.sporty.group.agentassignmentservice.service;
 
-import com.sporty.group.agentassignmentservice.model.entity.Agent;
+import com.sporty.group.agentassignmentservice.assignment.PendingTicketQueue;
+import com.sporty.group.agentassignmentservice.assignment.PendingTicketQueue.PendingTicket;
 import com.sporty.group.agentassignmentservice.model.entity.Ticket;
 import com.sporty.group.agentassignmentservice.repository.TicketRepository;
+import com.sporty.group.sportygroupticketingcommons.model.TicketStatusTransitions;
+import com.sporty.group.sportygroupticketingcommons.pagination.TicketCursor;
+import com.sporty.group.sportygroupticketingcommons.pagination.TicketPage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -17,55 +31,215 @@ import java.util.UUID;
 @Slf4j
 public class TicketService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final Sort LISTING_ORDER = Sort.by("createdAt", "ticketId");
+
+    private static final TicketStatusTransitions<Ticket.TicketStatus> STATUS_TRANSITIONS =
+            TicketStatusTransitions.of(Ticket.TicketStatus.class);
+
+    // Statuses of tickets an agent is still working on, or that wait for an agent
+    private static final Set<Ticket.TicketStatus> ACTIVE_STATUSES =
+            EnumSet.of(Ticket.TicketStatus.OPEN, Ticket.TicketStatus.IN_PROGRESS);
+
     private final TicketRepository ticketRepository;
     private final AgentService agentService;
     private final TicketProducerService ticketProducerService;
+    private final PendingTicketQueue pendingTicketQueue;
 
-    public List<Ticket> getAllTickets() {
-        return ticketRepository.findAll();
+    /**
+     * Get one page of the tickets matching the given filters, ordered by creation time and ticket ID.
+     * Pages are read with keyset pagination: each page continues after the last ticket of the previous page,
+     * so reading a page costs the same index range scan no matter how deep into the listing it is.
+     *
+     * @param status     only tickets with this status, or null for all statuses
+     * @param userId     only tickets of this user, or null for all users
+     * @param assigneeId only tickets assigned to this agent, or null for all assignees
+     * @param cursor     the next cursor token of the previous page, or null for the first page
+     * @param limit      the maximum number of tickets on the page, between 1 and {@value #MAX_PAGE_SIZE}
+     * @return the page, with a next cursor token if more tickets match
+     * @throws IllegalArgumentException if the cursor token or the limit is invalid
+     */
+    @Transactional(readOnly = true)
+    public TicketPage<Ticket> getTickets(Ticket.TicketStatus status, String userId, UUID assigneeId,
+                                         String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE + ": " + limit);
+        }
+        KeysetScrollPosition position = cursor == null
+                ? ScrollPosition.keyset()
+                : positionAfter(TicketCursor.decode(cursor));
+
+        Window<Ticket> window = ticketRepository.findBy(filter(status, userId, assigneeId),
+                query -> query.sortBy(LISTING_ORDER).limit(limit).scroll(position));
+
+        List<Ticket> tickets = window.getContent();
+        String nextCursor = null;
+        if (window.hasNext()) {
+            Ticket last = tickets.get(tickets.size() - 1);
+            nextCursor = new TicketCursor(last.getCreatedAt(), last.getTicketId()).encode();
+        }
+        return new TicketPage<>(tickets, nextCursor);
     }
 
-    public List<Ticket> getNewTickets() {
-        return ticketRepository.findByStatus(Ticket.TicketStatus.OPEN);
+    /**
+     * Get one page of the new tickets, which are open and not yet assigned.
+     *
+     * @see #getTickets(Ticket.TicketStatus, String, UUID, String, int)
+     */
+    public TicketPage<Ticket> getNewTickets(String cursor, int limit) {
+        return getTickets(Ticket.TicketStatus.OPEN, null, null, cursor, limit);
     }
 
     public Optional<Ticket> getTicketById(UUID ticketId) {
         return ticketRepository.findById(ticketId);
     }
 
+    /**
+     * Assign an agent to an unassigned ticket, removing it from the pending ticket queue if it was waiting there.
+     *
+     * @param ticketId the ticket to assign
+     * @param agentId  the agent to assign, which must be available
+     * @return the assigned ticket
+     * @throws IllegalStateException if the ticket or the agent does not exist, the ticket is already assigned or
+     *                               the agent is not available
+     * @see #assign(UUID, UUID)
+     */
     @Transactional
     public Ticket assignAgentToTicket(UUID ticketId, UUID agentId) {
         log.info("Assigning agent {} to ticket {}", agentId, ticketId);
-        
-        // Get the ticket
+        assign(ticketId, agentId);
+        pendingTicketQueue.remove(ticketId);
+        return ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new IllegalStateException("Ticket not found with ID: " + ticketId));
+    }
+
+    /**
+     * Assign an agent that was already claimed in the agent registry to a new ticket, without reading the ticket.
+     *
+     * @param ticketId the ticket to assign
+     * @param agentId  the claimed agent
+     * @throws IllegalStateException if the ticket does not exist or is already assigned, or if the agent was
+     *                               assigned by someone else in the meantime
+     * @see #assign(UUID, UUID)
+     */
+    @Transactional
+    public void assignClaimedAgent(UUID ticketId, UUID agentId) {
+        assign(ticketId, agentId);
+    }
+
+    /**
+     * Get the open tickets that wait for an agent.
+     */
+    @Transactional(readOnly = true)
+    public List<Ticket> getWaitingTickets() {
+        return ticketRepository.findByStatusAndAssigneeIdIsNull(Ticket.TicketStatus.OPEN);
+    }
+
+    /**
+     * Set the priority of a ticket, which also moves its SLA deadline. A waiting ticket moves in the pending ticket
+     * queue accordingly.
+     *
+     * @return the updated ticket
+     * @throws IllegalStateException if the ticket does not exist
+     */
+    @Transactional
+    public Ticket updatePriority(UUID ticketId, Ticket.TicketPriority priority) {
         Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new RuntimeException("Ticket not found with ID: " + ticketId));
-        
-        // Check if ticket is already assigned
-        if (ticket.getAssigneeId() != null) {
-            throw new RuntimeException("Ticket is already assigned to an agent");
+                .orElseThrow(() -> new IllegalStateException("Ticket not found with ID: " + ticketId));
+        ticket.setPriority(priority);
+        ticket.setSlaDeadline(priority.slaDeadline(ticket.getCreatedAt()));
+        pendingTicketQueue.get(ticketId).ifPresent(pending -> pendingTicketQueue.add(new PendingTicket(
+                ticketId, priority, ticket.getSlaDeadline(), pending.createdAt(), pending.requiredSkills())));
+        log.info("Ticket {} priority updated to {}", ticketId, priority);
+        return ticket;
+    }
+
+    /**
+     * Apply a status update of a ticket. A ticket only moves forward through its lifecycle, by the same
+     * {@link TicketStatusTransitions} as in the ticket management service, so going back or setting the current
+     * status again changes nothing. When a ticket is resolved or closed for the first time, the capacity its agent
+     * held for it is released in the same transaction. The status moves with a conditional update, so a redelivered
+     * or repeated update releases the agent only once. A ticket that is no longer open leaves the pending ticket
+     * queue.
+     *
+     * @param ticketId the ticket to update
+     * @param status   the new status
+     * @return the agent whose capacity was released, or empty if no agent was released
+     * @throws IllegalStateException if the ticket does not exist (yet), e.g. because its new ticket event has not
+     *                               been consumed
+     */
+    @Transactional
+    public Optional<UUID> updateStatus(UUID ticketId, Ticket.TicketStatus status) {
+        if (status != Ticket.TicketStatus.OPEN) {
+            pendingTicketQueue.remove(ticketId);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Set<Ticket.TicketStatus> sources = STATUS_TRANSITIONS.sources(status);
+        if (ACTIVE_STATUSES.contains(status)) {
+            if (sources.isEmpty() || ticketRepository.updateStatusIfIn(ticketId, status, sources, now) == 0) {
+                requireTicket(ticketId);
+            }
+            return Optional.empty();
+        }
+        // A resolved or closed ticket releases its agent only when it leaves an active status
+        if (ticketRepository.updateStatusIfIn(ticketId, status, ACTIVE_STATUSES, now) == 0) {
+            requireTicket(ticketId);
+            Set<Ticket.TicketStatus> inactiveSources = EnumSet.noneOf(Ticket.TicketStatus.class);
+            inactiveSources.addAll(sources);
+            inactiveSources.removeAll(ACTIVE_STATUSES);
+            if (!inactiveSources.isEmpty()) {
+                ticketRepository.updateStatusIfIn(ticketId, status, inactiveSources, now);
+            }
+            log.info("Ticket {} is not active, no agent to release for status {}", ticketId, status);
+            return Optional.empty();
         }
-        
-        // Get the agent
-        Agent agent = agentService.getAgentById(agentId)
-                .orElseThrow(() -> new RuntimeException("Agent not found with ID: " + agentId));
-        
-        // Check if agent is available
-        if (agent.getAvailability() != Agent.AgentAvailability.AVAILABLE) {
-            throw new RuntimeException("Agent is not available");
+        return ticketRepository.findById(ticketId)
+                .map(Ticket::getAssigneeId)
+                .filter(agentId -> agentService.releaseAgent(agentId, ticketId));
+    }
+
+    private void requireTicket(UUID ticketId) {
+        if (!ticketRepository.existsById(ticketId)) {
+            throw new IllegalStateException("Ticket not found with ID: " + ticketId);
+        }
+    }
+
+    /**
+     * Claim the ticket and the agent with one conditional update each, then write the ticket assigned event to the
+     * outbox. The ticket update only applies to an open, unassigned ticket and the agent update only to an available
+     * agent, so of two concurrent assignments of the same ticket or agent exactly one succeeds. The other fails
+     * and its transaction is rolled back. There is no read-modify-write window in which both can see the rows as
+     * free.
+     */
+    private void assign(UUID ticketId, UUID agentId) {
+        if (ticketRepository.assignIfUnassigned(ticketId, agentId, Ticket.TicketStatus.OPEN,
+                Ticket.TicketStatus.IN_PROGRESS, LocalDateTime.now()) == 0) {
+            throw new IllegalStateException(ticketRepository.findById(ticketId)
+                    .map(ticket -> ticket.getAssigneeId() != null
+                            ? "Ticket is already assigned to an agent"
+                            : "Ticket is not open: " + ticket.getStatus())
+                    .orElse("Ticket not found with ID: " + ticketId));
         }
-        
-        // Update ticket
-        ticket.setAssigneeId(agentId);
-        ticket.setStatus(Ticket.TicketStatus.IN_PROGRESS);
-        Ticket updatedTicket = ticketRepository.save(ticket);
-        
-        // Update agent
-        agentService.updateAgentAvailability(agentId, Agent.AgentAvailability.NOT_AVAILABLE, ticketId);
-        
-        // Send Kafka event
+        agentService.claimAgent(agentId, ticketId);
         ticketProducerService.sendTicketAssignedEvent(ticketId, agentId);
-        
-        return updatedTicket;
+    }
+
+    private static KeysetScrollPosition positionAfter(TicketCursor cursor) {
+        return ScrollPosition.forward(Map.of("createdAt", cursor.getCreatedAt(), "ticketId", cursor.getTicketId()));
+    }
+
+    private static Specification<Ticket> filter(Ticket.TicketStatus status, String userId, UUID assigneeId) {
+        List<Specification<Ticket>> filters = new ArrayList<>();
+        if (status != null) {
+            filters.add((root, query, builder) -> builder.equal(root.get("status"), status));
+        }
+        if (userId != null) {
+            filters.add((root, query, builder) -> builder.equal(root.get("userId"), userId));
+        }
+        if (assigneeId != null) {
+            filters.add((root, query, builder) -> builder.equal(root.get("assigneeId"), assigneeId));
+        }
+        return Specification.allOf(filters);
     }
 }
\ No newline at end of file
@@ -0,0 +1,313 @@
+package com.sporty.group.agentassignmentservice.assignment;
+
+import com.sporty.group.agentassignmentservice.model.entity.Agent;
+import com.sporty.group.agentassignmentservice.repository.AgentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AgentRegistryTest {
+
+    @Mock
+    private AgentRepository agentRepository;
+
+    @InjectMocks
+    private AgentRegistry agentRegistry;
+
+    private Agent javaAgent;
+    private Agent reactAgent;
+    private Agent busyAgent;
+
+    @BeforeEach
+    void setUp() {
+        javaAgent = agent(Agent.AgentAvailability.AVAILABLE, "Java", "Kafka");
+        reactAgent = agent(Agent.AgentAvailability.AVAILABLE, "React", "JavaScript");
+        busyAgent = agent(Agent.AgentAvailability.NOT_AVAILABLE, "Java", "Kafka", "Python");
+        when(agentRepository.findAllWithSkills()).thenReturn(List.of(javaAgent, reactAgent, busyAgent));
+        agentRegistry.load();
+    }
+
+    @Test
+    void load_ShouldCollectSkillsOfAllAgentsInLowerCase() {
+        // Assert
+        assertEquals(Set.of("java", "kafka", "react", "javascript", "python"), agentRegistry.skills());
+    }
+
+    @Test
+    void availableAgentsWithSkills_ShouldReturnAvailableAgentsWithAllSkills() {
+        // Act & Assert
+        assertEquals(List.of(javaAgent.getAgentId()), agentRegistry.availableAgentsWithSkills(Set.of("java", "kafka")));
+        assertEquals(List.of(), agentRegistry.availableAgentsWithSkills(Set.of("java", "react")));
+        assertEquals(List.of(), agentRegistry.availableAgentsWithSkills(Set.of("python")));
+        assertEquals(List.of(), agentRegistry.availableAgentsWithSkills(Set.of("cobol")));
+        assertEquals(List.of(javaAgent.getAgentId(), reactAgent.getAgentId()), agentRegistry.availableAgentsWithSkills(Set.of()));
+    }
+
+    @Test
+    void availableAgentsWithSkills_ShouldFollowAvailabilityChanges() {
+        // Act
+        agentRegistry.updateAvailability(busyAgent.getAgentId(), Agent.AgentAvailability.AVAILABLE);
+        agentRegistry.claim(Set.of("java", "kafka", "python"));
+
+        // Assert
+        assertEquals(List.of(javaAgent.getAgentId()), agentRegistry.availableAgentsWithSkills(Set.of("kafka")));
+        assertEquals(List.of(), agentRegistry.availableAgentsWithSkills(Set.of("python")));
+    }
+
+    @Test
+    void availableAgentsWithSkills_ShouldFindMatchesAmongManyAgents() {
+        // Arrange
+        List<Agent> agents = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            agents.add(agent(i % 2 == 0 ? Agent.AgentAvailability.AVAILABLE : Agent.AgentAvailability.NOT_AVAILABLE,
+                    "Java", i % 1000 == 0 ? "Kafka" : "Spring"));
+        }
+        when(agentRepository.findAllWithSkills()).thenReturn(agents);
+        agentRegistry.load();
+
+        // Act
+        List<UUID> result = agentRegistry.availableAgentsWithSkills(Set.of("kafka", "java"));
+
+        // Assert
+        assertEquals(20, result.size());
+        assertEquals(agents.get(0).getAgentId(), result.get(0));
+        assertEquals(agents.get(19_000).getAgentId(), result.get(19));
+    }
+
+    @Test
+    void availableAgents_ShouldReturnAvailableAgentsWithSkillsAndLoad() {
+        // Act
+        agentRegistry.claim(Set.of("react"));
+
+        // Assert
+        assertEquals(List.of(new AgentRegistry.AvailableAgent(javaAgent.getAgentId(), Set.of("java", "kafka"), 0, 1)),
+                agentRegistry.availableAgents());
+    }
+
+    @Test
+    void claim_ShouldPickAvailableAgentWithAllRequiredSkills_AndMarkItNotAvailable() {
+        // Act
+        Optional<UUID> first = agentRegistry.claim(Set.of("java", "kafka"));
+        Optional<UUID> second = agentRegistry.claim(Set.of("java", "kafka"));
+
+        // Assert
+        assertEquals(Optional.of(javaAgent.getAgentId()), first);
+        assertEquals(Optional.empty(), second);
+    }
+
+    @Test
+    void claim_ShouldFallBackToAgentWithSomeRequiredSkills() {
+        // Act
+        Optional<UUID> result = agentRegistry.claim(Set.of("react", "kafka"));
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertTrue(Set.of(javaAgent.getAgentId(), reactAgent.getAgentId()).contains(result.get()));
+    }
+
+    @Test
+    void claim_ShouldReturnEmpty_WhenNoAvailableAgentHasAnyRequiredSkill() {
+        // Act
+        Optional<UUID> result = agentRegistry.claim(Set.of("python"));
+
+        // Assert
+        assertEquals(Optional.empty(), result);
+    }
+
+    @Test
+    void claim_ShouldPickAnyAvailableAgent_WhenNoSkillIsRequired() {
+        // Act
+        Optional<UUID> first = agentRegistry.claim(Set.of());
+        Optional<UUID> second = agentRegistry.claim(Set.of());
+        Optional<UUID> third = agentRegistry.claim(Set.of());
+
+        // Assert
+        assertTrue(first.isPresent());
+        assertTrue(second.isPresent());
+        assertNotEquals(first, second);
+        assertEquals(Optional.empty(), third);
+    }
+
+    @Test
+    void claim_ShouldPickLeastLoadedAgentWithRequiredSkills() {
+        // Arrange
+        Agent busyJavaAgent = agent(Agent.AgentAvailability.AVAILABLE, 3, 2, "Java", "Kafka");
+        Agent idleJavaAgent = agent(Agent.AgentAvailability.AVAILABLE, 3, 0, "Java", "Kafka");
+        when(agentRepository.findAllWithSkills()).thenReturn(List.of(busyJavaAgent, idleJavaAgent, reactAgent));
+        agentRegistry.load();
+
+        // Act
+        List<Optional<UUID>> claimed = List.of(
+                agentRegistry.claim(Set.of("java", "kafka")),
+                agentRegistry.claim(Set.of("java", "kafka")),
+                agentRegistry.claim(Set.of("java")),
+                agentRegistry.claim(Set.of("kafka")));
+
+        // Assert
+        assertEquals(List.of(
+                Optional.of(idleJavaAgent.getAgentId()),
+                Optional.of(idleJavaAgent.getAgentId()),
+                Optional.of(busyJavaAgent.getAgentId()),
+                Optional.of(idleJavaAgent.getAgentId())), claimed);
+        assertEquals(Optional.empty(), agentRegistry.claim(Set.of("java")));
+    }
+
+    @Test
+    void claim_ShouldKeepAgentAvailableUntilItsCapacityIsReached() {
+        // Arrange
+        Agent agent = agent(Agent.AgentAvailability.AVAILABLE, 2, 0, "Go");
+        when(agentRepository.findAllWithSkills()).thenReturn(List.of(agent));
+        agentRegistry.load();
+
+        // Act
+        Optional<UUID> first = agentRegistry.claim(Set.of("go"));
+        List<UUID> availableAfterFirst = agentRegistry.availableAgentsWithSkills(Set.of("go"));
+        Optional<UUID> second = agentRegistry.claim(Set.of("go"));
+
+        // Assert
+        assertEquals(Optional.of(agent.getAgentId()), first);
+        assertEquals(List.of(agent.getAgentId()), availableAfterFirst);
+        assertEquals(Optional.of(agent.getAgentId()), second);
+        assertEquals(List.of(), agentRegistry.availableAgentsWithSkills(Set.of("go")));
+        assertEquals(Optional.empty(), agentRegistry.claim(Set.of()));
+    }
+
+    @Test
+    void claim_ShouldPickLeastLoadedAgentWithAnyRequiredSkill_WhenNoAgentHasAll() {
+        // Arrange
+        Agent busyJavaAgent = agent(Agent.AgentAvailability.AVAILABLE, 5, 3, "Java");
+        Agent idleReactAgent = agent(Agent.AgentAvailability.AVAILABLE, 5, 1, "React");
+        when(agentRepository.findAllWithSkills()).thenReturn(List.of(busyJavaAgent, idleReactAgent));
+        agentRegistry.load();
+
+        // Act
+        Optional<UUID> result = agentRegistry.claim(Set.of("java", "react"));
+
+        // Assert
+        assertEquals(Optional.of(idleReactAgent.getAgentId()), result);
+    }
+
+    @Test
+    void claimAgent_ShouldClaimGivenAgent_WhenItHasAnyRequiredSkill() {
+        // Arrange
+        Agent agent = agent(Agent.AgentAvailability.AVAILABLE, 2, 0, "Java", "Kafka");
+        when(agentRepository.findAllWithSkills()).thenReturn(List.of(agent, reactAgent));
+        agentRegistry.load();
+
+        // Act & Assert
+        assertFalse(agentRegistry.claim(agent.getAgentId(), Set.of("react")));
+        assertTrue(agentRegistry.claim(agent.getAgentId(), Set.of("kafka", "react")));
+        assertTrue(agentRegistry.isAvailable(agent.getAgentId()));
+        assertTrue(agentRegistry.claim(agent.getAgentId(), Set.of()));
+        assertFalse(agentRegistry.isAvailable(agent.getAgentId()));
+        assertFalse(agentRegistry.claim(agent.getAgentId(), Set.of("java")));
+    }
+
+    @Test
+    void claimAgent_ShouldRejectUnknownAndUnavailableAgents() {
+        // Act & Assert
+        assertFalse(agentRegistry.claim(UUID.randomUUID(), Set.of()));
+        assertFalse(agentRegistry.claim(busyAgent.getAgentId(), Set.of("java")));
+        assertFalse(agentRegistry.isAvailable(busyAgent.getAgentId()));
+    }
+
+    @Test
+    void refresh_ShouldApplyLoadAndCapacityFromDatabase() {
+        // Arrange
+        Agent reloaded = agent(Agent.AgentAvailability.AVAILABLE, 4, 3, "Java", "Kafka");
+        reloaded.setAgentId(javaAgent.getAgentId());
+        Agent idleAgent = agent(Agent.AgentAvailability.AVAILABLE, 4, 1, "Java");
+        when(agentRepository.findWithSkillsByAgentId(javaAgent.getAgentId())).thenReturn(Optional.of(reloaded));
+        when(agentRepository.findWithSkillsByAgentId(idleAgent.getAgentId())).thenReturn(Optional.of(idleAgent));
+
+        // Act
+        agentRegistry.refresh(javaAgent.getAgentId());
+        agentRegistry.refresh(idleAgent.getAgentId());
+
+        // Assert
+        assertEquals(Optional.of(idleAgent.getAgentId()), agentRegistry.claim(Set.of("java")));
+        assertEquals(Optional.of(idleAgent.getAgentId()), agentRegistry.claim(Set.of("java")));
+        assertEquals(Optional.of(javaAgent.getAgentId()), agentRegistry.claim(Set.of("java")));
+    }
+
+    @Test
+    void refresh_ShouldMakeClaimedAgentAvailableAgain_WhenItIsAvailableInDatabase() {
+        // Arrange
+        UUID agentId = agentRegistry.claim(Set.of("java")).orElseThrow();
+        when(agentRepository.findWithSkillsByAgentId(agentId)).thenReturn(Optional.of(javaAgent));
+
+        // Act
+        agentRegistry.refresh(agentId);
+
+        // Assert
+        assertEquals(Optional.of(agentId), agentRegistry.claim(Set.of("java")));
+    }
+
+    @Test
+    void refresh_ShouldKeepClaimedAgentUnavailable_WhenItWasAssignedConcurrently() {
+        // Arrange
+        UUID agentId = agentRegistry.claim(Set.of("java")).orElseThrow();
+        javaAgent.setAvailability(Agent.AgentAvailability.NOT_AVAILABLE);
+        when(agentRepository.findWithSkillsByAgentId(agentId)).thenReturn(Optional.of(javaAgent));
+
+        // Act
+        agentRegistry.refresh(agentId);
+
+        // Assert
+        assertEquals(Optional.empty(), agentRegistry.claim(Set.of("java", "kafka")));
+    }
+
+    @Test
+    void updateAvailability_ShouldApplyAvailabilityChanges() {
+        // Act
+        agentRegistry.updateAvailability(busyAgent.getAgentId(), Agent.AgentAvailability.AVAILABLE);
+        agentRegistry.updateAvailability(javaAgent.getAgentId(), Agent.AgentAvailability.NOT_AVAILABLE);
+
+        // Assert
+        assertEquals(Optional.of(busyAgent.getAgentId()), agentRegistry.claim(Set.of("kafka")));
+        assertEquals(Optional.empty(), agentRegistry.claim(Set.of("kafka")));
+    }
+
+    @Test
+    void updateAvailability_ShouldLoadUnknownAgent() {
+        // Arrange
+        Agent newAgent = agent(Agent.AgentAvailability.NOT_AVAILABLE, "Go");
+        when(agentRepository.findWithSkillsByAgentId(newAgent.getAgentId())).thenReturn(Optional.of(newAgent));
+
+        // Act
+        agentRegistry.updateAvailability(newAgent.getAgentId(), Agent.AgentAvailability.AVAILABLE);
+
+        // Assert
+        assertTrue(agentRegistry.skills().contains("go"));
+        assertEquals(Optional.of(newAgent.getAgentId()), agentRegistry.claim(Set.of("go")));
+    }
+
+    private static Agent agent(Agent.AgentAvailability availability, String... skills) {
+        return agent(availability, 1, 0, skills);
+    }
+
+    private static Agent agent(Agent.AgentAvailability availability, int capacity, int load, String... skills) {
+        Agent agent = new Agent();
+        agent.setAgentId(UUID.randomUUID());
+        agent.setFirstName("Test");
+        agent.setLastName("Agent");
+        agent.setAvailability(availability);
+        agent.setCapacity(capacity);
+        agent.setLoad(load);
+        agent.setSkills(Set.of(skills));
+        return agent;
+    }
+}
@@ -0,0 +1,329 @@
+package com.sporty.group.agentassignmentservice.assignment;
+
+import com.sporty.group.agentassignmentservice.assignment.PendingTicketQueue.PendingTicket;
+import com.sporty.group.agentassignmentservice.model.entity.Ticket;
+import com.sporty.group.agentassignmentservice.service.TicketService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AssignmentEngineTest {
+
+    @Mock
+    private AgentRegistry agentRegistry;
+
+    @Mock
+    private TicketService ticketService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PendingTicketQueue pendingTicketQueue;
+    private AssignmentEngine assignmentEngine;
+    private Ticket ticket;
+    private UUID agentId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pendingTicketQueue = new PendingTicketQueue(meterRegistry);
+        assignmentEngine = new AssignmentEngine(agentRegistry, new SkillMatcher(List.of()), ticketService, pendingTicketQueue,
+                new BatchAssignmentOptimizer(), true, 100, false, 10_000, 200);
+
+        ticket = new Ticket();
+        ticket.setTicketId(UUID.randomUUID());
+        ticket.setSubject("Kafka consumer lag");
+        ticket.setDescription("The Java service stopped consuming");
+        ticket.setStatus(Ticket.TicketStatus.OPEN);
+        ticket.setCreatedAt(LocalDateTime.now());
+        agentId = UUID.randomUUID();
+    }
+
+    @Test
+    void assign_ShouldClaimAgentWithMentionedSkills_AndStoreAssignment() {
+        // Arrange
+        when(agentRegistry.skills()).thenReturn(Set.of("java", "kafka", "react"));
+        when(agentRegistry.claim(Set.of("java", "kafka"))).thenReturn(Optional.of(agentId));
+
+        // Act
+        Optional<UUID> result = assignmentEngine.assign(ticket);
+
+        // Assert
+        assertEquals(Optional.of(agentId), result);
+        verify(ticketService, times(1)).assignClaimedAgent(ticket.getTicketId(), agentId);
+    }
+
+    @Test
+    void assign_ShouldLeaveTicketOpen_WhenNoAgentIsAvailable() {
+        // Arrange
+        when(agentRegistry.skills()).thenReturn(Set.of("java", "kafka"));
+        when(agentRegistry.claim(anySet())).thenReturn(Optional.empty());
+
+        // Act
+        Optional<UUID> result = assignmentEngine.assign(ticket);
+
+        // Assert
+        assertEquals(Optional.empty(), result);
+        verifyNoInteractions(ticketService);
+    }
+
+    @Test
+    void assign_ShouldReloadAgentAndQueueTicket_WhenAssignmentCannotBeStored() {
+        // Arrange
+        when(agentRegistry.skills()).thenReturn(Set.of("kafka"));
+        when(agentRegistry.claim(Set.of("kafka"))).thenReturn(Optional.of(agentId));
+        doThrow(new IllegalStateException("Agent is not available"))
+                .when(ticketService).assignClaimedAgent(ticket.getTicketId(), agentId);
+        when(ticketService.getTicketById(ticket.getTicketId())).thenReturn(Optional.of(ticket));
+
+        // Act
+        Optional<UUID> result = assignmentEngine.assign(ticket);
+
+        // Assert
+        assertEquals(Optional.empty(), result);
+        verify(agentRegistry, times(1)).refresh(agentId);
+        assertEquals(Set.of("kafka"), pendingTicketQueue.get(ticket.getTicketId()).orElseThrow().requiredSkills());
+    }
+
+    @Test
+    void assign_ShouldNotQueueTicket_WhenItWasAssignedElsewhere() {
+        // Arrange
+        when(agentRegistry.skills()).thenReturn(Set.of("kafka"));
+        when(agentRegistry.claim(Set.of("kafka"))).thenReturn(Optional.of(agentId));
+        doThrow(new IllegalStateException("Ticket is already assigned to an agent"))
+                .when(ticketService).assignClaimedAgent(ticket.getTicketId(), agentId);
+        Ticket assigned = new Ticket();
+        assigned.setTicketId(ticket.getTicketId());
+        assigned.setStatus(Ticket.TicketStatus.IN_PROGRESS);
+        assigned.setAssigneeId(UUID.randomUUID());
+        when(ticketService.getTicketById(ticket.getTicketId())).thenReturn(Optional.of(assigned));
+
+        // Act
+        Optional<UUID> result = assignmentEngine.assign(ticket);
+
+        // Assert
+        assertEquals(Optional.empty(), result);
+        assertEquals(0, pendingTicketQueue.size());
+    }
+
+    @Test
+    void assign_ShouldDoNothing_WhenAutomaticAssignmentIsDisabled() {
+        // Arrange
+        AssignmentEngine disabledEngine = new AssignmentEngine(agentRegistry, new SkillMatcher(List.of()), ticketService, pendingTicketQueue,
+                new BatchAssignmentOptimizer(), false, 100, false, 10_000, 200);
+
+        // Act
+        Optional<UUID> result = disabledEngine.assign(ticket);
+
+        // Assert
+        assertEquals(Optional.empty(), result);
+        verifyNoInteractions(agentRegistry, ticketService);
+    }
+
+    @Test
+    void assign_ShouldQueueTicket_WhenNoAgentIsAvailable() {
+        // Arrange
+        ticket.setPriority(Ticket.TicketPriority.HIGH);
+        when(agentRegistry.skills()).thenReturn(Set.of("java", "kafka"));
+        when(agentRegistry.claim(anySet())).thenReturn(Optional.empty());
+
+        // Act
+        assignmentEngine.assign(ticket);
+
+        // Assert
+        PendingTicket pending = pendingTicketQueue.get(ticket.getTicketId()).orElseThrow();
+        assertEquals(Ticket.TicketPriority.HIGH, pending.priority());
+        assertEquals(Set.of("java", "kafka"), pending.requiredSkills());
+        assertEquals(ticket.getCreatedAt().plusHours(4), pending.slaDeadline());
+    }
+
+    @Test
+    void offer_ShouldAssignWaitingTicketsInQueueOrder_UntilAgentIsAtCapacity() {
+        // Arrange
+        PendingTicket urgentReactTicket = pending(Ticket.TicketPriority.URGENT, 0, "react");
+        PendingTicket normalKafkaTicket = pending(Ticket.TicketPriority.NORMAL, 0, "kafka");
+        PendingTicket highKafkaTicket = pending(Ticket.TicketPriority.HIGH, 10, "kafka");
+        PendingTicket urgentKafkaTicket = pending(Ticket.TicketPriority.URGENT, 20, "kafka");
+        pendingTicketQueue.load(List.of(urgentReactTicket, normalKafkaTicket, highKafkaTicket, urgentKafkaTicket));
+        when(agentRegistry.isAvailable(agentId)).thenReturn(true, true, false);
+        when(agentRegistry.claim(agentId, Set.of("react"))).thenReturn(false);
+        when(agentRegistry.claim(agentId, Set.of("kafka"))).thenReturn(true);
+
+        // Act
+        int assigned = assignmentEngine.offer(agentId);
+
+        // Assert
+        assertEquals(2, assigned);
+        InOrder inOrder = inOrder(ticketService);
+        inOrder.verify(ticketService).assignClaimedAgent(urgentKafkaTicket.ticketId(), agentId);
+        inOrder.verify(ticketService).assignClaimedAgent(highKafkaTicket.ticketId(), agentId);
+        verify(ticketService, never()).assignClaimedAgent(eq(normalKafkaTicket.ticketId()), any());
+        assertEquals(2, pendingTicketQueue.size());
+        assertEquals(2, meterRegistry.get("assignment.queue.wait").tag("priority", "URGENT").timer().count()
+                + meterRegistry.get("assignment.queue.wait").tag("priority", "HIGH").timer().count());
+    }
+
+    @Test
+    void offer_ShouldRequeueTicketAndReloadAgent_WhenWaitingTicketCannotBeAssigned() {
+        // Arrange
+        PendingTicket waitingTicket = pending(Ticket.TicketPriority.NORMAL, 0, "kafka");
+        pendingTicketQueue.add(waitingTicket);
+        when(agentRegistry.isAvailable(agentId)).thenReturn(true, false);
+        when(agentRegistry.claim(agentId, Set.of("kafka"))).thenReturn(true);
+        doThrow(new IllegalStateException("Agent is not available"))
+                .when(ticketService).assignClaimedAgent(waitingTicket.ticketId(), agentId);
+        when(ticketService.getTicketById(waitingTicket.ticketId())).thenReturn(Optional.of(ticket));
+
+        // Act
+        int assigned = assignmentEngine.offer(agentId);
+
+        // Assert
+        assertEquals(0, assigned);
+        verify(agentRegistry, times(1)).refresh(agentId);
+        assertTrue(pendingTicketQueue.get(waitingTicket.ticketId()).isPresent());
+    }
+
+    @Test
+    void offer_ShouldDropTicket_WhenItWasAssignedElsewhere() {
+        // Arrange
+        PendingTicket takenTicket = pending(Ticket.TicketPriority.NORMAL, 0, "kafka");
+        pendingTicketQueue.add(takenTicket);
+        ticket.setAssigneeId(UUID.randomUUID());
+        when(agentRegistry.isAvailable(agentId)).thenReturn(true);
+        when(agentRegistry.claim(agentId, Set.of("kafka"))).thenReturn(true);
+        doThrow(new IllegalStateException("Ticket is already assigned to an agent"))
+                .when(ticketService).assignClaimedAgent(takenTicket.ticketId(), agentId);
+        when(ticketService.getTicketById(takenTicket.ticketId())).thenReturn(Optional.of(ticket));
+
+        // Act
+        int assigned = assignmentEngine.offer(agentId);
+
+        // Assert
+        assertEquals(0, assigned);
+        assertEquals(0, pendingTicketQueue.size());
+    }
+
+    @Test
+    void loadPendingTickets_ShouldQueueWaitingTickets_AndOfferThemToAvailableAgents() {
+        // Arrange
+        when(agentRegistry.skills()).thenReturn(Set.of("java", "kafka"));
+        when(ticketService.getWaitingTickets()).thenReturn(List.of(ticket));
+        when(agentRegistry.availableAgentsWithSkills(Set.of())).thenReturn(List.of(agentId));
+        when(agentRegistry.isAvailable(agentId)).thenReturn(true, false);
+        when(agentRegistry.claim(agentId, Set.of("java", "kafka"))).thenReturn(true);
+
+        // Act
+        assignmentEngine.loadPendingTickets();
+
+        // Assert
+        verify(ticketService, times(1)).assignClaimedAgent(ticket.getTicketId(), agentId);
+        assertEquals(0, pendingTicketQueue.size());
+    }
+
+    @Test
+    void offer_ShouldDoNothing_WhenAutomaticAssignmentIsDisabled() {
+        // Arrange
+        AssignmentEngine disabledEngine = new AssignmentEngine(agentRegistry, new SkillMatcher(List.of()), ticketService, pendingTicketQueue,
+                new BatchAssignmentOptimizer(), false, 100, false, 10_000, 200);
+
+        // Act
+        int assigned = disabledEngine.offer(agentId);
+
+        // Assert
+        assertEquals(0, assigned);
+        verifyNoInteractions(agentRegistry, ticketService);
+    }
+
+    @Test
+    void assignBatch_ShouldAssignMatchedTicketsToClaimedAgents() {
+        // Arrange
+        AssignmentEngine batchEngine = batchEngine();
+        UUID reactAgentId = UUID.randomUUID();
+        PendingTicket kafkaTicket = pending(Ticket.TicketPriority.NORMAL, 0, "kafka");
+        PendingTicket reactTicket = pending(Ticket.TicketPriority.HIGH, 0, "react");
+        pendingTicketQueue.load(List.of(kafkaTicket, reactTicket));
+        when(agentRegistry.availableAgents()).thenReturn(List.of(
+                new AgentRegistry.AvailableAgent(agentId, Set.of("kafka"), 0, 1),
+                new AgentRegistry.AvailableAgent(reactAgentId, Set.of("react"), 0, 1)));
+        when(agentRegistry.claim(agentId, Set.of("kafka"))).thenReturn(true);
+        when(agentRegistry.claim(reactAgentId, Set.of("react"))).thenReturn(true);
+
+        // Act
+        int assigned = batchEngine.assignBatch();
+
+        // Assert
+        assertEquals(2, assigned);
+        verify(ticketService, times(1)).assignClaimedAgent(kafkaTicket.ticketId(), agentId);
+        verify(ticketService, times(1)).assignClaimedAgent(reactTicket.ticketId(), reactAgentId);
+        assertEquals(0, pendingTicketQueue.size());
+    }
+
+    @Test
+    void assignBatch_ShouldKeepTicketQueued_WhenMatchedAgentWasClaimedMeanwhile() {
+        // Arrange
+        AssignmentEngine batchEngine = batchEngine();
+        PendingTicket kafkaTicket = pending(Ticket.TicketPriority.NORMAL, 0, "kafka");
+        pendingTicketQueue.add(kafkaTicket);
+        when(agentRegistry.availableAgents()).thenReturn(List.of(
+                new AgentRegistry.AvailableAgent(agentId, Set.of("kafka"), 0, 1)));
+        when(agentRegistry.claim(agentId, Set.of("kafka"))).thenReturn(false);
+
+        // Act
+        int assigned = batchEngine.assignBatch();
+
+        // Assert
+        assertEquals(0, assigned);
+        verifyNoInteractions(ticketService);
+        assertTrue(pendingTicketQueue.get(kafkaTicket.ticketId()).isPresent());
+    }
+
+    @Test
+    void assignBatch_ShouldDoNothing_WhenBatchModeIsDisabled() {
+        // Arrange
+        pendingTicketQueue.add(pending(Ticket.TicketPriority.NORMAL, 0, "kafka"));
+
+        // Act
+        int assigned = assignmentEngine.assignBatch();
+
+        // Assert
+        assertEquals(0, assigned);
+        verifyNoInteractions(agentRegistry, ticketService);
+    }
+
+    @Test
+    void offer_ShouldLeaveQueueToNextBatch_WhenBatchModeIsEnabled() {
+        // Arrange
+        AssignmentEngine batchEngine = batchEngine();
+        pendingTicketQueue.add(pending(Ticket.TicketPriority.NORMAL, 0, "kafka"));
+
+        // Act
+        int assigned = batchEngine.offer(agentId);
+
+        // Assert
+        assertEquals(0, assigned);
+        assertEquals(1, pendingTicketQueue.size());
+        verifyNoInteractions(agentRegistry, ticketService);
+    }
+
+    private AssignmentEngine batchEngine() {
+        return new AssignmentEngine(agentRegistry, new SkillMatcher(List.of()), ticketService, pendingTicketQueue,
+                new BatchAssignmentOptimizer(), true, 100, true, 10_000, 200);
+    }
+
+    private static PendingTicket pending(Ticket.TicketPriority priority, int createdMinutesAgo, String... skills) {
+        LocalDateTime createdAt = LocalDateTime.now().minusMinutes(createdMinutesAgo);
+        return new PendingTicket(UUID.randomUUID(), priority, priority.slaDeadline(createdAt), createdAt, Set.of(skills));
+    }
+}
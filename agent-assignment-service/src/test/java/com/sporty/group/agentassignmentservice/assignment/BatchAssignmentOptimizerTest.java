@@ -0,0 +1,136 @@
+package com.sporty.group.agentassignmentservice.assignment;
+
+import com.sporty.group.agentassignmentservice.assignment.AgentRegistry.AvailableAgent;
+import com.sporty.group.agentassignmentservice.assignment.BatchAssignmentOptimizer.Match;
+import com.sporty.group.agentassignmentservice.assignment.PendingTicketQueue.PendingTicket;
+import com.sporty.group.agentassignmentservice.model.entity.Ticket;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchAssignmentOptimizerTest {
+
+    private static final Duration TIME_BUDGET = Duration.ofSeconds(5);
+
+    private final BatchAssignmentOptimizer optimizer = new BatchAssignmentOptimizer();
+
+    @Test
+    void match_ShouldLeaveGeneralistForTicketOnlyItCanHandle() {
+        // Arrange
+        AvailableAgent generalist = agent(0, 1, "java", "kafka");
+        AvailableAgent javaAgent = agent(0, 1, "java");
+        PendingTicket javaTicket = pending(Ticket.TicketPriority.HIGH, "java");
+        PendingTicket kafkaTicket = pending(Ticket.TicketPriority.NORMAL, "kafka");
+
+        // Act
+        List<Match> matches = optimizer.match(List.of(javaTicket, kafkaTicket), List.of(generalist, javaAgent), TIME_BUDGET);
+
+        // Assert
+        assertEquals(List.of(new Match(javaTicket, javaAgent.agentId()), new Match(kafkaTicket, generalist.agentId())), matches);
+    }
+
+    @Test
+    void match_ShouldPreferHigherPriority_WhenSlotsAreScarce() {
+        // Arrange
+        AvailableAgent agent = agent(0, 1, "java");
+        PendingTicket lowTicket = pending(Ticket.TicketPriority.LOW, "java");
+        PendingTicket urgentTicket = pending(Ticket.TicketPriority.URGENT, "java");
+
+        // Act
+        List<Match> matches = optimizer.match(List.of(lowTicket, urgentTicket), List.of(agent), TIME_BUDGET);
+
+        // Assert
+        assertEquals(List.of(new Match(urgentTicket, agent.agentId())), matches);
+    }
+
+    @Test
+    void match_ShouldPreferAgentWithMoreRequiredSkills_ThenLessLoadedAgent() {
+        // Arrange
+        AvailableAgent javaAgent = agent(0, 2, "java");
+        AvailableAgent busySpecialist = agent(1, 2, "java", "kafka");
+        AvailableAgent idleSpecialist = agent(0, 2, "java", "kafka");
+        PendingTicket ticket = pending(Ticket.TicketPriority.NORMAL, "java", "kafka");
+
+        // Act
+        List<Match> matches = optimizer.match(List.of(ticket), List.of(javaAgent, busySpecialist, idleSpecialist), TIME_BUDGET);
+
+        // Assert
+        assertEquals(List.of(new Match(ticket, idleSpecialist.agentId())), matches);
+    }
+
+    @Test
+    void match_ShouldFillFreeCapacity_WithTicketsAgentsCanHandle() {
+        // Arrange
+        AvailableAgent agent = agent(1, 3, "java");
+        PendingTicket javaTicket = pending(Ticket.TicketPriority.NORMAL, "java");
+        PendingTicket reactTicket = pending(Ticket.TicketPriority.URGENT, "react");
+        PendingTicket anyTicket = pending(Ticket.TicketPriority.NORMAL);
+        PendingTicket anotherJavaTicket = pending(Ticket.TicketPriority.LOW, "java");
+
+        // Act
+        List<Match> matches = optimizer.match(List.of(javaTicket, reactTicket, anyTicket, anotherJavaTicket), List.of(agent), TIME_BUDGET);
+
+        // Assert
+        assertEquals(List.of(new Match(javaTicket, agent.agentId()), new Match(anyTicket, agent.agentId())), matches);
+    }
+
+    @Test
+    void match_ShouldReturnNoMatches_WhenNoAgentHasFreeCapacity() {
+        // Act & Assert
+        assertEquals(List.of(), optimizer.match(List.of(pending(Ticket.TicketPriority.NORMAL)), List.of(agent(1, 1)), TIME_BUDGET));
+        assertEquals(List.of(), optimizer.match(List.of(), List.of(agent(0, 1)), TIME_BUDGET));
+    }
+
+    @Test
+    void match_ShouldFillEverySlot_WhenTimeBudgetIsSpent() {
+        // Arrange
+        Random random = new Random(42);
+        List<String> skills = List.of("java", "kafka", "react", "python", "sql", "docker", "aws", "go");
+        List<AvailableAgent> agents = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            agents.add(agent(random.nextInt(2), 3, skills.get(random.nextInt(skills.size())), skills.get(random.nextInt(skills.size()))));
+        }
+        List<PendingTicket> tickets = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            tickets.add(pending(Ticket.TicketPriority.values()[random.nextInt(4)], skills.get(random.nextInt(skills.size()))));
+        }
+
+        // Act
+        List<Match> matches = optimizer.match(tickets, agents, Duration.ZERO);
+
+        // Assert
+        Map<UUID, AvailableAgent> agentsById = agents.stream().collect(Collectors.toMap(AvailableAgent::agentId, agent -> agent));
+        Map<UUID, Integer> assigned = new HashMap<>();
+        Set<UUID> matchedTickets = new HashSet<>();
+        for (Match match : matches) {
+            AvailableAgent agent = agentsById.get(match.agentId());
+            assertTrue(match.ticket().requiredSkills().stream().anyMatch(agent.skills()::contains));
+            assertTrue(matchedTickets.add(match.ticket().ticketId()));
+            assigned.merge(agent.agentId(), 1, Integer::sum);
+        }
+        int freeSlots = agents.stream().mapToInt(agent -> agent.capacity() - agent.load()).sum();
+        assertEquals(freeSlots, matches.size());
+        assigned.forEach((agentId, count) -> assertTrue(count <= agentsById.get(agentId).capacity() - agentsById.get(agentId).load()));
+    }
+
+    private static AvailableAgent agent(int load, int capacity, String... skills) {
+        return new AvailableAgent(UUID.randomUUID(), Set.copyOf(List.of(skills)), load, capacity);
+    }
+
+    private static PendingTicket pending(Ticket.TicketPriority priority, String... skills) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        return new PendingTicket(UUID.randomUUID(), priority, priority.slaDeadline(createdAt), createdAt, Set.of(skills));
+    }
+}
@@ -0,0 +1,153 @@
+package com.sporty.group.agentassignmentservice.assignment;
+
+import com.sporty.group.agentassignmentservice.assignment.PendingTicketQueue.PendingTicket;
+import com.sporty.group.agentassignmentservice.model.entity.Ticket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PendingTicketQueueTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PendingTicketQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queue = new PendingTicketQueue(meterRegistry);
+    }
+
+    @Test
+    void pollFirstMatching_ShouldTakeTicketsByPriorityThenSlaDeadline() {
+        // Arrange
+        PendingTicket oldNormal = pending(Ticket.TicketPriority.NORMAL, 120);
+        PendingTicket newUrgent = pending(Ticket.TicketPriority.URGENT, 0);
+        PendingTicket oldUrgent = pending(Ticket.TicketPriority.URGENT, 30);
+        PendingTicket low = pending(Ticket.TicketPriority.LOW, 600);
+        queue.load(List.of(oldNormal, newUrgent, low, oldUrgent));
+
+        // Act
+        List<PendingTicket> taken = new ArrayList<>();
+        Optional<PendingTicket> next;
+        while ((next = queue.pollFirstMatching(ticket -> true, 10)).isPresent()) {
+            taken.add(next.get());
+        }
+
+        // Assert
+        assertEquals(List.of(oldUrgent, newUrgent, oldNormal, low), taken);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void pollFirstMatching_ShouldSkipTicketsTheClaimRejects_WithinScanLimit() {
+        // Arrange
+        PendingTicket react = pending(Ticket.TicketPriority.HIGH, 10, "react");
+        PendingTicket python = pending(Ticket.TicketPriority.HIGH, 5, "python");
+        PendingTicket kafka = pending(Ticket.TicketPriority.NORMAL, 0, "kafka");
+        queue.load(List.of(react, python, kafka));
+
+        // Act
+        Optional<PendingTicket> beyondLimit = queue.pollFirstMatching(ticket -> ticket.requiredSkills().contains("kafka"), 2);
+        Optional<PendingTicket> withinLimit = queue.pollFirstMatching(ticket -> ticket.requiredSkills().contains("kafka"), 3);
+
+        // Assert
+        assertEquals(Optional.empty(), beyondLimit);
+        assertEquals(Optional.of(kafka), withinLimit);
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    void head_ShouldReturnFirstTicketsWithoutTakingThem() {
+        // Arrange
+        PendingTicket normal = pending(Ticket.TicketPriority.NORMAL, 0);
+        PendingTicket high = pending(Ticket.TicketPriority.HIGH, 0);
+        PendingTicket low = pending(Ticket.TicketPriority.LOW, 0);
+        queue.load(List.of(normal, high, low));
+
+        // Act & Assert
+        assertEquals(List.of(high, normal), queue.head(2));
+        assertEquals(3, queue.size());
+    }
+
+    @Test
+    void take_ShouldTakeQueuedTicket_OnlyIfClaimAcceptsIt() {
+        // Arrange
+        PendingTicket ticket = pending(Ticket.TicketPriority.NORMAL, 0, "kafka");
+        queue.add(ticket);
+
+        // Act
+        Optional<PendingTicket> rejected = queue.take(ticket.ticketId(), pending -> false);
+        Optional<PendingTicket> accepted = queue.take(ticket.ticketId(), pending -> true);
+        Optional<PendingTicket> gone = queue.take(ticket.ticketId(), pending -> true);
+
+        // Assert
+        assertEquals(Optional.empty(), rejected);
+        assertEquals(Optional.of(ticket), accepted);
+        assertEquals(Optional.empty(), gone);
+        assertEquals(0, queue.size(Ticket.TicketPriority.NORMAL));
+    }
+
+    @Test
+    void add_ShouldReplaceQueuedEntryOfSameTicket() {
+        // Arrange
+        PendingTicket normal = pending(Ticket.TicketPriority.NORMAL, 0);
+        PendingTicket other = pending(Ticket.TicketPriority.HIGH, 0);
+        PendingTicket urgent = new PendingTicket(normal.ticketId(), Ticket.TicketPriority.URGENT,
+                normal.createdAt().plusHours(1), normal.createdAt(), Set.of());
+        queue.add(normal);
+        queue.add(other);
+
+        // Act
+        queue.add(urgent);
+
+        // Assert
+        assertEquals(2, queue.size());
+        assertEquals(0, queue.size(Ticket.TicketPriority.NORMAL));
+        assertEquals(Optional.of(urgent), queue.pollFirstMatching(ticket -> true, 1));
+    }
+
+    @Test
+    void remove_ShouldRemoveTicketThatNoLongerWaits() {
+        // Arrange
+        PendingTicket ticket = pending(Ticket.TicketPriority.NORMAL, 0);
+        queue.add(ticket);
+
+        // Act & Assert
+        assertTrue(queue.remove(ticket.ticketId()));
+        assertFalse(queue.remove(ticket.ticketId()));
+        assertEquals(Optional.empty(), queue.get(ticket.ticketId()));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void metrics_ShouldPublishDepthPerPriorityAndWaitTimes() {
+        // Arrange
+        PendingTicket urgent = pending(Ticket.TicketPriority.URGENT, 15);
+        queue.load(List.of(urgent, pending(Ticket.TicketPriority.NORMAL, 0), pending(Ticket.TicketPriority.NORMAL, 1)));
+
+        // Act
+        queue.pollFirstMatching(ticket -> true, 1).ifPresent(queue::recordAssigned);
+
+        // Assert
+        assertEquals(0, meterRegistry.get("assignment.queue.depth").tag("priority", "URGENT").gauge().value());
+        assertEquals(2, meterRegistry.get("assignment.queue.depth").tag("priority", "NORMAL").gauge().value());
+        assertEquals(1, meterRegistry.get("assignment.queue.wait").tag("priority", "URGENT").timer().count());
+        assertTrue(meterRegistry.get("assignment.queue.wait").tag("priority", "URGENT").timer()
+                .totalTime(TimeUnit.MINUTES) >= 15);
+    }
+
+    private static PendingTicket pending(Ticket.TicketPriority priority, int createdMinutesAgo, String... skills) {
+        LocalDateTime createdAt = LocalDateTime.now().minusMinutes(createdMinutesAgo);
+        return new PendingTicket(UUID.randomUUID(), priority, priority.slaDeadline(createdAt), createdAt, Set.of(skills));
+    }
+}
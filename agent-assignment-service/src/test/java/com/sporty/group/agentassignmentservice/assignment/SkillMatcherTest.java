@@ -0,0 +1,102 @@
+package com.sporty.group.agentassignmentservice.assignment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkillMatcherTest {
+
+    private static final List<String> SKILLS = List.of("java", "javascript", "kafka", "node.js", "spring boot");
+
+    private final SkillMatcher skillMatcher = new SkillMatcher(List.of("k8s:kubernetes", "JS:javascript", "node:node.js"));
+
+    @Test
+    void requiredSkills_ShouldFindSkillsInSubjectAndDescription_IgnoringCase() {
+        // Act
+        Set<String> result = skillMatcher.requiredSkills("KAFKA consumer lag", "The Java service stopped consuming", SKILLS);
+
+        // Assert
+        assertEquals(Set.of("kafka", "java"), result);
+    }
+
+    @Test
+    void requiredSkills_ShouldOnlyMatchWholeWords() {
+        // Act
+        Set<String> result = skillMatcher.requiredSkills("JavaScript error", "Broken bundle in the Node.js build", SKILLS);
+
+        // Assert
+        assertEquals(Set.of("javascript", "node.js"), result);
+    }
+
+    @Test
+    void requiredSkills_ShouldMatchSkillsOfSeveralWords() {
+        // Act
+        Set<String> result = skillMatcher.requiredSkills("Spring Boot startup fails", null, SKILLS);
+
+        // Assert
+        assertEquals(Set.of("spring boot"), result);
+    }
+
+    @Test
+    void requiredSkills_ShouldReturnEmptySet_WhenNoSkillIsMentioned() {
+        // Act
+        Set<String> result = skillMatcher.requiredSkills(null, "Cannot log in", SKILLS);
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void requiredSkills_ShouldFindOverlappingSkills() {
+        // Act
+        Set<String> result = skillMatcher.requiredSkills("JavaScript, Java and Kafka", "java", SKILLS);
+
+        // Assert
+        assertEquals(Set.of("javascript", "java", "kafka"), result);
+    }
+
+    @Test
+    void requiredSkills_ShouldFindSkillsBySynonym_WhileAnAgentHasTheSkill() {
+        // Arrange
+        List<String> skills = List.of("java", "kubernetes");
+
+        // Act
+        Set<String> withKubernetes = skillMatcher.requiredSkills("Pod evicted on k8s", "The JS bundle is fine", skills);
+        Set<String> withoutKubernetes = skillMatcher.requiredSkills("Pod evicted on k8s", null, List.of("java"));
+
+        // Assert
+        assertEquals(Set.of("kubernetes"), withKubernetes);
+        assertTrue(withoutKubernetes.isEmpty());
+    }
+
+    @Test
+    void requiredSkills_ShouldFollowVocabularyChanges() {
+        // Act
+        Set<String> before = skillMatcher.requiredSkills("Python script and Go service", null, List.of("python"));
+        Set<String> added = skillMatcher.requiredSkills("Python script and Go service", null, List.of("python", "go"));
+        Set<String> removed = skillMatcher.requiredSkills("Python script and Go service", null, List.of("go"));
+
+        // Assert
+        assertEquals(Set.of("python"), before);
+        assertEquals(Set.of("python", "go"), added);
+        assertEquals(Set.of("go"), removed);
+    }
+
+    @Test
+    void requiredSkills_ShouldMatchSkillsWithCharactersOutsideAscii() {
+        // Act
+        Set<String> result = skillMatcher.requiredSkills("Problème de Sécurité", "Ärger mit SQL", List.of("sécurité", "ärger", "sql"));
+
+        // Assert
+        assertEquals(Set.of("sécurité", "ärger", "sql"), result);
+    }
+
+    @Test
+    void constructor_ShouldRejectSynonymWithoutSkill() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new SkillMatcher(List.of("k8s")));
+    }
+}
@@ -0,0 +1,272 @@
+package com.sporty.group.agentassignmentservice.benchmark;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Stream;
+
+/**
+ * Assigns tickets to agents from many threads at once, comparing a read-modify-write assignment with the conditional
+ * updates used by {@code TicketService}.
+ * <p>
+ * Each operation takes a random agent out of a small pool and the next ticket, and every ticket is handed to two
+ * operations, so threads keep racing for the same agents and tickets. The read-modify-write mode reads the ticket
+ * and the agent, checks that the ticket is unassigned and the agent available, and then writes both, like the
+ * previous implementation. The conditional mode writes both with an UPDATE ... WHERE that only applies to an
+ * unassigned ticket and an available agent, and rolls back if either finds no row. An assigned agent is released
+ * right away with an update that expects its ticket, so it can be assigned again.
+ * <p>
+ * The score counts assignment attempts. The auxiliary counters report successful assignments and lost races per
+ * second, and double assignments: a ticket assigned twice, or an agent whose ticket was overwritten by another
+ * assignment before it was released. The rows live in an H2 database that is accessed through its TCP server.
+ * Run with {@code -t 1}, {@code -t 4} and {@code -t 8} to see how the throughput scales with threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssignmentContentionBenchmark {
+
+    private static final int AGENTS = 64;
+    private static final int TICKETS = 500_000;
+
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        @Param({"read-modify-write", "conditional-update"})
+        public String mode;
+
+        private Path directory;
+        private Server server;
+        private String url;
+        private final UUID[] agentIds = new UUID[AGENTS];
+        private final UUID[] ticketIds = new UUID[TICKETS];
+        private final AtomicInteger nextTicket = new AtomicInteger();
+        private AtomicIntegerArray ticketAssignments;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException, SQLException {
+            directory = Files.createTempDirectory("assignment-contention-benchmark");
+            server = Server.createTcpServer("-tcpPort", "0", "-baseDir", directory.toString(), "-ifNotExists").start();
+            url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/agents;LOCK_TIMEOUT=10000";
+            try (Connection connection = DriverManager.getConnection(url, "sa", "");
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE agents ("
+                        + "agent_id UUID PRIMARY KEY, "
+                        + "availability VARCHAR(32), "
+                        + "ticket_id UUID)");
+                statement.execute("CREATE TABLE tickets ("
+                        + "ticket_id UUID PRIMARY KEY, "
+                        + "status VARCHAR(32), "
+                        + "assignee_id UUID, "
+                        + "updated_at TIMESTAMP)");
+
+                connection.setAutoCommit(false);
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO agents (agent_id, availability) VALUES (?, 'AVAILABLE')")) {
+                    for (int i = 0; i < AGENTS; i++) {
+                        agentIds[i] = UUID.randomUUID();
+                        insert.setObject(1, agentIds[i]);
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO tickets (ticket_id, status) VALUES (?, 'OPEN')")) {
+                    for (int i = 0; i < TICKETS; i++) {
+                        ticketIds[i] = UUID.randomUUID();
+                        insert.setObject(1, ticketIds[i]);
+                        insert.addBatch();
+                        if (i % 10_000 == 9_999) {
+                            insert.executeBatch();
+                        }
+                    }
+                    insert.executeBatch();
+                }
+                connection.commit();
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() throws SQLException {
+            try (Connection connection = DriverManager.getConnection(url, "sa", "");
+                 Statement statement = connection.createStatement()) {
+                statement.executeUpdate("UPDATE agents SET availability = 'AVAILABLE', ticket_id = NULL");
+                statement.executeUpdate("UPDATE tickets SET status = 'OPEN', assignee_id = NULL WHERE assignee_id IS NOT NULL");
+            }
+            nextTicket.set(0);
+            ticketAssignments = new AtomicIntegerArray(TICKETS);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            server.stop();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+
+        private Connection connection;
+        private PreparedStatement selectTicket;
+        private PreparedStatement selectAgent;
+        private PreparedStatement updateTicket;
+        private PreparedStatement updateAgent;
+        private PreparedStatement assignTicketIfUnassigned;
+        private PreparedStatement claimAgentIfAvailable;
+        private PreparedStatement releaseAgent;
+
+        @Setup(Level.Trial)
+        public void setUp(Database database) throws SQLException {
+            connection = DriverManager.getConnection(database.url, "sa", "");
+            connection.setAutoCommit(false);
+            selectTicket = connection.prepareStatement("SELECT assignee_id FROM tickets WHERE ticket_id = ?");
+            selectAgent = connection.prepareStatement("SELECT availability FROM agents WHERE agent_id = ?");
+            updateTicket = connection.prepareStatement(
+                    "UPDATE tickets SET assignee_id = ?, status = 'IN_PROGRESS', updated_at = ? WHERE ticket_id = ?");
+            updateAgent = connection.prepareStatement(
+                    "UPDATE agents SET availability = 'NOT_AVAILABLE', ticket_id = ? WHERE agent_id = ?");
+            assignTicketIfUnassigned = connection.prepareStatement(
+                    "UPDATE tickets SET assignee_id = ?, status = 'IN_PROGRESS', updated_at = ? "
+                            + "WHERE ticket_id = ? AND assignee_id IS NULL");
+            claimAgentIfAvailable = connection.prepareStatement(
+                    "UPDATE agents SET availability = 'NOT_AVAILABLE', ticket_id = ? "
+                            + "WHERE agent_id = ? AND availability = 'AVAILABLE'");
+            releaseAgent = connection.prepareStatement(
+                    "UPDATE agents SET availability = 'AVAILABLE', ticket_id = NULL WHERE agent_id = ? AND ticket_id = ?");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+
+        boolean assignReadModifyWrite(UUID ticketId, UUID agentId) throws SQLException {
+            selectTicket.setObject(1, ticketId);
+            try (ResultSet ticket = selectTicket.executeQuery()) {
+                if (!ticket.next() || ticket.getObject(1) != null) {
+                    connection.rollback();
+                    return false;
+                }
+            }
+            selectAgent.setObject(1, agentId);
+            try (ResultSet agent = selectAgent.executeQuery()) {
+                if (!agent.next() || !"AVAILABLE".equals(agent.getString(1))) {
+                    connection.rollback();
+                    return false;
+                }
+            }
+            updateTicket.setObject(1, agentId);
+            updateTicket.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+            updateTicket.setObject(3, ticketId);
+            updateTicket.executeUpdate();
+            updateAgent.setObject(1, ticketId);
+            updateAgent.setObject(2, agentId);
+            updateAgent.executeUpdate();
+            connection.commit();
+            return true;
+        }
+
+        boolean assignConditionally(UUID ticketId, UUID agentId) throws SQLException {
+            assignTicketIfUnassigned.setObject(1, agentId);
+            assignTicketIfUnassigned.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+            assignTicketIfUnassigned.setObject(3, ticketId);
+            if (assignTicketIfUnassigned.executeUpdate() == 0) {
+                connection.rollback();
+                return false;
+            }
+            claimAgentIfAvailable.setObject(1, ticketId);
+            claimAgentIfAvailable.setObject(2, agentId);
+            if (claimAgentIfAvailable.executeUpdate() == 0) {
+                connection.rollback();
+                return false;
+            }
+            connection.commit();
+            return true;
+        }
+
+        boolean release(UUID agentId, UUID ticketId) throws SQLException {
+            releaseAgent.setObject(1, agentId);
+            releaseAgent.setObject(2, ticketId);
+            int released = releaseAgent.executeUpdate();
+            connection.commit();
+            return released == 1;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcome {
+
+        public long assigned;
+        public long lostRaces;
+        public long doubleAssignments;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            assigned = 0;
+            lostRaces = 0;
+            doubleAssignments = 0;
+        }
+    }
+
+    @Benchmark
+    public boolean assign(Database database, Session session, Outcome outcome) throws SQLException {
+        int ticket = (database.nextTicket.getAndIncrement() / 2) % TICKETS;
+        UUID ticketId = database.ticketIds[ticket];
+        UUID agentId = database.agentIds[ThreadLocalRandom.current().nextInt(AGENTS)];
+
+        boolean assigned = "conditional-update".equals(database.mode)
+                ? session.assignConditionally(ticketId, agentId)
+                : session.assignReadModifyWrite(ticketId, agentId);
+        if (!assigned) {
+            outcome.lostRaces++;
+            return false;
+        }
+
+        outcome.assigned++;
+        if (database.ticketAssignments.incrementAndGet(ticket) > 1) {
+            outcome.doubleAssignments++;
+        }
+        if (!session.release(agentId, ticketId)) {
+            outcome.doubleAssignments++;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,162 @@
+package com.sporty.group.agentassignmentservice.benchmark;
+
+import com.sporty.group.agentassignmentservice.assignment.AgentRegistry.AvailableAgent;
+import com.sporty.group.agentassignmentservice.assignment.BatchAssignmentOptimizer;
+import com.sporty.group.agentassignmentservice.assignment.BatchAssignmentOptimizer.Match;
+import com.sporty.group.agentassignmentservice.assignment.PendingTicketQueue;
+import com.sporty.group.agentassignmentservice.assignment.PendingTicketQueue.PendingTicket;
+import com.sporty.group.agentassignmentservice.model.entity.Ticket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matches a backlog of waiting tickets to the agents that are free at once, comparing the {@link BatchAssignmentOptimizer}
+ * with the queue drain used without batch mode, where each free agent takes the first waiting tickets it can handle.
+ * <p>
+ * The tickets need one or two of 20 skills, or none, and have random priorities; the agents have one to three skills,
+ * a capacity of 3 and a random load. The score is the time to compute the matching. The setup prints, for both modes,
+ * the number of assigned tickets, the assigned urgent tickets, the assignments to agents with all required skills
+ * and the total benefit as weighed by the optimizer. Use {@code -p tickets=10000 -p agents=1000} for the 10k x 1k
+ * case.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchAssignmentBenchmark {
+
+    private static final int SKILLS = 20;
+    private static final int CAPACITY = 3;
+    private static final Duration TIME_BUDGET = Duration.ofSeconds(10);
+
+    @State(Scope.Benchmark)
+    public static class Backlog {
+
+        @Param({"1000", "10000"})
+        public int tickets;
+
+        @Param({"100", "1000"})
+        public int agents;
+
+        @Param({"queue-drain", "batch-auction"})
+        public String mode;
+
+        private final BatchAssignmentOptimizer optimizer = new BatchAssignmentOptimizer();
+        private List<PendingTicket> waitingTickets;
+        private List<AvailableAgent> availableAgents;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(42);
+            List<String> skills = new ArrayList<>();
+            for (int i = 0; i < SKILLS; i++) {
+                skills.add("skill-" + i);
+            }
+
+            List<PendingTicket> generated = new ArrayList<>();
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < tickets; i++) {
+                Ticket.TicketPriority priority = Ticket.TicketPriority.values()[random.nextInt(Ticket.TicketPriority.values().length)];
+                LocalDateTime createdAt = now.minusMinutes(random.nextInt(600));
+                generated.add(new PendingTicket(UUID.randomUUID(), priority, priority.slaDeadline(createdAt), createdAt,
+                        randomSkills(random, skills, random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(2))));
+            }
+            PendingTicketQueue queue = new PendingTicketQueue(new SimpleMeterRegistry());
+            queue.load(generated);
+            waitingTickets = queue.head(tickets);
+
+            availableAgents = new ArrayList<>();
+            for (int i = 0; i < agents; i++) {
+                availableAgents.add(new AvailableAgent(UUID.randomUUID(), randomSkills(random, skills, 1 + random.nextInt(3)),
+                        random.nextInt(CAPACITY), CAPACITY));
+            }
+
+            System.out.printf("%nqueue-drain:   %s%nbatch-auction: %s%n",
+                    summary(drainQueue()), summary(optimizer.match(waitingTickets, availableAgents, TIME_BUDGET)));
+        }
+
+        /**
+         * Offer each agent the queue in turn, like {@code AssignmentEngine.offer} does for an agent that frees up.
+         */
+        List<Match> drainQueue() {
+            Set<UUID> assigned = new HashSet<>();
+            List<Match> matches = new ArrayList<>();
+            for (AvailableAgent agent : availableAgents) {
+                int free = agent.capacity() - agent.load();
+                for (int i = 0; i < waitingTickets.size() && free > 0; i++) {
+                    PendingTicket ticket = waitingTickets.get(i);
+                    if (!assigned.contains(ticket.ticketId()) && canHandle(agent, ticket)) {
+                        assigned.add(ticket.ticketId());
+                        matches.add(new Match(ticket, agent.agentId()));
+                        free--;
+                    }
+                }
+            }
+            return matches;
+        }
+
+        private String summary(List<Match> matches) {
+            Map<UUID, AvailableAgent> agentsById = new HashMap<>();
+            availableAgents.forEach(agent -> agentsById.put(agent.agentId(), agent));
+            Map<UUID, Integer> slots = new HashMap<>();
+            long urgent = 0;
+            long fullSkillFit = 0;
+            long benefit = 0;
+            for (Match match : matches) {
+                AvailableAgent agent = agentsById.get(match.agentId());
+                int slot = slots.merge(agent.agentId(), 1, Integer::sum) - 1;
+                long matching = match.ticket().requiredSkills().stream().filter(agent.skills()::contains).count();
+                urgent += match.ticket().priority() == Ticket.TicketPriority.URGENT ? 1 : 0;
+                fullSkillFit += matching == match.ticket().requiredSkills().size() ? 1 : 0;
+                benefit += BatchAssignmentOptimizer.benefit(match.ticket(), (int) matching)
+                        + BatchAssignmentOptimizer.headroomBenefit(agent.load(), agent.capacity(), slot);
+            }
+            return String.format("%d assigned, %d urgent, %d with all skills, total benefit %d",
+                    matches.size(), urgent, fullSkillFit, benefit);
+        }
+    }
+
+    @Benchmark
+    public List<Match> match(Backlog backlog) {
+        return "batch-auction".equals(backlog.mode)
+                ? backlog.optimizer.match(backlog.waitingTickets, backlog.availableAgents, TIME_BUDGET)
+                : backlog.drainQueue();
+    }
+
+    private static boolean canHandle(AvailableAgent agent, PendingTicket ticket) {
+        return ticket.requiredSkills().isEmpty() || !Collections.disjoint(ticket.requiredSkills(), agent.skills());
+    }
+
+    private static Set<String> randomSkills(Random random, List<String> skills, int count) {
+        Set<String> result = new HashSet<>();
+        while (result.size() < count) {
+            result.add(skills.get(random.nextInt(skills.size())));
+        }
+        return Set.copyOf(result);
+    }
+}
@@ -0,0 +1,107 @@
+package com.sporty.group.agentassignmentservice.benchmark;
+
+import com.sporty.group.agentassignmentservice.assignment.SkillMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds the skills mentioned in ticket texts, comparing the Aho-Corasick automaton of {@link SkillMatcher} with the
+ * previous matcher, which lower-cased the text and searched it for every skill with {@code indexOf}.
+ * <p>
+ * The vocabulary has {@code skills} generated skill names. Each ticket has a subject and a description of about 60
+ * words, two of which are skills. The score is the time per ticket; run with {@code -prof gc} to compare the
+ * allocation per ticket.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SkillMatcherBenchmark {
+
+    private static final int TICKETS = 1024;
+
+    @Param({"10", "100", "1000"})
+    public int skills;
+
+    private final SkillMatcher skillMatcher = new SkillMatcher(List.of());
+    private Set<String> vocabulary;
+    private String[] subjects;
+    private String[] descriptions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < skills; i++) {
+            names.add("skill" + Integer.toString(i, 36) + (char) ('a' + random.nextInt(26)));
+        }
+        vocabulary = Set.copyOf(names);
+
+        String[] words = {"the", "service", "fails", "after", "deploy", "with", "an", "error", "in", "production", "logs"};
+        subjects = new String[TICKETS];
+        descriptions = new String[TICKETS];
+        for (int ticket = 0; ticket < TICKETS; ticket++) {
+            subjects[ticket] = "Problem with " + names.get(random.nextInt(skills)).toUpperCase(Locale.ROOT);
+            StringBuilder description = new StringBuilder();
+            for (int word = 0; word < 60; word++) {
+                description.append(word == 30 ? names.get(random.nextInt(skills)) : words[random.nextInt(words.length)])
+                        .append(word % 12 == 11 ? ". " : " ");
+            }
+            descriptions[ticket] = description.toString();
+        }
+    }
+
+    @Benchmark
+    public Set<String> automaton() {
+        int ticket = next++ & (TICKETS - 1);
+        return skillMatcher.requiredSkills(subjects[ticket], descriptions[ticket], vocabulary);
+    }
+
+    @Benchmark
+    public Set<String> indexOfPerSkill() {
+        int ticket = next++ & (TICKETS - 1);
+        String text = (subjects[ticket] + "\n" + descriptions[ticket]).toLowerCase(Locale.ROOT);
+        Set<String> required = new LinkedHashSet<>();
+        for (String skill : vocabulary) {
+            if (containsWord(text, skill)) {
+                required.add(skill);
+            }
+        }
+        return required;
+    }
+
+    private static boolean containsWord(String text, String word) {
+        int index = text.indexOf(word);
+        while (index >= 0) {
+            int end = index + word.length();
+            boolean startsWord = index == 0 || !Character.isLetterOrDigit(text.charAt(index - 1));
+            boolean endsWord = end == text.length() || !Character.isLetterOrDigit(text.charAt(end));
+            if (startsWord && endsWord) {
+                return true;
+            }
+            index = text.indexOf(word, index + 1);
+        }
+        return false;
+    }
+}
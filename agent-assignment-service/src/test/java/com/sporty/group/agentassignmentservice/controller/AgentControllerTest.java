@@ -18,6 +18,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -95,6 +96,23 @@ class AgentControllerTest {
         verify(agentService, times(1)).getAvailableAgents();
     }
 
+    @Test
+    void getAvailableAgents_WithSkills_ShouldReturnAvailableAgentsWithThoseSkills() throws Exception {
+        // Arrange
+        when(agentService.getAvailableAgentsWithSkills(Set.of("Java", "Spring"))).thenReturn(availableAgents);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/agents/available")
+                .param("skill", "Java", "Spring")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].firstName", is("John")));
+
+        verify(agentService, never()).getAvailableAgents();
+    }
+
     @Test
     void getAllAgents_WhenNoAgents_ShouldReturnEmptyList() throws Exception {
         // Arrange
@@ -124,4 +142,32 @@ class AgentControllerTest {
 
         verify(agentService, times(1)).getAvailableAgents();
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateCapacity_ShouldReturnUpdatedAgent() throws Exception {
+        // Arrange
+        Agent agent = agents.get(0);
+        agent.setCapacity(3);
+        when(agentService.updateCapacity(agent.getAgentId(), 3)).thenReturn(agent);
+
+        // Act & Assert
+        mockMvc.perform(put("/api/v1/agents/" + agent.getAgentId() + "/capacity")
+                .param("capacity", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.capacity", is(3)));
+
+        verify(agentService, times(1)).updateCapacity(agent.getAgentId(), 3);
+    }
+
+    @Test
+    void updateCapacity_WhenCapacityIsInvalid_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        UUID agentId = UUID.randomUUID();
+        when(agentService.updateCapacity(agentId, 0)).thenThrow(new IllegalArgumentException("Capacity must be positive: 0"));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/v1/agents/" + agentId + "/capacity")
+                .param("capacity", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -2,6 +2,7 @@ package com.sporty.group.agentassignmentservice.controller;
 
 import com.sporty.group.agentassignmentservice.model.entity.Ticket;
 import com.sporty.group.agentassignmentservice.service.TicketService;
+import com.sporty.group.sportygroupticketingcommons.pagination.TicketPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,9 +18,11 @@ import java.util.*;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -72,37 +75,39 @@ class TicketControllerTest {
     @Test
     void getAllTickets_ShouldReturnAllTickets() throws Exception {
         // Arrange
-        when(ticketService.getAllTickets()).thenReturn(tickets);
+        when(ticketService.getTickets(null, null, null, null, 50)).thenReturn(new TicketPage<>(tickets, "next"));
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/tickets")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].subject", is("Test Ticket")))
-                .andExpect(jsonPath("$[0].status", is("OPEN")))
-                .andExpect(jsonPath("$[1].subject", is("Another Ticket")))
-                .andExpect(jsonPath("$[1].status", is("IN_PROGRESS")));
-
-        verify(ticketService, times(1)).getAllTickets();
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].subject", is("Test Ticket")))
+                .andExpect(jsonPath("$.items[0].status", is("OPEN")))
+                .andExpect(jsonPath("$.items[1].subject", is("Another Ticket")))
+                .andExpect(jsonPath("$.items[1].status", is("IN_PROGRESS")))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+
+        verify(ticketService, times(1)).getTickets(null, null, null, null, 50);
     }
 
     @Test
     void getNewTickets_ShouldReturnOnlyNewTickets() throws Exception {
         // Arrange
-        when(ticketService.getNewTickets()).thenReturn(newTickets);
+        when(ticketService.getNewTickets(null, 50)).thenReturn(new TicketPage<>(newTickets, null));
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/tickets/new")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].subject", is("Test Ticket")))
-                .andExpect(jsonPath("$[0].status", is("OPEN")));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].subject", is("Test Ticket")))
+                .andExpect(jsonPath("$.items[0].status", is("OPEN")))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
 
-        verify(ticketService, times(1)).getNewTickets();
+        verify(ticketService, times(1)).getNewTickets(null, 50);
     }
 
     @Test
@@ -150,30 +155,89 @@ class TicketControllerTest {
     @Test
     void getAllTickets_WhenNoTickets_ShouldReturnEmptyList() throws Exception {
         // Arrange
-        when(ticketService.getAllTickets()).thenReturn(Collections.emptyList());
+        when(ticketService.getTickets(null, null, null, null, 50)).thenReturn(new TicketPage<>(Collections.emptyList(), null));
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/tickets")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(0)));
+                .andExpect(jsonPath("$.items", hasSize(0)));
 
-        verify(ticketService, times(1)).getAllTickets();
+        verify(ticketService, times(1)).getTickets(null, null, null, null, 50);
     }
 
     @Test
     void getNewTickets_WhenNoNewTickets_ShouldReturnEmptyList() throws Exception {
         // Arrange
-        when(ticketService.getNewTickets()).thenReturn(Collections.emptyList());
+        when(ticketService.getNewTickets(null, 50)).thenReturn(new TicketPage<>(Collections.emptyList(), null));
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/tickets/new")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(0)));
+                .andExpect(jsonPath("$.items", hasSize(0)));
+
+        verify(ticketService, times(1)).getNewTickets(null, 50);
+    }
+
+    @Test
+    void getAllTickets_ShouldPassFiltersAndCursor() throws Exception {
+        // Arrange
+        when(ticketService.getTickets(Ticket.TicketStatus.IN_PROGRESS, "user456", agentId, "cursor", 10))
+                .thenReturn(new TicketPage<>(Collections.emptyList(), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tickets")
+                .param("status", "IN_PROGRESS")
+                .param("userId", "user456")
+                .param("assigneeId", agentId.toString())
+                .param("cursor", "cursor")
+                .param("limit", "10")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(ticketService, times(1)).getTickets(Ticket.TicketStatus.IN_PROGRESS, "user456", agentId, "cursor", 10);
+    }
+
+    @Test
+    void getAllTickets_WhenCursorIsInvalid_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(ticketService.getTickets(isNull(), isNull(), isNull(), any(), anyInt()))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: invalid"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tickets")
+                .param("cursor", "invalid")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
 
-        verify(ticketService, times(1)).getNewTickets();
+    @Test
+    void updatePriority_WhenSuccessful_ShouldReturnUpdatedTicket() throws Exception {
+        // Arrange
+        ticket.setPriority(Ticket.TicketPriority.URGENT);
+        ticket.setSlaDeadline(ticket.getCreatedAt().plusHours(1));
+        when(ticketService.updatePriority(ticketId, Ticket.TicketPriority.URGENT)).thenReturn(ticket);
+
+        // Act & Assert
+        mockMvc.perform(put("/api/v1/tickets/{ticketId}/priority", ticketId)
+                .param("priority", "URGENT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ticketId", is(ticketId.toString())))
+                .andExpect(jsonPath("$.priority", is("URGENT")));
+    }
+
+    @Test
+    void updatePriority_WhenTicketDoesNotExist_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(ticketService.updatePriority(ticketId, Ticket.TicketPriority.HIGH))
+                .thenThrow(new IllegalStateException("Ticket not found with ID: " + ticketId));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/v1/tickets/{ticketId}/priority", ticketId)
+                .param("priority", "HIGH"))
+                .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+}
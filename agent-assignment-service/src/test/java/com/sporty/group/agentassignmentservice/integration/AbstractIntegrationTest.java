@@ -12,7 +12,7 @@ import org.springframework.test.context.ActiveProfiles;
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("integration-test")
 @DirtiesContext
-@EmbeddedKafka(partitions = 1, topics = {"ticket-created", "ticket-assignments"})
+@EmbeddedKafka(partitions = 3, topics = {"ticket-created", "ticket-assignments", "ticket-updates"})
 public abstract class AbstractIntegrationTest {
     // No additional setup needed, Spring Boot will configure the embedded Kafka broker
 }
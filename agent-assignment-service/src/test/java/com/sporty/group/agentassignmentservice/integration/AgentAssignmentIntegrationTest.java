@@ -5,8 +5,10 @@ import com.sporty.group.agentassignmentservice.model.entity.Agent;
 import com.sporty.group.agentassignmentservice.model.entity.Ticket;
 import com.sporty.group.agentassignmentservice.repository.AgentRepository;
 import com.sporty.group.agentassignmentservice.repository.TicketRepository;
+import com.sporty.group.sportygroupticketingcommons.event.EventTimestamps;
 import com.sporty.group.sportygroupticketingcommons.event.NewTicketEvent;
 import com.sporty.group.sportygroupticketingcommons.event.TicketAssignedEvent;
+import com.sporty.group.sportygroupticketingcommons.serialization.TicketAssignedEventDeserializer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.producer.Producer;
@@ -28,11 +30,11 @@ import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.KafkaMessageListenerContainer;
 import org.springframework.kafka.listener.MessageListener;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.kafka.test.utils.ContainerTestUtils;
 import org.springframework.kafka.test.utils.KafkaTestUtils;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -76,14 +78,14 @@ class AgentAssignmentIntegrationTest extends AbstractIntegrationTest {
         consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         DefaultKafkaConsumerFactory<String, TicketAssignedEvent> cf = new DefaultKafkaConsumerFactory<>(
                 consumerProps, new StringDeserializer(),
-                new JsonDeserializer<>(TicketAssignedEvent.class, false));
+                new TicketAssignedEventDeserializer());
 
         ContainerProperties containerProperties = new ContainerProperties(KafkaConfig.TICKET_ASSIGNMENTS_TOPIC);
         container = new KafkaMessageListenerContainer<>(cf, containerProperties);
         records = new LinkedBlockingQueue<>();
         container.setupMessageListener((MessageListener<String, TicketAssignedEvent>) records::add);
         container.start();
-        ContainerTestUtils.waitForAssignment(container, 1);
+        ContainerTestUtils.waitForAssignment(container, 3);
 
         // Set up Kafka producer for ticket-created topic
         Map<String, Object> producerProps = KafkaTestUtils.producerProps(brokers);
@@ -121,14 +123,17 @@ class AgentAssignmentIntegrationTest extends AbstractIntegrationTest {
                 "OPEN",
                 "Test Subject",
                 "Test Description",
-                "15.03.2025"
+                EventTimestamps.toEpochNanos(LocalDateTime.now())
         );
 
         // 2. Send the new ticket event to Kafka
         producer.send(new ProducerRecord<>(KafkaConfig.TICKET_CREATED_TOPIC, newTicketEvent)).get();
 
         // 3. Wait for the ticket to be processed and saved
-        Thread.sleep(2000); // Give some time for the consumer to process the message
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!ticketRepository.existsById(ticketId) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100); // Give some time for the consumer to process the message
+        }
 
         // 4. Verify the ticket was created in the database
         Optional<Ticket> savedTicket = ticketRepository.findById(ticketId);
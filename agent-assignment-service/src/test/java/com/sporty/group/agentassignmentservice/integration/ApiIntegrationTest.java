@@ -1,9 +1,13 @@
 package com.sporty.group.agentassignmentservice.integration;
 
+import com.sporty.group.agentassignmentservice.assignment.AgentRegistry;
 import com.sporty.group.agentassignmentservice.model.entity.Agent;
 import com.sporty.group.agentassignmentservice.model.entity.Ticket;
 import com.sporty.group.agentassignmentservice.repository.AgentRepository;
 import com.sporty.group.agentassignmentservice.repository.TicketRepository;
+import com.sporty.group.agentassignmentservice.service.AgentService;
+import com.sporty.group.agentassignmentservice.service.TicketService;
+import com.sporty.group.sportygroupticketingcommons.pagination.TicketPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -33,6 +38,15 @@ class ApiIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private TicketRepository ticketRepository;
 
+    @Autowired
+    private AgentRegistry agentRegistry;
+
+    @Autowired
+    private AgentService agentService;
+
+    @Autowired
+    private TicketService ticketService;
+
     private List<Agent> testAgents;
     private List<Ticket> testTickets;
 
@@ -154,21 +168,45 @@ class ApiIntegrationTest extends AbstractIntegrationTest {
         assertFalse(availableAgents.stream().anyMatch(a -> a.getFirstName().equals("Bob")));
     }
 
+    @Test
+    void testGetAvailableAgentsWithSkills() {
+        // Index the test agents
+        agentRegistry.load();
+
+        // Make the requests
+        String url = "http://localhost:" + port + "/api/v1/agents/available?skill=java&skill=Spring";
+        ResponseEntity<List<Agent>> response = restTemplate.exchange(
+                url, HttpMethod.GET, null, new ParameterizedTypeReference<List<Agent>>() {});
+        ResponseEntity<List<Agent>> unavailableResponse = restTemplate.exchange(
+                "http://localhost:" + port + "/api/v1/agents/available?skill=React", HttpMethod.GET, null,
+                new ParameterizedTypeReference<List<Agent>>() {});
+
+        // Verify only the available agent with both skills is returned
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertEquals("John", response.getBody().get(0).getFirstName());
+        assertEquals(Set.of("Java", "Spring"), response.getBody().get(0).getSkills());
+
+        assertEquals(HttpStatus.OK, unavailableResponse.getStatusCode());
+        assertTrue(unavailableResponse.getBody().isEmpty());
+    }
+
     @Test
     void testGetAllTickets() {
         // Build the URL
         String url = "http://localhost:" + port + "/api/v1/tickets";
         
         // Make the request
-        ResponseEntity<List<Ticket>> response = restTemplate.exchange(
-                url, HttpMethod.GET, null, new ParameterizedTypeReference<List<Ticket>>() {});
+        ResponseEntity<TicketPage<Ticket>> response = restTemplate.exchange(
+                url, HttpMethod.GET, null, new ParameterizedTypeReference<TicketPage<Ticket>>() {});
         
         // Verify the response
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
+        assertNull(response.getBody().getNextCursor());
         
         // Verify all tickets are returned
-        List<Ticket> tickets = response.getBody();
+        List<Ticket> tickets = response.getBody().getItems();
         assertEquals(3, tickets.size());
         
         // Verify ticket details
@@ -177,21 +215,56 @@ class ApiIntegrationTest extends AbstractIntegrationTest {
         assertTrue(tickets.stream().anyMatch(t -> t.getSubject().equals("Test Ticket 3")));
     }
 
+    @Test
+    void testGetTicketsPagesWithCursor() {
+        // Build the URL of the first page
+        String url = "http://localhost:" + port + "/api/v1/tickets?limit=2";
+
+        // Make the requests
+        ResponseEntity<TicketPage<Ticket>> firstPage = restTemplate.exchange(
+                url, HttpMethod.GET, null, new ParameterizedTypeReference<TicketPage<Ticket>>() {});
+        assertEquals(HttpStatus.OK, firstPage.getStatusCode());
+        assertEquals(2, firstPage.getBody().getItems().size());
+        assertNotNull(firstPage.getBody().getNextCursor());
+
+        ResponseEntity<TicketPage<Ticket>> secondPage = restTemplate.exchange(
+                url + "&cursor=" + firstPage.getBody().getNextCursor(), HttpMethod.GET, null,
+                new ParameterizedTypeReference<TicketPage<Ticket>>() {});
+        assertEquals(HttpStatus.OK, secondPage.getStatusCode());
+        assertEquals(1, secondPage.getBody().getItems().size());
+        assertNull(secondPage.getBody().getNextCursor());
+
+        // Verify every ticket is listed exactly once
+        Set<UUID> listedIds = new HashSet<>();
+        firstPage.getBody().getItems().forEach(t -> listedIds.add(t.getTicketId()));
+        secondPage.getBody().getItems().forEach(t -> listedIds.add(t.getTicketId()));
+        assertEquals(testTickets.stream().map(Ticket::getTicketId).collect(Collectors.toSet()), listedIds);
+    }
+
+    @Test
+    void testGetTicketsWithInvalidCursor() {
+        String url = "http://localhost:" + port + "/api/v1/tickets?cursor=invalid";
+
+        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
     @Test
     void testGetNewTickets() {
         // Build the URL
         String url = "http://localhost:" + port + "/api/v1/tickets/new";
         
         // Make the request
-        ResponseEntity<List<Ticket>> response = restTemplate.exchange(
-                url, HttpMethod.GET, null, new ParameterizedTypeReference<List<Ticket>>() {});
+        ResponseEntity<TicketPage<Ticket>> response = restTemplate.exchange(
+                url, HttpMethod.GET, null, new ParameterizedTypeReference<TicketPage<Ticket>>() {});
         
         // Verify the response
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         
         // Verify only open tickets are returned
-        List<Ticket> newTickets = response.getBody();
+        List<Ticket> newTickets = response.getBody().getItems();
         assertEquals(2, newTickets.size());
         
         // Verify all returned tickets are open
@@ -243,6 +316,66 @@ class ApiIntegrationTest extends AbstractIntegrationTest {
         assertEquals(openTicket.getTicketId(), updatedAgent.getTicketId());
     }
 
+    @Test
+    void testAssignAgentWithCapacityToSeveralTickets() {
+        // Get an available agent and the open tickets
+        Agent agent = testAgents.get(0);
+        List<Ticket> openTickets = testTickets.stream()
+                .filter(t -> t.getStatus() == Ticket.TicketStatus.OPEN)
+                .toList();
+
+        // Let the agent work on two tickets at the same time
+        String capacityUrl = "http://localhost:" + port + "/api/v1/agents/" + agent.getAgentId() + "/capacity?capacity=2";
+        ResponseEntity<Agent> capacityResponse = restTemplate.exchange(capacityUrl, HttpMethod.PUT, null, Agent.class);
+        assertEquals(HttpStatus.OK, capacityResponse.getStatusCode());
+        assertEquals(2, capacityResponse.getBody().getCapacity());
+
+        // Assign the first ticket: the agent stays available
+        String url = "http://localhost:" + port + "/api/v1/tickets/%s/assign/" + agent.getAgentId();
+        assertEquals(HttpStatus.OK, restTemplate.postForEntity(url.formatted(openTickets.get(0).getTicketId()), null, Ticket.class).getStatusCode());
+        Agent afterFirst = agentRepository.findById(agent.getAgentId()).orElseThrow();
+        assertEquals(1, afterFirst.getLoad());
+        assertEquals(Agent.AgentAvailability.AVAILABLE, afterFirst.getAvailability());
+
+        // Assign the second ticket: the agent is at capacity
+        assertEquals(HttpStatus.OK, restTemplate.postForEntity(url.formatted(openTickets.get(1).getTicketId()), null, Ticket.class).getStatusCode());
+        Agent afterSecond = agentRepository.findById(agent.getAgentId()).orElseThrow();
+        assertEquals(2, afterSecond.getLoad());
+        assertEquals(Agent.AgentAvailability.NOT_AVAILABLE, afterSecond.getAvailability());
+
+        // Raising the capacity makes the agent available again
+        capacityUrl = "http://localhost:" + port + "/api/v1/agents/" + agent.getAgentId() + "/capacity?capacity=3";
+        capacityResponse = restTemplate.exchange(capacityUrl, HttpMethod.PUT, null, Agent.class);
+        assertEquals(HttpStatus.OK, capacityResponse.getStatusCode());
+        assertEquals(Agent.AgentAvailability.AVAILABLE, capacityResponse.getBody().getAvailability());
+    }
+
+    @Test
+    void testAgentMadeUnavailableStaysUnavailableWhenItsTicketIsResolved() {
+        // Assign a ticket to an available agent, then take the agent off duty
+        Agent agent = testAgents.get(0);
+        Ticket openTicket = testTickets.stream()
+                .filter(t -> t.getStatus() == Ticket.TicketStatus.OPEN)
+                .findFirst()
+                .orElseThrow();
+        String url = "http://localhost:" + port + "/api/v1/tickets/" + openTicket.getTicketId() + "/assign/" + agent.getAgentId();
+        assertEquals(HttpStatus.OK, restTemplate.postForEntity(url, null, Ticket.class).getStatusCode());
+        agentService.updateAgentAvailability(agent.getAgentId(), Agent.AgentAvailability.NOT_AVAILABLE);
+
+        // Resolving the ticket releases the capacity, but does not make the agent available
+        assertEquals(Optional.of(agent.getAgentId()), ticketService.updateStatus(openTicket.getTicketId(), Ticket.TicketStatus.RESOLVED));
+        Agent released = agentRepository.findById(agent.getAgentId()).orElseThrow();
+        assertEquals(0, released.getLoad());
+        assertNull(released.getTicketId());
+        assertEquals(Agent.AgentAvailability.NOT_AVAILABLE, released.getAvailability());
+        assertFalse(agentRegistry.isAvailable(agent.getAgentId()));
+
+        // Until it is made available again
+        agentService.updateAgentAvailability(agent.getAgentId(), Agent.AgentAvailability.AVAILABLE);
+        assertEquals(Agent.AgentAvailability.AVAILABLE, agentRepository.findById(agent.getAgentId()).orElseThrow().getAvailability());
+        assertTrue(agentRegistry.isAvailable(agent.getAgentId()));
+    }
+
     @Test
     void testAssignAgentToTicket_TicketNotFound() {
         // Get an available agent
@@ -0,0 +1,262 @@
+package com.sporty.group.agentassignmentservice.integration;
+
+import com.sporty.group.agentassignmentservice.assignment.AgentRegistry;
+import com.sporty.group.agentassignmentservice.assignment.PendingTicketQueue;
+import com.sporty.group.agentassignmentservice.config.KafkaConfig;
+import com.sporty.group.agentassignmentservice.model.entity.Agent;
+import com.sporty.group.agentassignmentservice.model.entity.Ticket;
+import com.sporty.group.agentassignmentservice.repository.AgentRepository;
+import com.sporty.group.agentassignmentservice.repository.TicketRepository;
+import com.sporty.group.agentassignmentservice.service.TicketService;
+import com.sporty.group.sportygroupticketingcommons.event.EventTimestamps;
+import com.sporty.group.sportygroupticketingcommons.event.NewTicketEvent;
+import com.sporty.group.sportygroupticketingcommons.event.TicketAssignedEvent;
+import com.sporty.group.sportygroupticketingcommons.event.TicketStatusUpdatedEvent;
+import com.sporty.group.sportygroupticketingcommons.serialization.TicketAssignedEventDeserializer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = "assignment.auto.enabled=true")
+class AutoAssignmentIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private AgentRepository agentRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private AgentRegistry agentRegistry;
+
+    @Autowired
+    private PendingTicketQueue pendingTicketQueue;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private Environment environment;
+
+    private KafkaMessageListenerContainer<String, TicketAssignedEvent> assignmentContainer;
+    private BlockingQueue<ConsumerRecord<String, TicketAssignedEvent>> assignmentRecords;
+
+    private Producer<String, NewTicketEvent> ticketProducer;
+    private Producer<String, TicketStatusUpdatedEvent> statusProducer;
+
+    private Agent kafkaAgent;
+
+    @BeforeEach
+    void setUp() {
+        String brokers = environment.getProperty("spring.embedded.kafka.brokers");
+
+        // Set up Kafka consumer for ticket-assignments topic
+        Map<String, Object> consumerProps = new HashMap<>();
+        consumerProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, brokers);
+        consumerProps.put(ConsumerConfig.GROUP_ID_CONFIG, "auto-assignment-test-group");
+        consumerProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+        consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        DefaultKafkaConsumerFactory<String, TicketAssignedEvent> cf = new DefaultKafkaConsumerFactory<>(
+                consumerProps, new StringDeserializer(), new TicketAssignedEventDeserializer());
+
+        assignmentContainer = new KafkaMessageListenerContainer<>(cf, new ContainerProperties(KafkaConfig.TICKET_ASSIGNMENTS_TOPIC));
+        assignmentRecords = new LinkedBlockingQueue<>();
+        assignmentContainer.setupMessageListener((MessageListener<String, TicketAssignedEvent>) assignmentRecords::add);
+        assignmentContainer.start();
+        ContainerTestUtils.waitForAssignment(assignmentContainer, 3);
+
+        // Set up Kafka producer for ticket-created topic
+        DefaultKafkaProducerFactory<String, NewTicketEvent> pf = new DefaultKafkaProducerFactory<>(
+                KafkaTestUtils.producerProps(brokers), new StringSerializer(), new JsonSerializer<>());
+        ticketProducer = pf.createProducer();
+
+        // Set up Kafka producer for ticket-updates topic
+        DefaultKafkaProducerFactory<String, TicketStatusUpdatedEvent> statusPf = new DefaultKafkaProducerFactory<>(
+                KafkaTestUtils.producerProps(brokers), new StringSerializer(), new JsonSerializer<>());
+        statusProducer = statusPf.createProducer();
+
+        // Clean up repositories and register the test agents
+        ticketRepository.deleteAll();
+        agentRepository.deleteAll();
+
+        Agent reactAgent = new Agent();
+        reactAgent.setAgentId(UUID.randomUUID());
+        reactAgent.setFirstName("React");
+        reactAgent.setLastName("Agent");
+        reactAgent.setAvailability(Agent.AgentAvailability.AVAILABLE);
+        reactAgent.setSkills(new HashSet<>(Arrays.asList("React", "JavaScript")));
+        agentRepository.save(reactAgent);
+
+        kafkaAgent = new Agent();
+        kafkaAgent.setAgentId(UUID.randomUUID());
+        kafkaAgent.setFirstName("Kafka");
+        kafkaAgent.setLastName("Agent");
+        kafkaAgent.setAvailability(Agent.AgentAvailability.AVAILABLE);
+        kafkaAgent.setSkills(new HashSet<>(Arrays.asList("Java", "Kafka")));
+        agentRepository.save(kafkaAgent);
+
+        agentRegistry.load();
+        pendingTicketQueue.load(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        assignmentContainer.stop();
+        ticketProducer.close();
+        statusProducer.close();
+    }
+
+    @Test
+    void testNewTicketIsAssignedToAgentWithMatchingSkills() throws Exception {
+        // Send a new ticket event that mentions a skill of one agent
+        UUID ticketId = UUID.randomUUID();
+        NewTicketEvent newTicketEvent = new NewTicketEvent(
+                ticketId.toString(),
+                "user123",
+                "OPEN",
+                "Kafka consumer lag",
+                "Our consumer group stopped reading",
+                EventTimestamps.toEpochNanos(LocalDateTime.now())
+        );
+        ticketProducer.send(new ProducerRecord<>(KafkaConfig.TICKET_CREATED_TOPIC, ticketId.toString(), newTicketEvent)).get();
+
+        // Verify a TicketAssignedEvent was sent for the matching agent
+        ConsumerRecord<String, TicketAssignedEvent> record = pollAssignment(ticketId);
+        assertNotNull(record, "A TicketAssignedEvent should have been sent");
+        assertEquals(ticketId.toString(), record.value().getTicketId());
+        assertEquals(kafkaAgent.getAgentId().toString(), record.value().getAssigneeId());
+
+        // Verify the ticket and the agent were updated in the database
+        Ticket ticket = ticketRepository.findById(ticketId).orElseThrow();
+        assertEquals(kafkaAgent.getAgentId(), ticket.getAssigneeId());
+        assertEquals(Ticket.TicketStatus.IN_PROGRESS, ticket.getStatus());
+
+        Agent agent = agentRepository.findById(kafkaAgent.getAgentId()).orElseThrow();
+        assertEquals(Agent.AgentAvailability.NOT_AVAILABLE, agent.getAvailability());
+        assertEquals(ticketId, agent.getTicketId());
+    }
+
+    @Test
+    void testResolvedTicketReleasesAgentToOldestWaitingTicket() throws Exception {
+        // Assign a first Kafka ticket, which takes the only Kafka agent
+        UUID firstTicketId = UUID.randomUUID();
+        ticketProducer.send(new ProducerRecord<>(KafkaConfig.TICKET_CREATED_TOPIC, firstTicketId.toString(),
+                new NewTicketEvent(firstTicketId.toString(), "user123", "OPEN", "Kafka consumer lag", "", EventTimestamps.toEpochNanos(LocalDateTime.now())))).get();
+        assertNotNull(pollAssignment(firstTicketId), "The first ticket should have been assigned");
+
+        // A second Kafka ticket waits, because no available agent has the skill
+        UUID waitingTicketId = UUID.randomUUID();
+        ticketProducer.send(new ProducerRecord<>(KafkaConfig.TICKET_CREATED_TOPIC, waitingTicketId.toString(),
+                new NewTicketEvent(waitingTicketId.toString(), "user456", "OPEN", "Kafka broker down", "", EventTimestamps.toEpochNanos(LocalDateTime.now())))).get();
+        Thread.sleep(3000);
+        Ticket waitingTicket = ticketRepository.findById(waitingTicketId).orElseThrow();
+        assertNull(waitingTicket.getAssigneeId(), "The second ticket should wait for an agent");
+
+        // Resolve the first ticket
+        statusProducer.send(new ProducerRecord<>(KafkaConfig.TICKET_UPDATES_TOPIC, firstTicketId.toString(),
+                new TicketStatusUpdatedEvent(firstTicketId.toString(), "RESOLVED"))).get();
+
+        // Verify the released agent was assigned the waiting ticket
+        ConsumerRecord<String, TicketAssignedEvent> record = pollAssignment(waitingTicketId);
+        assertNotNull(record, "The waiting ticket should have been assigned to the released agent");
+        assertEquals(waitingTicketId.toString(), record.value().getTicketId());
+        assertEquals(kafkaAgent.getAgentId().toString(), record.value().getAssigneeId());
+
+        assertEquals(Ticket.TicketStatus.RESOLVED, ticketRepository.findById(firstTicketId).orElseThrow().getStatus());
+        Agent agent = agentRepository.findById(kafkaAgent.getAgentId()).orElseThrow();
+        assertEquals(1, agent.getLoad());
+        assertEquals(Agent.AgentAvailability.NOT_AVAILABLE, agent.getAvailability());
+    }
+
+    @Test
+    void testReleasedAgentTakesUrgentTicketBeforeOlderWaitingTickets() throws Exception {
+        // Assign a first Kafka ticket, which takes the only Kafka agent
+        UUID firstTicketId = UUID.randomUUID();
+        ticketProducer.send(new ProducerRecord<>(KafkaConfig.TICKET_CREATED_TOPIC, firstTicketId.toString(),
+                new NewTicketEvent(firstTicketId.toString(), "user123", "OPEN", "Kafka consumer lag", "", EventTimestamps.toEpochNanos(LocalDateTime.now())))).get();
+        assertNotNull(pollAssignment(firstTicketId), "The first ticket should have been assigned");
+
+        // Two more Kafka tickets wait, and the newer one becomes urgent
+        UUID olderTicketId = UUID.randomUUID();
+        ticketProducer.send(new ProducerRecord<>(KafkaConfig.TICKET_CREATED_TOPIC, olderTicketId.toString(),
+                new NewTicketEvent(olderTicketId.toString(), "user456", "OPEN", "Kafka broker down", "", EventTimestamps.toEpochNanos(LocalDateTime.now())))).get();
+        UUID urgentTicketId = UUID.randomUUID();
+        ticketProducer.send(new ProducerRecord<>(KafkaConfig.TICKET_CREATED_TOPIC, urgentTicketId.toString(),
+                new NewTicketEvent(urgentTicketId.toString(), "user789", "OPEN", "Kafka topic deleted", "", EventTimestamps.toEpochNanos(LocalDateTime.now())))).get();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pendingTicketQueue.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertEquals(2, pendingTicketQueue.size(), "Both tickets should wait in the queue");
+        ticketService.updatePriority(urgentTicketId, Ticket.TicketPriority.URGENT);
+
+        // Resolve the first ticket
+        statusProducer.send(new ProducerRecord<>(KafkaConfig.TICKET_UPDATES_TOPIC, firstTicketId.toString(),
+                new TicketStatusUpdatedEvent(firstTicketId.toString(), "RESOLVED"))).get();
+
+        // Verify the released agent took the urgent ticket and the older ticket still waits
+        assertNotNull(pollAssignment(urgentTicketId), "The urgent ticket should have been assigned first");
+        assertNull(ticketRepository.findById(olderTicketId).orElseThrow().getAssigneeId());
+        assertEquals(1, pendingTicketQueue.size());
+        assertEquals(1, pendingTicketQueue.size(Ticket.TicketPriority.NORMAL));
+    }
+
+    @Test
+    void testStatusUpdateBeforeNewTicketIsAppliedOnceTheTicketExists() throws Exception {
+        // The ticket is resolved before its new ticket event arrives
+        UUID ticketId = UUID.randomUUID();
+        statusProducer.send(new ProducerRecord<>(KafkaConfig.TICKET_UPDATES_TOPIC, ticketId.toString(),
+                new TicketStatusUpdatedEvent(ticketId.toString(), "RESOLVED"))).get();
+        Thread.sleep(500);
+        ticketProducer.send(new ProducerRecord<>(KafkaConfig.TICKET_CREATED_TOPIC, ticketId.toString(),
+                new NewTicketEvent(ticketId.toString(), "user123", "OPEN", "Kafka consumer lag", "", EventTimestamps.toEpochNanos(LocalDateTime.now())))).get();
+
+        // Verify the retried status update resolved the ticket and released the agent it was assigned to
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline && ticketRepository.findById(ticketId)
+                .filter(ticket -> ticket.getStatus() == Ticket.TicketStatus.RESOLVED).isEmpty()) {
+            Thread.sleep(100);
+        }
+        assertEquals(Ticket.TicketStatus.RESOLVED, ticketRepository.findById(ticketId).orElseThrow().getStatus());
+        Agent agent = agentRepository.findById(kafkaAgent.getAgentId()).orElseThrow();
+        assertEquals(0, agent.getLoad());
+        assertEquals(Agent.AgentAvailability.AVAILABLE, agent.getAvailability());
+    }
+
+    /**
+     * Wait for the TicketAssignedEvent of a ticket, skipping events of tickets assigned by other tests.
+     */
+    private ConsumerRecord<String, TicketAssignedEvent> pollAssignment(UUID ticketId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        ConsumerRecord<String, TicketAssignedEvent> record;
+        do {
+            record = assignmentRecords.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        } while (record != null && !ticketId.toString().equals(record.value().getTicketId()));
+        return record;
+    }
+}
@@ -0,0 +1,170 @@
+package com.sporty.group.agentassignmentservice.integration;
+
+import com.sporty.group.agentassignmentservice.model.entity.Agent;
+import com.sporty.group.agentassignmentservice.model.entity.Ticket;
+import com.sporty.group.agentassignmentservice.repository.AgentRepository;
+import com.sporty.group.agentassignmentservice.repository.TicketRepository;
+import com.sporty.group.agentassignmentservice.service.AgentService;
+import com.sporty.group.agentassignmentservice.service.TicketService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentAssignmentIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private AgentRepository agentRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private AgentService agentService;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository.deleteAll();
+        agentRepository.deleteAll();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentAssignmentsOfSameAgent_OnlyOneSucceeds() throws Exception {
+        // One available agent and one open ticket per thread
+        Agent agent = agentRepository.save(agent());
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            tickets.add(ticketRepository.save(ticket()));
+        }
+
+        // Assign all tickets to the agent at the same time
+        int succeeded = runConcurrently(i -> ticketService.assignAgentToTicket(tickets.get(i).getTicketId(), agent.getAgentId()));
+
+        // Verify the agent took exactly one ticket
+        assertEquals(1, succeeded);
+        Agent updatedAgent = agentRepository.findById(agent.getAgentId()).orElseThrow();
+        assertEquals(Agent.AgentAvailability.NOT_AVAILABLE, updatedAgent.getAvailability());
+        List<Ticket> assigned = ticketRepository.findAll().stream().filter(t -> t.getAssigneeId() != null).toList();
+        assertEquals(1, assigned.size());
+        assertEquals(updatedAgent.getTicketId(), assigned.get(0).getTicketId());
+    }
+
+    @Test
+    void testConcurrentAssignmentsOfSameTicket_OnlyOneSucceeds() throws Exception {
+        // One open ticket and one available agent per thread
+        Ticket ticket = ticketRepository.save(ticket());
+        List<Agent> agents = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            agents.add(agentRepository.save(agent()));
+        }
+
+        // Assign all agents to the ticket at the same time
+        int succeeded = runConcurrently(i -> ticketService.assignAgentToTicket(ticket.getTicketId(), agents.get(i).getAgentId()));
+
+        // Verify exactly one agent took the ticket, and the others are still available
+        assertEquals(1, succeeded);
+        Ticket updatedTicket = ticketRepository.findById(ticket.getTicketId()).orElseThrow();
+        List<Agent> busyAgents = agentRepository.findByAvailability(Agent.AgentAvailability.NOT_AVAILABLE);
+        assertEquals(1, busyAgents.size());
+        assertEquals(busyAgents.get(0).getAgentId(), updatedTicket.getAssigneeId());
+        assertEquals(ticket.getTicketId(), busyAgents.get(0).getTicketId());
+    }
+
+    @Test
+    void testConcurrentAssignmentsAndAvailabilityChangesOfSameAgent_KeepLoad() throws Exception {
+        // One agent with room for every ticket, and one open ticket per assigning thread
+        Agent agent = agent();
+        agent.setCapacity(THREADS);
+        agentRepository.save(agent);
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < THREADS / 2; i++) {
+            tickets.add(ticketRepository.save(ticket()));
+        }
+
+        // Assign the tickets while the other threads put the agent on duty again
+        int succeeded = runConcurrently(i -> {
+            if (i % 2 == 0) {
+                ticketService.assignAgentToTicket(tickets.get(i / 2).getTicketId(), agent.getAgentId());
+            } else {
+                agentService.updateAgentAvailability(agent.getAgentId(), Agent.AgentAvailability.AVAILABLE);
+            }
+        });
+
+        // Verify no availability change overwrote the load of an assignment
+        assertEquals(THREADS, succeeded);
+        Agent updatedAgent = agentRepository.findById(agent.getAgentId()).orElseThrow();
+        assertEquals(THREADS / 2, updatedAgent.getLoad());
+        assertEquals(Agent.AgentAvailability.AVAILABLE, updatedAgent.getAvailability());
+        assertEquals(THREADS / 2, ticketRepository.findAll().stream().filter(t -> t.getAssigneeId() != null).count());
+    }
+
+    private int runConcurrently(IntConsumerTask task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    task.run(index);
+                    succeeded.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    // Lost the race
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        return succeeded.get();
+    }
+
+    private static Agent agent() {
+        Agent agent = new Agent();
+        agent.setAgentId(UUID.randomUUID());
+        agent.setFirstName("Test");
+        agent.setLastName("Agent");
+        agent.setAvailability(Agent.AgentAvailability.AVAILABLE);
+        agent.setSkills(new HashSet<>(Arrays.asList("Java", "Spring")));
+        return agent;
+    }
+
+    private static Ticket ticket() {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(UUID.randomUUID());
+        ticket.setSubject("Test Subject");
+        ticket.setDescription("Test Description");
+        ticket.setStatus(Ticket.TicketStatus.OPEN);
+        ticket.setUserId("user123");
+        ticket.setCreatedAt(LocalDateTime.now());
+        return ticket;
+    }
+
+    @FunctionalInterface
+    private interface IntConsumerTask {
+        void run(int index);
+    }
+}
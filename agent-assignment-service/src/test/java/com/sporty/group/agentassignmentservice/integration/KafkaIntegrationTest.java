@@ -6,8 +6,10 @@ import com.sporty.group.agentassignmentservice.model.entity.Ticket;
 import com.sporty.group.agentassignmentservice.repository.AgentRepository;
 import com.sporty.group.agentassignmentservice.repository.TicketRepository;
 import com.sporty.group.agentassignmentservice.service.TicketService;
+import com.sporty.group.sportygroupticketingcommons.event.EventTimestamps;
 import com.sporty.group.sportygroupticketingcommons.event.NewTicketEvent;
 import com.sporty.group.sportygroupticketingcommons.event.TicketAssignedEvent;
+import com.sporty.group.sportygroupticketingcommons.serialization.TicketAssignedEventDeserializer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.producer.Producer;
@@ -23,11 +25,11 @@ import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.KafkaMessageListenerContainer;
 import org.springframework.kafka.listener.MessageListener;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.kafka.test.utils.ContainerTestUtils;
 import org.springframework.kafka.test.utils.KafkaTestUtils;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -68,14 +70,14 @@ class KafkaIntegrationTest extends AbstractIntegrationTest {
         consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         DefaultKafkaConsumerFactory<String, TicketAssignedEvent> cf = new DefaultKafkaConsumerFactory<>(
                 consumerProps, new StringDeserializer(),
-                new JsonDeserializer<>(TicketAssignedEvent.class, false));
+                new TicketAssignedEventDeserializer());
 
         ContainerProperties containerProperties = new ContainerProperties(KafkaConfig.TICKET_ASSIGNMENTS_TOPIC);
         assignmentContainer = new KafkaMessageListenerContainer<>(cf, containerProperties);
         assignmentRecords = new LinkedBlockingQueue<>();
         assignmentContainer.setupMessageListener((MessageListener<String, TicketAssignedEvent>) assignmentRecords::add);
         assignmentContainer.start();
-        ContainerTestUtils.waitForAssignment(assignmentContainer, 1);
+        ContainerTestUtils.waitForAssignment(assignmentContainer, 3);
 
         // Set up Kafka producer for ticket-created topic
         Map<String, Object> producerProps = KafkaTestUtils.producerProps(brokers);
@@ -113,7 +115,7 @@ class KafkaIntegrationTest extends AbstractIntegrationTest {
                 "OPEN",
                 "Test Subject",
                 "Test Description",
-                "15.03.2025"
+                EventTimestamps.toEpochNanos(LocalDateTime.now())
         );
 
         // Send the new ticket event to Kafka
@@ -155,6 +157,7 @@ class KafkaIntegrationTest extends AbstractIntegrationTest {
         // Verify a TicketAssignedEvent was sent to Kafka
         ConsumerRecord<String, TicketAssignedEvent> record = assignmentRecords.poll(5, TimeUnit.SECONDS);
         assertNotNull(record, "A TicketAssignedEvent should have been sent");
+        assertEquals(ticketId.toString(), record.key(), "The event should be keyed by ticket ID");
         assertEquals(ticketId.toString(), record.value().getTicketId());
         assertEquals(agent.getAgentId().toString(), record.value().getAssigneeId());
 
@@ -182,7 +185,7 @@ class KafkaIntegrationTest extends AbstractIntegrationTest {
                     "OPEN",
                     "Test Subject " + i,
                     "Test Description " + i,
-                    "15.03.2025"
+                    EventTimestamps.toEpochNanos(LocalDateTime.now())
             );
             ticketProducer.send(new ProducerRecord<>(KafkaConfig.TICKET_CREATED_TOPIC, newTicketEvent)).get();
         }
@@ -211,7 +214,7 @@ class KafkaIntegrationTest extends AbstractIntegrationTest {
                 "INVALID_STATUS", // Invalid status
                 "Test Subject",
                 "Test Description",
-                "15.03.2025"
+                EventTimestamps.toEpochNanos(LocalDateTime.now())
         );
 
         // Send the invalid ticket event to Kafka
@@ -1,5 +1,6 @@
 package com.sporty.group.agentassignmentservice.service;
 
+import com.sporty.group.agentassignmentservice.assignment.AgentRegistry;
 import com.sporty.group.agentassignmentservice.model.entity.Agent;
 import com.sporty.group.agentassignmentservice.repository.AgentRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +21,9 @@ class AgentServiceTest {
     @Mock
     private AgentRepository agentRepository;
 
+    @Mock
+    private AgentRegistry agentRegistry;
+
     @InjectMocks
     private AgentService agentService;
 
@@ -50,14 +54,14 @@ class AgentServiceTest {
     @Test
     void getAllAgents_ShouldReturnAllAgents() {
         // Arrange
-        when(agentRepository.findAll()).thenReturn(agents);
+        when(agentRepository.findAllWithSkills()).thenReturn(agents);
 
         // Act
         List<Agent> result = agentService.getAllAgents();
 
         // Assert
         assertEquals(2, result.size());
-        verify(agentRepository, times(1)).findAll();
+        verify(agentRepository, times(1)).findAllWithSkills();
     }
 
     @Test
@@ -75,6 +79,32 @@ class AgentServiceTest {
         verify(agentRepository, times(1)).findByAvailability(Agent.AgentAvailability.AVAILABLE);
     }
 
+    @Test
+    void getAvailableAgentsWithSkills_ShouldLoadAgentsFoundInSkillIndex() {
+        // Arrange
+        when(agentRegistry.availableAgentsWithSkills(Set.of("java", "spring"))).thenReturn(List.of(agentId));
+        when(agentRepository.findWithSkillsByAgentIdIn(List.of(agentId))).thenReturn(List.of(agent));
+
+        // Act
+        List<Agent> result = agentService.getAvailableAgentsWithSkills(Set.of("Java", "SPRING"));
+
+        // Assert
+        assertEquals(List.of(agent), result);
+    }
+
+    @Test
+    void getAvailableAgentsWithSkills_WhenNoAgentMatches_ShouldNotQueryRepository() {
+        // Arrange
+        when(agentRegistry.availableAgentsWithSkills(Set.of("cobol"))).thenReturn(List.of());
+
+        // Act
+        List<Agent> result = agentService.getAvailableAgentsWithSkills(Set.of("COBOL"));
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(agentRepository);
+    }
+
     @Test
     void getAgentById_WhenAgentExists_ShouldReturnAgent() {
         // Arrange
@@ -104,44 +134,163 @@ class AgentServiceTest {
     }
 
     @Test
-    void updateAgentAvailability_WhenAgentExists_ShouldUpdateAndReturnAgent() {
+    void updateAgentAvailability_WhenAgentExists_ShouldTakeAgentOffDutyWithConditionalUpdate() {
         // Arrange
-        UUID ticketId = UUID.randomUUID();
-        Agent updatedAgent = new Agent();
-        updatedAgent.setAgentId(agentId);
-        updatedAgent.setFirstName("John");
-        updatedAgent.setLastName("Doe");
-        updatedAgent.setAvailability(Agent.AgentAvailability.NOT_AVAILABLE);
-        updatedAgent.setTicketId(ticketId);
-        updatedAgent.setSkills(new HashSet<>(Arrays.asList("Java", "Spring")));
-        
+        when(agentRepository.updateOffDuty(agentId, true, Agent.AgentAvailability.AVAILABLE, Agent.AgentAvailability.NOT_AVAILABLE))
+                .thenReturn(1);
+        agent.setOffDuty(true);
+        agent.setAvailability(Agent.AgentAvailability.NOT_AVAILABLE);
         when(agentRepository.findById(agentId)).thenReturn(Optional.of(agent));
-        when(agentRepository.save(any(Agent.class))).thenReturn(updatedAgent);
 
         // Act
-        Agent result = agentService.updateAgentAvailability(agentId, Agent.AgentAvailability.NOT_AVAILABLE, ticketId);
+        Agent result = agentService.updateAgentAvailability(agentId, Agent.AgentAvailability.NOT_AVAILABLE);
 
         // Assert
         assertEquals(Agent.AgentAvailability.NOT_AVAILABLE, result.getAvailability());
-        assertEquals(ticketId, result.getTicketId());
-        verify(agentRepository, times(1)).findById(agentId);
-        verify(agentRepository, times(1)).save(any(Agent.class));
+        assertTrue(result.isOffDuty());
+        verify(agentRepository, never()).save(any(Agent.class));
+        verify(agentRegistry, times(1)).refresh(agentId);
+    }
+
+    @Test
+    void updateAgentAvailability_WhenAgentIsMadeAvailable_ShouldPutAgentBackOnDuty() {
+        // Arrange
+        when(agentRepository.updateOffDuty(agentId, false, Agent.AgentAvailability.AVAILABLE, Agent.AgentAvailability.NOT_AVAILABLE))
+                .thenReturn(1);
+        when(agentRepository.findById(agentId)).thenReturn(Optional.of(agent));
+
+        // Act
+        Agent result = agentService.updateAgentAvailability(agentId, Agent.AgentAvailability.AVAILABLE);
+
+        // Assert
+        assertFalse(result.isOffDuty());
+        verify(agentRepository, never()).save(any(Agent.class));
+        verify(agentRegistry, times(1)).refresh(agentId);
+    }
+
+    @Test
+    void claimAgent_ShouldClaimCapacityOfAvailableAgentWithConditionalUpdate() {
+        // Arrange
+        UUID ticketId = UUID.randomUUID();
+        when(agentRepository.claimCapacity(agentId, ticketId, Agent.AgentAvailability.AVAILABLE,
+                Agent.AgentAvailability.NOT_AVAILABLE)).thenReturn(1);
+
+        // Act
+        agentService.claimAgent(agentId, ticketId);
+
+        // Assert
+        verify(agentRepository, never()).findById(any());
+        verify(agentRepository, never()).save(any(Agent.class));
+        verify(agentRegistry, times(1)).refresh(agentId);
+    }
+
+    @Test
+    void claimAgent_WhenAgentIsNotAvailable_ShouldThrowException() {
+        // Arrange
+        UUID ticketId = UUID.randomUUID();
+        when(agentRepository.claimCapacity(agentId, ticketId, Agent.AgentAvailability.AVAILABLE,
+                Agent.AgentAvailability.NOT_AVAILABLE)).thenReturn(0);
+        when(agentRepository.existsById(agentId)).thenReturn(true);
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> agentService.claimAgent(agentId, ticketId));
+        assertEquals("Agent is not available", exception.getMessage());
+        verifyNoInteractions(agentRegistry);
+    }
+
+    @Test
+    void claimAgent_WhenAgentDoesNotExist_ShouldThrowException() {
+        // Arrange
+        UUID ticketId = UUID.randomUUID();
+        when(agentRepository.claimCapacity(agentId, ticketId, Agent.AgentAvailability.AVAILABLE,
+                Agent.AgentAvailability.NOT_AVAILABLE)).thenReturn(0);
+        when(agentRepository.existsById(agentId)).thenReturn(false);
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> agentService.claimAgent(agentId, ticketId));
+        assertEquals("Agent not found with ID: " + agentId, exception.getMessage());
+        verifyNoInteractions(agentRegistry);
+    }
+
+    @Test
+    void releaseAgent_ShouldReleaseCapacityWithConditionalUpdate() {
+        // Arrange
+        UUID ticketId = UUID.randomUUID();
+        when(agentRepository.releaseCapacity(agentId, ticketId, Agent.AgentAvailability.AVAILABLE, Agent.AgentAvailability.NOT_AVAILABLE))
+                .thenReturn(1);
+
+        // Act
+        boolean released = agentService.releaseAgent(agentId, ticketId);
+
+        // Assert
+        assertTrue(released);
+        verify(agentRepository, never()).save(any(Agent.class));
+        verify(agentRegistry, times(1)).refresh(agentId);
+    }
+
+    @Test
+    void releaseAgent_WhenAgentHoldsNoTickets_ShouldReleaseNothing() {
+        // Arrange
+        UUID ticketId = UUID.randomUUID();
+        when(agentRepository.releaseCapacity(agentId, ticketId, Agent.AgentAvailability.AVAILABLE, Agent.AgentAvailability.NOT_AVAILABLE))
+                .thenReturn(0);
+
+        // Act
+        boolean released = agentService.releaseAgent(agentId, ticketId);
+
+        // Assert
+        assertFalse(released);
+        verifyNoInteractions(agentRegistry);
+    }
+
+    @Test
+    void updateCapacity_ShouldUpdateCapacityAndReloadAgentInRegistry() {
+        // Arrange
+        when(agentRepository.updateCapacity(agentId, 3, Agent.AgentAvailability.AVAILABLE, Agent.AgentAvailability.NOT_AVAILABLE))
+                .thenReturn(1);
+        agent.setCapacity(3);
+        when(agentRepository.findById(agentId)).thenReturn(Optional.of(agent));
+
+        // Act
+        Agent result = agentService.updateCapacity(agentId, 3);
+
+        // Assert
+        assertEquals(3, result.getCapacity());
+        verify(agentRegistry, times(1)).refresh(agentId);
+    }
+
+    @Test
+    void updateCapacity_WhenCapacityIsNotPositive_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> agentService.updateCapacity(agentId, 0));
+        verifyNoInteractions(agentRepository, agentRegistry);
+    }
+
+    @Test
+    void updateCapacity_WhenAgentDoesNotExist_ShouldThrowException() {
+        // Arrange
+        when(agentRepository.updateCapacity(agentId, 2, Agent.AgentAvailability.AVAILABLE, Agent.AgentAvailability.NOT_AVAILABLE))
+                .thenReturn(0);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> agentService.updateCapacity(agentId, 2));
+        verifyNoInteractions(agentRegistry);
     }
 
     @Test
     void updateAgentAvailability_WhenAgentDoesNotExist_ShouldThrowException() {
         // Arrange
         UUID nonExistentId = UUID.randomUUID();
-        UUID ticketId = UUID.randomUUID();
-        when(agentRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(agentRepository.updateOffDuty(nonExistentId, true, Agent.AgentAvailability.AVAILABLE, Agent.AgentAvailability.NOT_AVAILABLE))
+                .thenReturn(0);
 
         // Act & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> 
-            agentService.updateAgentAvailability(nonExistentId, Agent.AgentAvailability.NOT_AVAILABLE, ticketId)
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+            agentService.updateAgentAvailability(nonExistentId, Agent.AgentAvailability.NOT_AVAILABLE)
         );
-        
+
         assertEquals("Agent not found with ID: " + nonExistentId, exception.getMessage());
-        verify(agentRepository, times(1)).findById(nonExistentId);
         verify(agentRepository, never()).save(any(Agent.class));
+        verifyNoInteractions(agentRegistry);
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,12 @@
 package com.sporty.group.agentassignmentservice.service;
 
+import com.sporty.group.agentassignmentservice.assignment.AssignmentEngine;
 import com.sporty.group.agentassignmentservice.model.entity.Ticket;
 import com.sporty.group.agentassignmentservice.repository.TicketRepository;
+import com.sporty.group.sportygroupticketingcommons.event.EventTimestamps;
 import com.sporty.group.sportygroupticketingcommons.event.NewTicketEvent;
+import com.sporty.group.sportygroupticketingcommons.event.TicketStatusUpdatedEvent;
+import com.sporty.group.sportygroupticketingcommons.serialization.NewTicketEventDeserializer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +15,10 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,9 +27,17 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class TicketConsumerServiceTest {
 
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2023, 1, 1, 10, 15, 30, 123_456_000);
+
     @Mock
     private TicketRepository ticketRepository;
 
+    @Mock
+    private AssignmentEngine assignmentEngine;
+
+    @Mock
+    private TicketService ticketService;
+
     @InjectMocks
     private TicketConsumerService ticketConsumerService;
 
@@ -41,7 +57,7 @@ class TicketConsumerServiceTest {
         newTicketEvent.setStatus("OPEN");
         newTicketEvent.setSubject("Test Ticket");
         newTicketEvent.setDescription("This is a test ticket");
-        newTicketEvent.setCreatedAt("01.01.2023");
+        newTicketEvent.setCreatedAtEpochNanos(EventTimestamps.toEpochNanos(CREATED_AT));
     }
 
     @Test
@@ -58,32 +74,29 @@ class TicketConsumerServiceTest {
         assertEquals(Ticket.TicketStatus.OPEN, savedTicket.getStatus());
         assertEquals("Test Ticket", savedTicket.getSubject());
         assertEquals("This is a test ticket", savedTicket.getDescription());
-
-        // We can't assert the exact time since the service uses current time when parsing fails
-        assertNotNull(savedTicket.getCreatedAt());
+        assertEquals(CREATED_AT, savedTicket.getCreatedAt());
+        verify(assignmentEngine, times(1)).assign(savedTicket);
     }
 
     @Test
-    void consumeNewTicketEvent_WithInvalidDate_ShouldUseCurrentTimeAndSaveTicket() {
-        // Arrange
-        newTicketEvent.setCreatedAt("invalid-date");
+    void consumeNewTicketEvent_WithLegacyDayString_ShouldUseStartOfDay() {
+        // Arrange: a JSON event with the createdAt string of the former event format
+        String json = "{\"ticketId\":\"" + ticketId + "\",\"status\":\"open\",\"createdAt\":\"01.01.2023\"}";
+        NewTicketEvent legacyEvent = new NewTicketEventDeserializer().deserialize("ticket-created", json.getBytes(StandardCharsets.UTF_8));
 
         // Act
-        ticketConsumerService.consumeNewTicketEvent(newTicketEvent);
+        ticketConsumerService.consumeNewTicketEvent(legacyEvent);
 
         // Assert
         verify(ticketRepository, times(1)).save(ticketCaptor.capture());
-
-        Ticket savedTicket = ticketCaptor.getValue();
-        assertEquals(ticketId, savedTicket.getTicketId());
-        assertNotNull(savedTicket.getCreatedAt());
-        // We can't assert the exact time, but we can check it's not null
+        assertEquals(LocalDateTime.of(2023, 1, 1, 0, 0), ticketCaptor.getValue().getCreatedAt());
     }
 
     @Test
     void consumeNewTicketEvent_WithNullDate_ShouldUseCurrentTimeAndSaveTicket() {
         // Arrange
-        newTicketEvent.setCreatedAt(null);
+        newTicketEvent.setCreatedAtEpochNanos(null);
+        LocalDateTime before = LocalDateTime.now();
 
         // Act
         ticketConsumerService.consumeNewTicketEvent(newTicketEvent);
@@ -93,25 +106,20 @@ class TicketConsumerServiceTest {
 
         Ticket savedTicket = ticketCaptor.getValue();
         assertEquals(ticketId, savedTicket.getTicketId());
-        assertNotNull(savedTicket.getCreatedAt());
-        // We can't assert the exact time, but we can check it's not null
+        assertFalse(savedTicket.getCreatedAt().isBefore(before));
     }
 
     @Test
-    void consumeNewTicketEvent_WithEmptyDate_ShouldUseCurrentTimeAndSaveTicket() {
+    void consumeNewTicketEvent_WhenTicketAlreadyExists_ShouldSkipDuplicateEvent() {
         // Arrange
-        newTicketEvent.setCreatedAt("");
+        when(ticketRepository.existsById(ticketId)).thenReturn(true);
 
         // Act
         ticketConsumerService.consumeNewTicketEvent(newTicketEvent);
 
         // Assert
-        verify(ticketRepository, times(1)).save(ticketCaptor.capture());
-
-        Ticket savedTicket = ticketCaptor.getValue();
-        assertEquals(ticketId, savedTicket.getTicketId());
-        assertNotNull(savedTicket.getCreatedAt());
-        // We can't assert the exact time, but we can check it's not null
+        verify(ticketRepository, never()).save(any(Ticket.class));
+        verifyNoInteractions(assignmentEngine);
     }
 
     @Test
@@ -125,4 +133,49 @@ class TicketConsumerServiceTest {
 
         verify(ticketRepository, times(1)).save(any(Ticket.class));
     }
+
+    @Test
+    void consumeTicketStatusUpdatedEvent_WhenAgentIsReleased_ShouldOfferAgentWaitingTickets() {
+        // Arrange
+        UUID agentId = UUID.randomUUID();
+        when(ticketService.updateStatus(ticketId, Ticket.TicketStatus.RESOLVED)).thenReturn(Optional.of(agentId));
+
+        // Act
+        ticketConsumerService.consumeTicketStatusUpdatedEvent(new TicketStatusUpdatedEvent(ticketId.toString(), "resolved"));
+
+        // Assert
+        verify(assignmentEngine, times(1)).offer(agentId);
+    }
+
+    @Test
+    void consumeTicketStatusUpdatedEvent_WhenNoAgentIsReleased_ShouldNotOfferAnything() {
+        // Arrange
+        when(ticketService.updateStatus(ticketId, Ticket.TicketStatus.IN_PROGRESS)).thenReturn(Optional.empty());
+
+        // Act
+        ticketConsumerService.consumeTicketStatusUpdatedEvent(new TicketStatusUpdatedEvent(ticketId.toString(), "IN_PROGRESS"));
+
+        // Assert
+        verifyNoInteractions(assignmentEngine);
+    }
+
+    @Test
+    void consumeTicketStatusUpdatedEvent_WithInvalidStatus_ShouldHandleGracefully() {
+        // Act & Assert
+        assertDoesNotThrow(() -> ticketConsumerService.consumeTicketStatusUpdatedEvent(
+                new TicketStatusUpdatedEvent(ticketId.toString(), "invalid_status")));
+        verifyNoInteractions(ticketService, assignmentEngine);
+    }
+
+    @Test
+    void consumeTicketStatusUpdatedEvent_WhenTicketDoesNotExistYet_ShouldRethrowForRetry() {
+        // Arrange
+        when(ticketService.updateStatus(ticketId, Ticket.TicketStatus.RESOLVED))
+                .thenThrow(new IllegalStateException("Ticket not found with ID: " + ticketId));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> ticketConsumerService.consumeTicketStatusUpdatedEvent(
+                new TicketStatusUpdatedEvent(ticketId.toString(), "resolved")));
+        verifyNoInteractions(assignmentEngine);
+    }
 }
@@ -1,14 +1,20 @@
 package com.sporty.group.agentassignmentservice.service;
 
-import com.sporty.group.agentassignmentservice.model.entity.Agent;
+import com.sporty.group.agentassignmentservice.assignment.PendingTicketQueue;
+import com.sporty.group.agentassignmentservice.assignment.PendingTicketQueue.PendingTicket;
 import com.sporty.group.agentassignmentservice.model.entity.Ticket;
 import com.sporty.group.agentassignmentservice.repository.TicketRepository;
+import com.sporty.group.sportygroupticketingcommons.pagination.TicketCursor;
+import com.sporty.group.sportygroupticketingcommons.pagination.TicketPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -28,13 +34,15 @@ class TicketServiceTest {
     @Mock
     private TicketProducerService ticketProducerService;
 
+    @Mock
+    private PendingTicketQueue pendingTicketQueue;
+
     @InjectMocks
     private TicketService ticketService;
 
     private UUID ticketId;
     private UUID agentId;
     private Ticket ticket;
-    private Agent agent;
     private List<Ticket> tickets;
 
     @BeforeEach
@@ -64,42 +72,45 @@ class TicketServiceTest {
         ticket2.setUpdatedAt(LocalDateTime.now().minusDays(1));
 
         tickets = Arrays.asList(ticket, ticket2);
-
-        // Set up agent
-        agent = new Agent();
-        agent.setAgentId(agentId);
-        agent.setFirstName("John");
-        agent.setLastName("Doe");
-        agent.setAvailability(Agent.AgentAvailability.AVAILABLE);
-        agent.setSkills(new HashSet<>(Arrays.asList("Java", "Spring")));
     }
 
     @Test
-    void getAllTickets_ShouldReturnAllTickets() {
+    void getTickets_ShouldReturnPageWithNextCursor_WhenMoreTicketsMatch() {
         // Arrange
-        when(ticketRepository.findAll()).thenReturn(tickets);
+        when(ticketRepository.findBy(any(Specification.class), any())).thenReturn(Window.from(tickets, ScrollPosition::offset, true));
 
         // Act
-        List<Ticket> result = ticketService.getAllTickets();
+        TicketPage<Ticket> result = ticketService.getTickets(null, null, null, null, 2);
 
         // Assert
-        assertEquals(2, result.size());
-        verify(ticketRepository, times(1)).findAll();
+        assertEquals(2, result.getItems().size());
+        Ticket last = tickets.get(1);
+        assertEquals(new TicketCursor(last.getCreatedAt(), last.getTicketId()), TicketCursor.decode(result.getNextCursor()));
+        verify(ticketRepository, times(1)).findBy(any(Specification.class), any());
     }
 
     @Test
-    void getNewTickets_ShouldReturnOnlyOpenTickets() {
+    void getNewTickets_ShouldReturnLastPageWithoutNextCursor() {
         // Arrange
-        when(ticketRepository.findByStatus(Ticket.TicketStatus.OPEN))
-                .thenReturn(Collections.singletonList(ticket));
+        when(ticketRepository.findBy(any(Specification.class), any()))
+                .thenReturn(Window.from(Collections.singletonList(ticket), ScrollPosition::offset, false));
 
         // Act
-        List<Ticket> result = ticketService.getNewTickets();
+        TicketPage<Ticket> result = ticketService.getNewTickets(null, 50);
 
         // Assert
-        assertEquals(1, result.size());
-        assertEquals(Ticket.TicketStatus.OPEN, result.get(0).getStatus());
-        verify(ticketRepository, times(1)).findByStatus(Ticket.TicketStatus.OPEN);
+        assertEquals(1, result.getItems().size());
+        assertEquals(Ticket.TicketStatus.OPEN, result.getItems().get(0).getStatus());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getTickets_ShouldRejectInvalidLimitAndCursor() {
+        assertThrows(IllegalArgumentException.class, () -> ticketService.getTickets(null, null, null, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> ticketService.getTickets(null, null, null, null, TicketService.MAX_PAGE_SIZE + 1));
+        assertThrows(IllegalArgumentException.class, () -> ticketService.getTickets(null, null, null, "invalid", 10));
+        verifyNoInteractions(ticketRepository);
     }
 
     @Test
@@ -133,9 +144,6 @@ class TicketServiceTest {
     @Test
     void assignAgentToTicket_WhenTicketAndAgentExistAndAreValid_ShouldAssignAndReturnUpdatedTicket() {
         // Arrange
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
-        when(agentService.getAgentById(agentId)).thenReturn(Optional.of(agent));
-        
         Ticket updatedTicket = new Ticket();
         updatedTicket.setTicketId(ticketId);
         updatedTicket.setSubject("Test Ticket");
@@ -145,26 +153,30 @@ class TicketServiceTest {
         updatedTicket.setAssigneeId(agentId);
         updatedTicket.setCreatedAt(ticket.getCreatedAt());
         updatedTicket.setUpdatedAt(LocalDateTime.now());
-        
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(updatedTicket);
-        
+
+        when(ticketRepository.assignIfUnassigned(eq(ticketId), eq(agentId), eq(Ticket.TicketStatus.OPEN), eq(Ticket.TicketStatus.IN_PROGRESS), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(updatedTicket));
+
         // Act
         Ticket result = ticketService.assignAgentToTicket(ticketId, agentId);
 
         // Assert
         assertEquals(Ticket.TicketStatus.IN_PROGRESS, result.getStatus());
         assertEquals(agentId, result.getAssigneeId());
-        verify(ticketRepository, times(1)).findById(ticketId);
-        verify(agentService, times(1)).getAgentById(agentId);
-        verify(ticketRepository, times(1)).save(any(Ticket.class));
-        verify(agentService, times(1)).updateAgentAvailability(agentId, Agent.AgentAvailability.NOT_AVAILABLE, ticketId);
+        verify(agentService, times(1)).claimAgent(agentId, ticketId);
+        verify(agentService, never()).getAgentById(any(UUID.class));
+        verify(ticketRepository, never()).save(any(Ticket.class));
         verify(ticketProducerService, times(1)).sendTicketAssignedEvent(ticketId, agentId);
+        verify(pendingTicketQueue, times(1)).remove(ticketId);
     }
 
     @Test
     void assignAgentToTicket_WhenTicketDoesNotExist_ShouldThrowException() {
         // Arrange
         UUID nonExistentId = UUID.randomUUID();
+        when(ticketRepository.assignIfUnassigned(eq(nonExistentId), eq(agentId), eq(Ticket.TicketStatus.OPEN), eq(Ticket.TicketStatus.IN_PROGRESS), any(LocalDateTime.class)))
+                .thenReturn(0);
         when(ticketRepository.findById(nonExistentId)).thenReturn(Optional.empty());
 
         // Act & Assert
@@ -173,16 +185,15 @@ class TicketServiceTest {
         );
         
         assertEquals("Ticket not found with ID: " + nonExistentId, exception.getMessage());
-        verify(ticketRepository, times(1)).findById(nonExistentId);
-        verify(agentService, never()).getAgentById(any(UUID.class));
-        verify(ticketRepository, never()).save(any(Ticket.class));
-        verify(agentService, never()).updateAgentAvailability(any(UUID.class), any(Agent.AgentAvailability.class), any(UUID.class));
+        verify(agentService, never()).claimAgent(any(UUID.class), any(UUID.class));
         verify(ticketProducerService, never()).sendTicketAssignedEvent(any(UUID.class), any(UUID.class));
     }
 
     @Test
     void assignAgentToTicket_WhenTicketIsAlreadyAssigned_ShouldThrowException() {
         // Arrange
+        when(ticketRepository.assignIfUnassigned(eq(ticketId), eq(agentId), eq(Ticket.TicketStatus.OPEN), eq(Ticket.TicketStatus.IN_PROGRESS), any(LocalDateTime.class)))
+                .thenReturn(0);
         ticket.setAssigneeId(UUID.randomUUID());
         when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
 
@@ -192,10 +203,25 @@ class TicketServiceTest {
         );
         
         assertEquals("Ticket is already assigned to an agent", exception.getMessage());
-        verify(ticketRepository, times(1)).findById(ticketId);
-        verify(agentService, never()).getAgentById(any(UUID.class));
-        verify(ticketRepository, never()).save(any(Ticket.class));
-        verify(agentService, never()).updateAgentAvailability(any(UUID.class), any(Agent.AgentAvailability.class), any(UUID.class));
+        verify(agentService, never()).claimAgent(any(UUID.class), any(UUID.class));
+        verify(ticketProducerService, never()).sendTicketAssignedEvent(any(UUID.class), any(UUID.class));
+    }
+
+    @Test
+    void assignAgentToTicket_WhenTicketIsResolved_ShouldThrowException_AndNotReopenIt() {
+        // Arrange
+        ticket.setStatus(Ticket.TicketStatus.RESOLVED);
+        when(ticketRepository.assignIfUnassigned(eq(ticketId), eq(agentId), eq(Ticket.TicketStatus.OPEN), eq(Ticket.TicketStatus.IN_PROGRESS), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+            ticketService.assignAgentToTicket(ticketId, agentId)
+        );
+
+        assertEquals("Ticket is not open: RESOLVED", exception.getMessage());
+        verify(agentService, never()).claimAgent(any(UUID.class), any(UUID.class));
         verify(ticketProducerService, never()).sendTicketAssignedEvent(any(UUID.class), any(UUID.class));
     }
 
@@ -203,8 +229,10 @@ class TicketServiceTest {
     void assignAgentToTicket_WhenAgentDoesNotExist_ShouldThrowException() {
         // Arrange
         UUID nonExistentAgentId = UUID.randomUUID();
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
-        when(agentService.getAgentById(nonExistentAgentId)).thenReturn(Optional.empty());
+        when(ticketRepository.assignIfUnassigned(eq(ticketId), eq(nonExistentAgentId), eq(Ticket.TicketStatus.OPEN), eq(Ticket.TicketStatus.IN_PROGRESS), any(LocalDateTime.class)))
+                .thenReturn(1);
+        doThrow(new IllegalStateException("Agent not found with ID: " + nonExistentAgentId))
+                .when(agentService).claimAgent(nonExistentAgentId, ticketId);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> 
@@ -212,19 +240,16 @@ class TicketServiceTest {
         );
         
         assertEquals("Agent not found with ID: " + nonExistentAgentId, exception.getMessage());
-        verify(ticketRepository, times(1)).findById(ticketId);
-        verify(agentService, times(1)).getAgentById(nonExistentAgentId);
-        verify(ticketRepository, never()).save(any(Ticket.class));
-        verify(agentService, never()).updateAgentAvailability(any(UUID.class), any(Agent.AgentAvailability.class), any(UUID.class));
         verify(ticketProducerService, never()).sendTicketAssignedEvent(any(UUID.class), any(UUID.class));
     }
 
     @Test
     void assignAgentToTicket_WhenAgentIsNotAvailable_ShouldThrowException() {
         // Arrange
-        agent.setAvailability(Agent.AgentAvailability.NOT_AVAILABLE);
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
-        when(agentService.getAgentById(agentId)).thenReturn(Optional.of(agent));
+        when(ticketRepository.assignIfUnassigned(eq(ticketId), eq(agentId), eq(Ticket.TicketStatus.OPEN), eq(Ticket.TicketStatus.IN_PROGRESS), any(LocalDateTime.class)))
+                .thenReturn(1);
+        doThrow(new IllegalStateException("Agent is not available"))
+                .when(agentService).claimAgent(agentId, ticketId);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> 
@@ -232,10 +257,191 @@ class TicketServiceTest {
         );
         
         assertEquals("Agent is not available", exception.getMessage());
-        verify(ticketRepository, times(1)).findById(ticketId);
-        verify(agentService, times(1)).getAgentById(agentId);
-        verify(ticketRepository, never()).save(any(Ticket.class));
-        verify(agentService, never()).updateAgentAvailability(any(UUID.class), any(Agent.AgentAvailability.class), any(UUID.class));
         verify(ticketProducerService, never()).sendTicketAssignedEvent(any(UUID.class), any(UUID.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void assignClaimedAgent_ShouldUpdateTicketAndAgentAndPublishEvent() {
+        // Arrange
+        when(ticketRepository.assignIfUnassigned(eq(ticketId), eq(agentId), eq(Ticket.TicketStatus.OPEN), eq(Ticket.TicketStatus.IN_PROGRESS), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        // Act
+        ticketService.assignClaimedAgent(ticketId, agentId);
+
+        // Assert
+        verify(ticketRepository, never()).findById(any());
+        verify(agentService, times(1)).claimAgent(agentId, ticketId);
+        verify(ticketProducerService, times(1)).sendTicketAssignedEvent(ticketId, agentId);
+    }
+
+    @Test
+    void assignClaimedAgent_WhenTicketIsAlreadyAssigned_ShouldThrowException() {
+        // Arrange
+        when(ticketRepository.assignIfUnassigned(eq(ticketId), eq(agentId), eq(Ticket.TicketStatus.OPEN), eq(Ticket.TicketStatus.IN_PROGRESS), any(LocalDateTime.class)))
+                .thenReturn(0);
+        ticket.setAssigneeId(UUID.randomUUID());
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> ticketService.assignClaimedAgent(ticketId, agentId));
+        verify(agentService, never()).claimAgent(any(), any());
+        verify(ticketProducerService, never()).sendTicketAssignedEvent(any(UUID.class), any(UUID.class));
+    }
+
+    @Test
+    void getWaitingTickets_ShouldReturnOpenUnassignedTickets() {
+        // Arrange
+        when(ticketRepository.findByStatusAndAssigneeIdIsNull(Ticket.TicketStatus.OPEN)).thenReturn(List.of(ticket));
+
+        // Act
+        List<Ticket> result = ticketService.getWaitingTickets();
+
+        // Assert
+        assertEquals(List.of(ticket), result);
+    }
+
+    @Test
+    void updatePriority_ShouldSetPriorityAndSlaDeadline_AndMoveTicketInQueue() {
+        // Arrange
+        PendingTicket pending = new PendingTicket(ticketId, Ticket.TicketPriority.NORMAL,
+                ticket.getCreatedAt().plusHours(24), ticket.getCreatedAt(), Set.of("java"));
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+        when(pendingTicketQueue.get(ticketId)).thenReturn(Optional.of(pending));
+
+        // Act
+        Ticket result = ticketService.updatePriority(ticketId, Ticket.TicketPriority.URGENT);
+
+        // Assert
+        assertEquals(Ticket.TicketPriority.URGENT, result.getPriority());
+        assertEquals(ticket.getCreatedAt().plusHours(1), result.getSlaDeadline());
+        verify(pendingTicketQueue, times(1)).add(new PendingTicket(ticketId, Ticket.TicketPriority.URGENT,
+                ticket.getCreatedAt().plusHours(1), ticket.getCreatedAt(), Set.of("java")));
+    }
+
+    @Test
+    void updatePriority_WhenTicketDoesNotExist_ShouldThrowException() {
+        // Arrange
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> ticketService.updatePriority(ticketId, Ticket.TicketPriority.HIGH));
+        verifyNoInteractions(pendingTicketQueue);
+    }
+
+    @Test
+    void updateStatus_WhenActiveTicketIsResolved_ShouldReleaseItsAgent() {
+        // Arrange
+        ticket.setAssigneeId(agentId);
+        when(ticketRepository.updateStatusIfIn(eq(ticketId), eq(Ticket.TicketStatus.RESOLVED),
+                eq(Set.of(Ticket.TicketStatus.OPEN, Ticket.TicketStatus.IN_PROGRESS)), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+        when(agentService.releaseAgent(agentId, ticketId)).thenReturn(true);
+
+        // Act
+        Optional<UUID> result = ticketService.updateStatus(ticketId, Ticket.TicketStatus.RESOLVED);
+
+        // Assert
+        assertEquals(Optional.of(agentId), result);
+        verify(agentService, times(1)).releaseAgent(agentId, ticketId);
+        verify(pendingTicketQueue, times(1)).remove(ticketId);
+    }
+
+    @Test
+    void updateStatus_WhenUnassignedTicketIsClosed_ShouldReleaseNoAgent() {
+        // Arrange
+        when(ticketRepository.updateStatusIfIn(eq(ticketId), eq(Ticket.TicketStatus.CLOSED), anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+
+        // Act
+        Optional<UUID> result = ticketService.updateStatus(ticketId, Ticket.TicketStatus.CLOSED);
+
+        // Assert
+        assertEquals(Optional.empty(), result);
+        verifyNoInteractions(agentService);
+    }
+
+    @Test
+    void updateStatus_WhenResolvedTicketIsClosed_ShouldNotReleaseAgentAgain() {
+        // Arrange
+        when(ticketRepository.updateStatusIfIn(eq(ticketId), eq(Ticket.TicketStatus.CLOSED),
+                eq(Set.of(Ticket.TicketStatus.OPEN, Ticket.TicketStatus.IN_PROGRESS)), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(ticketRepository.existsById(ticketId)).thenReturn(true);
+
+        // Act
+        Optional<UUID> result = ticketService.updateStatus(ticketId, Ticket.TicketStatus.CLOSED);
+
+        // Assert
+        assertEquals(Optional.empty(), result);
+        verify(ticketRepository, times(1)).updateStatusIfIn(eq(ticketId), eq(Ticket.TicketStatus.CLOSED),
+                eq(Set.of(Ticket.TicketStatus.RESOLVED)), any(LocalDateTime.class));
+        verify(ticketRepository, never()).findById(any());
+        verifyNoInteractions(agentService);
+    }
+
+    @Test
+    void updateStatus_WhenTicketIsStillActive_ShouldReleaseNoAgent() {
+        // Arrange
+        when(ticketRepository.updateStatusIfIn(eq(ticketId), eq(Ticket.TicketStatus.IN_PROGRESS),
+                eq(Set.of(Ticket.TicketStatus.OPEN)), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        // Act
+        Optional<UUID> result = ticketService.updateStatus(ticketId, Ticket.TicketStatus.IN_PROGRESS);
+
+        // Assert
+        assertEquals(Optional.empty(), result);
+        verify(ticketRepository, never()).findById(any());
+        verifyNoInteractions(agentService);
+    }
+
+    @Test
+    void updateStatus_WhenTicketWouldMoveBack_ShouldNotUpdateIt() {
+        // Arrange
+        when(ticketRepository.existsById(ticketId)).thenReturn(true);
+
+        // Act
+        Optional<UUID> result = ticketService.updateStatus(ticketId, Ticket.TicketStatus.OPEN);
+
+        // Assert
+        assertEquals(Optional.empty(), result);
+        verify(ticketRepository, never()).updateStatusIfIn(any(), any(), anyCollection(), any());
+        verifyNoInteractions(agentService);
+    }
+
+    @Test
+    void updateStatus_WhenResolvedTicketIsResolvedAgain_ShouldNotUpdateIt() {
+        // Arrange
+        when(ticketRepository.updateStatusIfIn(eq(ticketId), eq(Ticket.TicketStatus.RESOLVED),
+                eq(Set.of(Ticket.TicketStatus.OPEN, Ticket.TicketStatus.IN_PROGRESS)), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(ticketRepository.existsById(ticketId)).thenReturn(true);
+
+        // Act
+        Optional<UUID> result = ticketService.updateStatus(ticketId, Ticket.TicketStatus.RESOLVED);
+
+        // Assert
+        assertEquals(Optional.empty(), result);
+        verify(ticketRepository, times(1)).updateStatusIfIn(any(), any(), anyCollection(), any());
+        verifyNoInteractions(agentService);
+    }
+
+    @Test
+    void updateStatus_WhenTicketDoesNotExistYet_ShouldThrowException() {
+        // Arrange
+        when(ticketRepository.updateStatusIfIn(eq(ticketId), eq(Ticket.TicketStatus.RESOLVED), anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(ticketRepository.existsById(ticketId)).thenReturn(false);
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+            ticketService.updateStatus(ticketId, Ticket.TicketStatus.RESOLVED)
+        );
+
+        assertEquals("Ticket not found with ID: " + ticketId, exception.getMessage());
+        verifyNoInteractions(agentService);
+    }
+}
@@ -0,0 +1,73 @@
+package com.sporty.group.sportygroupticketingcommons.event;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Conversions between the epoch timestamps of the events and the {@link LocalDateTime} values of the services.
+ * <p>
+ * Event timestamps are nanoseconds since the epoch, with local date-times taken as UTC like in the binary event
+ * format, so a timestamp converts back to the same date-time it was created from.
+ */
+public final class EventTimestamps {
+
+    // Day format of the createdAt strings of earlier NewTicketEvents
+    private static final DateTimeFormatter LEGACY_DAY_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private EventTimestamps() {
+    }
+
+    /**
+     * Convert a date-time to an event timestamp.
+     *
+     * @param value the date-time, may be null
+     * @return the nanoseconds since the epoch, or null for null
+     */
+    public static Long toEpochNanos(LocalDateTime value) {
+        if (value == null) {
+            return null;
+        }
+        return Math.addExact(Math.multiplyExact(value.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND), value.getNano());
+    }
+
+    /**
+     * Convert an event timestamp to a date-time.
+     *
+     * @param epochNanos the nanoseconds since the epoch, may be null
+     * @return the date-time, or null for null
+     */
+    public static LocalDateTime toLocalDateTime(Long epochNanos) {
+        if (epochNanos == null) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    /**
+     * Convert a timestamp string of an earlier event to an event timestamp. Days in the {@code dd.MM.yyyy} format
+     * the ticket management service used to send stand for the start of the day; ISO date-times are also accepted.
+     *
+     * @param value the timestamp string, may be null
+     * @return the nanoseconds since the epoch, or null if the string is null or in neither format
+     */
+    public static Long parseLegacy(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            // The day format is the only one with a dot at this position, so it is tried without an exception
+            if (value.length() == 10 && value.charAt(2) == '.') {
+                return toEpochNanos(LocalDate.parse(value, LEGACY_DAY_FORMATTER).atStartOfDay());
+            }
+            return toEpochNanos(LocalDateTime.parse(value));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
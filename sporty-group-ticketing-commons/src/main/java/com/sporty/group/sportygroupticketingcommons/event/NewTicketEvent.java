@@ -1,5 +1,6 @@
 package com.sporty.group.sportygroupticketingcommons.event;
 
+import com.fasterxml.jackson.annotation.JsonSetter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,5 +20,14 @@ public class NewTicketEvent {
     private String status;
     private String subject;
     private String description;
-    private String createdAt;
-}
\ No newline at end of file
+    // Nanoseconds since the epoch, see EventTimestamps
+    private Long createdAtEpochNanos;
+
+    /**
+     * Accept the {@code createdAt} string of JSON events written before the epoch timestamp, e.g. "15.05.2023".
+     */
+    @JsonSetter("createdAt")
+    void setLegacyCreatedAt(String createdAt) {
+        this.createdAtEpochNanos = EventTimestamps.parseLegacy(createdAt);
+    }
+}
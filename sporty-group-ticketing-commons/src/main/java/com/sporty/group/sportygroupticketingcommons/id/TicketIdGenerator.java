@@ -0,0 +1,56 @@
+package com.sporty.group.sportygroupticketingcommons.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates time-ordered ticket IDs (UUID version 7, RFC 9562).
+ * <p>
+ * The 48 most significant bits hold the Unix timestamp in milliseconds, followed by the version, a 12-bit counter
+ * and 62 random bits. Consecutive IDs are new B-tree keys at the right edge of the primary key index instead of
+ * random positions, which keeps inserts on the same few pages.
+ * <p>
+ * IDs of one generator are strictly increasing, also when the clock steps back or more than 4096 IDs are generated
+ * within a millisecond: the counter then carries over into the timestamp, which runs slightly ahead of the clock
+ * until the clock catches up.
+ */
+public final class TicketIdGenerator {
+
+    private static final TicketIdGenerator INSTANCE = new TicketIdGenerator(System::currentTimeMillis);
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_9562 = 0x8000000000000000L;
+    private static final long RANDOM_BITS_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private final LongSupplier clock;
+
+    // Last generated timestamp (in milliseconds) and counter, as (timestamp << 12) | counter
+    private final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    TicketIdGenerator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Generate a new ticket ID.
+     *
+     * @return a UUID version 7 that is greater than all IDs previously generated by this JVM
+     */
+    public static UUID nextId() {
+        return INSTANCE.generate();
+    }
+
+    UUID generate() {
+        long now = clock.getAsLong() << COUNTER_BITS;
+        long timestampAndCounter = lastTimestampAndCounter.updateAndGet(last -> Math.max(now, last + 1));
+
+        long mostSignificantBits = (timestampAndCounter >>> COUNTER_BITS) << 16
+                | VERSION_7
+                | (timestampAndCounter & 0xFFF);
+        long leastSignificantBits = VARIANT_RFC_9562 | (ThreadLocalRandom.current().nextLong() & RANDOM_BITS_MASK);
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -0,0 +1,105 @@
+package com.sporty.group.sportygroupticketingcommons.model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The allowed status transitions of a ticket, shared by the services that store tickets.
+ * A ticket only moves forward through its lifecycle OPEN → IN_PROGRESS → RESOLVED → CLOSED, and may skip steps, e.g.
+ * when a ticket is resolved before an agent starts on it. Going back or setting the current status again is not a
+ * transition. The allowed source statuses of each target status are computed once, so a status update can be applied
+ * as a single conditional update on the current status.
+ * <p>
+ * Each service has its own ticket status enum, so the table is created for an enum type with {@link #of(Class)},
+ * which maps the statuses by name.
+ *
+ * @param <S> the ticket status enum of the service
+ */
+public final class TicketStatusTransitions<S extends Enum<S>> {
+
+    private static final List<Ticket.TicketStatus> LIFECYCLE = List.of(Ticket.TicketStatus.OPEN,
+            Ticket.TicketStatus.IN_PROGRESS, Ticket.TicketStatus.RESOLVED, Ticket.TicketStatus.CLOSED);
+
+    private final List<S> lifecycle;
+
+    // Target status -> the statuses it can be reached from
+    private final Map<S, Set<S>> sources;
+
+    // Status names in upper and lower case, as sent by the services and clients
+    private final Map<String, S> names = new HashMap<>();
+
+    private TicketStatusTransitions(Class<S> statusType) {
+        lifecycle = LIFECYCLE.stream()
+                .map(status -> Enum.valueOf(statusType, status.name()))
+                .toList();
+        sources = new EnumMap<>(statusType);
+        for (int i = 0; i < lifecycle.size(); i++) {
+            Set<S> statusSources = EnumSet.noneOf(statusType);
+            statusSources.addAll(lifecycle.subList(0, i));
+            sources.put(lifecycle.get(i), Collections.unmodifiableSet(statusSources));
+        }
+        for (S status : statusType.getEnumConstants()) {
+            if (!sources.containsKey(status)) {
+                throw new IllegalArgumentException("Status " + status + " is not part of the ticket lifecycle");
+            }
+            names.put(status.name(), status);
+            names.put(status.name().toLowerCase(Locale.ROOT), status);
+        }
+    }
+
+    /**
+     * Create the transition table for a ticket status enum.
+     *
+     * @param statusType the enum, with exactly the statuses OPEN, IN_PROGRESS, RESOLVED and CLOSED
+     * @return the transition table
+     * @throws IllegalArgumentException if the enum has other statuses
+     */
+    public static <S extends Enum<S>> TicketStatusTransitions<S> of(Class<S> statusType) {
+        return new TicketStatusTransitions<>(statusType);
+    }
+
+    /**
+     * Get the statuses in lifecycle order, from OPEN to CLOSED.
+     */
+    public List<S> lifecycle() {
+        return lifecycle;
+    }
+
+    /**
+     * Parse a status name, ignoring case.
+     *
+     * @param name the status name, may be null
+     * @return the status, or empty if the name is not a status
+     */
+    public Optional<S> parse(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        S status = names.get(name);
+        return Optional.ofNullable(status != null ? status : names.get(name.toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * Get the statuses a ticket can move to the given status from.
+     *
+     * @param target the new status
+     * @return the allowed current statuses, empty if no ticket can move to the status
+     */
+    public Set<S> sources(S target) {
+        return sources.get(target);
+    }
+
+    /**
+     * Check whether a ticket can move from one status to another.
+     */
+    public boolean isAllowed(S from, S to) {
+        return sources.get(to).contains(from);
+    }
+}
@@ -0,0 +1,17 @@
+package com.sporty.group.sportygroupticketingcommons.outbox;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Adds the transactional outbox to a service: the {@link OutboxEvent} entity, its repository and the
+ * {@link OutboxRelay}. This package is registered as an auto-configuration package, so the entity and the repository
+ * are picked up next to the service's own ones. The service provides a {@code KafkaTemplate<String, byte[]>} and
+ * enables scheduling.
+ */
+@Configuration(proxyBeanMethods = false)
+@AutoConfigurationPackage
+@Import(OutboxRelay.class)
+public class OutboxConfiguration {
+}
@@ -0,0 +1,42 @@
+package com.sporty.group.sportygroupticketingcommons.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbound Kafka event waiting in the transactional outbox.
+ * Outbox events are written in the same transaction as the changes they announce, and are sent and deleted by the
+ * {@link OutboxRelay}. The payload is the already serialized event, so the relay sends it as it is.
+ * <p>
+ * IDs come from a pooled sequence, which keeps inserts JDBC-batchable and orders the events for the relay.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+    @Column(nullable = false)
+    private String topic;
+    private String eventKey;
+    @Column(nullable = false, length = 65536)
+    private byte[] payload;
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,30 @@
+package com.sporty.group.sportygroupticketingcommons.outbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * JPA repository for the transactional outbox.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Find and lock the oldest outbox events that no other transaction has locked, with
+     * {@code SELECT ... FOR UPDATE SKIP LOCKED} on databases that support it. The locks are held until the calling
+     * transaction ends, so concurrent relays claim disjoint batches.
+     *
+     * @param limit the maximum number of events
+     * @return the events, in the order they were written
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<OutboxEvent> findAllByOrderByIdAsc(Limit limit);
+}
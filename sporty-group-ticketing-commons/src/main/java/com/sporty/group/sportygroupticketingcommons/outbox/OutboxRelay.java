@@ -0,0 +1,97 @@
+package com.sporty.group.sportygroupticketingcommons.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the transactional outbox to Kafka.
+ * <p>
+ * Every {@code outbox.relay.interval-ms} the relay reads the oldest outbox events in batches of
+ * {@code outbox.relay.batch-size}, sends the whole batch without waiting in between, and deletes the events once the
+ * broker has acknowledged all of them. If a send fails or is not acknowledged within
+ * {@code outbox.relay.send-timeout-ms}, the batch stays in the outbox and is sent again on the next run. Events are
+ * therefore delivered at least once, and consumers must apply a duplicate event as a no-op.
+ * <p>
+ * Each batch is claimed by locking its rows, skipping rows that are already locked, in a transaction that lasts until
+ * the batch is deleted. Several service instances can therefore relay the same outbox without sending an event
+ * twice, but events of different batches may then reach Kafka out of order.
+ * <p>
+ * Services add the relay with {@link OutboxConfiguration}.
+ */
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, byte[]> outboxKafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, byte[]> outboxKafkaTemplate,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${outbox.relay.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxKafkaTemplate = outboxKafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    /**
+     * Relay outbox events until the outbox is empty or a batch fails.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:100}")
+    public void relay() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+
+    /**
+     * Claim one batch of the oldest outbox events, send it and delete the events once they are acknowledged.
+     *
+     * @return the number of relayed events, 0 if the outbox is empty or the batch failed
+     */
+    public int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> sendBatch());
+        return relayed != null ? relayed : 0;
+    }
+
+    private int sendBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findAllByOrderByIdAsc(Limit.of(batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        CompletableFuture<?>[] sends = events.stream()
+                .map(event -> outboxKafkaTemplate.send(event.getTopic(), event.getEventKey(), event.getPayload()))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(sends).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException ex) {
+            log.warn("Failed to relay {} outbox event(s), retrying on the next run", events.size(), ex);
+            return 0;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+
+        outboxEventRepository.deleteAllByIdInBatch(events.stream().map(OutboxEvent::getId).toList());
+        log.debug("Relayed {} outbox event(s)", events.size());
+        return events.size();
+    }
+}
@@ -0,0 +1,60 @@
+package com.sporty.group.sportygroupticketingcommons.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a ticket listing ordered by creation time and ticket ID.
+ * The next page starts after the ticket with this creation time and ID, so pages stay stable while new tickets are
+ * created or listed tickets are updated.
+ * <p>
+ * Clients get the cursor as an opaque URL-safe token and pass it back unchanged.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketCursor {
+    private static final char SEPARATOR = '|';
+
+    private LocalDateTime createdAt;
+    private UUID ticketId;
+
+    /**
+     * Encode this cursor as a token.
+     *
+     * @return the URL-safe token
+     */
+    public String encode() {
+        String position = createdAt.toString() + SEPARATOR + ticketId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token created by {@link #encode()}.
+     *
+     * @param token the token
+     * @return the cursor
+     * @throws IllegalArgumentException if the token is not a valid cursor
+     */
+    public static TicketCursor decode(String token) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = position.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new TicketCursor(
+                    LocalDateTime.parse(position.substring(0, separator)),
+                    UUID.fromString(position.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.sporty.group.sportygroupticketingcommons.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a ticket listing.
+ *
+ * @param <T> the ticket type
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketPage<T> {
+    private List<T> items;
+    /**
+     * Cursor token of the next page, or null if this is the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,48 @@
+package com.sporty.group.sportygroupticketingcommons.serialization;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+/**
+ * Base class of the binary event deserializers.
+ * Payloads written by the JSON serializer are still accepted, so producers can be switched to the binary format
+ * independently of their consumers.
+ *
+ * @param <T> the event type
+ */
+public abstract class BinaryEventDeserializer<T> implements Deserializer<T> {
+
+    private final JsonDeserializer<T> jsonDeserializer;
+
+    protected BinaryEventDeserializer(Class<T> eventType) {
+        this.jsonDeserializer = new JsonDeserializer<>(eventType, false);
+    }
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public T deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        if (data[0] == BinaryEventFormat.JSON_OBJECT_START) {
+            return jsonDeserializer.deserialize(topic, data);
+        }
+        if (data[0] != BinaryEventFormat.VERSION_1) {
+            throw new SerializationException("Unsupported event format version: " + data[0]);
+        }
+        return read(new BinaryEventReader(data, 1));
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+
+    abstract T read(BinaryEventReader reader);
+}
@@ -0,0 +1,69 @@
+package com.sporty.group.sportygroupticketingcommons.serialization;
+
+import com.sporty.group.sportygroupticketingcommons.model.Ticket;
+import org.apache.kafka.common.errors.SerializationException;
+
+/**
+ * Constants of the binary event wire format.
+ * <p>
+ * Every payload starts with a one-byte format version, followed by the fields of the event in declaration order:
+ * <ul>
+ *     <li>strings: varint of the UTF-8 length plus one (0 for null), followed by the bytes</li>
+ *     <li>IDs: a tag byte (null, UUID, string), followed by 16 raw bytes for UUIDs or a string</li>
+ *     <li>statuses: a single byte, with an escape to a string for values that are not status names</li>
+ *     <li>timestamps: varint of the nanos plus one (0 for null), followed by the zigzag varint of the epoch seconds</li>
+ *     <li>epoch timestamps: a tag byte, followed by the zigzag varint of the epoch nanos; the earlier tags of
+ *     formatted timestamp strings are still read</li>
+ * </ul>
+ * Legacy JSON payloads start with '{', which is never a valid version byte.
+ */
+final class BinaryEventFormat {
+
+    static final byte VERSION_1 = 0x01;
+    static final byte JSON_OBJECT_START = '{';
+
+    static final int ID_NULL = 0;
+    static final int ID_UUID = 1;
+    static final int ID_STRING = 2;
+
+    static final int STATUS_NULL = 0;
+    static final int STATUS_OPEN = 1;
+    static final int STATUS_IN_PROGRESS = 2;
+    static final int STATUS_RESOLVED = 3;
+    static final int STATUS_CLOSED = 4;
+    static final int STATUS_LOWER_CASE = 0x10;
+    static final int STATUS_STRING = 0x7F;
+
+    static final int TIMESTAMP_NULL = 0;
+    // Written for the createdAt strings of earlier NewTicketEvents, read only
+    static final int TIMESTAMP_DATE_TIME = 1;
+    static final int TIMESTAMP_DAY = 2;
+    static final int TIMESTAMP_STRING = 3;
+    static final int TIMESTAMP_EPOCH_NANOS = 4;
+
+    // Large enough for a typical event without growing the buffer
+    static final int INITIAL_BUFFER_SIZE = 256;
+
+    private BinaryEventFormat() {
+    }
+
+    static int statusCode(Ticket.TicketStatus status) {
+        // Explicit codes, so reordering the enum does not change the wire format
+        return switch (status) {
+            case OPEN -> STATUS_OPEN;
+            case IN_PROGRESS -> STATUS_IN_PROGRESS;
+            case RESOLVED -> STATUS_RESOLVED;
+            case CLOSED -> STATUS_CLOSED;
+        };
+    }
+
+    static Ticket.TicketStatus status(int code) {
+        return switch (code) {
+            case STATUS_OPEN -> Ticket.TicketStatus.OPEN;
+            case STATUS_IN_PROGRESS -> Ticket.TicketStatus.IN_PROGRESS;
+            case STATUS_RESOLVED -> Ticket.TicketStatus.RESOLVED;
+            case STATUS_CLOSED -> Ticket.TicketStatus.CLOSED;
+            default -> throw new SerializationException("Unknown ticket status code: " + code);
+        };
+    }
+}
@@ -0,0 +1,158 @@
+package com.sporty.group.sportygroupticketingcommons.serialization;
+
+import com.sporty.group.sportygroupticketingcommons.event.EventTimestamps;
+import com.sporty.group.sportygroupticketingcommons.model.Ticket;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static com.sporty.group.sportygroupticketingcommons.serialization.BinaryEventFormat.*;
+
+/**
+ * Reads the field encodings of {@link BinaryEventFormat} from a byte array.
+ */
+class BinaryEventReader {
+
+    private final byte[] buffer;
+    private int position;
+
+    BinaryEventReader(byte[] buffer, int offset) {
+        this.buffer = buffer;
+        this.position = offset;
+    }
+
+    int readByte() {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    int readVarInt() {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Malformed varint at position " + position);
+    }
+
+    long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Malformed varlong at position " + position);
+    }
+
+    long readZigZagLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    String readString() {
+        int length = readVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        require(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    UUID readUuid() {
+        int tag = readByte();
+        return switch (tag) {
+            case ID_NULL -> null;
+            case ID_UUID -> readRawUuid();
+            case ID_STRING -> UUID.fromString(readString());
+            default -> throw new SerializationException("Unknown ID tag: " + tag);
+        };
+    }
+
+    String readId() {
+        int tag = readByte();
+        return switch (tag) {
+            case ID_NULL -> null;
+            case ID_UUID -> readRawUuid().toString();
+            case ID_STRING -> readString();
+            default -> throw new SerializationException("Unknown ID tag: " + tag);
+        };
+    }
+
+    Ticket.TicketStatus readStatus() {
+        int code = readByte();
+        if (code == STATUS_NULL) {
+            return null;
+        }
+        if (code == STATUS_STRING) {
+            return Ticket.TicketStatus.valueOf(readString());
+        }
+        return status(code & ~STATUS_LOWER_CASE);
+    }
+
+    String readStatusString() {
+        int code = readByte();
+        if (code == STATUS_NULL) {
+            return null;
+        }
+        if (code == STATUS_STRING) {
+            return readString();
+        }
+        String name = status(code & ~STATUS_LOWER_CASE).name();
+        return (code & STATUS_LOWER_CASE) != 0 ? name.toLowerCase() : name;
+    }
+
+    LocalDateTime readTimestamp() {
+        int nanos = readVarInt() - 1;
+        if (nanos < 0) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(readZigZagLong(), nanos, ZoneOffset.UTC);
+    }
+
+    /**
+     * Read an epoch timestamp, converting the timestamp strings of earlier payloads.
+     */
+    Long readEpochNanos() {
+        int tag = readByte();
+        return switch (tag) {
+            case TIMESTAMP_NULL -> null;
+            case TIMESTAMP_EPOCH_NANOS -> readZigZagLong();
+            case TIMESTAMP_DATE_TIME -> EventTimestamps.toEpochNanos(readTimestamp());
+            case TIMESTAMP_DAY -> EventTimestamps.toEpochNanos(LocalDate.ofEpochDay(readZigZagLong()).atStartOfDay());
+            case TIMESTAMP_STRING -> EventTimestamps.parseLegacy(readString());
+            default -> throw new SerializationException("Unknown timestamp tag: " + tag);
+        };
+    }
+
+    private UUID readRawUuid() {
+        return new UUID(readLong(), readLong());
+    }
+
+    private long readLong() {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    private void require(int length) {
+        if (length > buffer.length - position) {
+            throw new SerializationException("Truncated event payload: " + length + " more bytes expected at position "
+                    + position + " of " + buffer.length);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.sporty.group.sportygroupticketingcommons.serialization;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Base class of the binary event serializers: writes the format version followed by the event fields.
+ *
+ * @param <T> the event type
+ */
+public abstract class BinaryEventSerializer<T> implements Serializer<T> {
+
+    @Override
+    public byte[] serialize(String topic, T data) {
+        if (data == null) {
+            return null;
+        }
+        BinaryEventWriter writer = new BinaryEventWriter(BinaryEventFormat.INITIAL_BUFFER_SIZE);
+        writer.writeByte(BinaryEventFormat.VERSION_1);
+        write(data, writer);
+        return writer.toByteArray();
+    }
+
+    abstract void write(T data, BinaryEventWriter writer);
+}
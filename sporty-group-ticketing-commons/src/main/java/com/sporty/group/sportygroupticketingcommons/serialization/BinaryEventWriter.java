@@ -0,0 +1,169 @@
+package com.sporty.group.sportygroupticketingcommons.serialization;
+
+import com.sporty.group.sportygroupticketingcommons.model.Ticket;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static com.sporty.group.sportygroupticketingcommons.serialization.BinaryEventFormat.*;
+
+/**
+ * Appends the field encodings of {@link BinaryEventFormat} to a growable byte array.
+ */
+class BinaryEventWriter {
+
+    private byte[] buffer;
+    private int position;
+
+    BinaryEventWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    void writeVarInt(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    void writeZigZagLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeString(String value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    void writeUuid(UUID value) {
+        if (value == null) {
+            writeByte(ID_NULL);
+            return;
+        }
+        writeByte(ID_UUID);
+        writeRawUuid(value);
+    }
+
+    /**
+     * Write a string ID, as 16 raw bytes if it is the canonical form of a UUID.
+     */
+    void writeId(String value) {
+        if (value == null) {
+            writeByte(ID_NULL);
+            return;
+        }
+        UUID uuid = parseCanonicalUuid(value);
+        if (uuid == null) {
+            writeByte(ID_STRING);
+            writeString(value);
+        } else {
+            writeByte(ID_UUID);
+            writeRawUuid(uuid);
+        }
+    }
+
+    void writeStatus(Ticket.TicketStatus value) {
+        writeByte(value == null ? STATUS_NULL : statusCode(value));
+    }
+
+    /**
+     * Write a status string, as a single byte if it is a status name in upper or lower case.
+     */
+    void writeStatus(String value) {
+        if (value == null) {
+            writeByte(STATUS_NULL);
+            return;
+        }
+        for (Ticket.TicketStatus status : Ticket.TicketStatus.values()) {
+            if (status.name().equals(value)) {
+                writeByte(statusCode(status));
+                return;
+            }
+            if (status.name().toLowerCase().equals(value)) {
+                writeByte(statusCode(status) | STATUS_LOWER_CASE);
+                return;
+            }
+        }
+        writeByte(STATUS_STRING);
+        writeString(value);
+    }
+
+    void writeTimestamp(LocalDateTime value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(value.getNano() + 1);
+        writeZigZagLong(value.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    void writeEpochNanos(Long value) {
+        if (value == null) {
+            writeByte(TIMESTAMP_NULL);
+            return;
+        }
+        writeByte(TIMESTAMP_EPOCH_NANOS);
+        writeZigZagLong(value);
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void writeRawUuid(UUID value) {
+        writeLong(value.getMostSignificantBits());
+        writeLong(value.getLeastSignificantBits());
+    }
+
+    private void writeLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+        }
+    }
+
+    private static UUID parseCanonicalUuid(String value) {
+        if (value.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(value);
+            // Only lower-case canonical strings survive the round trip unchanged
+            return uuid.toString().equals(value) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.sporty.group.sportygroupticketingcommons.serialization;
+
+import com.sporty.group.sportygroupticketingcommons.event.NewTicketEvent;
+
+/**
+ * Binary deserializer for {@link NewTicketEvent}, also accepting JSON payloads.
+ */
+public class NewTicketEventDeserializer extends BinaryEventDeserializer<NewTicketEvent> {
+
+    public NewTicketEventDeserializer() {
+        super(NewTicketEvent.class);
+    }
+
+    @Override
+    NewTicketEvent read(BinaryEventReader reader) {
+        return NewTicketEvent.builder()
+                .ticketId(reader.readId())
+                .userId(reader.readId())
+                .status(reader.readStatusString())
+                .subject(reader.readString())
+                .description(reader.readString())
+                .createdAtEpochNanos(reader.readEpochNanos())
+                .build();
+    }
+}
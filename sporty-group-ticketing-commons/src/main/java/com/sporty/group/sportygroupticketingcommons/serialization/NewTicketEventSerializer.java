@@ -0,0 +1,19 @@
+package com.sporty.group.sportygroupticketingcommons.serialization;
+
+import com.sporty.group.sportygroupticketingcommons.event.NewTicketEvent;
+
+/**
+ * Binary serializer for {@link NewTicketEvent}.
+ */
+public class NewTicketEventSerializer extends BinaryEventSerializer<NewTicketEvent> {
+
+    @Override
+    void write(NewTicketEvent event, BinaryEventWriter writer) {
+        writer.writeId(event.getTicketId());
+        writer.writeId(event.getUserId());
+        writer.writeStatus(event.getStatus());
+        writer.writeString(event.getSubject());
+        writer.writeString(event.getDescription());
+        writer.writeEpochNanos(event.getCreatedAtEpochNanos());
+    }
+}
@@ -0,0 +1,18 @@
+package com.sporty.group.sportygroupticketingcommons.serialization;
+
+import com.sporty.group.sportygroupticketingcommons.event.TicketAssignedEvent;
+
+/**
+ * Binary deserializer for {@link TicketAssignedEvent}, also accepting JSON payloads.
+ */
+public class TicketAssignedEventDeserializer extends BinaryEventDeserializer<TicketAssignedEvent> {
+
+    public TicketAssignedEventDeserializer() {
+        super(TicketAssignedEvent.class);
+    }
+
+    @Override
+    TicketAssignedEvent read(BinaryEventReader reader) {
+        return new TicketAssignedEvent(reader.readId(), reader.readId());
+    }
+}
@@ -0,0 +1,15 @@
+package com.sporty.group.sportygroupticketingcommons.serialization;
+
+import com.sporty.group.sportygroupticketingcommons.event.TicketAssignedEvent;
+
+/**
+ * Binary serializer for {@link TicketAssignedEvent}.
+ */
+public class TicketAssignedEventSerializer extends BinaryEventSerializer<TicketAssignedEvent> {
+
+    @Override
+    void write(TicketAssignedEvent event, BinaryEventWriter writer) {
+        writer.writeId(event.getTicketId());
+        writer.writeId(event.getAssigneeId());
+    }
+}
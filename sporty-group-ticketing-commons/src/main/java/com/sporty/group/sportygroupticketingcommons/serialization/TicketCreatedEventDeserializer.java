@@ -0,0 +1,27 @@
+package com.sporty.group.sportygroupticketingcommons.serialization;
+
+import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
+
+/**
+ * Binary deserializer for {@link TicketCreatedEvent}, also accepting JSON payloads.
+ */
+public class TicketCreatedEventDeserializer extends BinaryEventDeserializer<TicketCreatedEvent> {
+
+    public TicketCreatedEventDeserializer() {
+        super(TicketCreatedEvent.class);
+    }
+
+    @Override
+    TicketCreatedEvent read(BinaryEventReader reader) {
+        return TicketCreatedEvent.builder()
+                .ticketId(reader.readUuid())
+                .subject(reader.readString())
+                .description(reader.readString())
+                .status(reader.readStatus())
+                .userId(reader.readId())
+                .assigneeId(reader.readId())
+                .createdAt(reader.readTimestamp())
+                .updatedAt(reader.readTimestamp())
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.sporty.group.sportygroupticketingcommons.serialization;
+
+import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
+
+/**
+ * Binary serializer for {@link TicketCreatedEvent}.
+ */
+public class TicketCreatedEventSerializer extends BinaryEventSerializer<TicketCreatedEvent> {
+
+    @Override
+    void write(TicketCreatedEvent event, BinaryEventWriter writer) {
+        writer.writeUuid(event.getTicketId());
+        writer.writeString(event.getSubject());
+        writer.writeString(event.getDescription());
+        writer.writeStatus(event.getStatus());
+        writer.writeId(event.getUserId());
+        writer.writeId(event.getAssigneeId());
+        writer.writeTimestamp(event.getCreatedAt());
+        writer.writeTimestamp(event.getUpdatedAt());
+    }
+}
@@ -0,0 +1,18 @@
+package com.sporty.group.sportygroupticketingcommons.serialization;
+
+import com.sporty.group.sportygroupticketingcommons.event.TicketStatusUpdatedEvent;
+
+/**
+ * Binary deserializer for {@link TicketStatusUpdatedEvent}, also accepting JSON payloads.
+ */
+public class TicketStatusUpdatedEventDeserializer extends BinaryEventDeserializer<TicketStatusUpdatedEvent> {
+
+    public TicketStatusUpdatedEventDeserializer() {
+        super(TicketStatusUpdatedEvent.class);
+    }
+
+    @Override
+    TicketStatusUpdatedEvent read(BinaryEventReader reader) {
+        return new TicketStatusUpdatedEvent(reader.readId(), reader.readStatusString());
+    }
+}
@@ -0,0 +1,15 @@
+package com.sporty.group.sportygroupticketingcommons.serialization;
+
+import com.sporty.group.sportygroupticketingcommons.event.TicketStatusUpdatedEvent;
+
+/**
+ * Binary serializer for {@link TicketStatusUpdatedEvent}.
+ */
+public class TicketStatusUpdatedEventSerializer extends BinaryEventSerializer<TicketStatusUpdatedEvent> {
+
+    @Override
+    void write(TicketStatusUpdatedEvent event, BinaryEventWriter writer) {
+        writer.writeId(event.getTicketId());
+        writer.writeStatus(event.getStatus());
+    }
+}
@@ -0,0 +1,85 @@
+package com.sporty.group.sportygroupticketingcommons.benchmark;
+
+import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
+import com.sporty.group.sportygroupticketingcommons.model.Ticket;
+import com.sporty.group.sportygroupticketingcommons.serialization.TicketCreatedEventDeserializer;
+import com.sporty.group.sportygroupticketingcommons.serialization.TicketCreatedEventSerializer;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary event codec with the JSON serializer and deserializer the services used before.
+ * <p>
+ * Both codecs handle a typical {@link TicketCreatedEvent}. The payload size of each codec is printed during setup;
+ * run with {@code -prof gc} to compare the allocation per operation as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    private static final String TOPIC = "support-tickets";
+
+    @Param({"json", "binary"})
+    private String codec;
+
+    private Serializer<TicketCreatedEvent> serializer;
+    private Deserializer<TicketCreatedEvent> deserializer;
+    private TicketCreatedEvent event;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("binary".equals(codec)) {
+            serializer = new TicketCreatedEventSerializer();
+            deserializer = new TicketCreatedEventDeserializer();
+        } else {
+            serializer = new JsonSerializer<>();
+            deserializer = new JsonDeserializer<>(TicketCreatedEvent.class, false);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        event = TicketCreatedEvent.builder()
+                .ticketId(UUID.randomUUID())
+                .subject("Login problem")
+                .description("Cannot reset my password after the latest app update")
+                .status(Ticket.TicketStatus.OPEN)
+                .userId("user-001")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        payload = serializer.serialize(TOPIC, event);
+        System.out.printf("%n%s payload: %d bytes%n", codec, payload.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public TicketCreatedEvent deserialize() {
+        return deserializer.deserialize(TOPIC, payload);
+    }
+}
@@ -0,0 +1,38 @@
+package com.sporty.group.sportygroupticketingcommons.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventTimestampsTest {
+
+    @Test
+    public void testEpochNanosRoundTrip() {
+        // Given: date-times after and before the epoch
+        LocalDateTime recent = LocalDateTime.of(2025, 3, 15, 10, 30, 45, 123_456_789);
+        LocalDateTime early = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 1);
+
+        // When / Then
+        assertEquals(recent, EventTimestamps.toLocalDateTime(EventTimestamps.toEpochNanos(recent)));
+        assertEquals(early, EventTimestamps.toLocalDateTime(EventTimestamps.toEpochNanos(early)));
+        assertEquals(-999_999_999L, EventTimestamps.toEpochNanos(early));
+        assertNull(EventTimestamps.toEpochNanos(null));
+        assertNull(EventTimestamps.toLocalDateTime(null));
+    }
+
+    @Test
+    public void testParseLegacy() {
+        // When / Then: days stand for the start of the day, unknown formats for no timestamp
+        assertEquals(EventTimestamps.toEpochNanos(LocalDate.of(2025, 3, 15).atStartOfDay()),
+                EventTimestamps.parseLegacy("15.03.2025"));
+        assertEquals(EventTimestamps.toEpochNanos(LocalDateTime.of(2025, 3, 15, 10, 30)),
+                EventTimestamps.parseLegacy("2025-03-15T10:30"));
+        assertNull(EventTimestamps.parseLegacy("32.03.2025"));
+        assertNull(EventTimestamps.parseLegacy("yesterday"));
+        assertNull(EventTimestamps.parseLegacy(""));
+        assertNull(EventTimestamps.parseLegacy(null));
+    }
+}
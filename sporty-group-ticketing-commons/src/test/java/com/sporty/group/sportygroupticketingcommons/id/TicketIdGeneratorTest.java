@@ -0,0 +1,111 @@
+package com.sporty.group.sportygroupticketingcommons.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketIdGeneratorTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    public void testVersionVariantAndTimestamp() {
+        // Given
+        TicketIdGenerator generator = new TicketIdGenerator(() -> NOW);
+
+        // When
+        UUID id = generator.generate();
+
+        // Then
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(NOW, id.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    public void testIdsAreStrictlyIncreasingWithinOneMillisecond() {
+        // Given: more IDs than the counter holds within one millisecond
+        TicketIdGenerator generator = new TicketIdGenerator(() -> NOW);
+
+        // When
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.generate());
+        }
+
+        // Then: the counter carries over into the timestamp instead of wrapping around
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, "ID " + i + " is not increasing");
+        }
+        assertEquals(NOW + 2, ids.get(ids.size() - 1).getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    public void testIdsAreIncreasingWhenTheClockStepsBack() {
+        // Given
+        AtomicLong clock = new AtomicLong(NOW);
+        TicketIdGenerator generator = new TicketIdGenerator(clock::get);
+        UUID first = generator.generate();
+
+        // When
+        clock.set(NOW - 1_000);
+        UUID second = generator.generate();
+
+        // Then
+        assertTrue(first.compareTo(second) < 0);
+    }
+
+    @Test
+    public void testNewMillisecondRestartsTheCounter() {
+        // Given
+        AtomicLong clock = new AtomicLong(NOW);
+        TicketIdGenerator generator = new TicketIdGenerator(clock::get);
+        generator.generate();
+        generator.generate();
+
+        // When
+        clock.set(NOW + 1);
+        UUID id = generator.generate();
+
+        // Then
+        assertEquals(NOW + 1, id.getMostSignificantBits() >>> 16);
+        assertEquals(0, id.getMostSignificantBits() & 0xFFF);
+    }
+
+    @Test
+    public void testConcurrentGenerationIsUnique() throws Exception {
+        // Given
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 25_000; i++) {
+                        ids.add(TicketIdGenerator.nextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertEquals(100_000, ids.size());
+    }
+}
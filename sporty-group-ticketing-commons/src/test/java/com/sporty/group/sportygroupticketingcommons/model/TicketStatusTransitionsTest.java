@@ -0,0 +1,69 @@
+package com.sporty.group.sportygroupticketingcommons.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketStatusTransitionsTest {
+
+    private static final TicketStatusTransitions<Ticket.TicketStatus> TRANSITIONS =
+            TicketStatusTransitions.of(Ticket.TicketStatus.class);
+
+    private enum ServiceStatus {
+        CLOSED, RESOLVED, IN_PROGRESS, OPEN
+    }
+
+    private enum ExtendedStatus {
+        OPEN, IN_PROGRESS, ON_HOLD, RESOLVED, CLOSED
+    }
+
+    @Test
+    public void testSources() {
+        // Then: a ticket only moves forward through the lifecycle
+        assertEquals(Set.of(), TRANSITIONS.sources(Ticket.TicketStatus.OPEN));
+        assertEquals(Set.of(Ticket.TicketStatus.OPEN), TRANSITIONS.sources(Ticket.TicketStatus.IN_PROGRESS));
+        assertEquals(Set.of(Ticket.TicketStatus.OPEN, Ticket.TicketStatus.IN_PROGRESS),
+                TRANSITIONS.sources(Ticket.TicketStatus.RESOLVED));
+        assertEquals(Set.of(Ticket.TicketStatus.OPEN, Ticket.TicketStatus.IN_PROGRESS, Ticket.TicketStatus.RESOLVED),
+                TRANSITIONS.sources(Ticket.TicketStatus.CLOSED));
+    }
+
+    @Test
+    public void testIsAllowed() {
+        assertTrue(TRANSITIONS.isAllowed(Ticket.TicketStatus.OPEN, Ticket.TicketStatus.IN_PROGRESS));
+        assertTrue(TRANSITIONS.isAllowed(Ticket.TicketStatus.IN_PROGRESS, Ticket.TicketStatus.CLOSED));
+        assertFalse(TRANSITIONS.isAllowed(Ticket.TicketStatus.IN_PROGRESS, Ticket.TicketStatus.OPEN));
+        assertFalse(TRANSITIONS.isAllowed(Ticket.TicketStatus.RESOLVED, Ticket.TicketStatus.IN_PROGRESS));
+        assertFalse(TRANSITIONS.isAllowed(Ticket.TicketStatus.CLOSED, Ticket.TicketStatus.CLOSED));
+    }
+
+    @Test
+    public void testParse() {
+        assertEquals(Optional.of(Ticket.TicketStatus.IN_PROGRESS), TRANSITIONS.parse("in_progress"));
+        assertEquals(Optional.of(Ticket.TicketStatus.RESOLVED), TRANSITIONS.parse("RESOLVED"));
+        assertEquals(Optional.of(Ticket.TicketStatus.CLOSED), TRANSITIONS.parse("Closed"));
+        assertEquals(Optional.empty(), TRANSITIONS.parse("invalid_status"));
+        assertEquals(Optional.empty(), TRANSITIONS.parse(null));
+    }
+
+    @Test
+    public void testOfMapsServiceStatusesByName() {
+        // When
+        TicketStatusTransitions<ServiceStatus> transitions = TicketStatusTransitions.of(ServiceStatus.class);
+
+        // Then: the lifecycle order does not depend on the declaration order of the enum
+        assertEquals(List.of(ServiceStatus.OPEN, ServiceStatus.IN_PROGRESS, ServiceStatus.RESOLVED, ServiceStatus.CLOSED),
+                transitions.lifecycle());
+        assertEquals(Set.of(ServiceStatus.OPEN, ServiceStatus.IN_PROGRESS), transitions.sources(ServiceStatus.RESOLVED));
+        assertEquals(Optional.of(ServiceStatus.CLOSED), transitions.parse("closed"));
+    }
+
+    @Test
+    public void testOfRejectsStatusesOutsideTheLifecycle() {
+        assertThrows(IllegalArgumentException.class, () -> TicketStatusTransitions.of(ExtendedStatus.class));
+    }
+}
@@ -0,0 +1,123 @@
+package com.sporty.group.sportygroupticketingcommons.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final String TOPIC = "ticket-created";
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, byte[]> outboxKafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, outboxKafkaTemplate, transactionManager, 2, 1000);
+    }
+
+    @Test
+    void relayBatch_shouldSendEventsInOrderAndDeleteThem_whenAcknowledged() {
+        // Given
+        OutboxEvent first = outboxEvent(1L, "ticket-1");
+        OutboxEvent second = outboxEvent(2L, "ticket-2");
+        when(outboxEventRepository.findAllByOrderByIdAsc(Limit.of(2))).thenReturn(List.of(first, second));
+        when(outboxKafkaTemplate.send(anyString(), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        // When
+        int relayed = outboxRelay.relayBatch();
+
+        // Then
+        assertEquals(2, relayed);
+        var inOrder = inOrder(outboxKafkaTemplate, outboxEventRepository);
+        inOrder.verify(outboxKafkaTemplate).send(TOPIC, "ticket-1", first.getPayload());
+        inOrder.verify(outboxKafkaTemplate).send(TOPIC, "ticket-2", second.getPayload());
+        inOrder.verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        // The claimed rows stay locked until the events are deleted
+        verify(transactionManager).getTransaction(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void relayBatch_shouldKeepEvents_whenSendFails() {
+        // Given
+        OutboxEvent event = outboxEvent(1L, "ticket-1");
+        when(outboxEventRepository.findAllByOrderByIdAsc(Limit.of(2))).thenReturn(List.of(event));
+        when(outboxKafkaTemplate.send(anyString(), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+
+        // When
+        int relayed = outboxRelay.relayBatch();
+
+        // Then
+        assertEquals(0, relayed);
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void relay_shouldDrainOutboxInBatches() {
+        // Given: a full batch followed by a partial one
+        when(outboxEventRepository.findAllByOrderByIdAsc(Limit.of(2)))
+                .thenReturn(List.of(outboxEvent(1L, "ticket-1"), outboxEvent(2L, "ticket-2")))
+                .thenReturn(List.of(outboxEvent(3L, "ticket-3")));
+        when(outboxKafkaTemplate.send(anyString(), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verify(outboxKafkaTemplate, times(3)).send(anyString(), anyString(), any(byte[].class));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(3L));
+        verify(outboxEventRepository, times(2)).findAllByOrderByIdAsc(Limit.of(2));
+    }
+
+    @Test
+    void relay_shouldDoNothing_whenOutboxIsEmpty() {
+        // Given
+        when(outboxEventRepository.findAllByOrderByIdAsc(Limit.of(2))).thenReturn(List.of());
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verifyNoInteractions(outboxKafkaTemplate);
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    private static OutboxEvent outboxEvent(Long id, String key) {
+        return OutboxEvent.builder()
+                .id(id)
+                .topic(TOPIC)
+                .eventKey(key)
+                .payload(new byte[]{id.byteValue()})
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.sporty.group.sportygroupticketingcommons.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketCursorTest {
+
+    @Test
+    public void testEncodeDecodeRoundTrip() {
+        // Given
+        TicketCursor cursor = new TicketCursor(LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_789), UUID.randomUUID());
+
+        // When
+        String token = cursor.encode();
+
+        // Then
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), "Token should be URL-safe: " + token);
+        assertEquals(cursor, TicketCursor.decode(token));
+    }
+
+    @Test
+    public void testDecodeRejectsInvalidTokens() {
+        assertThrows(IllegalArgumentException.class, () -> TicketCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> TicketCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(IllegalArgumentException.class,
+                () -> TicketCursor.decode(new TicketCursor(LocalDateTime.now(), UUID.randomUUID()).encode().substring(4)));
+    }
+}
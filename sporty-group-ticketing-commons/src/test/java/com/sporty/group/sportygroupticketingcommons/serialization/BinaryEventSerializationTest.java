@@ -0,0 +1,204 @@
+package com.sporty.group.sportygroupticketingcommons.serialization;
+
+import com.sporty.group.sportygroupticketingcommons.event.EventTimestamps;
+import com.sporty.group.sportygroupticketingcommons.event.NewTicketEvent;
+import com.sporty.group.sportygroupticketingcommons.event.TicketAssignedEvent;
+import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
+import com.sporty.group.sportygroupticketingcommons.event.TicketStatusUpdatedEvent;
+import com.sporty.group.sportygroupticketingcommons.model.Ticket;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryEventSerializationTest {
+
+    private static final String TOPIC = "test-topic";
+
+    @Test
+    public void testTicketCreatedEventRoundTrip() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2023, 5, 15, 10, 30, 0, 123_456_789);
+        TicketCreatedEvent event = TicketCreatedEvent.builder()
+                .ticketId(UUID.randomUUID())
+                .subject("Login problem")
+                .description("Cannot reset my password – ünïcödé")
+                .status(Ticket.TicketStatus.IN_PROGRESS)
+                .userId("user-001")
+                .assigneeId(UUID.randomUUID().toString())
+                .createdAt(createdAt)
+                .updatedAt(createdAt.plusHours(4))
+                .build();
+
+        // When
+        byte[] bytes = new TicketCreatedEventSerializer().serialize(TOPIC, event);
+        TicketCreatedEvent result = new TicketCreatedEventDeserializer().deserialize(TOPIC, bytes);
+
+        // Then
+        assertEquals(event, result);
+        assertTrue(bytes.length < new JsonSerializer<TicketCreatedEvent>().serialize(TOPIC, event).length);
+    }
+
+    @Test
+    public void testTicketCreatedEventWithNullFields() {
+        // Given
+        TicketCreatedEvent event = new TicketCreatedEvent();
+
+        // When
+        byte[] bytes = new TicketCreatedEventSerializer().serialize(TOPIC, event);
+
+        // Then
+        assertEquals(event, new TicketCreatedEventDeserializer().deserialize(TOPIC, bytes));
+    }
+
+    @Test
+    public void testNewTicketEventRoundTrip() {
+        // Given: the status format produced by the ticket management service
+        NewTicketEvent event = NewTicketEvent.builder()
+                .ticketId(UUID.randomUUID().toString())
+                .userId("user-001")
+                .status("open")
+                .subject("Login problem")
+                .description("Cannot reset my password")
+                .createdAtEpochNanos(EventTimestamps.toEpochNanos(LocalDateTime.of(2023, 5, 15, 10, 30, 0, 123_456_789)))
+                .build();
+        NewTicketEvent other = NewTicketEvent.builder()
+                .ticketId("ticket-1")
+                .status("Waiting")
+                .build();
+
+        // When / Then
+        NewTicketEventSerializer serializer = new NewTicketEventSerializer();
+        NewTicketEventDeserializer deserializer = new NewTicketEventDeserializer();
+        assertEquals(event, deserializer.deserialize(TOPIC, serializer.serialize(TOPIC, event)));
+        assertEquals(other, deserializer.deserialize(TOPIC, serializer.serialize(TOPIC, other)));
+    }
+
+    @Test
+    public void testNewTicketEventReadsLegacyTimestampStrings() {
+        // Given: payloads with the encodings of the former createdAt string
+        LocalDateTime dateTime = LocalDateTime.of(2023, 5, 15, 10, 30);
+
+        // When / Then
+        assertEquals(EventTimestamps.toEpochNanos(LocalDate.of(2023, 5, 15).atStartOfDay()),
+                readLegacyCreatedAt(writer -> {
+                    writer.writeByte(BinaryEventFormat.TIMESTAMP_DAY);
+                    writer.writeZigZagLong(LocalDate.of(2023, 5, 15).toEpochDay());
+                }));
+        assertEquals(EventTimestamps.toEpochNanos(dateTime), readLegacyCreatedAt(writer -> {
+            writer.writeByte(BinaryEventFormat.TIMESTAMP_DATE_TIME);
+            writer.writeTimestamp(dateTime);
+        }));
+        assertEquals(EventTimestamps.toEpochNanos(dateTime), readLegacyCreatedAt(writer -> {
+            writer.writeByte(BinaryEventFormat.TIMESTAMP_STRING);
+            writer.writeString("2023-05-15T10:30:00");
+        }));
+        assertNull(readLegacyCreatedAt(writer -> {
+            writer.writeByte(BinaryEventFormat.TIMESTAMP_STRING);
+            writer.writeString("yesterday");
+        }));
+    }
+
+    @Test
+    public void testNewTicketEventReadsLegacyJsonCreatedAt() {
+        // Given: a JSON payload with the former createdAt day string
+        byte[] json = "{\"ticketId\":\"ticket-1\",\"status\":\"open\",\"createdAt\":\"15.05.2023\"}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        // When
+        NewTicketEvent event = new NewTicketEventDeserializer().deserialize(TOPIC, json);
+
+        // Then
+        assertEquals("ticket-1", event.getTicketId());
+        assertEquals(LocalDate.of(2023, 5, 15).atStartOfDay(), EventTimestamps.toLocalDateTime(event.getCreatedAtEpochNanos()));
+    }
+
+    @Test
+    public void testTicketAssignedEventRoundTrip() {
+        // Given
+        TicketAssignedEvent event = new TicketAssignedEvent(UUID.randomUUID().toString(), "agent-007");
+
+        // When
+        byte[] bytes = new TicketAssignedEventSerializer().serialize(TOPIC, event);
+
+        // Then: version byte, UUID tag and 16 raw bytes, string tag and length-prefixed string
+        assertEquals(1 + 17 + 2 + "agent-007".length(), bytes.length);
+        assertEquals(event, new TicketAssignedEventDeserializer().deserialize(TOPIC, bytes));
+    }
+
+    @Test
+    public void testTicketStatusUpdatedEventRoundTrip() {
+        // Given
+        TicketStatusUpdatedEvent event = new TicketStatusUpdatedEvent(UUID.randomUUID().toString(), "RESOLVED");
+        TicketStatusUpdatedEvent invalid = new TicketStatusUpdatedEvent(UUID.randomUUID().toString(), "invalid_status");
+
+        // When
+        byte[] bytes = new TicketStatusUpdatedEventSerializer().serialize(TOPIC, event);
+
+        // Then: version byte, UUID tag and 16 raw bytes, status byte
+        assertEquals(19, bytes.length);
+        TicketStatusUpdatedEventDeserializer deserializer = new TicketStatusUpdatedEventDeserializer();
+        assertEquals(event, deserializer.deserialize(TOPIC, bytes));
+        assertEquals(invalid, deserializer.deserialize(TOPIC,
+                new TicketStatusUpdatedEventSerializer().serialize(TOPIC, invalid)));
+    }
+
+    @Test
+    public void testDeserializeJsonPayload() {
+        // Given: a payload written by the JSON serializer
+        TicketCreatedEvent event = TicketCreatedEvent.builder()
+                .ticketId(UUID.randomUUID())
+                .subject("Login problem")
+                .status(Ticket.TicketStatus.OPEN)
+                .userId("user-001")
+                .createdAt(LocalDateTime.of(2023, 5, 15, 10, 30))
+                .build();
+        byte[] json = new JsonSerializer<TicketCreatedEvent>().serialize(TOPIC, event);
+
+        // When / Then
+        assertEquals(event, new TicketCreatedEventDeserializer().deserialize(TOPIC, json));
+    }
+
+    @Test
+    public void testNullPayload() {
+        assertNull(new TicketAssignedEventSerializer().serialize(TOPIC, null));
+        assertNull(new TicketAssignedEventDeserializer().deserialize(TOPIC, null));
+    }
+
+    @Test
+    public void testUnsupportedVersion() {
+        byte[] bytes = new TicketAssignedEventSerializer().serialize(TOPIC, new TicketAssignedEvent("a", "b"));
+        bytes[0] = 0x02;
+
+        assertThrows(SerializationException.class, () -> new TicketAssignedEventDeserializer().deserialize(TOPIC, bytes));
+    }
+
+    @Test
+    public void testTruncatedPayload() {
+        byte[] bytes = new TicketAssignedEventSerializer().serialize(TOPIC,
+                new TicketAssignedEvent(UUID.randomUUID().toString(), UUID.randomUUID().toString()));
+
+        assertThrows(SerializationException.class, () -> new TicketAssignedEventDeserializer()
+                .deserialize(TOPIC, Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+
+    private static Long readLegacyCreatedAt(Consumer<BinaryEventWriter> createdAt) {
+        BinaryEventWriter writer = new BinaryEventWriter(BinaryEventFormat.INITIAL_BUFFER_SIZE);
+        writer.writeByte(BinaryEventFormat.VERSION_1);
+        writer.writeId("ticket-1");
+        writer.writeId(null);
+        writer.writeStatus("open");
+        writer.writeString(null);
+        writer.writeString(null);
+        createdAt.accept(writer);
+        return new NewTicketEventDeserializer().deserialize(TOPIC, writer.toByteArray()).getCreatedAtEpochNanos();
+    }
+}
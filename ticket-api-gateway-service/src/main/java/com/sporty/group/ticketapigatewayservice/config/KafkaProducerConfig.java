@@ -2,31 +2,47 @@ package com.sporty.group.ticketapigatewayservice.config;
 
 
 import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
+import com.sporty.group.sportygroupticketingcommons.serialization.TicketCreatedEventSerializer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
+@Profile("!reactive")
 public class KafkaProducerConfig {
 
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    // Upper bound for send() blocking on metadata or a full buffer, so request threads never wait on the broker
+    @Value("${kafka.producer.max-block-ms:1000}")
+    private long maxBlockMs = 1000;
+
+    // Producer batching, so pipelined sends (e.g. from the batch endpoint) share broker requests
+    @Value("${kafka.producer.linger-ms:5}")
+    private long lingerMs = 5;
+
+    @Value("${kafka.producer.batch-size:65536}")
+    private int batchSize = 65536;
+
     @Bean
     public ProducerFactory<String, TicketCreatedEvent> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, TicketCreatedEventSerializer.class);
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
@@ -34,4 +50,4 @@ public class KafkaProducerConfig {
     public KafkaTemplate<String, TicketCreatedEvent> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
-}
\ No newline at end of file
+}
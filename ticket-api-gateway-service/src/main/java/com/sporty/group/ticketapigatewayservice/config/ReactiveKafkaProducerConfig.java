@@ -0,0 +1,59 @@
+package com.sporty.group.ticketapigatewayservice.config;
+
+import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
+import com.sporty.group.sportygroupticketingcommons.serialization.TicketCreatedEventSerializer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Producer configuration of the reactive gateway ("reactive" profile).
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveKafkaProducerConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${kafka.producer.max-block-ms:1000}")
+    private long maxBlockMs = 1000;
+
+    @Value("${kafka.producer.linger-ms:5}")
+    private long lingerMs = 5;
+
+    @Value("${kafka.producer.batch-size:65536}")
+    private int batchSize = 65536;
+
+    // Upper bound for unacknowledged records of one send pipeline; further records are only requested once acks arrive
+    @Value("${kafka.producer.max-in-flight:256}")
+    private int maxInFlight = 256;
+
+    @Bean
+    public SenderOptions<String, TicketCreatedEvent> senderOptions() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, TicketCreatedEventSerializer.class);
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        return SenderOptions.<String, TicketCreatedEvent>create(configProps)
+                .maxInFlight(maxInFlight)
+                // Report a failed record through its result instead of cancelling the rest of the pipeline
+                .stopOnError(false);
+    }
+
+    @Bean
+    public KafkaSender<String, TicketCreatedEvent> kafkaSender() {
+        return KafkaSender.create(senderOptions());
+    }
+}
@@ -0,0 +1,20 @@
+package com.sporty.group.ticketapigatewayservice.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Serves the reactive gateway ("reactive" profile) from Netty's event loops.
+ * Tomcat stays on the classpath for the servlet gateway and would otherwise be preferred.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,65 @@
+package com.sporty.group.ticketapigatewayservice.controller;
+
+import com.sporty.group.sportygroupticketingcommons.model.Ticket;
+import com.sporty.group.ticketapigatewayservice.dto.TicketBatchResult;
+import com.sporty.group.ticketapigatewayservice.dto.TicketRequest;
+import com.sporty.group.ticketapigatewayservice.service.ReactiveTicketService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.sporty.group.ticketapigatewayservice.controller.TicketController.APPLICATION_NDJSON_VALUE;
+import static com.sporty.group.ticketapigatewayservice.controller.TicketController.OFFSET_HEADER;
+import static com.sporty.group.ticketapigatewayservice.controller.TicketController.PARTITION_HEADER;
+
+/**
+ * WebFlux counterpart of {@link TicketController} for the "reactive" profile, with the same endpoints and responses.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Profile("reactive")
+public class ReactiveTicketController {
+
+    private final ReactiveTicketService ticketService;
+    private final int maxBatchSize;
+
+    public ReactiveTicketController(ReactiveTicketService ticketService,
+                                    @Value("${ticket.batch.max-size:1000}") int maxBatchSize) {
+        this.ticketService = ticketService;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @PostMapping("/tickets")
+    public Mono<ResponseEntity<Ticket>> createTicket(@RequestBody TicketRequest ticketRequest) {
+        return ticketService.createTicket(ticketRequest)
+                .map(ack -> ResponseEntity.status(HttpStatus.CREATED)
+                        .header(PARTITION_HEADER, String.valueOf(ack.getPartition()))
+                        .header(OFFSET_HEADER, String.valueOf(ack.getOffset()))
+                        .body(ack.getTicket()))
+                .onErrorReturn(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    @PostMapping(value = "/tickets/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<List<TicketBatchResult>>> createTickets(@RequestBody Flux<TicketRequest> ticketRequests) {
+        // Stop reading the body as soon as the batch is known to be too large
+        return ticketRequests.take(maxBatchSize + 1L)
+                .collectList()
+                .filter(batch -> !batch.isEmpty() && batch.size() <= maxBatchSize)
+                .flatMap(batch -> ticketService.createTickets(batch)
+                        .map(ResponseEntity::ok)
+                        .onErrorReturn(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()))
+                // Remaining errors come from decoding the request body
+                .onErrorReturn(ResponseEntity.badRequest().build())
+                .defaultIfEmpty(ResponseEntity.badRequest().build());
+    }
+}
@@ -1,41 +1,122 @@
 package com.sporty.group.ticketapigatewayservice.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sporty.group.ticketapigatewayservice.dto.TicketBatchResult;
 import com.sporty.group.ticketapigatewayservice.dto.TicketRequest;
 import com.sporty.group.sportygroupticketingcommons.model.Ticket;
 import com.sporty.group.ticketapigatewayservice.service.TicketService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1")
-@RequiredArgsConstructor
 @Tag(name = "Ticket Management", description = "APIs for managing support tickets")
 public class TicketController {
 
+    public static final String PARTITION_HEADER = "X-Kafka-Partition";
+    public static final String OFFSET_HEADER = "X-Kafka-Offset";
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     private final TicketService ticketService;
+    private final ObjectMapper objectMapper;
+    private final int maxBatchSize;
+
+    public TicketController(TicketService ticketService,
+                            ObjectMapper objectMapper,
+                            @Value("${ticket.batch.max-size:1000}") int maxBatchSize) {
+        this.ticketService = ticketService;
+        this.objectMapper = objectMapper;
+        this.maxBatchSize = maxBatchSize;
+    }
 
-    @Operation(summary = "Create a new ticket", description = "Creates a new support ticket with the provided information")
+    @Operation(summary = "Create a new ticket", description = "Creates a new support ticket with the provided information. "
+            + "The response is sent once the broker has acknowledged the ticket created event.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Ticket created successfully",
-                content = @Content(mediaType = "application/json", 
-                schema = @Schema(implementation = Ticket.class))),
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = Ticket.class)),
+                headers = {
+                    @Header(name = PARTITION_HEADER, description = "Partition of the ticket created event"),
+                    @Header(name = OFFSET_HEADER, description = "Offset of the ticket created event")
+                }),
         @ApiResponse(responseCode = "400", description = "Invalid input"),
-        @ApiResponse(responseCode = "500", description = "Internal server error")
+        @ApiResponse(responseCode = "503", description = "Ticket created event was not acknowledged by the broker")
     })
     @PostMapping("/tickets")
-    public ResponseEntity<Ticket> createTicket(@RequestBody TicketRequest ticketRequest) {
-        Ticket createdTicket = ticketService.createTicket(ticketRequest);
-        return new ResponseEntity<>(createdTicket, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<Ticket>> createTicket(@RequestBody TicketRequest ticketRequest) {
+        return ticketService.createTicket(ticketRequest)
+                .thenApply(ack -> ResponseEntity.status(HttpStatus.CREATED)
+                        .header(PARTITION_HEADER, String.valueOf(ack.getPartition()))
+                        .header(OFFSET_HEADER, String.valueOf(ack.getOffset()))
+                        .body(ack.getTicket()))
+                .exceptionally(ex -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    @Operation(summary = "Create a batch of tickets", description = "Creates all tickets of a JSON array in one request. "
+            + "The events are produced as one pipelined batch and the response holds one result per ticket, in request order.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed, see the per-ticket results",
+                content = @Content(mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = TicketBatchResult.class)))),
+        @ApiResponse(responseCode = "400", description = "Invalid input or batch too large")
+    })
+    @PostMapping(value = "/tickets/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<List<TicketBatchResult>>> createTickets(
+            @RequestBody List<TicketRequest> ticketRequests) {
+        return createBatch(ticketRequests);
+    }
+
+    @Operation(summary = "Create a batch of tickets from NDJSON", description = "Creates one ticket per line of a "
+            + "newline-delimited JSON stream. Behaves like the JSON array variant of the batch endpoint.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed, see the per-ticket results",
+                content = @Content(mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = TicketBatchResult.class)))),
+        @ApiResponse(responseCode = "400", description = "Invalid input or batch too large")
+    })
+    @PostMapping(value = "/tickets/batch", consumes = APPLICATION_NDJSON_VALUE)
+    public CompletableFuture<ResponseEntity<List<TicketBatchResult>>> createTicketsFromNdjson(InputStream body) {
+        List<TicketRequest> ticketRequests = new ArrayList<>();
+        try (MappingIterator<TicketRequest> lines = objectMapper.readerFor(TicketRequest.class).readValues(body)) {
+            while (lines.hasNextValue()) {
+                if (ticketRequests.size() == maxBatchSize) {
+                    return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+                }
+                ticketRequests.add(lines.nextValue());
+            }
+        } catch (IOException | RuntimeException ex) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return createBatch(ticketRequests);
+    }
+
+    private CompletableFuture<ResponseEntity<List<TicketBatchResult>>> createBatch(List<TicketRequest> ticketRequests) {
+        if (ticketRequests.isEmpty() || ticketRequests.size() > maxBatchSize) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return ticketService.createTickets(ticketRequests).thenApply(ResponseEntity::ok);
     }
 }
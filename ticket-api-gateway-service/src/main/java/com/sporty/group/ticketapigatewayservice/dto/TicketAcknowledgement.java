@@ -0,0 +1,20 @@
+package com.sporty.group.ticketapigatewayservice.dto;
+
+import com.sporty.group.sportygroupticketingcommons.model.Ticket;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A created ticket together with the position the broker assigned to its ticket created event.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketAcknowledgement {
+    private Ticket ticket;
+    private int partition;
+    private long offset;
+}
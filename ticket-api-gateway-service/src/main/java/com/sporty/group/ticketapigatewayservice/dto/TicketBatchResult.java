@@ -0,0 +1,33 @@
+package com.sporty.group.ticketapigatewayservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Outcome of a single ticket within a batch creation request")
+public class TicketBatchResult {
+    @Schema(description = "Position of the ticket request within the batch", example = "0")
+    private int index;
+
+    @Schema(description = "ID of the created ticket", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID ticketId;
+
+    @Schema(description = "Partition of the ticket created event", example = "0")
+    private Integer partition;
+
+    @Schema(description = "Offset of the ticket created event", example = "42")
+    private Long offset;
+
+    @Schema(description = "Reason the ticket could not be created", example = "Broker unavailable")
+    private String error;
+}
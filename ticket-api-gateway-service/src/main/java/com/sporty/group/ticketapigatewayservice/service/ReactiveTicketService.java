@@ -0,0 +1,144 @@
+package com.sporty.group.ticketapigatewayservice.service;
+
+import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
+import com.sporty.group.sportygroupticketingcommons.id.TicketIdGenerator;
+import com.sporty.group.sportygroupticketingcommons.model.Ticket;
+import com.sporty.group.ticketapigatewayservice.dto.TicketAcknowledgement;
+import com.sporty.group.ticketapigatewayservice.dto.TicketBatchResult;
+import com.sporty.group.ticketapigatewayservice.dto.TicketRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link TicketService} for the "reactive" profile.
+ * Events are published through a {@link KafkaSender}, which only requests further records from a send pipeline
+ * while fewer than {@code kafka.producer.max-in-flight} of them are unacknowledged.
+ */
+@Service
+@Profile("reactive")
+@Slf4j
+public class ReactiveTicketService {
+
+    private final KafkaSender<String, TicketCreatedEvent> kafkaSender;
+    private final Duration ackTimeout;
+    private static final String TOPIC = "support-tickets";
+
+    public ReactiveTicketService(KafkaSender<String, TicketCreatedEvent> kafkaSender,
+                                 @Value("${kafka.producer.ack-timeout-ms:5000}") long ackTimeoutMs) {
+        this.kafkaSender = kafkaSender;
+        this.ackTimeout = Duration.ofMillis(ackTimeoutMs);
+    }
+
+    /**
+     * Create a ticket and publish its ticket created event.
+     * The returned mono emits once the broker has acknowledged the event, and errors if the send fails or is
+     * not acknowledged within the configured ack timeout.
+     *
+     * @param ticketRequest the ticket creation request
+     * @return the created ticket together with the partition and offset of its event
+     */
+    public Mono<TicketAcknowledgement> createTicket(TicketRequest ticketRequest) {
+        return Mono.fromSupplier(() -> newTicket(ticketRequest))
+                .flatMap(ticket -> kafkaSender.send(Mono.just(record(ticket, ticket)))
+                        .next()
+                        .timeout(ackTimeout)
+                        .flatMap(result -> result.exception() == null
+                                ? Mono.just(acknowledgement(ticket, result.recordMetadata()))
+                                : Mono.error(result.exception()))
+                        .doOnNext(ack -> log.info(
+                                "Ticket created event acknowledged for ticket ID: {} (partition={}, offset={})",
+                                ticket.getTicketId(), ack.getPartition(), ack.getOffset()))
+                        .doOnError(ex -> log.error("Failed to send ticket created event for ticket ID: {}",
+                                ticket.getTicketId(), ex)));
+    }
+
+    /**
+     * Create a batch of tickets.
+     * All events go through a single send pipeline, so the sender keeps up to its max-in-flight records
+     * outstanding and pipelines them into as few broker requests as the producer's batching settings allow.
+     * The returned mono errors if the broker stops acknowledging events for longer than the ack timeout.
+     *
+     * @param ticketRequests the ticket creation requests
+     * @return one result per request, in request order, holding either the broker position or the error; a null
+     *         request gets an error result and is not sent
+     */
+    public Mono<List<TicketBatchResult>> createTickets(List<TicketRequest> ticketRequests) {
+        // Null requests are answered with an error result without sending anything, like in the servlet stack
+        Flux<TicketBatchResult> nullResults = Flux.range(0, ticketRequests.size())
+                .filter(index -> ticketRequests.get(index) == null)
+                .map(index -> TicketBatchResult.builder()
+                        .index(index)
+                        .error("Ticket request must not be null")
+                        .build());
+
+        Flux<SenderRecord<String, TicketCreatedEvent, TicketBatchResult>> records = Flux.range(0, ticketRequests.size())
+                .filter(index -> ticketRequests.get(index) != null)
+                .map(index -> {
+                    Ticket ticket = newTicket(ticketRequests.get(index));
+                    return record(ticket, TicketBatchResult.builder()
+                            .index(index)
+                            .ticketId(ticket.getTicketId())
+                            .build());
+                });
+
+        Flux<TicketBatchResult> sendResults = kafkaSender.send(records)
+                .timeout(ackTimeout)
+                .map(result -> {
+                    TicketBatchResult batchResult = result.correlationMetadata();
+                    if (result.exception() == null) {
+                        batchResult.setPartition(result.recordMetadata().partition());
+                        batchResult.setOffset(result.recordMetadata().offset());
+                    } else {
+                        log.error("Failed to send ticket created event for ticket ID: {}",
+                                batchResult.getTicketId(), result.exception());
+                        batchResult.setError(describe(result.exception()));
+                    }
+                    return batchResult;
+                });
+
+        return Flux.concat(nullResults, sendResults)
+                // Acknowledgements of different partitions may arrive out of request order
+                .collectSortedList(Comparator.comparingInt(TicketBatchResult::getIndex));
+    }
+
+    private Ticket newTicket(TicketRequest ticketRequest) {
+        // Create a new ticket with default values
+        LocalDateTime now = LocalDateTime.now();
+        return Ticket.builder()
+                .ticketId(TicketIdGenerator.nextId())
+                .subject(ticketRequest.getSubject())
+                .description(ticketRequest.getDescription())
+                .status(Ticket.TicketStatus.OPEN)
+                .userId(ticketRequest.getUserId())
+                .assigneeId(null) // Initially no assignee
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    private static <T> SenderRecord<String, TicketCreatedEvent, T> record(Ticket ticket, T correlationMetadata) {
+        TicketCreatedEvent event = TicketCreatedEvent.fromTicket(ticket);
+        return SenderRecord.create(new ProducerRecord<>(TOPIC, ticket.getTicketId().toString(), event), correlationMetadata);
+    }
+
+    private static TicketAcknowledgement acknowledgement(Ticket ticket, RecordMetadata metadata) {
+        return new TicketAcknowledgement(ticket, metadata.partition(), metadata.offset());
+    }
+
+    private static String describe(Throwable ex) {
+        return ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+    }
+}
@@ -1,29 +1,96 @@
 package com.sporty.group.ticketapigatewayservice.service;
 
 import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
+import com.sporty.group.sportygroupticketingcommons.id.TicketIdGenerator;
+import com.sporty.group.ticketapigatewayservice.dto.TicketAcknowledgement;
+import com.sporty.group.ticketapigatewayservice.dto.TicketBatchResult;
 import com.sporty.group.ticketapigatewayservice.dto.TicketRequest;
 import com.sporty.group.sportygroupticketingcommons.model.Ticket;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 @Service
-@RequiredArgsConstructor
+@Profile("!reactive")
 @Slf4j
 public class TicketService {
 
     private final KafkaTemplate<String, TicketCreatedEvent> kafkaTemplate;
+    private final long ackTimeoutMs;
     private static final String TOPIC = "support-tickets";
 
-    public Ticket createTicket(TicketRequest ticketRequest) {
+    public TicketService(KafkaTemplate<String, TicketCreatedEvent> kafkaTemplate,
+                         @Value("${kafka.producer.ack-timeout-ms:5000}") long ackTimeoutMs) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.ackTimeoutMs = ackTimeoutMs;
+    }
+
+    /**
+     * Create a ticket and publish its ticket created event.
+     * The returned future completes once the broker has acknowledged the event, and completes
+     * exceptionally if the send fails or is not acknowledged within the configured ack timeout.
+     *
+     * @param ticketRequest the ticket creation request
+     * @return the created ticket together with the partition and offset of its event
+     */
+    public CompletableFuture<TicketAcknowledgement> createTicket(TicketRequest ticketRequest) {
+        return send(newTicket(ticketRequest));
+    }
+
+    /**
+     * Create a batch of tickets.
+     * All events are handed to the producer before any acknowledgement is awaited, so the producer
+     * pipelines them into as few broker requests as its batching settings allow.
+     *
+     * @param ticketRequests the ticket creation requests
+     * @return one result per request, in request order, holding either the broker position or the error
+     */
+    public CompletableFuture<List<TicketBatchResult>> createTickets(List<TicketRequest> ticketRequests) {
+        List<CompletableFuture<TicketBatchResult>> results = new ArrayList<>(ticketRequests.size());
+        for (int i = 0; i < ticketRequests.size(); i++) {
+            int index = i;
+            TicketRequest ticketRequest = ticketRequests.get(i);
+            if (ticketRequest == null) {
+                results.add(CompletableFuture.completedFuture(TicketBatchResult.builder()
+                        .index(index)
+                        .error("Ticket request must not be null")
+                        .build()));
+                continue;
+            }
+            Ticket ticket = newTicket(ticketRequest);
+            results.add(send(ticket).handle((ack, ex) -> ex == null
+                    ? TicketBatchResult.builder()
+                            .index(index)
+                            .ticketId(ticket.getTicketId())
+                            .partition(ack.getPartition())
+                            .offset(ack.getOffset())
+                            .build()
+                    : TicketBatchResult.builder()
+                            .index(index)
+                            .ticketId(ticket.getTicketId())
+                            .error(describe(ex))
+                            .build()));
+        }
+
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> results.stream().map(CompletableFuture::join).toList());
+    }
+
+    private Ticket newTicket(TicketRequest ticketRequest) {
         // Create a new ticket with default values
         LocalDateTime now = LocalDateTime.now();
-        Ticket ticket = Ticket.builder()
-                .ticketId(UUID.randomUUID())
+        return Ticket.builder()
+                .ticketId(TicketIdGenerator.nextId())
                 .subject(ticketRequest.getSubject())
                 .description(ticketRequest.getDescription())
                 .status(Ticket.TicketStatus.OPEN)
@@ -32,16 +99,38 @@ public class TicketService {
                 .createdAt(now)
                 .updatedAt(now)
                 .build();
+    }
 
+    private CompletableFuture<TicketAcknowledgement> send(Ticket ticket) {
         // Create and send the ticket created event
         TicketCreatedEvent event = TicketCreatedEvent.fromTicket(ticket);
+        CompletableFuture<TicketAcknowledgement> acknowledgement;
         try {
-            kafkaTemplate.send(TOPIC, ticket.getTicketId().toString(), event);
-            log.info("Ticket created event sent for ticket ID: {}", ticket.getTicketId());
+            acknowledgement = kafkaTemplate.send(TOPIC, ticket.getTicketId().toString(), event)
+                    .orTimeout(ackTimeoutMs, TimeUnit.MILLISECONDS)
+                    .thenApply(result -> {
+                        RecordMetadata metadata = result.getRecordMetadata();
+                        return new TicketAcknowledgement(ticket, metadata.partition(), metadata.offset());
+                    });
         } catch (Exception ex) {
-            log.error("Failed to send ticket created event for ticket ID: {}", ticket.getTicketId(), ex);
+            acknowledgement = CompletableFuture.failedFuture(ex);
         }
 
-        return ticket;
+        return acknowledgement.whenComplete((ack, ex) -> {
+            if (ex == null) {
+                log.info("Ticket created event acknowledged for ticket ID: {} (partition={}, offset={})",
+                        ticket.getTicketId(), ack.getPartition(), ack.getOffset());
+            } else {
+                log.error("Failed to send ticket created event for ticket ID: {}", ticket.getTicketId(), ex);
+            }
+        });
+    }
+
+    private static String describe(Throwable ex) {
+        Throwable cause = ex;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
     }
 }
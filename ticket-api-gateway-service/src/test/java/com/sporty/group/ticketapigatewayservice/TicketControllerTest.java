@@ -43,10 +43,17 @@ public class TicketControllerTest {
                 .build();
 
         // Perform POST request and verify response
-        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/tickets")
+        MvcResult asyncResult = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/tickets")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(ticketRequest)))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // The response is completed once the broker acknowledges the event
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(asyncResult))
                 .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.header().exists("X-Kafka-Partition"))
+                .andExpect(MockMvcResultMatchers.header().exists("X-Kafka-Offset"))
                 .andReturn();
 
         // Parse and verify the created ticket
@@ -2,13 +2,13 @@ package com.sporty.group.ticketapigatewayservice.config;
 
 
 import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
+import com.sporty.group.sportygroupticketingcommons.serialization.TicketCreatedEventSerializer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.junit.jupiter.api.Test;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Map;
@@ -36,7 +36,10 @@ public class KafkaProducerConfigTest {
         assertNotNull(configs);
         assertEquals("localhost:9092", configs.get(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG));
         assertEquals(StringSerializer.class, configs.get(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG));
-        assertEquals(JsonSerializer.class, configs.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG));
+        assertEquals(TicketCreatedEventSerializer.class, configs.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG));
+        assertEquals(1000L, configs.get(ProducerConfig.MAX_BLOCK_MS_CONFIG));
+        assertEquals(5L, configs.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals(65536, configs.get(ProducerConfig.BATCH_SIZE_CONFIG));
     }
 
     @Test
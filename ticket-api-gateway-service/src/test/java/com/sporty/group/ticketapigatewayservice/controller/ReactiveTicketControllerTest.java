@@ -0,0 +1,137 @@
+package com.sporty.group.ticketapigatewayservice.controller;
+
+import com.sporty.group.sportygroupticketingcommons.model.Ticket;
+import com.sporty.group.ticketapigatewayservice.dto.TicketAcknowledgement;
+import com.sporty.group.ticketapigatewayservice.dto.TicketBatchResult;
+import com.sporty.group.ticketapigatewayservice.dto.TicketRequest;
+import com.sporty.group.ticketapigatewayservice.service.ReactiveTicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveTicketControllerTest {
+
+    @Mock
+    private ReactiveTicketService ticketService;
+
+    private WebTestClient webTestClient;
+
+    private TicketRequest ticketRequest;
+
+    @BeforeEach
+    public void setup() {
+        webTestClient = WebTestClient.bindToController(new ReactiveTicketController(ticketService, 2)).build();
+        ticketRequest = TicketRequest.builder()
+                .userId("user-001")
+                .subject("Login problem")
+                .description("Cannot reset my password")
+                .build();
+    }
+
+    @Test
+    public void testCreateTicket() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        Ticket ticket = Ticket.builder()
+                .ticketId(UUID.randomUUID())
+                .subject("Login problem")
+                .description("Cannot reset my password")
+                .status(Ticket.TicketStatus.OPEN)
+                .userId("user-001")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        when(ticketService.createTicket(any(TicketRequest.class)))
+                .thenReturn(Mono.just(new TicketAcknowledgement(ticket, 0, 7L)));
+
+        // When / Then
+        webTestClient.post().uri("/api/v1/tickets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ticketRequest)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(TicketController.PARTITION_HEADER, "0")
+                .expectHeader().valueEquals(TicketController.OFFSET_HEADER, "7")
+                .expectBody()
+                .jsonPath("$.ticketId").isEqualTo(ticket.getTicketId().toString())
+                .jsonPath("$.subject").isEqualTo("Login problem")
+                .jsonPath("$.status").isEqualTo("OPEN");
+    }
+
+    @Test
+    public void testCreateTicket_NotAcknowledged() {
+        // Given
+        when(ticketService.createTicket(any(TicketRequest.class)))
+                .thenReturn(Mono.error(new TimeoutException()));
+
+        // When / Then
+        webTestClient.post().uri("/api/v1/tickets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ticketRequest)
+                .exchange()
+                .expectStatus().isEqualTo(503);
+    }
+
+    @Test
+    public void testCreateTickets_Ndjson() {
+        // Given
+        UUID ticketId = UUID.randomUUID();
+        when(ticketService.createTickets(anyList())).thenReturn(Mono.just(List.of(
+                TicketBatchResult.builder().index(0).ticketId(ticketId).partition(0).offset(3L).build(),
+                TicketBatchResult.builder().index(1).ticketId(UUID.randomUUID()).error("Broker unavailable").build())));
+        String body = "{\"userId\":\"user-001\",\"subject\":\"First\",\"description\":\"One\"}\n"
+                + "{\"userId\":\"user-002\",\"subject\":\"Second\",\"description\":\"Two\"}\n";
+
+        // When / Then
+        webTestClient.post().uri("/api/v1/tickets/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].ticketId").isEqualTo(ticketId.toString())
+                .jsonPath("$[0].offset").isEqualTo(3)
+                .jsonPath("$[1].error").isEqualTo("Broker unavailable");
+    }
+
+    @Test
+    public void testCreateTickets_TooLarge() {
+        // When / Then: the controller accepts at most two tickets per batch
+        webTestClient.post().uri("/api/v1/tickets/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(ticketRequest, ticketRequest, ticketRequest))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(ticketService, never()).createTickets(anyList());
+    }
+
+    @Test
+    public void testCreateTickets_Malformed() {
+        // When / Then
+        webTestClient.post().uri("/api/v1/tickets/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"userId\":")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(ticketService, never()).createTickets(anyList());
+    }
+}
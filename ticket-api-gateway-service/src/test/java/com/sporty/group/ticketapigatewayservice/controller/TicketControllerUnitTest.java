@@ -1,25 +1,32 @@
 package com.sporty.group.ticketapigatewayservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sporty.group.ticketapigatewayservice.dto.TicketAcknowledgement;
+import com.sporty.group.ticketapigatewayservice.dto.TicketBatchResult;
 import com.sporty.group.ticketapigatewayservice.dto.TicketRequest;
 import com.sporty.group.sportygroupticketingcommons.model.Ticket;
 import com.sporty.group.ticketapigatewayservice.service.TicketService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,13 +37,13 @@ public class TicketControllerUnitTest {
     @Mock
     private TicketService ticketService;
 
-    @InjectMocks
     private TicketController ticketController;
 
     private ObjectMapper objectMapper = new ObjectMapper();
 
     @BeforeEach
     public void setup() {
+        ticketController = new TicketController(ticketService, objectMapper, 2);
         mockMvc = MockMvcBuilders.standaloneSetup(ticketController).build();
     }
 
@@ -64,13 +71,20 @@ public class TicketControllerUnitTest {
                 .build();
 
         // Mock the service method
-        when(ticketService.createTicket(any(TicketRequest.class))).thenReturn(mockTicket);
+        when(ticketService.createTicket(any(TicketRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(new TicketAcknowledgement(mockTicket, 0, 7L)));
 
         // Perform POST request and verify response
-        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/tickets")
+        MvcResult asyncResult = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/tickets")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(ticketRequest)))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(asyncResult))
                 .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.header().string(TicketController.PARTITION_HEADER, "0"))
+                .andExpect(MockMvcResultMatchers.header().string(TicketController.OFFSET_HEADER, "7"))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.ticketId").exists())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.subject").value("Login problem"))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.description").value("Cannot reset my password"))
@@ -79,4 +93,92 @@ public class TicketControllerUnitTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.createdAt").exists())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.updatedAt").exists());
     }
+
+    @Test
+    public void testCreateTicket_NotAcknowledged() throws Exception {
+        TicketRequest ticketRequest = TicketRequest.builder()
+                .userId("user-001")
+                .subject("Login problem")
+                .description("Cannot reset my password")
+                .build();
+
+        // Mock the service to report that the broker never acknowledged the event
+        when(ticketService.createTicket(any(TicketRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+
+        MvcResult asyncResult = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/tickets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ticketRequest)))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(asyncResult))
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable());
+    }
+
+    @Test
+    public void testCreateTickets() throws Exception {
+        List<TicketRequest> ticketRequests = List.of(
+                TicketRequest.builder().userId("user-001").subject("Login problem").build(),
+                TicketRequest.builder().userId("user-002").subject("Payment problem").build());
+
+        UUID ticketId = UUID.randomUUID();
+        when(ticketService.createTickets(anyList())).thenReturn(CompletableFuture.completedFuture(List.of(
+                TicketBatchResult.builder().index(0).ticketId(ticketId).partition(0).offset(10L).build(),
+                TicketBatchResult.builder().index(1).error("Broker unavailable").build())));
+
+        MvcResult asyncResult = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/tickets/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ticketRequests)))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(asyncResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].ticketId").value(ticketId.toString()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].offset").value(10))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].error").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].error").value("Broker unavailable"));
+    }
+
+    @Test
+    public void testCreateTicketsFromNdjson() throws Exception {
+        String body = "{\"userId\":\"user-001\",\"subject\":\"Login problem\"}\n"
+                + "{\"userId\":\"user-002\",\"subject\":\"Payment problem\"}\n";
+
+        when(ticketService.createTickets(anyList())).thenAnswer(invocation -> {
+            List<TicketRequest> requests = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(List.of(
+                    TicketBatchResult.builder().index(0).ticketId(UUID.randomUUID()).error(requests.get(0).getUserId()).build(),
+                    TicketBatchResult.builder().index(1).ticketId(UUID.randomUUID()).error(requests.get(1).getUserId()).build()));
+        });
+
+        MvcResult asyncResult = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/tickets/batch")
+                .contentType(TicketController.APPLICATION_NDJSON_VALUE)
+                .content(body))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(asyncResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].error").value("user-001"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].error").value("user-002"));
+    }
+
+    @Test
+    public void testCreateTickets_BatchTooLarge() throws Exception {
+        List<TicketRequest> ticketRequests = List.of(
+                TicketRequest.builder().userId("user-001").build(),
+                TicketRequest.builder().userId("user-002").build(),
+                TicketRequest.builder().userId("user-003").build());
+
+        MvcResult asyncResult = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/tickets/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ticketRequests)))
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(asyncResult))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        verify(ticketService, never()).createTickets(anyList());
+    }
 }
@@ -0,0 +1,192 @@
+package com.sporty.group.ticketapigatewayservice.service;
+
+import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
+import com.sporty.group.sportygroupticketingcommons.model.Ticket;
+import com.sporty.group.ticketapigatewayservice.dto.TicketBatchResult;
+import com.sporty.group.ticketapigatewayservice.dto.TicketRequest;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveTicketServiceTest {
+
+    private static final long ACK_TIMEOUT_MS = 5000;
+
+    @Mock
+    private KafkaSender<String, TicketCreatedEvent> kafkaSender;
+
+    private ReactiveTicketService ticketService;
+
+    private TicketRequest ticketRequest;
+
+    private final List<SenderRecord<String, TicketCreatedEvent, ?>> sentRecords = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        ticketService = new ReactiveTicketService(kafkaSender, ACK_TIMEOUT_MS);
+        ticketRequest = TicketRequest.builder()
+                .userId("user-001")
+                .subject("Login problem")
+                .description("Cannot reset my password")
+                .build();
+    }
+
+    @Test
+    public void testCreateTicket() {
+        // Given: the broker acknowledges every event at partition 3, offset 42
+        when(kafkaSender.send(any())).thenAnswer(invocation -> acknowledgeAll(invocation.getArgument(0), null));
+
+        // When / Then
+        StepVerifier.create(ticketService.createTicket(ticketRequest))
+                .assertNext(ack -> {
+                    Ticket ticket = ack.getTicket();
+                    assertNotNull(ticket.getTicketId());
+                    assertEquals("Login problem", ticket.getSubject());
+                    assertEquals(Ticket.TicketStatus.OPEN, ticket.getStatus());
+                    assertEquals("user-001", ticket.getUserId());
+                    assertEquals(3, ack.getPartition());
+                    assertEquals(42L, ack.getOffset());
+                })
+                .verifyComplete();
+
+        // The event is keyed by the ticket ID on the support-tickets topic
+        SenderRecord<String, TicketCreatedEvent, ?> record = sentRecords.get(0);
+        assertEquals("support-tickets", record.topic());
+        assertEquals(record.value().getTicketId().toString(), record.key());
+        assertEquals("Login problem", record.value().getSubject());
+    }
+
+    @Test
+    public void testCreateTicket_SendFailure() {
+        // Given
+        when(kafkaSender.send(any())).thenAnswer(invocation ->
+                acknowledgeAll(invocation.getArgument(0), new RuntimeException("Broker unavailable")));
+
+        // When / Then
+        StepVerifier.create(ticketService.createTicket(ticketRequest))
+                .expectErrorMessage("Broker unavailable")
+                .verify();
+    }
+
+    @Test
+    public void testCreateTicket_AckTimeout() {
+        // Given: the broker never acknowledges the event
+        ticketService = new ReactiveTicketService(kafkaSender, 50);
+        when(kafkaSender.send(any())).thenReturn(Flux.never());
+
+        // When / Then
+        StepVerifier.create(ticketService.createTicket(ticketRequest))
+                .expectError(TimeoutException.class)
+                .verify();
+    }
+
+    @Test
+    public void testCreateTickets() {
+        // Given: acknowledgements arrive in reverse order, the second event fails
+        when(kafkaSender.send(any())).thenAnswer(invocation -> Flux.from(acknowledgeAll(invocation.getArgument(0), null))
+                .map(result -> result.correlationMetadata() instanceof TicketBatchResult batchResult
+                        && batchResult.getIndex() == 1
+                        ? senderResult(null, new RuntimeException("Broker unavailable"), batchResult)
+                        : result)
+                .collectList()
+                .flatMapMany(results -> {
+                    Collections.reverse(results);
+                    return Flux.fromIterable(results);
+                }));
+
+        // When / Then
+        StepVerifier.create(ticketService.createTickets(List.of(ticketRequest, ticketRequest, ticketRequest)))
+                .assertNext(results -> {
+                    assertEquals(3, results.size());
+                    assertEquals(0, results.get(0).getIndex());
+                    assertEquals(3, results.get(0).getPartition());
+                    assertEquals(42L, results.get(0).getOffset());
+                    assertNull(results.get(0).getError());
+                    assertEquals(1, results.get(1).getIndex());
+                    assertNull(results.get(1).getOffset());
+                    assertEquals("Broker unavailable", results.get(1).getError());
+                    assertEquals(2, results.get(2).getIndex());
+                    assertNotNull(results.get(2).getOffset());
+                })
+                .verifyComplete();
+
+        // All events went through one send pipeline, each keyed by its own ticket ID
+        assertEquals(3, sentRecords.size());
+        for (SenderRecord<String, TicketCreatedEvent, ?> record : sentRecords) {
+            assertEquals(record.value().getTicketId().toString(), record.key());
+        }
+    }
+
+    @Test
+    public void testCreateTickets_NullRequest() {
+        // Given: the broker acknowledges every event
+        when(kafkaSender.send(any())).thenAnswer(invocation -> acknowledgeAll(invocation.getArgument(0), null));
+
+        // When / Then: the null request gets an error result, the other requests are sent
+        StepVerifier.create(ticketService.createTickets(Arrays.asList(ticketRequest, null, ticketRequest)))
+                .assertNext(results -> {
+                    assertEquals(3, results.size());
+                    assertEquals(0, results.get(0).getIndex());
+                    assertEquals(42L, results.get(0).getOffset());
+                    assertEquals(1, results.get(1).getIndex());
+                    assertNull(results.get(1).getTicketId());
+                    assertEquals("Ticket request must not be null", results.get(1).getError());
+                    assertEquals(2, results.get(2).getIndex());
+                    assertNull(results.get(2).getError());
+                })
+                .verifyComplete();
+        assertEquals(2, sentRecords.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Flux<SenderResult<Object>> acknowledgeAll(Publisher<?> records, Exception exception) {
+        return Flux.from(records).map(r -> {
+            SenderRecord<String, TicketCreatedEvent, Object> record = (SenderRecord<String, TicketCreatedEvent, Object>) r;
+            sentRecords.add(record);
+            RecordMetadata metadata = exception == null
+                    ? new RecordMetadata(new TopicPartition(record.topic(), 3), 42L, 0, 0L, 0, 0)
+                    : null;
+            return senderResult(metadata, exception, record.correlationMetadata());
+        });
+    }
+
+    private static SenderResult<Object> senderResult(RecordMetadata metadata, Exception exception, Object correlation) {
+        return new SenderResult<>() {
+            @Override
+            public RecordMetadata recordMetadata() {
+                return metadata;
+            }
+
+            @Override
+            public Exception exception() {
+                return exception;
+            }
+
+            @Override
+            public Object correlationMetadata() {
+                return correlation;
+            }
+        };
+    }
+}
@@ -1,17 +1,28 @@
 package com.sporty.group.ticketapigatewayservice.service;
 
 import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
+import com.sporty.group.ticketapigatewayservice.dto.TicketAcknowledgement;
+import com.sporty.group.ticketapigatewayservice.dto.TicketBatchResult;
 import com.sporty.group.ticketapigatewayservice.dto.TicketRequest;
 import com.sporty.group.sportygroupticketingcommons.model.Ticket;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -20,10 +31,11 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 public class TicketServiceTest {
 
+    private static final long ACK_TIMEOUT_MS = 5000;
+
     @Mock
     private KafkaTemplate<String, TicketCreatedEvent> kafkaTemplate;
 
-    @InjectMocks
     private TicketService ticketService;
 
     @Captor
@@ -39,6 +51,7 @@ public class TicketServiceTest {
 
     @BeforeEach
     public void setup() {
+        ticketService = new TicketService(kafkaTemplate, ACK_TIMEOUT_MS);
         ticketRequest = TicketRequest.builder()
                 .userId("user-001")
                 .subject("Login problem")
@@ -47,13 +60,14 @@ public class TicketServiceTest {
     }
 
     @Test
-    public void testCreateTicket() {
-        // Mock the KafkaTemplate send method
+    public void testCreateTicket() throws Exception {
+        // Mock the KafkaTemplate send method to acknowledge the event
         when(kafkaTemplate.send(anyString(), anyString(), any(TicketCreatedEvent.class)))
-                .thenReturn(null); // Return value doesn't matter for this test
+                .thenAnswer(invocation -> acknowledged(invocation.getArgument(0), invocation.getArgument(2), 3, 42L));
 
         // Call the service method
-        Ticket result = ticketService.createTicket(ticketRequest);
+        TicketAcknowledgement ack = ticketService.createTicket(ticketRequest).get();
+        Ticket result = ack.getTicket();
 
         // Verify the ticket was created with the correct values
         assertNotNull(result);
@@ -66,15 +80,19 @@ public class TicketServiceTest {
         assertNotNull(result.getCreatedAt());
         assertNotNull(result.getUpdatedAt());
 
+        // Verify the broker position is reported
+        assertEquals(3, ack.getPartition());
+        assertEquals(42L, ack.getOffset());
+
         // Verify the Kafka message was sent
         verify(kafkaTemplate).send(topicCaptor.capture(), keyCaptor.capture(), eventCaptor.capture());
-        
+
         // Verify the topic
         assertEquals("support-tickets", topicCaptor.getValue());
-        
+
         // Verify the key is the ticket ID as a string
         assertEquals(result.getTicketId().toString(), keyCaptor.getValue());
-        
+
         // Verify the event data
         TicketCreatedEvent event = eventCaptor.getValue();
         assertEquals(result.getTicketId(), event.getTicketId());
@@ -93,14 +111,78 @@ public class TicketServiceTest {
         when(kafkaTemplate.send(anyString(), anyString(), any(TicketCreatedEvent.class)))
                 .thenThrow(new RuntimeException("Kafka error"));
 
-        // Call the service method - should not throw exception
-        Ticket result = ticketService.createTicket(ticketRequest);
+        // Call the service method - should not throw, but fail the returned future
+        CompletableFuture<TicketAcknowledgement> result = ticketService.createTicket(ticketRequest);
 
-        // Verify the ticket was still created correctly despite Kafka error
-        assertNotNull(result);
-        assertEquals("Login problem", result.getSubject());
-        assertEquals("Cannot reset my password", result.getDescription());
-        assertEquals(Ticket.TicketStatus.OPEN, result.getStatus());
-        assertEquals("user-001", result.getUserId());
+        ExecutionException ex = assertThrows(ExecutionException.class, result::get);
+        assertEquals("Kafka error", ex.getCause().getMessage());
+    }
+
+    @Test
+    public void testCreateTicket_SendFailure() {
+        // Mock the KafkaTemplate to fail asynchronously
+        when(kafkaTemplate.send(anyString(), anyString(), any(TicketCreatedEvent.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+
+        CompletableFuture<TicketAcknowledgement> result = ticketService.createTicket(ticketRequest);
+
+        ExecutionException ex = assertThrows(ExecutionException.class, result::get);
+        assertEquals("Broker unavailable", ex.getCause().getMessage());
+    }
+
+    @Test
+    public void testCreateTicket_AckTimeout() {
+        // The broker never acknowledges the event
+        ticketService = new TicketService(kafkaTemplate, 50);
+        when(kafkaTemplate.send(anyString(), anyString(), any(TicketCreatedEvent.class)))
+                .thenReturn(new CompletableFuture<>());
+
+        CompletableFuture<TicketAcknowledgement> result = ticketService.createTicket(ticketRequest);
+
+        ExecutionException ex = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(TimeoutException.class, ex.getCause());
+    }
+
+    @Test
+    public void testCreateTickets() throws Exception {
+        // The first ticket is acknowledged, the second one fails
+        when(kafkaTemplate.send(anyString(), anyString(), any(TicketCreatedEvent.class)))
+                .thenAnswer(invocation -> acknowledged(invocation.getArgument(0), invocation.getArgument(2), 1, 100L))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+
+        List<TicketRequest> requests = Arrays.asList(ticketRequest, ticketRequest, null);
+        List<TicketBatchResult> results = ticketService.createTickets(requests).get();
+
+        assertEquals(3, results.size());
+
+        TicketBatchResult first = results.get(0);
+        assertEquals(0, first.getIndex());
+        assertNotNull(first.getTicketId());
+        assertEquals(1, first.getPartition());
+        assertEquals(100L, first.getOffset());
+        assertNull(first.getError());
+
+        TicketBatchResult second = results.get(1);
+        assertEquals(1, second.getIndex());
+        assertNotNull(second.getTicketId());
+        assertNull(second.getOffset());
+        assertEquals("Broker unavailable", second.getError());
+
+        TicketBatchResult third = results.get(2);
+        assertEquals(2, third.getIndex());
+        assertNull(third.getTicketId());
+        assertNotNull(third.getError());
+
+        // Every valid request is handed to the producer, keyed by its own ticket ID
+        verify(kafkaTemplate, times(2)).send(eq("support-tickets"), keyCaptor.capture(), eventCaptor.capture());
+        assertEquals(first.getTicketId().toString(), keyCaptor.getAllValues().get(0));
+        assertEquals(second.getTicketId().toString(), keyCaptor.getAllValues().get(1));
+    }
+
+    private CompletableFuture<SendResult<String, TicketCreatedEvent>> acknowledged(
+            String topic, TicketCreatedEvent event, int partition, long offset) {
+        RecordMetadata metadata = new RecordMetadata(new TopicPartition(topic, partition), offset, 0, 0L, 0, 0);
+        return CompletableFuture.completedFuture(
+                new SendResult<>(new ProducerRecord<>(topic, event.getTicketId().toString(), event), metadata));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package com.sporty.group.ticketmanagementservice.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    public static final String TICKETS_CACHE = "tickets";
+
+    @Value("${ticket.cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${ticket.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    /**
+     * Cache manager for the in-process ticket cache.
+     * Entries are evicted once the cache holds more than the maximum number of tickets or when they are older than
+     * the TTL, which bounds memory. Statistics are recorded for the cache metrics. The tickets are read and written
+     * through {@code TicketCache}, which keeps the cache consistent with committed changes.
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats());
+        cacheManager.setCacheNames(List.of(TICKETS_CACHE));
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+}
@@ -1,26 +1,35 @@
 package com.sporty.group.ticketmanagementservice.config;
 
 
-import com.sporty.group.sportygroupticketingcommons.event.NewTicketEvent;
 import com.sporty.group.sportygroupticketingcommons.event.TicketAssignedEvent;
 import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
 import com.sporty.group.sportygroupticketingcommons.event.TicketStatusUpdatedEvent;
+import com.sporty.group.sportygroupticketingcommons.outbox.OutboxConfiguration;
+import com.sporty.group.sportygroupticketingcommons.serialization.TicketAssignedEventDeserializer;
+import com.sporty.group.sportygroupticketingcommons.serialization.TicketCreatedEventDeserializer;
+import com.sporty.group.sportygroupticketingcommons.serialization.TicketStatusUpdatedEventDeserializer;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.transaction.KafkaTransactionManager;
 
 import java.util.HashMap;
 import java.util.Map;
 
+// Outbound events go through the transactional outbox shared with the other services
 @Configuration
+@Import(OutboxConfiguration.class)
 public class KafkaConfig {
 
     @Value("${spring.kafka.bootstrap-servers}")
@@ -29,15 +38,87 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${spring.kafka.consumer.auto-offset-reset:earliest}")
+    private String autoOffsetReset;
+
+    @Value("${kafka.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
+    @Value("${kafka.consumer.fetch-min-bytes:1}")
+    private int fetchMinBytes;
+
+    @Value("${kafka.consumer.fetch-max-wait-ms:500}")
+    private int fetchMaxWaitMs;
+
+    @Value("${kafka.consumer.concurrency:3}")
+    private int concurrency;
+
+    @Value("${kafka.topic.partitions:6}")
+    private int topicPartitions;
+
+    @Value("${kafka.topic.support-tickets}")
+    private String supportTicketsTopic;
+
+    @Value("${kafka.topic.ticket-assignments}")
+    private String ticketAssignmentsTopic;
+
+    @Value("${kafka.topic.ticket-updates}")
+    private String ticketUpdatesTopic;
+
+    @Value("${kafka.topic.ticket-created}")
+    private String ticketCreatedTopic;
+
+    @Value("${kafka.transactions.enabled:false}")
+    private boolean transactionsEnabled;
+
+    @Value("${kafka.transactions.id-prefix:ticket-management-service-${random.uuid}-}")
+    private String transactionIdPrefix;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    // Topics
+    // All events are keyed by ticket ID, so the events of a ticket share a partition and are consumed in order,
+    // while the events of different tickets are spread over the partitions and consumed in parallel.
+    // Topics that already exist with fewer partitions are expanded on startup.
+    @Bean
+    public KafkaAdmin.NewTopics ticketTopics() {
+        return new KafkaAdmin.NewTopics(
+                newTopic(supportTicketsTopic),
+                newTopic(ticketAssignmentsTopic),
+                newTopic(ticketUpdatesTopic),
+                newTopic(ticketCreatedTopic)
+        );
+    }
+
+    private NewTopic newTopic(String name) {
+        return TopicBuilder.name(name)
+                .partitions(topicPartitions)
+                .replicas(1)
+                .build();
+    }
+
     // Consumer configuration
+    // Values are read with the binary event deserializers of each consumer factory, which also accept JSON payloads.
+    // A poll returns up to max-poll-records records; the broker holds a fetch until fetch-min-bytes are available
+    // or fetch-max-wait-ms have passed, which bounds the latency added by waiting for fuller batches.
+    // A consumer group without committed offsets starts at the earliest record, so events published before its
+    // first partition assignment are not skipped.
+    // In Kafka transactions mode the consumers only read committed records, so events of aborted transactions are
+    // never processed.
     @Bean
     public Map<String, Object> consumerConfigs() {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
-        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, fetchMinBytes);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, fetchMaxWaitMs);
+        if (transactionsEnabled) {
+            props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        }
         return props;
     }
 
@@ -46,14 +127,23 @@ public class KafkaConfig {
         return new DefaultKafkaConsumerFactory<>(
                 consumerConfigs(),
                 new StringDeserializer(),
-                new JsonDeserializer<>(TicketCreatedEvent.class, false)
+                new TicketCreatedEventDeserializer()
         );
     }
 
+    /**
+     * In Kafka transactions mode each batch runs in a Kafka transaction started by the container: the NewTicketEvents
+     * produced by the listener and the offsets of the batch are committed together, or both are aborted and the batch
+     * is redelivered.
+     */
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, TicketCreatedEvent> ticketCreatedKafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, TicketCreatedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(ticketCreatedConsumerFactory());
+        ConcurrentKafkaListenerContainerFactory<String, TicketCreatedEvent> factory =
+                listenerContainerFactory(ticketCreatedConsumerFactory(), "ticket-created-listener-");
+        if (transactionsEnabled) {
+            // Not a bean, so it does not replace the JPA transaction manager used by @Transactional
+            factory.getContainerProperties().setTransactionManager(new KafkaTransactionManager<>(ticketEventProducerFactory()));
+        }
         return factory;
     }
 
@@ -62,15 +152,13 @@ public class KafkaConfig {
         return new DefaultKafkaConsumerFactory<>(
                 consumerConfigs(),
                 new StringDeserializer(),
-                new JsonDeserializer<>(TicketAssignedEvent.class, false)
+                new TicketAssignedEventDeserializer()
         );
     }
 
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, TicketAssignedEvent> ticketAssignedKafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, TicketAssignedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(ticketAssignedConsumerFactory());
-        return factory;
+        return listenerContainerFactory(ticketAssignedConsumerFactory(), "ticket-assigned-listener-");
     }
 
     @Bean
@@ -78,34 +166,60 @@ public class KafkaConfig {
         return new DefaultKafkaConsumerFactory<>(
                 consumerConfigs(),
                 new StringDeserializer(),
-                new JsonDeserializer<>(TicketStatusUpdatedEvent.class, false)
+                new TicketStatusUpdatedEventDeserializer()
         );
     }
 
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, TicketStatusUpdatedEvent> ticketStatusUpdatedKafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, TicketStatusUpdatedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(ticketStatusUpdatedConsumerFactory());
+        return listenerContainerFactory(ticketStatusUpdatedConsumerFactory(), "ticket-updates-listener-");
+    }
+
+    /**
+     * Create a batch listener container factory for the given consumer factory.
+     * Each container runs {@code kafka.consumer.concurrency} consumers, which share the partitions of its topic.
+     * When virtual threads are enabled, the consumer threads of its containers are virtual threads,
+     * so listeners blocking on JPA or broker I/O do not tie up platform threads.
+     */
+    private <V> ConcurrentKafkaListenerContainerFactory<String, V> listenerContainerFactory(
+            ConsumerFactory<String, V> consumerFactory, String threadNamePrefix) {
+        ConcurrentKafkaListenerContainerFactory<String, V> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        if (virtualThreadsEnabled) {
+            SimpleAsyncTaskExecutor listenerTaskExecutor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+            listenerTaskExecutor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(listenerTaskExecutor);
+        }
         return factory;
     }
 
     // Producer configuration
+    // Events are serialized when they are written to the outbox, so the outbox relay sends the stored bytes as they are.
+    // In Kafka transactions mode the producers are transactional; the outbox relay still sends outside of transactions.
     @Bean
     public Map<String, Object> producerConfigs() {
         Map<String, Object> props = new HashMap<>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
         return props;
     }
 
     @Bean
-    public ProducerFactory<String, NewTicketEvent> newTicketProducerFactory() {
-        return new DefaultKafkaProducerFactory<>(producerConfigs());
+    public ProducerFactory<String, byte[]> ticketEventProducerFactory() {
+        DefaultKafkaProducerFactory<String, byte[]> producerFactory = new DefaultKafkaProducerFactory<>(producerConfigs());
+        if (transactionsEnabled) {
+            producerFactory.setTransactionIdPrefix(transactionIdPrefix);
+        }
+        return producerFactory;
     }
 
     @Bean
-    public KafkaTemplate<String, NewTicketEvent> newTicketKafkaTemplate() {
-        return new KafkaTemplate<>(newTicketProducerFactory());
+    public KafkaTemplate<String, byte[]> ticketEventKafkaTemplate() {
+        KafkaTemplate<String, byte[]> kafkaTemplate = new KafkaTemplate<>(ticketEventProducerFactory());
+        kafkaTemplate.setAllowNonTransactional(true);
+        return kafkaTemplate;
     }
 }
\ No newline at end of file
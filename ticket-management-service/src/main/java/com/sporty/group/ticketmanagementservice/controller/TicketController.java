@@ -1,9 +1,9 @@
 package com.sporty.group.ticketmanagementservice.controller;
 
 import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
-import com.sporty.group.sportygroupticketingcommons.event.TicketStatusUpdatedEvent;
+import com.sporty.group.sportygroupticketingcommons.pagination.TicketPage;
 import com.sporty.group.ticketmanagementservice.model.Ticket;
-import com.sporty.group.ticketmanagementservice.repository.TicketRepository;
+import com.sporty.group.ticketmanagementservice.service.TicketQueryService;
 import com.sporty.group.ticketmanagementservice.service.TicketService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -19,7 +19,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * REST controller for ticket management operations.
@@ -31,7 +30,7 @@ import java.util.stream.Collectors;
 public class TicketController {
 
     private final TicketService ticketService;
-    private final TicketRepository ticketRepository;
+    private final TicketQueryService ticketQueryService;
 
     /**
      * Create a new ticket.
@@ -73,7 +72,7 @@ public class TicketController {
             @Parameter(description = "ID of the ticket to retrieve", required = true)
             @PathVariable UUID ticketId) {
 
-        return ticketRepository.findById(ticketId)
+        return ticketQueryService.getTicket(ticketId)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -86,47 +85,58 @@ public class TicketController {
      * @return a success message if the update was successful
      */
     @PutMapping("/{ticketId}/status")
-    @Operation(summary = "Update ticket status", description = "Updates the status of an existing ticket")
+    @Operation(summary = "Update ticket status", description = "Updates the status of an existing ticket. A ticket only moves forward through OPEN, IN_PROGRESS, RESOLVED and CLOSED; setting its current status again succeeds without a change")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Status updated successfully",
+            @ApiResponse(responseCode = "200", description = "Status updated successfully, or the ticket already has the status",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Map.class))),
-            @ApiResponse(responseCode = "404", description = "Ticket not found")
+            @ApiResponse(responseCode = "400", description = "Invalid status"),
+            @ApiResponse(responseCode = "404", description = "Ticket not found"),
+            @ApiResponse(responseCode = "409", description = "The ticket cannot move from its current status to the new one")
     })
     public ResponseEntity<Map<String, String>> updateTicketStatus(
             @Parameter(description = "ID of the ticket to update", required = true)
-            @PathVariable String ticketId,
+            @PathVariable UUID ticketId,
             @Parameter(description = "Status update request", required = true)
             @RequestBody Map<String, String> statusRequest) {
 
-        if (!ticketRepository.existsById(UUID.fromString(ticketId))) {
-            return ResponseEntity.notFound().build();
-        }
-
-        TicketStatusUpdatedEvent event = new TicketStatusUpdatedEvent();
-        event.setTicketId(ticketId);
-        event.setStatus(statusRequest.get("status"));
-
-        ticketService.processTicketStatusUpdated(event);
-
-        return ResponseEntity.ok(Map.of("message", "Ticket status updated successfully"));
+        return switch (ticketService.updateTicketStatus(ticketId, statusRequest.get("status"))) {
+            case UPDATED -> ResponseEntity.ok(Map.of("message", "Ticket status updated successfully"));
+            case UNCHANGED -> ResponseEntity.ok(Map.of("message", "Ticket already has status " + statusRequest.get("status")));
+            case INVALID_STATUS -> ResponseEntity.badRequest().body(Map.of("message", "Invalid status"));
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+            case NOT_ALLOWED -> ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", "Ticket cannot move to status " + statusRequest.get("status")));
+        };
     }
 
     /**
-     * Get all tickets.
+     * Get a page of tickets, ordered by creation time and ticket ID.
      *
-     * @return a list of all tickets
+     * @param status     optional status filter
+     * @param userId     optional user filter
+     * @param assigneeId optional assignee filter
+     * @param cursor     the next cursor of the previous page, or null for the first page
+     * @param limit      the maximum number of tickets on the page
+     * @return the page of tickets and the cursor of the next page
      */
     @GetMapping
-    @Operation(summary = "Get all tickets", description = "Retrieves a list of all tickets in the system")
-    @ApiResponse(responseCode = "200", description = "List of tickets retrieved successfully",
-            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Ticket.class)))
-    public ResponseEntity<Map<String, Ticket>> getAllTickets() {
-        Map<String, Ticket> tickets = ticketRepository.findAll().stream()
-                .collect(Collectors.toMap(
-                    ticket -> ticket.getTicketId().toString(), 
-                    ticket -> ticket
-                ));
-
-        return ResponseEntity.ok(tickets);
+    @Operation(summary = "Get tickets", description = "Retrieves a page of tickets ordered by creation time, optionally filtered by status, user and assignee")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of tickets retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TicketPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or filter")
+    })
+    public ResponseEntity<TicketPage<Ticket>> getAllTickets(
+            @Parameter(description = "Only tickets with this status") @RequestParam(required = false) Ticket.TicketStatus status,
+            @Parameter(description = "Only tickets of this user") @RequestParam(required = false) String userId,
+            @Parameter(description = "Only tickets assigned to this agent") @RequestParam(required = false) String assigneeId,
+            @Parameter(description = "Next cursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of tickets (1-" + TicketQueryService.MAX_PAGE_SIZE + ")") @RequestParam(defaultValue = "50") int limit) {
+
+        try {
+            return ResponseEntity.ok(ticketQueryService.getTickets(status, userId, assigneeId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 }
@@ -4,63 +4,90 @@ import com.sporty.group.sportygroupticketingcommons.event.TicketAssignedEvent;
 import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
 import com.sporty.group.sportygroupticketingcommons.event.TicketStatusUpdatedEvent;
 import com.sporty.group.ticketmanagementservice.service.TicketService;
-import lombok.RequiredArgsConstructor;
+import com.sporty.group.ticketmanagementservice.service.TicketUpdateRetry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * Kafka listener for processing ticket-related events.
+ * The listeners are batch listeners: each call receives the records of one poll, which are processed together.
+ * The records of a poll are split by ticket ID over the stripes of the {@link TicketEventDispatcher}, so different
+ * tickets are processed in parallel while the events of each ticket keep their order.
+ * <p>
+ * In Kafka transactions mode the TicketCreatedEvents of a poll are processed on the listener thread instead, because
+ * the NewTicketEvents must be sent in the Kafka transaction the container has bound to that thread.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class KafkaEventListener {
 
     private final TicketService ticketService;
+    private final TicketEventDispatcher dispatcher;
+    private final TicketUpdateRetry ticketUpdateRetry;
+    private final boolean kafkaTransactions;
+
+    public KafkaEventListener(TicketService ticketService,
+                              TicketEventDispatcher dispatcher,
+                              TicketUpdateRetry ticketUpdateRetry,
+                              @Value("${kafka.transactions.enabled:false}") boolean kafkaTransactions) {
+        this.ticketService = ticketService;
+        this.dispatcher = dispatcher;
+        this.ticketUpdateRetry = ticketUpdateRetry;
+        this.kafkaTransactions = kafkaTransactions;
+    }
 
     /**
-     * Listen for TicketCreatedEvent on the support-tickets topic.
+     * Listen for TicketCreatedEvents on the support-tickets topic.
      *
-     * @param event the TicketCreatedEvent to process
+     * @param events the TicketCreatedEvents of one poll
      */
     @KafkaListener(
             topics = "${kafka.topic.support-tickets}",
             groupId = "${spring.kafka.consumer.group-id}",
             containerFactory = "ticketCreatedKafkaListenerContainerFactory"
     )
-    public void listenTicketCreated(TicketCreatedEvent event) {
-        log.info("Received TicketCreatedEvent: {}", event);
-        ticketService.processTicketCreated(event);
+    public void listenTicketCreated(List<TicketCreatedEvent> events) {
+        log.info("Received {} TicketCreatedEvent(s)", events.size());
+        if (kafkaTransactions) {
+            ticketService.processTicketsCreated(events);
+            return;
+        }
+        dispatcher.dispatch(events, TicketCreatedEvent::getTicketId, ticketService::processTicketsCreated);
     }
 
     /**
-     * Listen for TicketAssignedEvent on the ticket-assignments topic.
+     * Listen for TicketAssignedEvents on the ticket-assignments topic.
+     * A stripe whose tickets were changed concurrently, e.g. by a status update, is processed again.
      *
-     * @param event the TicketAssignedEvent to process
+     * @param events the TicketAssignedEvents of one poll
      */
     @KafkaListener(
             topics = "${kafka.topic.ticket-assignments}",
             groupId = "${spring.kafka.consumer.group-id}",
             containerFactory = "ticketAssignedKafkaListenerContainerFactory"
     )
-    public void listenTicketAssigned(TicketAssignedEvent event) {
-        log.info("Received TicketAssignedEvent: {}", event);
-        ticketService.processTicketAssigned(event);
+    public void listenTicketAssigned(List<TicketAssignedEvent> events) {
+        log.info("Received {} TicketAssignedEvent(s)", events.size());
+        dispatcher.dispatch(events, TicketAssignedEvent::getTicketId,
+                stripeEvents -> ticketUpdateRetry.run(() -> ticketService.processTicketsAssigned(stripeEvents)));
     }
 
     /**
-     * Listen for TicketStatusUpdatedEvent on the ticket-updates topic.
+     * Listen for TicketStatusUpdatedEvents on the ticket-updates topic.
      *
-     * @param event the TicketStatusUpdatedEvent to process
+     * @param events the TicketStatusUpdatedEvents of one poll
      */
     @KafkaListener(
             topics = "${kafka.topic.ticket-updates}",
             groupId = "${spring.kafka.consumer.group-id}",
             containerFactory = "ticketStatusUpdatedKafkaListenerContainerFactory"
     )
-    public void listenTicketStatusUpdated(TicketStatusUpdatedEvent event) {
-        log.info("Received TicketStatusUpdatedEvent: {}", event);
-        ticketService.processTicketStatusUpdated(event);
+    public void listenTicketStatusUpdated(List<TicketStatusUpdatedEvent> events) {
+        log.info("Received {} TicketStatusUpdatedEvent(s)", events.size());
+        dispatcher.dispatch(events, TicketStatusUpdatedEvent::getTicketId, ticketService::processTicketsStatusUpdated);
     }
 }
\ No newline at end of file
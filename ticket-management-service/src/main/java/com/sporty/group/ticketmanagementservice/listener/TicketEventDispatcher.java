@@ -0,0 +1,148 @@
+package com.sporty.group.ticketmanagementservice.listener;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Processes the events of a listener batch in parallel while keeping the events of each ticket in order.
+ * <p>
+ * The events are split into {@code kafka.listener.stripes} stripes by the hash of their ticket ID. Each stripe is
+ * handed, in record order, to its own single-threaded executor, so events of the same ticket are processed one
+ * after another while different tickets are processed concurrently. The listener thread waits until all stripes
+ * are done before the container commits the offsets of the batch.
+ */
+@Component
+@Slf4j
+public class TicketEventDispatcher implements DisposableBean {
+
+    private final ExecutorService[] stripes;
+
+    public TicketEventDispatcher(@Value("${kafka.listener.stripes:4}") int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("Stripe count must be positive: " + stripeCount);
+        }
+        this.stripes = new ExecutorService[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("ticket-stripe-" + i + "-"));
+        }
+    }
+
+    /**
+     * Process the events of a batch in stripes keyed by ticket ID.
+     * If processing fails for a stripe, its events are processed again one by one, in record order, until one of them
+     * fails, so the events before the failing event are kept and the failing event is known. The remaining stripes
+     * still complete, and a {@link BatchListenerFailedException} is thrown for the earliest failing event. The
+     * container then commits the offsets of the events before it and redelivers the batch from there, so the
+     * committed offset never passes an event that was not processed, and a record skipped once its retries are
+     * exhausted is the failing event itself. Events after it are redelivered even if their stripe completed, so the
+     * handler must be idempotent.
+     *
+     * @param events   the events of one poll, in record order
+     * @param ticketId the ticket ID of an event, or null if the event has none
+     * @param handler  processes the events of one stripe, in record order
+     * @param <T>      the event type
+     */
+    public <T> void dispatch(List<T> events, Function<T, ?> ticketId, Consumer<List<T>> handler) {
+        List<List<Integer>> stripeIndexes = new ArrayList<>(stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            stripeIndexes.add(new ArrayList<>());
+        }
+        for (int index = 0; index < events.size(); index++) {
+            Object key = ticketId.apply(events.get(index));
+            int stripe = key != null ? Math.floorMod(Objects.hashCode(key), stripes.length) : index % stripes.length;
+            stripeIndexes.get(stripe).add(index);
+        }
+
+        long busyStripes = stripeIndexes.stream().filter(indexes -> !indexes.isEmpty()).count();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(stripes.length);
+        for (int stripe = 0; stripe < stripes.length; stripe++) {
+            List<Integer> indexes = stripeIndexes.get(stripe);
+            // A batch that falls into a single stripe is processed on the listener thread without a hand-off
+            Executor executor = busyStripes > 1 ? stripes[stripe] : Runnable::run;
+            futures.add(indexes.isEmpty()
+                    ? CompletableFuture.completedFuture(null)
+                    : CompletableFuture.runAsync(() -> processStripe(events, indexes, handler), executor));
+        }
+
+        int failedIndex = -1;
+        Throwable failure = null;
+        for (int stripe = 0; stripe < stripes.length; stripe++) {
+            try {
+                futures.get(stripe).join();
+            } catch (CompletionException ex) {
+                // Errors other than exceptions are not retried one by one, and fail the stripe at its first event
+                int index = ex.getCause() instanceof EventFailedException eventFailure
+                        ? eventFailure.index
+                        : stripeIndexes.get(stripe).get(0);
+                Throwable cause = ex.getCause() instanceof EventFailedException ? ex.getCause().getCause() : ex.getCause();
+                log.error("Failed to process event at index {} of stripe {}", index, stripe, cause);
+                if (failure == null || index < failedIndex) {
+                    failedIndex = index;
+                    failure = cause;
+                }
+            }
+        }
+        if (failure != null) {
+            throw new BatchListenerFailedException("Failed to process event at index " + failedIndex, failure, failedIndex);
+        }
+    }
+
+    /**
+     * Process the events of a stripe together, or one by one if that fails.
+     *
+     * @throws EventFailedException with the index of the first event that fails on its own
+     */
+    private static <T> void processStripe(List<T> events, List<Integer> indexes, Consumer<List<T>> handler) {
+        try {
+            handler.accept(indexes.stream().map(events::get).toList());
+            return;
+        } catch (RuntimeException ex) {
+            if (indexes.size() == 1) {
+                throw new EventFailedException(indexes.get(0), ex);
+            }
+            log.warn("Failed to process {} event(s) of a stripe together, processing them one by one", indexes.size(), ex);
+        }
+        for (int index : indexes) {
+            try {
+                handler.accept(List.of(events.get(index)));
+            } catch (RuntimeException ex) {
+                throw new EventFailedException(index, ex);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdown();
+        }
+    }
+
+    /**
+     * The failure of the event at an index of the batch.
+     */
+    private static final class EventFailedException extends RuntimeException {
+
+        private final int index;
+
+        EventFailedException(int index, Throwable cause) {
+            super(cause);
+            this.index = index;
+        }
+    }
+}
@@ -1,28 +1,51 @@
 package com.sporty.group.ticketmanagementservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
  * Represents a support ticket in the system.
+ * Ticket IDs are assigned by the application, so the entity tracks whether it is new itself: saving a new ticket
+ * inserts it right away instead of first selecting it to decide between insert and update.
+ * <p>
+ * Tickets are versioned for optimistic locking: an update of a loaded ticket only applies if no other transaction
+ * has changed the ticket since it was loaded, and writes only the changed columns. Concurrent listeners and requests
+ * therefore never silently overwrite each other's changes; the losing update fails and is retried (see
+ * {@code TicketUpdateRetry}).
+ * <p>
+ * The indexes back the ticket listing, which is ordered by creation time and ticket ID and optionally filtered by
+ * status, user or assignee.
  */
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets", indexes = {
+        @Index(name = "idx_tickets_created_at", columnList = "created_at, ticket_id"),
+        @Index(name = "idx_tickets_status_created_at", columnList = "status, created_at, ticket_id"),
+        @Index(name = "idx_tickets_user_created_at", columnList = "user_id, created_at, ticket_id"),
+        @Index(name = "idx_tickets_assignee_created_at", columnList = "assignee_id, created_at, ticket_id")
+})
+@DynamicUpdate
 @Data
-@Builder
 @NoArgsConstructor
-@AllArgsConstructor
-public class Ticket {
+public class Ticket implements Persistable<UUID> {
     @Id
     private UUID ticketId;
     private String subject;
@@ -33,6 +56,44 @@ public class Ticket {
     private String assigneeId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    @Version
+    private Long version;
+
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean isNew = true;
+
+    @Builder
+    public Ticket(UUID ticketId, String subject, String description, TicketStatus status, String userId,
+                  String assigneeId, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.ticketId = ticketId;
+        this.subject = subject;
+        this.description = description;
+        this.status = status;
+        this.userId = userId;
+        this.assigneeId = assigneeId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    @JsonIgnore
+    public UUID getId() {
+        return ticketId;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
 
     /**
      * Enum representing the possible statuses of a ticket.
@@ -2,13 +2,56 @@ package com.sporty.group.ticketmanagementservice.repository;
 
 import com.sporty.group.ticketmanagementservice.model.Ticket;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * JPA repository for storing and retrieving tickets.
  */
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, UUID> {
+public interface TicketRepository extends JpaRepository<Ticket, UUID>, JpaSpecificationExecutor<Ticket> {
+
+    /**
+     * Find which of the given ticket IDs belong to stored tickets, without loading the tickets.
+     *
+     * @param ticketIds the ticket IDs to look up
+     * @return the IDs of the stored tickets
+     */
+    @Query("SELECT t.ticketId FROM Ticket t WHERE t.ticketId IN :ticketIds")
+    List<UUID> findExistingTicketIds(@Param("ticketIds") Collection<UUID> ticketIds);
+
+    /**
+     * Find the status of a ticket, without loading the ticket.
+     *
+     * @param ticketId the ticket ID
+     * @return the status, or empty if the ticket does not exist
+     */
+    @Query("SELECT t.status FROM Ticket t WHERE t.ticketId = :ticketId")
+    Optional<Ticket.TicketStatus> findStatusById(@Param("ticketId") UUID ticketId);
+
+    /**
+     * Set the status of tickets with a single statement and without loading them, but only for the tickets whose
+     * current status is one of the given ones. Like a compare-and-set, of two concurrent updates from the same status
+     * only one applies. The version of the updated tickets is incremented, so concurrent updates of loaded tickets
+     * fail instead of overwriting the status.
+     *
+     * @param sources the statuses the tickets may currently have
+     * @return the number of updated tickets, without the tickets that do not exist or have another status
+     */
+    @Modifying
+    @Query("UPDATE Ticket t SET t.status = :status, t.updatedAt = :updatedAt, t.version = t.version + 1 "
+            + "WHERE t.ticketId IN :ticketIds AND t.status IN :sources")
+    int updateStatusIfIn(@Param("ticketIds") Collection<UUID> ticketIds,
+                         @Param("status") Ticket.TicketStatus status,
+                         @Param("sources") Collection<Ticket.TicketStatus> sources,
+                         @Param("updatedAt") LocalDateTime updatedAt);
 }
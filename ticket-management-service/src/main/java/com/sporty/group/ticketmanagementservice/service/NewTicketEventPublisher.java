@@ -0,0 +1,87 @@
+package com.sporty.group.ticketmanagementservice.service;
+
+import com.sporty.group.sportygroupticketingcommons.event.NewTicketEvent;
+import com.sporty.group.sportygroupticketingcommons.outbox.OutboxEvent;
+import com.sporty.group.sportygroupticketingcommons.outbox.OutboxEventRepository;
+import com.sporty.group.sportygroupticketingcommons.outbox.OutboxRelay;
+import com.sporty.group.sportygroupticketingcommons.serialization.NewTicketEventSerializer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publishes NewTicketEvents to the ticket-created topic.
+ * <p>
+ * By default the events are written to the transactional outbox, in the database transaction that creates the
+ * tickets, and sent by the {@link OutboxRelay}. When {@code kafka.transactions.enabled} is set, the events are sent
+ * directly in the Kafka transaction of the listener that consumed the TicketCreatedEvents. That transaction also
+ * commits the consumed offsets, so the events become visible to read_committed consumers if and only if the offsets
+ * are committed.
+ */
+@Component
+@Slf4j
+public class NewTicketEventPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final NewTicketEventSerializer newTicketEventSerializer = new NewTicketEventSerializer();
+    private final boolean kafkaTransactions;
+    private final String ticketCreatedTopic;
+
+    public NewTicketEventPublisher(OutboxEventRepository outboxEventRepository,
+                                   KafkaTemplate<String, byte[]> kafkaTemplate,
+                                   @Value("${kafka.transactions.enabled:false}") boolean kafkaTransactions,
+                                   @Value("${kafka.topic.ticket-created}") String ticketCreatedTopic) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.kafkaTransactions = kafkaTransactions;
+        this.ticketCreatedTopic = ticketCreatedTopic;
+    }
+
+    /**
+     * Whether the events are sent in the Kafka transaction of the consuming listener rather than through the outbox.
+     */
+    public boolean isKafkaTransactional() {
+        return kafkaTransactions;
+    }
+
+    /**
+     * Publish the given events, keyed by ticket ID.
+     *
+     * @param events the NewTicketEvents to publish
+     */
+    public void publish(List<NewTicketEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (kafkaTransactions) {
+            for (NewTicketEvent event : events) {
+                kafkaTemplate.send(ticketCreatedTopic, event.getTicketId(), serialize(event));
+                log.info("NewTicketEvent sent in Kafka transaction: {}", event);
+            }
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> outboxEvents = new ArrayList<>(events.size());
+        for (NewTicketEvent event : events) {
+            outboxEvents.add(OutboxEvent.builder()
+                    .topic(ticketCreatedTopic)
+                    .eventKey(event.getTicketId())
+                    .payload(serialize(event))
+                    .createdAt(now)
+                    .build());
+            log.info("NewTicketEvent written to outbox: {}", event);
+        }
+        outboxEventRepository.saveAll(outboxEvents);
+    }
+
+    private byte[] serialize(NewTicketEvent event) {
+        return newTicketEventSerializer.serialize(ticketCreatedTopic, event);
+    }
+}
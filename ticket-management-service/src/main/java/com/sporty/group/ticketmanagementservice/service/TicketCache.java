@@ -0,0 +1,161 @@
+package com.sporty.group.ticketmanagementservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.sporty.group.ticketmanagementservice.config.CacheConfig;
+import com.sporty.group.ticketmanagementservice.model.Ticket;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The in-process cache of single tickets.
+ * <p>
+ * The cache holds immutable snapshots of tickets, never the JPA entities themselves, and every read returns a new
+ * {@link Ticket}, so callers cannot change a cached ticket. A put only applies if it is not older than the cached
+ * ticket, by the ticket's {@code version}. A ticket changed by a conditional update, whose new version is not known,
+ * is invalidated once the transaction has committed instead: its entry is replaced by an invalidation marker, which
+ * rejects the puts of tickets that were read before the invalidation. A reader that loaded a ticket just before a
+ * change committed therefore cannot put its stale copy back after the change.
+ * <p>
+ * Puts and invalidations take a stamp when they are requested, before the ticket is read or the transaction
+ * commits, and apply once the transaction has committed.
+ */
+@Component
+public class TicketCache {
+
+    private final Cache<Object, Object> entries;
+
+    // Stamps order the invalidations against the reads and writes of tickets
+    private final AtomicLong stamps = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public TicketCache(CacheManager cacheManager) {
+        this.entries = (Cache<Object, Object>) cacheManager.getCache(CacheConfig.TICKETS_CACHE).getNativeCache();
+    }
+
+    /**
+     * Get a cached ticket.
+     *
+     * @param ticketId the ticket ID
+     * @return a copy of the cached ticket, or empty if the ticket is not cached or was invalidated
+     */
+    public Optional<Ticket> get(UUID ticketId) {
+        return entries.getIfPresent(ticketId) instanceof Snapshot snapshot
+                ? Optional.of(snapshot.toTicket())
+                : Optional.empty();
+    }
+
+    /**
+     * Take a stamp before reading a ticket from the database, for {@link #put(Ticket, long)}.
+     */
+    public long stamp() {
+        return stamps.get();
+    }
+
+    /**
+     * Cache a ticket read from the database, unless a newer version is cached or the ticket was invalidated since
+     * the stamp was taken.
+     *
+     * @param ticket the ticket
+     * @param stamp  the stamp taken before the ticket was read
+     */
+    public void put(Ticket ticket, long stamp) {
+        Snapshot snapshot = Snapshot.of(ticket);
+        entries.asMap().compute(ticket.getTicketId(), (ticketId, current) -> {
+            if (current instanceof Invalidation invalidation && invalidation.stamp() > stamp) {
+                return current;
+            }
+            if (current instanceof Snapshot cached && cached.version() > snapshot.version()) {
+                return current;
+            }
+            return snapshot;
+        });
+    }
+
+    /**
+     * Cache tickets changed by the current transaction once it has committed, with their new versions.
+     *
+     * @param tickets the changed tickets
+     */
+    public void putAfterCommit(Collection<Ticket> tickets) {
+        long stamp = stamp();
+        List<Ticket> changedTickets = List.copyOf(tickets);
+        afterCommit(() -> changedTickets.forEach(ticket -> put(ticket, stamp)));
+    }
+
+    /**
+     * Invalidate tickets changed by the current transaction once it has committed.
+     *
+     * @param ticketIds the IDs of the changed tickets
+     */
+    public void invalidateAfterCommit(Collection<UUID> ticketIds) {
+        List<UUID> changedTicketIds = List.copyOf(ticketIds);
+        afterCommit(() -> {
+            Invalidation invalidation = new Invalidation(stamps.incrementAndGet());
+            changedTicketIds.forEach(ticketId -> entries.put(ticketId, invalidation));
+        });
+    }
+
+    /**
+     * Remove all tickets.
+     */
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Marks a ticket as changed at a stamp, so tickets read before it are not cached.
+     */
+    private record Invalidation(long stamp) {
+    }
+
+    /**
+     * An immutable copy of a ticket.
+     */
+    private record Snapshot(UUID ticketId, String subject, String description, Ticket.TicketStatus status,
+                            String userId, String assigneeId, LocalDateTime createdAt, LocalDateTime updatedAt,
+                            long version) {
+
+        static Snapshot of(Ticket ticket) {
+            return new Snapshot(ticket.getTicketId(), ticket.getSubject(), ticket.getDescription(), ticket.getStatus(),
+                    ticket.getUserId(), ticket.getAssigneeId(), ticket.getCreatedAt(), ticket.getUpdatedAt(),
+                    ticket.getVersion() != null ? ticket.getVersion() : Long.MIN_VALUE);
+        }
+
+        Ticket toTicket() {
+            Ticket ticket = Ticket.builder()
+                    .ticketId(ticketId)
+                    .subject(subject)
+                    .description(description)
+                    .status(status)
+                    .userId(userId)
+                    .assigneeId(assigneeId)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .build();
+            ticket.setVersion(version != Long.MIN_VALUE ? version : null);
+            return ticket;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.sporty.group.ticketmanagementservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Remembers the IDs of the most recently created tickets.
+ * Redeliveries of a ticket created event within the window are recognised without a database lookup.
+ * Once the window is full, the least recently seen ID is evicted, which bounds the memory to
+ * {@code ticket.dedupe.window-size} IDs.
+ */
+@Component
+public class TicketDedupeWindow {
+
+    private final Map<UUID, Boolean> recentTicketIds;
+
+    public TicketDedupeWindow(@Value("${ticket.dedupe.window-size:10000}") int windowSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Dedupe window size must be positive: " + windowSize);
+        }
+        this.recentTicketIds = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+                return size() > windowSize;
+            }
+        };
+    }
+
+    /**
+     * Check whether a ticket ID is in the window.
+     *
+     * @param ticketId the ticket ID
+     * @return true if the ticket was recently created
+     */
+    public synchronized boolean contains(UUID ticketId) {
+        return recentTicketIds.get(ticketId) != null;
+    }
+
+    /**
+     * Add a ticket ID to the window, evicting the least recently seen ID if the window is full.
+     *
+     * @param ticketId the ticket ID
+     */
+    public synchronized void record(UUID ticketId) {
+        recentTicketIds.put(ticketId, Boolean.TRUE);
+    }
+
+    /**
+     * @return the number of ticket IDs in the window
+     */
+    public synchronized int size() {
+        return recentTicketIds.size();
+    }
+}
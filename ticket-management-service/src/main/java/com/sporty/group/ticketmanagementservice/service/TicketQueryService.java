@@ -0,0 +1,108 @@
+package com.sporty.group.ticketmanagementservice.service;
+
+import com.sporty.group.sportygroupticketingcommons.pagination.TicketCursor;
+import com.sporty.group.sportygroupticketingcommons.pagination.TicketPage;
+import com.sporty.group.ticketmanagementservice.model.Ticket;
+import com.sporty.group.ticketmanagementservice.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service for reading tickets.
+ */
+@Service
+@RequiredArgsConstructor
+public class TicketQueryService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final Sort LISTING_ORDER = Sort.by("createdAt", "ticketId");
+
+    private final TicketRepository ticketRepository;
+    private final TicketCache ticketCache;
+
+    /**
+     * Get a ticket by ID.
+     * Tickets are read through the {@link TicketCache}, which {@link TicketService} keeps up to date when it changes
+     * tickets. Unknown ticket IDs are not cached.
+     *
+     * @param ticketId the ticket ID
+     * @return the ticket, or empty if there is no ticket with this ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<Ticket> getTicket(UUID ticketId) {
+        Optional<Ticket> cached = ticketCache.get(ticketId);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        long stamp = ticketCache.stamp();
+        Optional<Ticket> ticket = ticketRepository.findById(ticketId);
+        ticket.ifPresent(loaded -> ticketCache.put(loaded, stamp));
+        return ticket;
+    }
+
+    /**
+     * Get one page of the tickets matching the given filters, ordered by creation time and ticket ID.
+     * Pages are read with keyset pagination: each page continues after the last ticket of the previous page,
+     * so reading a page costs the same index range scan no matter how deep into the listing it is.
+     *
+     * @param status     only tickets with this status, or null for all statuses
+     * @param userId     only tickets of this user, or null for all users
+     * @param assigneeId only tickets assigned to this agent, or null for all assignees
+     * @param cursor     the next cursor token of the previous page, or null for the first page
+     * @param limit      the maximum number of tickets on the page, between 1 and {@value #MAX_PAGE_SIZE}
+     * @return the page, with a next cursor token if more tickets match
+     * @throws IllegalArgumentException if the cursor token or the limit is invalid
+     */
+    @Transactional(readOnly = true)
+    public TicketPage<Ticket> getTickets(Ticket.TicketStatus status, String userId, String assigneeId,
+                                         String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE + ": " + limit);
+        }
+        KeysetScrollPosition position = cursor == null
+                ? ScrollPosition.keyset()
+                : positionAfter(TicketCursor.decode(cursor));
+
+        Window<Ticket> window = ticketRepository.findBy(filter(status, userId, assigneeId),
+                query -> query.sortBy(LISTING_ORDER).limit(limit).scroll(position));
+
+        List<Ticket> tickets = window.getContent();
+        String nextCursor = null;
+        if (window.hasNext()) {
+            Ticket last = tickets.get(tickets.size() - 1);
+            nextCursor = new TicketCursor(last.getCreatedAt(), last.getTicketId()).encode();
+        }
+        return new TicketPage<>(tickets, nextCursor);
+    }
+
+    private static KeysetScrollPosition positionAfter(TicketCursor cursor) {
+        return ScrollPosition.forward(Map.of("createdAt", cursor.getCreatedAt(), "ticketId", cursor.getTicketId()));
+    }
+
+    private static Specification<Ticket> filter(Ticket.TicketStatus status, String userId, String assigneeId) {
+        List<Specification<Ticket>> filters = new ArrayList<>();
+        if (status != null) {
+            filters.add((root, query, builder) -> builder.equal(root.get("status"), status));
+        }
+        if (userId != null) {
+            filters.add((root, query, builder) -> builder.equal(root.get("userId"), userId));
+        }
+        if (assigneeId != null) {
+            filters.add((root, query, builder) -> builder.equal(root.get("assigneeId"), assigneeId));
+        }
+        return Specification.allOf(filters);
+    }
+}
@@ -1,18 +1,35 @@
 package com.sporty.group.ticketmanagementservice.service;
 
+import com.sporty.group.sportygroupticketingcommons.event.EventTimestamps;
 import com.sporty.group.sportygroupticketingcommons.event.NewTicketEvent;
 import com.sporty.group.sportygroupticketingcommons.event.TicketAssignedEvent;
 import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
 import com.sporty.group.sportygroupticketingcommons.event.TicketStatusUpdatedEvent;
+import com.sporty.group.sportygroupticketingcommons.id.TicketIdGenerator;
+import com.sporty.group.sportygroupticketingcommons.model.TicketStatusTransitions;
+import com.sporty.group.sportygroupticketingcommons.outbox.OutboxRelay;
 import com.sporty.group.ticketmanagementservice.model.Ticket;
 import com.sporty.group.ticketmanagementservice.repository.TicketRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for handling ticket-related operations.
@@ -21,104 +38,328 @@ import java.util.UUID;
 @Slf4j
 public class TicketService {
 
-    private final TicketRepository ticketRepository;
-    private final KafkaTemplate<String, NewTicketEvent> newTicketKafkaTemplate;
+    private static final TicketStatusTransitions<Ticket.TicketStatus> STATUS_TRANSITIONS =
+            TicketStatusTransitions.of(Ticket.TicketStatus.class);
 
-    private final String ticketCreatedTopic;
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private final TicketRepository ticketRepository;
+    private final NewTicketEventPublisher newTicketEventPublisher;
+    private final TicketStatusUpdatedEventPublisher ticketStatusUpdatedEventPublisher;
+    private final TicketDedupeWindow dedupeWindow;
+    private final TicketCache ticketCache;
 
     public TicketService(TicketRepository ticketRepository, 
-                         KafkaTemplate<String, NewTicketEvent> newTicketKafkaTemplate,
-                         @org.springframework.beans.factory.annotation.Value("${kafka.topic.ticket-created}") String ticketCreatedTopic) {
+                         NewTicketEventPublisher newTicketEventPublisher,
+                         TicketStatusUpdatedEventPublisher ticketStatusUpdatedEventPublisher,
+                         TicketDedupeWindow dedupeWindow,
+                         TicketCache ticketCache) {
         this.ticketRepository = ticketRepository;
-        this.newTicketKafkaTemplate = newTicketKafkaTemplate;
-        this.ticketCreatedTopic = ticketCreatedTopic;
+        this.newTicketEventPublisher = newTicketEventPublisher;
+        this.ticketStatusUpdatedEventPublisher = ticketStatusUpdatedEventPublisher;
+        this.dedupeWindow = dedupeWindow;
+        this.ticketCache = ticketCache;
     }
 
     /**
      * Process a TicketCreatedEvent by creating a new ticket and sending a NewTicketEvent.
      *
      * @param event the TicketCreatedEvent to process
+     * @see #processTicketsCreated(List)
      */
+    @Transactional
     public void processTicketCreated(TicketCreatedEvent event) {
-        log.info("Processing TicketCreatedEvent: {}", event);
+        processTicketsCreated(List.of(event));
+    }
 
-        UUID ticketId = UUID.randomUUID();
-        LocalDateTime now = LocalDateTime.now();
+    /**
+     * Process a batch of TicketCreatedEvents by creating the new tickets and publishing a NewTicketEvent for each.
+     * The tickets are stored under the ticket IDs of the events, so redelivered or replayed events are idempotent:
+     * if a ticket already exists, neither the ticket is written nor a NewTicketEvent is sent again.
+     * An existing ticket is left as it is, so a replay does not undo later assignments or status updates.
+     * <p>
+     * All tickets of the batch are checked with a single query and inserted with JDBC batching in one transaction.
+     * The NewTicketEvents are written to the transactional outbox in the same transaction, so they are published by
+     * the {@link OutboxRelay} if and only if the tickets are committed.
+     * <p>
+     * In Kafka transactions mode the NewTicketEvents are sent in the Kafka transaction of the listener instead, which
+     * commits after the database transaction. If the service fails in between, the tickets exist but the events and
+     * the consumed offsets are aborted, so the redelivered batch publishes the NewTicketEvents of the existing
+     * tickets again rather than skipping them. The aborted events are never seen by read_committed consumers.
+     *
+     * @param events the TicketCreatedEvents to process
+     */
+    @Transactional
+    public void processTicketsCreated(List<TicketCreatedEvent> events) {
+        log.info("Processing {} TicketCreatedEvent(s)", events.size());
 
-        Ticket ticket = Ticket.builder()
+        // Only a committed Kafka transaction proves that the NewTicketEvent of a ticket was published
+        boolean republishExisting = newTicketEventPublisher.isKafkaTransactional();
+        Map<UUID, TicketCreatedEvent> pendingEvents = new LinkedHashMap<>();
+        for (TicketCreatedEvent event : events) {
+            // Events without a ticket ID cannot be deduplicated and always create a new ticket
+            UUID ticketId = event.getTicketId() != null ? event.getTicketId() : TicketIdGenerator.nextId();
+            if ((!republishExisting && dedupeWindow.contains(ticketId)) || pendingEvents.containsKey(ticketId)) {
+                log.info("Skipping duplicate TicketCreatedEvent for ticket ID: {}", ticketId);
+            } else {
+                pendingEvents.put(ticketId, event);
+            }
+        }
+        if (pendingEvents.isEmpty()) {
+            return;
+        }
+
+        List<NewTicketEvent> newTicketEvents = new ArrayList<>(pendingEvents.size());
+        List<UUID> existingTicketIds = ticketRepository.findExistingTicketIds(pendingEvents.keySet());
+        for (UUID ticketId : existingTicketIds) {
+            pendingEvents.remove(ticketId);
+            dedupeWindow.record(ticketId);
+            log.info("Ticket {} already exists, skipping replayed TicketCreatedEvent", ticketId);
+        }
+        if (republishExisting && !existingTicketIds.isEmpty()) {
+            ticketRepository.findAllById(existingTicketIds).forEach(ticket -> newTicketEvents.add(newTicketEvent(ticket)));
+            log.info("Republishing NewTicketEvent(s) of {} existing ticket(s)", newTicketEvents.size());
+        }
+        if (pendingEvents.isEmpty()) {
+            if (!newTicketEvents.isEmpty()) {
+                newTicketEventPublisher.publish(newTicketEvents);
+            }
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Ticket> tickets = new ArrayList<>(pendingEvents.size());
+        pendingEvents.forEach((ticketId, event) -> tickets.add(Ticket.builder()
                 .ticketId(ticketId)
                 .subject(event.getSubject())
                 .description(event.getDescription())
                 .status(Ticket.TicketStatus.OPEN)
                 .userId(event.getUserId())
-                .createdAt(now)
+                .createdAt(event.getCreatedAt() != null ? event.getCreatedAt() : now)
                 .updatedAt(now)
-                .build();
+                .build()));
+
+        ticketRepository.saveAll(tickets);
+        log.info("{} ticket(s) created", tickets.size());
 
-        ticketRepository.save(ticket);
-        log.info("Ticket created with ID: {}", ticketId);
+        tickets.forEach(ticket -> newTicketEvents.add(newTicketEvent(ticket)));
+        newTicketEventPublisher.publish(newTicketEvents);
+        recordAfterCommit(pendingEvents.keySet());
+    }
 
-        // Send NewTicketEvent to Kafka
-        NewTicketEvent newTicketEvent = NewTicketEvent.builder()
-                .ticketId(ticketId.toString())
+    private NewTicketEvent newTicketEvent(Ticket ticket) {
+        return NewTicketEvent.builder()
+                .ticketId(ticket.getTicketId().toString())
                 .status(ticket.getStatus().name().toLowerCase())
                 .userId(ticket.getUserId())
                 .subject(ticket.getSubject())
                 .description(ticket.getDescription())
-                .createdAt(ticket.getCreatedAt().format(DATE_FORMATTER))
+                .createdAtEpochNanos(EventTimestamps.toEpochNanos(ticket.getCreatedAt()))
                 .build();
+    }
 
-        newTicketKafkaTemplate.send(ticketCreatedTopic, newTicketEvent);
-        log.info("NewTicketEvent sent to Kafka: {}", newTicketEvent);
+    /**
+     * Add ticket IDs to the dedupe window once the current transaction has committed.
+     * A rolled back batch is redelivered, and its tickets must not be skipped as duplicates then.
+     */
+    private void recordAfterCommit(Collection<UUID> ticketIds) {
+        if (ticketIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ticketIds.forEach(dedupeWindow::record);
+            return;
+        }
+        List<UUID> committedTicketIds = List.copyOf(ticketIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committedTicketIds.forEach(dedupeWindow::record);
+            }
+        });
     }
 
     /**
      * Process a TicketAssignedEvent by updating the assignee of a ticket.
      *
      * @param event the TicketAssignedEvent to process
+     * @see #processTicketsAssigned(List)
      */
+    @Transactional
     public void processTicketAssigned(TicketAssignedEvent event) {
-        log.info("Processing TicketAssignedEvent: {}", event);
-
-        UUID ticketId = UUID.fromString(event.getTicketId());
-        ticketRepository.findById(ticketId).ifPresentOrElse(
-            ticket -> {
-                ticket.setAssigneeId(event.getAssigneeId());
-                ticket.setUpdatedAt(LocalDateTime.now());
-                ticketRepository.save(ticket);
-                log.info("Ticket {} assigned to {}", ticketId, event.getAssigneeId());
-            },
-            () -> log.warn("Ticket not found with ID: {}", ticketId)
-        );
+        processTicketsAssigned(List.of(event));
+    }
+
+    /**
+     * Process a batch of TicketAssignedEvents by updating the assignees of the tickets.
+     * The tickets are loaded with a single query and updated with JDBC batching in one transaction.
+     * Events for the same ticket are applied in order, so the last assignment of the batch wins. Events with an invalid
+     * ticket ID are skipped, so they do not roll back the other events of the batch.
+     * Only the assignee and update time of the tickets are written. If another transaction changed one of the tickets
+     * after it was loaded, the commit fails with an optimistic locking failure and the batch can be run again with
+     * {@link TicketUpdateRetry}.
+     *
+     * @param events the TicketAssignedEvents to process
+     */
+    @Transactional
+    public void processTicketsAssigned(List<TicketAssignedEvent> events) {
+        log.info("Processing {} TicketAssignedEvent(s)", events.size());
+
+        List<UUID> ticketIds = new ArrayList<>(events.size());
+        events.forEach(event -> ticketIds.add(parseTicketId(event.getTicketId()).orElse(null)));
+        Map<UUID, Ticket> tickets = findTickets(ticketIds.stream().filter(Objects::nonNull).toList());
+        Map<UUID, Ticket> updatedTickets = new LinkedHashMap<>();
+        for (int i = 0; i < events.size(); i++) {
+            TicketAssignedEvent event = events.get(i);
+            UUID ticketId = ticketIds.get(i);
+            if (ticketId == null) {
+                continue;
+            }
+            Ticket ticket = tickets.get(ticketId);
+            if (ticket == null) {
+                log.warn("Ticket not found with ID: {}", ticketId);
+                continue;
+            }
+            ticket.setAssigneeId(event.getAssigneeId());
+            ticket.setUpdatedAt(LocalDateTime.now());
+            updatedTickets.put(ticketId, ticket);
+            log.info("Ticket {} assigned to {}", ticketId, event.getAssigneeId());
+        }
+
+        if (!updatedTickets.isEmpty()) {
+            ticketRepository.saveAll(updatedTickets.values());
+            // Replace the cached copies, so reads do not serve the previous assignee until the entries expire
+            ticketCache.putAfterCommit(updatedTickets.values());
+        }
     }
 
     /**
      * Process a TicketStatusUpdatedEvent by updating the status of a ticket.
      *
      * @param event the TicketStatusUpdatedEvent to process
+     * @see #processTicketsStatusUpdated(List)
      */
+    @Transactional
     public void processTicketStatusUpdated(TicketStatusUpdatedEvent event) {
-        log.info("Processing TicketStatusUpdatedEvent: {}", event);
-
-        UUID ticketId = UUID.fromString(event.getTicketId());
-        ticketRepository.findById(ticketId).ifPresentOrElse(
-            ticket -> {
-                try {
-                    // Try to parse the status
-                    Ticket.TicketStatus newStatus = Ticket.TicketStatus.valueOf(event.getStatus().toUpperCase());
-
-                    // Only update and save if status is valid
-                    ticket.setStatus(newStatus);
-                    ticket.setUpdatedAt(LocalDateTime.now());
-                    ticketRepository.save(ticket);
-                    log.info("Ticket {} status updated to {}", ticketId, newStatus);
-                } catch (IllegalArgumentException e) {
-                    // Log error but don't update the ticket for invalid status
-                    log.error("Invalid status value: {}", event.getStatus(), e);
-                }
-            },
-            () -> log.warn("Ticket not found with ID: {}", ticketId)
-        );
+        processTicketsStatusUpdated(List.of(event));
+    }
+
+    /**
+     * Process a batch of TicketStatusUpdatedEvents by updating the statuses of the tickets in one transaction.
+     * Statuses are set with conditional updates that only apply to the tickets that can move to the new status from
+     * their current one (see {@link TicketStatusTransitions}), so tickets are not loaded: one statement per new status
+     * in the batch. Tickets only move forward, so applying the new statuses in lifecycle order ends in the same
+     * statuses as applying the events in order. Events with an invalid status or ticket ID are skipped.
+     *
+     * @param events the TicketStatusUpdatedEvents to process
+     */
+    @Transactional
+    public void processTicketsStatusUpdated(List<TicketStatusUpdatedEvent> events) {
+        log.info("Processing {} TicketStatusUpdatedEvent(s)", events.size());
+
+        Map<Ticket.TicketStatus, Set<UUID>> ticketIdsByStatus = new EnumMap<>(Ticket.TicketStatus.class);
+        for (TicketStatusUpdatedEvent event : events) {
+            Optional<Ticket.TicketStatus> status = STATUS_TRANSITIONS.parse(event.getStatus());
+            if (status.isEmpty()) {
+                log.error("Invalid status value: {}", event.getStatus());
+                continue;
+            }
+            Optional<UUID> ticketId = parseTicketId(event.getTicketId());
+            if (ticketId.isEmpty()) {
+                continue;
+            }
+            ticketIdsByStatus.computeIfAbsent(status.get(), key -> new LinkedHashSet<>()).add(ticketId.get());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Ticket.TicketStatus status : STATUS_TRANSITIONS.lifecycle()) {
+            Set<UUID> ticketIds = ticketIdsByStatus.get(status);
+            if (ticketIds == null) {
+                continue;
+            }
+            int updated = updateStatus(ticketIds, status, now);
+            log.info("{} of {} ticket(s) updated to status {}", updated, ticketIds.size(), status);
+            if (updated < ticketIds.size()) {
+                log.warn("{} ticket(s) not found or cannot move to status {}: {}", ticketIds.size() - updated, status, ticketIds);
+            }
+        }
+    }
+
+    /**
+     * Update the status of a ticket, like a status update event does.
+     * A valid update costs a single statement; only a rejected one looks the ticket's status up to tell why. Setting
+     * the status a ticket already has is not a transition, but the ticket ends in the requested status either way, so
+     * it is reported as unchanged instead of not allowed and a repeated update gets the same answer.
+     * <p>
+     * An applied update is published as a TicketStatusUpdatedEvent through the outbox, in the same transaction, so the
+     * agent assignment service releases the agent of a resolved or closed ticket.
+     *
+     * @param ticketId the ID of the ticket
+     * @param status   the new status name, in any case
+     * @return the outcome of the update
+     */
+    @Transactional
+    public StatusUpdateResult updateTicketStatus(UUID ticketId, String status) {
+        Optional<Ticket.TicketStatus> newStatus = STATUS_TRANSITIONS.parse(status);
+        if (newStatus.isEmpty()) {
+            log.error("Invalid status value: {}", status);
+            return StatusUpdateResult.INVALID_STATUS;
+        }
+        if (updateStatus(Set.of(ticketId), newStatus.get(), LocalDateTime.now()) > 0) {
+            log.info("Ticket {} status updated to {}", ticketId, newStatus.get());
+            ticketStatusUpdatedEventPublisher.publish(new TicketStatusUpdatedEvent(ticketId.toString(), newStatus.get().name()));
+            return StatusUpdateResult.UPDATED;
+        }
+        Optional<Ticket.TicketStatus> currentStatus = ticketRepository.findStatusById(ticketId);
+        if (currentStatus.isEmpty()) {
+            log.warn("Ticket not found with ID: {}", ticketId);
+            return StatusUpdateResult.NOT_FOUND;
+        }
+        if (currentStatus.get() == newStatus.get()) {
+            log.info("Ticket {} already has status {}", ticketId, newStatus.get());
+            return StatusUpdateResult.UNCHANGED;
+        }
+        log.warn("Ticket {} cannot move to status {}", ticketId, newStatus.get());
+        return StatusUpdateResult.NOT_ALLOWED;
+    }
+
+    private int updateStatus(Set<UUID> ticketIds, Ticket.TicketStatus status, LocalDateTime now) {
+        Set<Ticket.TicketStatus> sources = STATUS_TRANSITIONS.sources(status);
+        if (sources.isEmpty()) {
+            return 0;
+        }
+        int updated = ticketRepository.updateStatusIfIn(ticketIds, status, sources, now);
+        if (updated > 0) {
+            // Cached copies have the previous status, and the new version is not known without loading the tickets
+            ticketCache.invalidateAfterCommit(ticketIds);
+        }
+        return updated;
+    }
+
+    /**
+     * Outcome of a status update.
+     */
+    public enum StatusUpdateResult {
+        UPDATED, UNCHANGED, INVALID_STATUS, NOT_FOUND, NOT_ALLOWED
+    }
+
+    /**
+     * Parse the ticket ID of an event, logging an invalid one.
+     *
+     * @return the ticket ID, or empty if it is missing or not a UUID
+     */
+    private static Optional<UUID> parseTicketId(String ticketId) {
+        if (ticketId != null) {
+            try {
+                return Optional.of(UUID.fromString(ticketId));
+            } catch (IllegalArgumentException ex) {
+                // Logged below
+            }
+        }
+        log.error("Invalid ticket ID: {}", ticketId);
+        return Optional.empty();
+    }
+
+    private Map<UUID, Ticket> findTickets(Collection<UUID> ticketIds) {
+        return ticketRepository.findAllById(new LinkedHashSet<>(ticketIds)).stream()
+                .collect(Collectors.toMap(Ticket::getTicketId, Function.identity()));
     }
 }
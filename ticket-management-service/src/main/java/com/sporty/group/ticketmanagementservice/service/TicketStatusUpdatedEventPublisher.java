@@ -0,0 +1,50 @@
+package com.sporty.group.ticketmanagementservice.service;
+
+import com.sporty.group.sportygroupticketingcommons.event.TicketStatusUpdatedEvent;
+import com.sporty.group.sportygroupticketingcommons.outbox.OutboxEvent;
+import com.sporty.group.sportygroupticketingcommons.outbox.OutboxEventRepository;
+import com.sporty.group.sportygroupticketingcommons.outbox.OutboxRelay;
+import com.sporty.group.sportygroupticketingcommons.serialization.TicketStatusUpdatedEventSerializer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publishes TicketStatusUpdatedEvents for status updates made through the API to the ticket-updates topic, so the
+ * agent assignment service releases the agents of resolved and closed tickets.
+ * <p>
+ * The events are written to the transactional outbox, in the database transaction that updates the status, and sent
+ * by the {@link OutboxRelay}. This service consumes the topic too, but by then the ticket already has the new status,
+ * so the event changes nothing here.
+ */
+@Component
+@Slf4j
+public class TicketStatusUpdatedEventPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TicketStatusUpdatedEventSerializer serializer = new TicketStatusUpdatedEventSerializer();
+    private final String ticketUpdatesTopic;
+
+    public TicketStatusUpdatedEventPublisher(OutboxEventRepository outboxEventRepository,
+                                             @Value("${kafka.topic.ticket-updates}") String ticketUpdatesTopic) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.ticketUpdatesTopic = ticketUpdatesTopic;
+    }
+
+    /**
+     * Publish the given event, keyed by ticket ID.
+     *
+     * @param event the TicketStatusUpdatedEvent to publish
+     */
+    public void publish(TicketStatusUpdatedEvent event) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .topic(ticketUpdatesTopic)
+                .eventKey(event.getTicketId())
+                .payload(serializer.serialize(ticketUpdatesTopic, event))
+                .createdAt(LocalDateTime.now())
+                .build());
+        log.info("TicketStatusUpdatedEvent written to outbox: {}", event);
+    }
+}
@@ -0,0 +1,60 @@
+package com.sporty.group.ticketmanagementservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs ticket updates again when they lose an optimistic locking race.
+ * <p>
+ * Tickets are versioned, so an update that loaded a ticket before another transaction changed it fails on commit
+ * instead of overwriting the other change. The update then runs again in a new transaction, which loads the current
+ * ticket, up to {@code ticket.update.max-attempts} attempts in total with a pause of {@code ticket.update.retry-backoff-ms}
+ * times the attempt number in between. The last failure is thrown, so a listener batch is redelivered.
+ */
+@Component
+@Slf4j
+public class TicketUpdateRetry {
+
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    public TicketUpdateRetry(@Value("${ticket.update.max-attempts:3}") int maxAttempts,
+                             @Value("${ticket.update.retry-backoff-ms:20}") long backoffMs) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be positive: " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+    }
+
+    /**
+     * Run an update, retrying it on optimistic locking failures.
+     *
+     * @param update the update, which must run in its own transaction, e.g. a call of a transactional service method
+     */
+    public void run(Runnable update) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                update.run();
+                return;
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    throw ex;
+                }
+                log.warn("Ticket update conflicted with a concurrent change, attempt {} of {}: {}", attempt, maxAttempts, ex.getMessage());
+                pause(attempt, ex);
+            }
+        }
+    }
+
+    private void pause(int attempt, OptimisticLockingFailureException conflict) {
+        try {
+            Thread.sleep(backoffMs * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.sporty.group.ticketmanagementservice.benchmark;
+
+import com.sporty.group.sportygroupticketingcommons.event.EventTimestamps;
+import com.sporty.group.sportygroupticketingcommons.event.NewTicketEvent;
+import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
+import com.sporty.group.sportygroupticketingcommons.serialization.NewTicketEventSerializer;
+import com.sporty.group.sportygroupticketingcommons.serialization.TicketCreatedEventDeserializer;
+import com.sporty.group.sportygroupticketingcommons.serialization.TicketCreatedEventSerializer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares at-least-once and exactly-once consume-transform-produce from support-tickets to ticket-created.
+ * <p>
+ * Each operation consumes a TicketCreatedEvent, transforms it into a NewTicketEvent and produces it. With
+ * {@code at-least-once} every poll is produced, flushed and then committed with a separate offset commit, so a crash
+ * in between republishes the poll. With {@code exactly-once} every poll is produced in a Kafka transaction that also
+ * carries the consumed offsets, so its events and offsets are committed together. The scores are events per second
+ * against an embedded single-node broker; the input of each poll is produced outside of the measured code.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KafkaTransactionsBenchmark {
+
+    private static final int POLL_SIZE = 500;
+    private static final int PARTITIONS = 3;
+    private static final String INPUT_TOPIC = "support-tickets";
+    private static final String OUTPUT_TOPIC = "ticket-created";
+
+    @Param({"at-least-once", "exactly-once"})
+    private String delivery;
+
+    private EmbeddedKafkaBroker broker;
+    private KafkaProducer<String, byte[]> inputProducer;
+    private KafkaConsumer<String, byte[]> consumer;
+    private KafkaProducer<String, byte[]> producer;
+    private boolean transactional;
+
+    private final TicketCreatedEventSerializer ticketCreatedEventSerializer = new TicketCreatedEventSerializer();
+    private final TicketCreatedEventDeserializer ticketCreatedEventDeserializer = new TicketCreatedEventDeserializer();
+    private final NewTicketEventSerializer newTicketEventSerializer = new NewTicketEventSerializer();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactional = "exactly-once".equals(delivery);
+        broker = new EmbeddedKafkaKraftBroker(1, PARTITIONS, INPUT_TOPIC, OUTPUT_TOPIC)
+                .brokerProperties(Map.of(
+                        "transaction.state.log.replication.factor", "1",
+                        "transaction.state.log.min.isr", "1"));
+        broker.afterPropertiesSet();
+
+        inputProducer = new KafkaProducer<>(producerConfigs(), new StringSerializer(), new ByteArraySerializer());
+
+        Map<String, Object> consumerConfigs = new HashMap<>();
+        consumerConfigs.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        consumerConfigs.put(ConsumerConfig.GROUP_ID_CONFIG, "benchmark-" + delivery);
+        consumerConfigs.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        consumerConfigs.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumerConfigs.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        consumerConfigs.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, POLL_SIZE);
+        consumer = new KafkaConsumer<>(consumerConfigs, new StringDeserializer(), new ByteArrayDeserializer());
+        consumer.subscribe(List.of(INPUT_TOPIC));
+
+        Map<String, Object> producerConfigs = producerConfigs();
+        if (transactional) {
+            producerConfigs.put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, "benchmark-" + UUID.randomUUID());
+        }
+        producer = new KafkaProducer<>(producerConfigs, new StringSerializer(), new ByteArraySerializer());
+        if (transactional) {
+            producer.initTransactions();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        consumer.close();
+        producer.close();
+        inputProducer.close();
+        broker.destroy();
+    }
+
+    /**
+     * Produce the input of the next poll. An invocation processes a whole poll and takes milliseconds, so the
+     * per-invocation setup does not distort the measurement.
+     */
+    @Setup(Level.Invocation)
+    public void produceInput() {
+        for (int i = 0; i < POLL_SIZE; i++) {
+            TicketCreatedEvent event = TicketCreatedEvent.builder()
+                    .ticketId(UUID.randomUUID())
+                    .subject("Login problem")
+                    .description("Cannot log in since the last update")
+                    .userId("user-001")
+                    .createdAt(LocalDateTime.now())
+                    .build();
+            inputProducer.send(new ProducerRecord<>(INPUT_TOPIC, event.getTicketId().toString(),
+                    ticketCreatedEventSerializer.serialize(INPUT_TOPIC, event)));
+        }
+        inputProducer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POLL_SIZE)
+    public int consumeTransformProduce() {
+        int processed = 0;
+        // Every invocation consumes exactly the records produced for it, so it never waits for more input
+        while (processed < POLL_SIZE) {
+            ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ofMillis(100));
+            if (records.isEmpty()) {
+                continue;
+            }
+            if (transactional) {
+                producer.beginTransaction();
+            }
+            Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+            for (ConsumerRecord<String, byte[]> record : records) {
+                producer.send(new ProducerRecord<>(OUTPUT_TOPIC, record.key(), transform(record.value())));
+                offsets.put(new TopicPartition(record.topic(), record.partition()), new OffsetAndMetadata(record.offset() + 1));
+            }
+            if (transactional) {
+                producer.sendOffsetsToTransaction(offsets, consumer.groupMetadata());
+                producer.commitTransaction();
+            } else {
+                producer.flush();
+                consumer.commitSync(offsets);
+            }
+            processed += records.count();
+        }
+        return processed;
+    }
+
+    private byte[] transform(byte[] value) {
+        TicketCreatedEvent event = ticketCreatedEventDeserializer.deserialize(INPUT_TOPIC, value);
+        NewTicketEvent newTicketEvent = NewTicketEvent.builder()
+                .ticketId(event.getTicketId().toString())
+                .status("open")
+                .userId(event.getUserId())
+                .subject(event.getSubject())
+                .description(event.getDescription())
+                .createdAtEpochNanos(EventTimestamps.toEpochNanos(event.getCreatedAt()))
+                .build();
+        return newTicketEventSerializer.serialize(OUTPUT_TOPIC, newTicketEvent);
+    }
+
+    private Map<String, Object> producerConfigs() {
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        configs.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        return configs;
+    }
+}
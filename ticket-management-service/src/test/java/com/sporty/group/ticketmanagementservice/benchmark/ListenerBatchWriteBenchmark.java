@@ -0,0 +1,180 @@
+package com.sporty.group.ticketmanagementservice.benchmark;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares the database work of record-at-a-time and batch listeners for a poll of ticket status updates.
+ * <p>
+ * The record listener looks up and updates each ticket in its own transaction. The batch listener looks up all
+ * tickets of the poll with one query and writes the updates as one JDBC batch in a single transaction.
+ * Each operation is one processed event, so the scores are events per second. The tickets live in an H2 database
+ * that is accessed through its TCP server, so like with a database server every statement and commit is a network
+ * round trip.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListenerBatchWriteBenchmark {
+
+    private static final int POLL_SIZE = 500;
+    private static final int TICKETS = 10_000;
+
+    @Param({"record", "batch"})
+    private String listener;
+
+    private Path directory;
+    private Server server;
+    private Connection connection;
+    private List<UUID> ticketIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("listener-batch-benchmark");
+        server = Server.createTcpServer("-tcpPort", "0", "-baseDir", directory.toString(), "-ifNotExists").start();
+        connection = DriverManager.getConnection("jdbc:h2:tcp://localhost:" + server.getPort() + "/tickets", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE tickets ("
+                    + "ticket_id UUID PRIMARY KEY, "
+                    + "subject VARCHAR(255), "
+                    + "status VARCHAR(32), "
+                    + "user_id VARCHAR(255), "
+                    + "updated_at TIMESTAMP)");
+        }
+
+        ticketIds = new ArrayList<>(TICKETS);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO tickets (ticket_id, subject, status, user_id, updated_at) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < TICKETS; i++) {
+                UUID ticketId = UUID.randomUUID();
+                ticketIds.add(ticketId);
+                insert.setObject(1, ticketId);
+                insert.setString(2, "Login problem");
+                insert.setString(3, "OPEN");
+                insert.setString(4, "user-001");
+                insert.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        connection.close();
+        server.stop();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POLL_SIZE)
+    public int processPoll() throws SQLException {
+        List<UUID> poll = nextPoll();
+        return "batch".equals(listener) ? processBatch(poll) : processRecords(poll);
+    }
+
+    private int processRecords(List<UUID> poll) throws SQLException {
+        int updated = 0;
+        try (PreparedStatement select = connection.prepareStatement(
+                     "SELECT ticket_id, subject, status, user_id, updated_at FROM tickets WHERE ticket_id = ?");
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE tickets SET status = ?, updated_at = ? WHERE ticket_id = ?")) {
+            for (UUID ticketId : poll) {
+                connection.setAutoCommit(false);
+                select.setObject(1, ticketId);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    if (resultSet.next()) {
+                        update.setString(1, "IN_PROGRESS");
+                        update.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                        update.setObject(3, ticketId);
+                        updated += update.executeUpdate();
+                    }
+                }
+                connection.commit();
+            }
+        }
+        return updated;
+    }
+
+    private int processBatch(List<UUID> poll) throws SQLException {
+        connection.setAutoCommit(false);
+        List<UUID> found = new ArrayList<>(poll.size());
+        String placeholders = String.join(", ", Collections.nCopies(poll.size(), "?"));
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT ticket_id, subject, status, user_id, updated_at FROM tickets WHERE ticket_id IN (" + placeholders + ")")) {
+            for (int i = 0; i < poll.size(); i++) {
+                select.setObject(i + 1, poll.get(i));
+            }
+            try (ResultSet resultSet = select.executeQuery()) {
+                while (resultSet.next()) {
+                    found.add(resultSet.getObject(1, UUID.class));
+                }
+            }
+        }
+
+        int updated = 0;
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE tickets SET status = ?, updated_at = ? WHERE ticket_id = ?")) {
+            for (UUID ticketId : found) {
+                update.setString(1, "IN_PROGRESS");
+                update.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                update.setObject(3, ticketId);
+                update.addBatch();
+            }
+            for (int count : update.executeBatch()) {
+                updated += count;
+            }
+        }
+        connection.commit();
+        return updated;
+    }
+
+    private List<UUID> nextPoll() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<UUID> poll = new ArrayList<>(POLL_SIZE);
+        for (int i = 0; i < POLL_SIZE; i++) {
+            poll.add(ticketIds.get(random.nextInt(TICKETS)));
+        }
+        return poll;
+    }
+}
@@ -0,0 +1,138 @@
+package com.sporty.group.ticketmanagementservice.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the platform-thread and virtual-thread execution modes for blocking request and listener work.
+ * <p>
+ * Each invocation starts {@code inFlight} tasks that block for {@code blockingMillis}, standing in for a JPA
+ * round trip or a broker call, and waits until all of them have finished. The platform mode runs them on a pool
+ * sized like Tomcat's default (200 threads), the virtual mode on one virtual thread per task, which is what
+ * {@code spring.threads.virtual.enabled=true} gives Tomcat and the Kafka listener containers.
+ * <p>
+ * Besides the time per invocation, the aux counters report the peak number of concurrently blocked tasks,
+ * the live platform threads while they are blocked and the heap growth per blocked task (per iteration, so the
+ * reported scores are summed over the measurement iterations). Platform thread stacks
+ * live outside the heap (up to {@code -Xss}, 1 MB by default); run with
+ * {@code -XX:NativeMemoryTracking=summary} to see them. The virtual mode needs a Java 21+ runtime.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThreadingModeBenchmark {
+
+    private static final int PLATFORM_POOL_SIZE = 200;
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    @Param({"2000"})
+    private int inFlight;
+
+    @Param({"20"})
+    private int blockingMillis;
+
+    private ExecutorService platformPool;
+    private AsyncTaskExecutor executor;
+
+    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("virtual".equals(mode)) {
+            SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor("benchmark-virtual-");
+            virtualExecutor.setVirtualThreads(true);
+            executor = virtualExecutor;
+        } else {
+            platformPool = Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+            executor = new TaskExecutorAdapter(platformPool);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (platformPool != null) {
+            platformPool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public void blockingRequests(InFlightCounters counters) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(inFlight);
+        AtomicInteger blocked = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        long heapBefore = memoryMXBean.getHeapMemoryUsage().getUsed();
+        for (int i = 0; i < inFlight; i++) {
+            executor.execute(() -> {
+                peak.accumulateAndGet(blocked.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(blockingMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    blocked.decrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+
+        // Sample the cost of keeping tasks in flight once as many are blocked as the mode allows
+        int expected = "virtual".equals(mode) ? inFlight : Math.min(inFlight, PLATFORM_POOL_SIZE);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(blockingMillis);
+        while (blocked.get() < expected && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        int blockedNow = Math.max(1, blocked.get());
+        long heapGrowth = Math.max(0, memoryMXBean.getHeapMemoryUsage().getUsed() - heapBefore);
+        counters.platformThreads = Math.max(counters.platformThreads, threadMXBean.getThreadCount());
+        counters.heapBytesPerInFlight = Math.max(counters.heapBytesPerInFlight, heapGrowth / blockedNow);
+
+        done.await();
+        counters.peakConcurrency = Math.max(counters.peakConcurrency, peak.get());
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class InFlightCounters {
+        public long peakConcurrency;
+        public long platformThreads;
+        public long heapBytesPerInFlight;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            peakConcurrency = 0;
+            platformThreads = 0;
+            heapBytesPerInFlight = 0;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.sporty.group.ticketmanagementservice.benchmark;
+
+import com.sporty.group.sportygroupticketingcommons.id.TicketIdGenerator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Compares random (version 4) and time-ordered (version 7) ticket IDs as primary keys of the tickets table.
+ * <p>
+ * Each iteration inserts {@code rows} tickets into a fresh file-based H2 database in JDBC batches and reports the
+ * time it took. The aux counters report the disk space of the table and its primary key index, and the size of the
+ * database file. The default is one million rows; pass {@code -p rows=10000000} for the 10M row comparison.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TicketIdInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"random", "time-ordered"})
+    private String idType;
+
+    @Param({"1000000"})
+    private int rows;
+
+    private Path directory;
+    private Connection connection;
+    private Supplier<UUID> idSupplier;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException, SQLException {
+        idSupplier = "random".equals(idType) ? UUID::randomUUID : TicketIdGenerator::nextId;
+        directory = Files.createTempDirectory("ticket-id-benchmark");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("tickets"), "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE tickets ("
+                    + "ticket_id UUID PRIMARY KEY, "
+                    + "subject VARCHAR(255), "
+                    + "status VARCHAR(32), "
+                    + "user_id VARCHAR(255), "
+                    + "created_at TIMESTAMP)");
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException, SQLException {
+        connection.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void insertTickets(StorageCounters counters) throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO tickets (ticket_id, subject, status, user_id, created_at) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setObject(1, idSupplier.get());
+                insert.setString(2, "Login problem");
+                insert.setString(3, "OPEN");
+                insert.setString(4, "user-001");
+                insert.setTimestamp(5, now);
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CHECKPOINT SYNC");
+            try (ResultSet resultSet = statement.executeQuery("SELECT DISK_SPACE_USED('TICKETS')")) {
+                resultSet.next();
+                counters.tableBytes = resultSet.getLong(1);
+            }
+        }
+        counters.fileBytes = directory.resolve("tickets.mv.db").toFile().length();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StorageCounters {
+        public long tableBytes;
+        public long fileBytes;
+    }
+}
@@ -4,6 +4,7 @@ import com.sporty.group.sportygroupticketingcommons.event.NewTicketEvent;
 import com.sporty.group.sportygroupticketingcommons.event.TicketAssignedEvent;
 import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
 import com.sporty.group.sportygroupticketingcommons.event.TicketStatusUpdatedEvent;
+import com.sporty.group.sportygroupticketingcommons.serialization.NewTicketEventDeserializer;
 import com.sporty.group.ticketmanagementservice.config.TestKafkaConfig;
 import com.sporty.group.ticketmanagementservice.repository.TicketRepository;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
@@ -22,7 +23,6 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.KafkaMessageListenerContainer;
 import org.springframework.kafka.listener.MessageListener;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.kafka.test.utils.ContainerTestUtils;
 import org.springframework.test.annotation.DirtiesContext;
@@ -58,6 +58,9 @@ public abstract class BaseIntegrationTest {
     @Value("${kafka.topic.ticket-created}")
     protected String ticketCreatedTopic;
 
+    @Value("${kafka.topic.partitions}")
+    protected int topicPartitions;
+
     protected KafkaTemplate<String, TicketCreatedEvent> ticketCreatedKafkaTemplate;
     protected KafkaTemplate<String, TicketAssignedEvent> ticketAssignedKafkaTemplate;
     protected KafkaTemplate<String, TicketStatusUpdatedEvent> ticketStatusUpdatedKafkaTemplate;
@@ -88,7 +91,7 @@ public abstract class BaseIntegrationTest {
 
         while (!assigned && retryCount < maxRetries) {
             try {
-                ContainerTestUtils.waitForAssignment(newTicketListenerContainer, 1);
+                ContainerTestUtils.waitForAssignment(newTicketListenerContainer, topicPartitions);
                 assigned = true;
             } catch (Exception e) {
                 retryCount++;
@@ -118,15 +121,14 @@ public abstract class BaseIntegrationTest {
         consumerProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         consumerProps.put(ConsumerConfig.GROUP_ID_CONFIG, "integration-test-group");
         consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        consumerProps.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
         consumerProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        consumerProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
-        consumerProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.sporty.group.ticketmanagementservice.model.event");
 
         DefaultKafkaConsumerFactory<String, NewTicketEvent> consumerFactory = 
                 new DefaultKafkaConsumerFactory<>(
                         consumerProps,
                         new StringDeserializer(),
-                        new JsonDeserializer<>(NewTicketEvent.class, false));
+                        new NewTicketEventDeserializer());
 
         ContainerProperties containerProperties = new ContainerProperties(ticketCreatedTopic);
         KafkaMessageListenerContainer<String, NewTicketEvent> container = 
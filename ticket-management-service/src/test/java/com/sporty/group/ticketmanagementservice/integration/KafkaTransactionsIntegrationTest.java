@@ -0,0 +1,65 @@
+package com.sporty.group.ticketmanagementservice.integration;
+
+import com.sporty.group.sportygroupticketingcommons.event.NewTicketEvent;
+import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
+import com.sporty.group.sportygroupticketingcommons.outbox.OutboxEventRepository;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A single broker can only host the transaction state log with a replication factor of 1
+@EmbeddedKafka(brokerProperties = {"transaction.state.log.replication.factor=1", "transaction.state.log.min.isr=1"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@TestPropertySource(properties = "kafka.transactions.enabled=true")
+class KafkaTransactionsIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Value("${spring.kafka.consumer.group-id}")
+    private String groupId;
+
+    @Test
+    void testTicketCreationPublishesNewTicketEventInKafkaTransaction() throws Exception {
+        // Given
+        UUID ticketId = UUID.randomUUID();
+        TicketCreatedEvent event = TicketCreatedEvent.builder().ticketId(ticketId).userId("user-001").subject("Transactional Subject").description("Transactional Description").build();
+
+        // When
+        ticketCreatedKafkaTemplate.send(supportTicketsTopic, ticketId.toString(), event);
+
+        // Then: the NewTicketEvent is visible to a read_committed consumer
+        NewTicketEvent newTicketEvent = receiveNewTicketEvent(15);
+        assertNotNull(newTicketEvent, "NewTicketEvent should be committed");
+        assertEquals(ticketId.toString(), newTicketEvent.getTicketId(), "Ticket ID should match the event");
+        assertTrue(ticketRepository.findById(ticketId).isPresent(), "Ticket should be saved in the repository");
+        assertEquals(0, outboxEventRepository.count(), "The NewTicketEvent should not go through the outbox");
+
+        // And the offset of the consumed event is committed with the transaction
+        assertEquals(1, committedSupportTicketsOffsets(), "The consumed offset should be committed");
+    }
+
+    private long committedSupportTicketsOffsets() throws Exception {
+        try (AdminClient adminClient = AdminClient.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers))) {
+            Map<TopicPartition, OffsetAndMetadata> offsets = adminClient.listConsumerGroupOffsets(groupId)
+                    .partitionsToOffsetAndMetadata().get(10, TimeUnit.SECONDS);
+            return offsets.entrySet().stream()
+                    .filter(entry -> entry.getKey().topic().equals(supportTicketsTopic))
+                    .mapToLong(entry -> entry.getValue().offset())
+                    .sum();
+        }
+    }
+}
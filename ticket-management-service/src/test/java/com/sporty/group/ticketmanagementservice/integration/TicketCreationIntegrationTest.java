@@ -5,6 +5,7 @@ import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
 import com.sporty.group.ticketmanagementservice.model.Ticket;
 import org.junit.jupiter.api.Test;
 import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -13,6 +14,7 @@ import java.util.concurrent.TimeUnit;
 import static org.junit.jupiter.api.Assertions.*;
 
 @EmbeddedKafka
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class TicketCreationIntegrationTest extends BaseIntegrationTest {
 
     @Test
@@ -52,4 +54,24 @@ class TicketCreationIntegrationTest extends BaseIntegrationTest {
         assertEquals(Ticket.TicketStatus.OPEN, savedTicket.get().getStatus(), "Status should be OPEN");
         assertEquals(userId, savedTicket.get().getUserId(), "UserId should match");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testRedeliveredTicketCreatedEventIsProcessedOnce() throws Exception {
+        // Given
+        UUID ticketId = UUID.randomUUID();
+        TicketCreatedEvent event = TicketCreatedEvent.builder().ticketId(ticketId).userId("user-001").subject("Redelivered Subject").description("Redelivered Description").build();
+
+        // When: Send the same event twice
+        ticketCreatedKafkaTemplate.send(supportTicketsTopic, ticketId.toString(), event);
+        ticketCreatedKafkaTemplate.send(supportTicketsTopic, ticketId.toString(), event);
+
+        // Then: Only one NewTicketEvent is published and only one ticket is stored under the event's ticket ID
+        NewTicketEvent newTicketEvent = receiveNewTicketEvent(10);
+        assertNotNull(newTicketEvent, "NewTicketEvent should not be null");
+        assertEquals(ticketId.toString(), newTicketEvent.getTicketId(), "Ticket ID should match the event");
+        assertNull(receiveNewTicketEvent(3), "Duplicate NewTicketEvent should not be published");
+
+        assertEquals(1, ticketRepository.count(), "Only one ticket should be stored");
+        assertTrue(ticketRepository.findById(ticketId).isPresent(), "Ticket should be stored under the event's ticket ID");
+    }
+}
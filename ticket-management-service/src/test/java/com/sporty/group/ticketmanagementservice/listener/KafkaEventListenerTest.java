@@ -3,15 +3,26 @@ package com.sporty.group.ticketmanagementservice.listener;
 import com.sporty.group.sportygroupticketingcommons.event.TicketAssignedEvent;
 import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
 import com.sporty.group.sportygroupticketingcommons.event.TicketStatusUpdatedEvent;
+import com.sporty.group.ticketmanagementservice.model.Ticket;
 import com.sporty.group.ticketmanagementservice.service.TicketService;
+import com.sporty.group.ticketmanagementservice.service.TicketUpdateRetry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -20,11 +31,18 @@ class KafkaEventListenerTest {
     @Mock
     private TicketService ticketService;
 
+    private TicketEventDispatcher dispatcher;
     private KafkaEventListener kafkaEventListener;
 
     @BeforeEach
     void setUp() {
-        kafkaEventListener = new KafkaEventListener(ticketService);
+        dispatcher = new TicketEventDispatcher(4);
+        kafkaEventListener = new KafkaEventListener(ticketService, dispatcher, new TicketUpdateRetry(3, 0), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.destroy();
     }
 
     @Test
@@ -33,10 +51,29 @@ class KafkaEventListenerTest {
         TicketCreatedEvent event =  TicketCreatedEvent.builder().userId("user-001").subject("Test Subject").description("Test Description").build();
 
         // When
-        kafkaEventListener.listenTicketCreated(event);
+        kafkaEventListener.listenTicketCreated(List.of(event));
 
         // Then
-        verify(ticketService).processTicketCreated(event);
+        verify(ticketService).processTicketsCreated(List.of(event));
+    }
+
+    @Test
+    void listenTicketCreated_withKafkaTransactions_shouldProcessWholeBatchOnListenerThread() {
+        // Given: tickets that would fall into different stripes
+        KafkaEventListener transactionalListener = new KafkaEventListener(ticketService, dispatcher, new TicketUpdateRetry(3, 0), true);
+        List<TicketCreatedEvent> events = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            events.add(TicketCreatedEvent.builder().ticketId(UUID.randomUUID()).subject("Subject " + i).build());
+        }
+        List<Thread> threads = new ArrayList<>();
+        doAnswer(invocation -> threads.add(Thread.currentThread())).when(ticketService).processTicketsCreated(anyList());
+
+        // When
+        transactionalListener.listenTicketCreated(events);
+
+        // Then
+        verify(ticketService).processTicketsCreated(events);
+        assertEquals(List.of(Thread.currentThread()), threads);
     }
 
     @Test
@@ -45,10 +82,25 @@ class KafkaEventListenerTest {
         TicketAssignedEvent event = new TicketAssignedEvent(UUID.randomUUID().toString(), "agent-007");
 
         // When
-        kafkaEventListener.listenTicketAssigned(event);
+        kafkaEventListener.listenTicketAssigned(List.of(event));
+
+        // Then
+        verify(ticketService).processTicketsAssigned(List.of(event));
+    }
+
+    @Test
+    void listenTicketAssigned_shouldProcessBatchAgain_whenTicketWasChangedConcurrently() {
+        // Given
+        TicketAssignedEvent event = new TicketAssignedEvent(UUID.randomUUID().toString(), "agent-007");
+        doThrow(new ObjectOptimisticLockingFailureException(Ticket.class, event.getTicketId()))
+                .doNothing()
+                .when(ticketService).processTicketsAssigned(List.of(event));
+
+        // When
+        kafkaEventListener.listenTicketAssigned(List.of(event));
 
         // Then
-        verify(ticketService).processTicketAssigned(event);
+        verify(ticketService, times(2)).processTicketsAssigned(List.of(event));
     }
 
     @Test
@@ -57,9 +109,24 @@ class KafkaEventListenerTest {
         TicketStatusUpdatedEvent event = new TicketStatusUpdatedEvent(UUID.randomUUID().toString(), "in_progress");
 
         // When
-        kafkaEventListener.listenTicketStatusUpdated(event);
+        kafkaEventListener.listenTicketStatusUpdated(List.of(event));
+
+        // Then
+        verify(ticketService).processTicketsStatusUpdated(List.of(event));
+    }
+
+    @Test
+    void listenTicketStatusUpdated_shouldKeepEventsOfTheSameTicketTogetherAndInOrder() {
+        // Given
+        String ticketId = UUID.randomUUID().toString();
+        TicketStatusUpdatedEvent inProgress = new TicketStatusUpdatedEvent(ticketId, "in_progress");
+        TicketStatusUpdatedEvent resolved = new TicketStatusUpdatedEvent(ticketId, "resolved");
+        TicketStatusUpdatedEvent closed = new TicketStatusUpdatedEvent(ticketId, "closed");
+
+        // When
+        kafkaEventListener.listenTicketStatusUpdated(List.of(inProgress, resolved, closed));
 
         // Then
-        verify(ticketService).processTicketStatusUpdated(event);
+        verify(ticketService).processTicketsStatusUpdated(List.of(inProgress, resolved, closed));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+package com.sporty.group.ticketmanagementservice.listener;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketEventDispatcherTest {
+
+    private TicketEventDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new TicketEventDispatcher(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.destroy();
+    }
+
+    @Test
+    void constructor_shouldRejectNonPositiveStripeCount() {
+        assertThrows(IllegalArgumentException.class, () -> new TicketEventDispatcher(0));
+    }
+
+    @Test
+    void dispatch_shouldProcessEventsOfEachTicketInOrder() {
+        // Given
+        List<Event> events = new ArrayList<>();
+        for (int sequence = 0; sequence < 100; sequence++) {
+            events.add(new Event(sequence % 7, sequence));
+        }
+        Map<Integer, List<Integer>> processed = new ConcurrentHashMap<>();
+
+        // When
+        dispatcher.dispatch(events, Event::ticketId, stripeEvents -> stripeEvents.forEach(event ->
+                processed.computeIfAbsent(event.ticketId(), ticketId -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(event.sequence())));
+
+        // Then
+        assertEquals(7, processed.size());
+        processed.forEach((ticketId, sequences) -> {
+            List<Integer> sorted = new ArrayList<>(sequences);
+            Collections.sort(sorted);
+            assertEquals(sorted, sequences, "Events of ticket " + ticketId + " should be processed in order");
+        });
+        assertEquals(100, processed.values().stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void dispatch_shouldProcessDifferentTicketsConcurrently() {
+        // Given: two tickets that fall into different stripes
+        List<Event> events = List.of(new Event(0, 0), new Event(1, 1));
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        AtomicBoolean overlapped = new AtomicBoolean(true);
+
+        // When: each stripe waits for the other one to start
+        dispatcher.dispatch(events, Event::ticketId, stripeEvents -> {
+            bothStarted.countDown();
+            try {
+                if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                    overlapped.set(false);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // Then
+        assertTrue(overlapped.get(), "Stripes should be processed concurrently");
+    }
+
+    @Test
+    void dispatch_shouldProcessSingleStripeOnCallingThread() {
+        // Given
+        List<Event> events = List.of(new Event(0, 0), new Event(0, 1));
+        List<Thread> threads = new ArrayList<>();
+
+        // When
+        dispatcher.dispatch(events, Event::ticketId, stripeEvents -> threads.add(Thread.currentThread()));
+
+        // Then
+        assertEquals(List.of(Thread.currentThread()), threads);
+    }
+
+    @Test
+    void dispatch_shouldFailAtEarliestEventOfFailedStripes_afterOtherStripesComplete() {
+        // Given: ticket 1 fails, ticket 0 succeeds
+        List<Event> events = List.of(new Event(0, 0), new Event(1, 1), new Event(0, 2), new Event(1, 3));
+        List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+
+        // When
+        BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class, () ->
+                dispatcher.dispatch(events, Event::ticketId, stripeEvents -> {
+                    if (stripeEvents.get(0).ticketId() == 1) {
+                        throw new IllegalStateException("Database unavailable");
+                    }
+                    stripeEvents.forEach(event -> processed.add(event.sequence()));
+                }));
+
+        // Then
+        assertEquals(1, exception.getIndex());
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertEquals(List.of(0, 2), processed);
+    }
+
+    @Test
+    void dispatch_shouldFailAtPoisonEvent_andKeepEarlierEventsOfItsStripe() {
+        // Given: the second event of ticket 0 always fails, and a failed call keeps none of its events
+        List<Event> events = List.of(new Event(0, 0), new Event(1, 1), new Event(0, 2), new Event(1, 3), new Event(0, 4));
+        List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+
+        // When
+        BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class, () ->
+                dispatcher.dispatch(events, Event::ticketId, stripeEvents -> {
+                    if (stripeEvents.stream().anyMatch(event -> event.sequence() == 2)) {
+                        throw new IllegalArgumentException("Poison event");
+                    }
+                    stripeEvents.forEach(event -> processed.add(event.sequence()));
+                }));
+
+        // Then: the poison event is reported, and the events before it are processed
+        assertEquals(2, exception.getIndex());
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        assertTrue(processed.contains(0));
+        assertFalse(processed.contains(4));
+        assertTrue(processed.containsAll(List.of(1, 3)));
+    }
+
+    @Test
+    void dispatch_shouldSpreadEventsWithoutTicketId() {
+        // Given
+        List<Event> events = List.of(new Event(null, 0), new Event(null, 1));
+        List<List<Event>> stripes = Collections.synchronizedList(new ArrayList<>());
+
+        // When
+        dispatcher.dispatch(events, Event::ticketId, stripes::add);
+
+        // Then
+        assertEquals(2, stripes.size());
+    }
+
+    private record Event(Integer ticketId, int sequence) {
+    }
+}
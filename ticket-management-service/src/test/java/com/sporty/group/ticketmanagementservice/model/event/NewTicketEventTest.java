@@ -1,8 +1,10 @@
 package com.sporty.group.ticketmanagementservice.model.event;
 
+import com.sporty.group.sportygroupticketingcommons.event.EventTimestamps;
 import com.sporty.group.sportygroupticketingcommons.event.NewTicketEvent;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -16,7 +18,7 @@ class NewTicketEventTest {
         String status = "open";
         String subject = "Test Subject";
         String description = "Test Description";
-        String createdAt = "15.03.2025";
+        Long createdAt = EventTimestamps.toEpochNanos(LocalDateTime.of(2025, 3, 15, 10, 30));
 
         // When
         NewTicketEvent event = NewTicketEvent.builder()
@@ -24,7 +26,7 @@ class NewTicketEventTest {
                 .status(status)
                 .subject(subject)
                 .description(description)
-                .createdAt(createdAt)
+                .createdAtEpochNanos(createdAt)
                 .build();
 
         // Then
@@ -32,7 +34,7 @@ class NewTicketEventTest {
         assertEquals(status, event.getStatus());
         assertEquals(subject, event.getSubject());
         assertEquals(description, event.getDescription());
-        assertEquals(createdAt, event.getCreatedAt());
+        assertEquals(createdAt, event.getCreatedAtEpochNanos());
     }
 
     @Test
@@ -45,7 +47,7 @@ class NewTicketEventTest {
         assertNull(event.getStatus());
         assertNull(event.getSubject());
         assertNull(event.getDescription());
-        assertNull(event.getCreatedAt());
+        assertNull(event.getCreatedAtEpochNanos());
     }
 
     @Test
@@ -55,17 +57,17 @@ class NewTicketEventTest {
         String status = "open";
         String subject = "Test Subject";
         String description = "Test Description";
-        String createdAt = "15.03.2025";
+        Long createdAt = EventTimestamps.toEpochNanos(LocalDateTime.of(2025, 3, 15, 10, 30));
 
         // When
-        NewTicketEvent event = NewTicketEvent.builder().ticketId(ticketId).status(status).subject(subject).description(description).createdAt(createdAt).build();
+        NewTicketEvent event = NewTicketEvent.builder().ticketId(ticketId).status(status).subject(subject).description(description).createdAtEpochNanos(createdAt).build();
 
         // Then
         assertEquals(ticketId, event.getTicketId());
         assertEquals(status, event.getStatus());
         assertEquals(subject, event.getSubject());
         assertEquals(description, event.getDescription());
-        assertEquals(createdAt, event.getCreatedAt());
+        assertEquals(createdAt, event.getCreatedAtEpochNanos());
     }
 
     @Test
@@ -76,21 +78,21 @@ class NewTicketEventTest {
         String status = "open";
         String subject = "Test Subject";
         String description = "Test Description";
-        String createdAt = "15.03.2025";
+        Long createdAt = EventTimestamps.toEpochNanos(LocalDateTime.of(2025, 3, 15, 10, 30));
 
         // When
         event.setTicketId(ticketId);
         event.setStatus(status);
         event.setSubject(subject);
         event.setDescription(description);
-        event.setCreatedAt(createdAt);
+        event.setCreatedAtEpochNanos(createdAt);
 
         // Then
         assertEquals(ticketId, event.getTicketId());
         assertEquals(status, event.getStatus());
         assertEquals(subject, event.getSubject());
         assertEquals(description, event.getDescription());
-        assertEquals(createdAt, event.getCreatedAt());
+        assertEquals(createdAt, event.getCreatedAtEpochNanos());
     }
 
     @Test
@@ -102,7 +104,7 @@ class NewTicketEventTest {
                 .status("open")
                 .subject("Test Subject")
                 .description("Test Description")
-                .createdAt("15.03.2025")
+                .createdAtEpochNanos(EventTimestamps.toEpochNanos(LocalDateTime.of(2025, 3, 15, 10, 30)))
                 .build();
 
         NewTicketEvent event2 = NewTicketEvent.builder()
@@ -110,7 +112,7 @@ class NewTicketEventTest {
                 .status("open")
                 .subject("Test Subject")
                 .description("Test Description")
-                .createdAt("15.03.2025")
+                .createdAtEpochNanos(EventTimestamps.toEpochNanos(LocalDateTime.of(2025, 3, 15, 10, 30)))
                 .build();
 
         NewTicketEvent event3 = NewTicketEvent.builder()
@@ -118,7 +120,7 @@ class NewTicketEventTest {
                 .status("in_progress")
                 .subject("Different Subject")
                 .description("Different Description")
-                .createdAt("16.03.2025")
+                .createdAtEpochNanos(EventTimestamps.toEpochNanos(LocalDateTime.of(2025, 3, 16, 10, 30)))
                 .build();
 
         // Then
@@ -135,14 +137,14 @@ class NewTicketEventTest {
         String status = "open";
         String subject = "Test Subject";
         String description = "Test Description";
-        String createdAt = "15.03.2025";
+        Long createdAt = EventTimestamps.toEpochNanos(LocalDateTime.of(2025, 3, 15, 10, 30));
 
         NewTicketEvent event = NewTicketEvent.builder()
                 .ticketId(ticketId)
                 .status(status)
                 .subject(subject)
                 .description(description)
-                .createdAt(createdAt)
+                .createdAtEpochNanos(createdAt)
                 .build();
 
         // When
@@ -153,6 +155,6 @@ class NewTicketEventTest {
         assertTrue(eventString.contains(status));
         assertTrue(eventString.contains(subject));
         assertTrue(eventString.contains(description));
-        assertTrue(eventString.contains(createdAt));
+        assertTrue(eventString.contains(createdAt.toString()));
     }
 }
\ No newline at end of file
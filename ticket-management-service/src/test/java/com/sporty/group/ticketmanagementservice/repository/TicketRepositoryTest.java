@@ -6,9 +6,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -99,4 +102,79 @@ class TicketRepositoryTest {
         // Then
         assertFalse(exists);
     }
+
+    @Test
+    void findExistingTicketIds_shouldReturnOnlyStoredTicketIds() {
+        // Given
+        entityManager.persist(testTicket);
+        entityManager.flush();
+
+        // When
+        List<UUID> existingIds = ticketRepository.findExistingTicketIds(List.of(ticketId, UUID.randomUUID()));
+
+        // Then
+        assertEquals(List.of(ticketId), existingIds);
+    }
+
+    @Test
+    void saveAll_shouldInsertNewTicketsAndMarkThemAsStored() {
+        // Given
+        assertTrue(testTicket.isNew());
+
+        // When
+        ticketRepository.saveAll(List.of(testTicket));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertFalse(testTicket.isNew());
+        Ticket loadedTicket = ticketRepository.findById(ticketId).orElseThrow();
+        assertFalse(loadedTicket.isNew());
+    }
+
+    @Test
+    void updateStatusIfIn_shouldUpdateOnlyFromGivenStatuses() {
+        // Given
+        entityManager.persist(testTicket);
+        entityManager.flush();
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 15, 10, 30);
+
+        // When
+        int fromResolved = ticketRepository.updateStatusIfIn(Set.of(ticketId), Ticket.TicketStatus.CLOSED, Set.of(Ticket.TicketStatus.RESOLVED), updatedAt);
+        int fromOpen = ticketRepository.updateStatusIfIn(Set.of(ticketId), Ticket.TicketStatus.IN_PROGRESS, Set.of(Ticket.TicketStatus.OPEN), updatedAt);
+        int missing = ticketRepository.updateStatusIfIn(Set.of(UUID.randomUUID()), Ticket.TicketStatus.IN_PROGRESS, Set.of(Ticket.TicketStatus.OPEN), updatedAt);
+        entityManager.clear();
+
+        // Then
+        assertEquals(0, fromResolved);
+        assertEquals(1, fromOpen);
+        assertEquals(0, missing);
+        Ticket loadedTicket = ticketRepository.findById(ticketId).orElseThrow();
+        assertEquals(Ticket.TicketStatus.IN_PROGRESS, loadedTicket.getStatus());
+        assertEquals(updatedAt, loadedTicket.getUpdatedAt());
+        assertEquals(Optional.of(Ticket.TicketStatus.IN_PROGRESS), ticketRepository.findStatusById(ticketId));
+        assertEquals(Optional.empty(), ticketRepository.findStatusById(UUID.randomUUID()));
+    }
+
+    @Test
+    void saveAndFlush_shouldFail_whenTicketWasChangedSinceItWasLoaded() {
+        // Given: a copy of the ticket loaded before a status update
+        entityManager.persist(testTicket);
+        entityManager.flush();
+        entityManager.clear();
+        Ticket staleTicket = ticketRepository.findById(ticketId).orElseThrow();
+        entityManager.clear();
+        ticketRepository.updateStatusIfIn(Set.of(ticketId), Ticket.TicketStatus.IN_PROGRESS, Set.of(Ticket.TicketStatus.OPEN), LocalDateTime.now());
+
+        // When
+        staleTicket.setAssigneeId("agent-007");
+
+        // Then: the assignment fails instead of writing back the previous status
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> ticketRepository.saveAndFlush(staleTicket));
+        entityManager.clear();
+        Ticket loadedTicket = ticketRepository.findById(ticketId).orElseThrow();
+        assertEquals(Ticket.TicketStatus.IN_PROGRESS, loadedTicket.getStatus());
+        assertEquals(1L, loadedTicket.getVersion());
+        assertNull(loadedTicket.getAssigneeId());
+    }
 }
@@ -0,0 +1,95 @@
+package com.sporty.group.ticketmanagementservice.service;
+
+import com.sporty.group.sportygroupticketingcommons.event.EventTimestamps;
+import com.sporty.group.sportygroupticketingcommons.event.NewTicketEvent;
+import com.sporty.group.sportygroupticketingcommons.outbox.OutboxEvent;
+import com.sporty.group.sportygroupticketingcommons.outbox.OutboxEventRepository;
+import com.sporty.group.sportygroupticketingcommons.serialization.NewTicketEventDeserializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NewTicketEventPublisherTest {
+
+    private static final String TICKET_CREATED_TOPIC = "ticket-created";
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Captor
+    private ArgumentCaptor<List<OutboxEvent>> outboxEventsCaptor;
+
+    @Captor
+    private ArgumentCaptor<byte[]> payloadCaptor;
+
+    private final NewTicketEvent event = NewTicketEvent.builder()
+            .ticketId("ticket-1")
+            .status("open")
+            .userId("user-001")
+            .subject("Test Subject")
+            .createdAtEpochNanos(EventTimestamps.toEpochNanos(LocalDateTime.of(2024, 3, 1, 10, 15)))
+            .build();
+
+    @Test
+    void publish_shouldWriteEventsToOutbox_byDefault() {
+        // Given
+        NewTicketEventPublisher publisher = new NewTicketEventPublisher(outboxEventRepository, kafkaTemplate, false, TICKET_CREATED_TOPIC);
+
+        // When
+        publisher.publish(List.of(event));
+
+        // Then
+        verify(outboxEventRepository).saveAll(outboxEventsCaptor.capture());
+        OutboxEvent outboxEvent = outboxEventsCaptor.getValue().get(0);
+        assertEquals(TICKET_CREATED_TOPIC, outboxEvent.getTopic());
+        assertEquals("ticket-1", outboxEvent.getEventKey());
+        assertNotNull(outboxEvent.getCreatedAt());
+        assertEquals(event, new NewTicketEventDeserializer().deserialize(TICKET_CREATED_TOPIC, outboxEvent.getPayload()));
+        verifyNoInteractions(kafkaTemplate);
+        assertFalse(publisher.isKafkaTransactional());
+    }
+
+    @Test
+    void publish_shouldSendEventsDirectly_withKafkaTransactions() {
+        // Given
+        NewTicketEventPublisher publisher = new NewTicketEventPublisher(outboxEventRepository, kafkaTemplate, true, TICKET_CREATED_TOPIC);
+
+        // When
+        publisher.publish(List.of(event));
+
+        // Then
+        verify(kafkaTemplate).send(eq(TICKET_CREATED_TOPIC), eq("ticket-1"), payloadCaptor.capture());
+        assertEquals(event, new NewTicketEventDeserializer().deserialize(TICKET_CREATED_TOPIC, payloadCaptor.getValue()));
+        verifyNoInteractions(outboxEventRepository);
+        assertTrue(publisher.isKafkaTransactional());
+    }
+
+    @Test
+    void publish_shouldDoNothing_whenThereAreNoEvents() {
+        // Given
+        NewTicketEventPublisher publisher = new NewTicketEventPublisher(outboxEventRepository, kafkaTemplate, false, TICKET_CREATED_TOPIC);
+
+        // When
+        publisher.publish(List.of());
+
+        // Then
+        verify(outboxEventRepository, never()).saveAll(any());
+        verifyNoInteractions(kafkaTemplate);
+    }
+}
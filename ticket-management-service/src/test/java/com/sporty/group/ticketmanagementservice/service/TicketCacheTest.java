@@ -0,0 +1,104 @@
+package com.sporty.group.ticketmanagementservice.service;
+
+import com.sporty.group.ticketmanagementservice.config.CacheConfig;
+import com.sporty.group.ticketmanagementservice.model.Ticket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketCacheTest {
+
+    private TicketCache ticketCache;
+    private UUID ticketId;
+
+    @BeforeEach
+    void setUp() {
+        ticketCache = new TicketCache(new CaffeineCacheManager(CacheConfig.TICKETS_CACHE));
+        ticketId = UUID.randomUUID();
+    }
+
+    @Test
+    void get_shouldReturnCopies_thatDoNotChangeTheCachedTicket() {
+        // Given
+        Ticket ticket = ticket(Ticket.TicketStatus.OPEN, 1L);
+        ticketCache.put(ticket, ticketCache.stamp());
+
+        // When
+        ticket.setStatus(Ticket.TicketStatus.CLOSED);
+        Ticket first = ticketCache.get(ticketId).orElseThrow();
+        first.setAssigneeId("agent-007");
+
+        // Then
+        Ticket second = ticketCache.get(ticketId).orElseThrow();
+        assertNotSame(first, second);
+        assertEquals(Ticket.TicketStatus.OPEN, second.getStatus());
+        assertNull(second.getAssigneeId());
+        assertEquals(1L, second.getVersion());
+    }
+
+    @Test
+    void put_shouldNotReplaceNewerVersion() {
+        // Given
+        ticketCache.put(ticket(Ticket.TicketStatus.IN_PROGRESS, 2L), ticketCache.stamp());
+
+        // When
+        ticketCache.put(ticket(Ticket.TicketStatus.OPEN, 1L), ticketCache.stamp());
+
+        // Then
+        assertEquals(Ticket.TicketStatus.IN_PROGRESS, ticketCache.get(ticketId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void put_shouldRejectTicketReadBeforeInvalidation() {
+        // Given: a reader reads the ticket, then an update of the ticket commits
+        long stamp = ticketCache.stamp();
+        Ticket staleTicket = ticket(Ticket.TicketStatus.OPEN, 1L);
+        ticketCache.invalidateAfterCommit(List.of(ticketId));
+
+        // When
+        ticketCache.put(staleTicket, stamp);
+
+        // Then
+        assertEquals(Optional.empty(), ticketCache.get(ticketId));
+
+        // And a ticket read after the invalidation is cached
+        ticketCache.put(ticket(Ticket.TicketStatus.IN_PROGRESS, 2L), ticketCache.stamp());
+        assertEquals(Ticket.TicketStatus.IN_PROGRESS, ticketCache.get(ticketId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void putAndInvalidateAfterCommit_shouldApplyOnlyAfterCommit() {
+        // Given
+        ticketCache.put(ticket(Ticket.TicketStatus.OPEN, 1L), ticketCache.stamp());
+        UUID otherTicketId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            ticketCache.invalidateAfterCommit(List.of(ticketId));
+            ticketCache.putAfterCommit(List.of(Ticket.builder().ticketId(otherTicketId).status(Ticket.TicketStatus.OPEN).build()));
+
+            // Then
+            assertTrue(ticketCache.get(ticketId).isPresent());
+            assertTrue(ticketCache.get(otherTicketId).isEmpty());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertTrue(ticketCache.get(ticketId).isEmpty());
+            assertTrue(ticketCache.get(otherTicketId).isPresent());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Ticket ticket(Ticket.TicketStatus status, Long version) {
+        Ticket ticket = Ticket.builder().ticketId(ticketId).subject("Test Subject").status(status).build();
+        ticket.setVersion(version);
+        return ticket;
+    }
+}
@@ -0,0 +1,50 @@
+package com.sporty.group.ticketmanagementservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketDedupeWindowTest {
+
+    @Test
+    void contains_shouldReturnTrue_forRecordedTicketId() {
+        // Given
+        TicketDedupeWindow window = new TicketDedupeWindow(2);
+        UUID ticketId = UUID.randomUUID();
+
+        // When
+        window.record(ticketId);
+
+        // Then
+        assertTrue(window.contains(ticketId));
+        assertFalse(window.contains(UUID.randomUUID()));
+    }
+
+    @Test
+    void record_shouldEvictLeastRecentlySeenTicketId_whenWindowIsFull() {
+        // Given
+        TicketDedupeWindow window = new TicketDedupeWindow(2);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        window.record(first);
+        window.record(second);
+        window.contains(first);
+
+        // When
+        window.record(third);
+
+        // Then
+        assertEquals(2, window.size());
+        assertTrue(window.contains(first));
+        assertFalse(window.contains(second));
+        assertTrue(window.contains(third));
+    }
+
+    @Test
+    void constructor_shouldRejectNonPositiveWindowSize() {
+        assertThrows(IllegalArgumentException.class, () -> new TicketDedupeWindow(0));
+    }
+}
@@ -0,0 +1,210 @@
+package com.sporty.group.ticketmanagementservice.service;
+
+import com.sporty.group.sportygroupticketingcommons.pagination.TicketPage;
+import com.sporty.group.ticketmanagementservice.config.CacheConfig;
+import com.sporty.group.ticketmanagementservice.model.Ticket;
+import com.sporty.group.ticketmanagementservice.repository.TicketRepository;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+@DataJpaTest
+@Import({TicketQueryService.class, TicketCache.class, CacheConfig.class})
+class TicketQueryServiceTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketQueryService ticketQueryService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @SpyBean
+    private TicketCache ticketCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private List<Ticket> tickets;
+
+    @BeforeEach
+    void setUp() {
+        // Seven tickets, some of them created at the same time
+        tickets = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            tickets.add(Ticket.builder()
+                    .ticketId(UUID.randomUUID())
+                    .subject("Ticket " + i)
+                    .status(i % 2 == 0 ? Ticket.TicketStatus.OPEN : Ticket.TicketStatus.IN_PROGRESS)
+                    .userId(i < 4 ? "user-001" : "user-002")
+                    .assigneeId(i % 2 == 0 ? null : "agent-007")
+                    .createdAt(BASE_TIME.plusMinutes(i / 2))
+                    .updatedAt(BASE_TIME)
+                    .build());
+        }
+        ticketRepository.saveAll(tickets);
+        // The database orders UUIDs by their unsigned bytes, like their hex strings and unlike UUID.compareTo
+        tickets.sort(Comparator.comparing(Ticket::getCreatedAt).thenComparing(ticket -> ticket.getTicketId().toString()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Tests that run outside of the test transaction commit their tickets
+        ticketRepository.deleteAll();
+        cacheManager.getCache(CacheConfig.TICKETS_CACHE).clear();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getTicket_shouldServeRepeatedReadsFromCache() {
+        // Given
+        UUID ticketId = tickets.get(0).getTicketId();
+
+        // When
+        Optional<Ticket> first = ticketQueryService.getTicket(ticketId);
+        Optional<Ticket> second = ticketQueryService.getTicket(ticketId);
+        Optional<Ticket> unknown = ticketQueryService.getTicket(UUID.randomUUID());
+        Optional<Ticket> unknownAgain = ticketQueryService.getTicket(UUID.randomUUID());
+
+        // Then
+        assertTrue(first.isPresent());
+        assertEquals(first.get(), second.get());
+        assertNotSame(first.get(), second.get());
+        assertTrue(unknown.isEmpty());
+        assertTrue(unknownAgain.isEmpty());
+
+        CacheStats stats = ticketCacheStats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(3, stats.missCount());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getTicket_shouldNotCacheTicketReadBeforeConcurrentUpdateCommitted() throws Exception {
+        // Given: a read that has loaded an open ticket and is paused before it caches it
+        UUID ticketId = tickets.stream()
+                .filter(ticket -> ticket.getStatus() == Ticket.TicketStatus.OPEN)
+                .findFirst()
+                .orElseThrow()
+                .getTicketId();
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch updated = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            loaded.countDown();
+            assertTrue(updated.await(10, TimeUnit.SECONDS));
+            return invocation.callRealMethod();
+        }).when(ticketCache).put(any(Ticket.class), anyLong());
+        CompletableFuture<Optional<Ticket>> read = CompletableFuture.supplyAsync(() -> ticketQueryService.getTicket(ticketId));
+        assertTrue(loaded.await(10, TimeUnit.SECONDS));
+
+        // When: an update of the ticket commits, and the read caches what it loaded afterwards
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            ticketRepository.updateStatusIfIn(Set.of(ticketId), Ticket.TicketStatus.IN_PROGRESS,
+                    Set.of(Ticket.TicketStatus.OPEN), LocalDateTime.now());
+            ticketCache.invalidateAfterCommit(Set.of(ticketId));
+        });
+        updated.countDown();
+        assertEquals(Ticket.TicketStatus.OPEN, read.get(10, TimeUnit.SECONDS).orElseThrow().getStatus());
+
+        // Then: the stale copy is not served
+        assertEquals(Ticket.TicketStatus.IN_PROGRESS, ticketQueryService.getTicket(ticketId).orElseThrow().getStatus());
+        assertEquals(Ticket.TicketStatus.IN_PROGRESS, ticketQueryService.getTicket(ticketId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void getTickets_shouldPageThroughAllTicketsInOrder() {
+        // When
+        List<UUID> listedIds = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            TicketPage<Ticket> page = ticketQueryService.getTickets(null, null, null, cursor, 3);
+            page.getItems().forEach(ticket -> listedIds.add(ticket.getTicketId()));
+            pageSizes.add(page.getItems().size());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertEquals(tickets.stream().map(Ticket::getTicketId).toList(), listedIds);
+        assertEquals(List.of(3, 3, 1), pageSizes);
+    }
+
+    @Test
+    void getTickets_shouldApplyFilters() {
+        // When
+        TicketPage<Ticket> open = ticketQueryService.getTickets(Ticket.TicketStatus.OPEN, null, null, null, 10);
+        TicketPage<Ticket> assignedForUser = ticketQueryService.getTickets(null, "user-001", "agent-007", null, 10);
+
+        // Then
+        assertEquals(4, open.getItems().size());
+        assertTrue(open.getItems().stream().allMatch(ticket -> ticket.getStatus() == Ticket.TicketStatus.OPEN));
+        assertNull(open.getNextCursor());
+
+        assertEquals(2, assignedForUser.getItems().size());
+        assertTrue(assignedForUser.getItems().stream()
+                .allMatch(ticket -> "user-001".equals(ticket.getUserId()) && "agent-007".equals(ticket.getAssigneeId())));
+    }
+
+    @Test
+    void getTickets_shouldNotRepeatOrSkipTickets_whenTicketsAreCreatedBetweenPages() {
+        // Given
+        TicketPage<Ticket> firstPage = ticketQueryService.getTickets(null, null, null, null, 4);
+        ticketRepository.save(Ticket.builder()
+                .ticketId(UUID.randomUUID())
+                .subject("Older ticket")
+                .status(Ticket.TicketStatus.OPEN)
+                .createdAt(BASE_TIME.minusDays(1))
+                .build());
+
+        // When
+        TicketPage<Ticket> secondPage = ticketQueryService.getTickets(null, null, null, firstPage.getNextCursor(), 4);
+
+        // Then
+        assertEquals(tickets.subList(4, 7).stream().map(Ticket::getTicketId).toList(),
+                secondPage.getItems().stream().map(Ticket::getTicketId).toList());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void getTickets_shouldRejectInvalidCursorAndLimit() {
+        assertThrows(IllegalArgumentException.class, () -> ticketQueryService.getTickets(null, null, null, "invalid", 10));
+        assertThrows(IllegalArgumentException.class, () -> ticketQueryService.getTickets(null, null, null, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> ticketQueryService.getTickets(null, null, null, null, TicketQueryService.MAX_PAGE_SIZE + 1));
+    }
+
+    private CacheStats ticketCacheStats() {
+        return ((CaffeineCache) cacheManager.getCache(CacheConfig.TICKETS_CACHE)).getNativeCache().stats();
+    }
+}
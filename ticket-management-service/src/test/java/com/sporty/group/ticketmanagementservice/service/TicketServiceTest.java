@@ -1,6 +1,8 @@
 package com.sporty.group.ticketmanagementservice.service;
 
+import com.sporty.group.sportygroupticketingcommons.event.EventTimestamps;
 import com.sporty.group.sportygroupticketingcommons.event.NewTicketEvent;
+import com.sporty.group.ticketmanagementservice.config.CacheConfig;
 import com.sporty.group.ticketmanagementservice.model.Ticket;
 import com.sporty.group.sportygroupticketingcommons.event.TicketAssignedEvent;
 import com.sporty.group.sportygroupticketingcommons.event.TicketCreatedEvent;
@@ -11,13 +13,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,21 +38,26 @@ class TicketServiceTest {
     private TicketRepository ticketRepository;
 
     @Mock
-    private KafkaTemplate<String, NewTicketEvent> newTicketKafkaTemplate;
+    private NewTicketEventPublisher newTicketEventPublisher;
+
+    @Mock
+    private TicketStatusUpdatedEventPublisher ticketStatusUpdatedEventPublisher;
 
     @Captor
-    private ArgumentCaptor<Ticket> ticketCaptor;
+    private ArgumentCaptor<Iterable<Ticket>> ticketsCaptor;
 
     @Captor
-    private ArgumentCaptor<NewTicketEvent> newTicketEventCaptor;
+    private ArgumentCaptor<List<NewTicketEvent>> newTicketEventsCaptor;
 
     private TicketService ticketService;
-    private static final String TICKET_CREATED_TOPIC = "ticket-created";
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private TicketDedupeWindow dedupeWindow;
+    private TicketCache ticketCache;
 
     @BeforeEach
     void setUp() {
-        ticketService = new TicketService(ticketRepository, newTicketKafkaTemplate, TICKET_CREATED_TOPIC);
+        dedupeWindow = new TicketDedupeWindow(100);
+        ticketCache = new TicketCache(new CaffeineCacheManager(CacheConfig.TICKETS_CACHE));
+        ticketService = new TicketService(ticketRepository, newTicketEventPublisher, ticketStatusUpdatedEventPublisher, dedupeWindow, ticketCache);
     }
 
     @Test
@@ -57,8 +69,8 @@ class TicketServiceTest {
         ticketService.processTicketCreated(event);
 
         // Then
-        verify(ticketRepository).save(ticketCaptor.capture());
-        Ticket savedTicket = ticketCaptor.getValue();
+        verify(ticketRepository).saveAll(ticketsCaptor.capture());
+        Ticket savedTicket = ticketsCaptor.getValue().iterator().next();
         
         assertNotNull(savedTicket.getTicketId());
         assertEquals("Test Subject", savedTicket.getSubject());
@@ -68,15 +80,117 @@ class TicketServiceTest {
         assertNotNull(savedTicket.getCreatedAt());
         assertNotNull(savedTicket.getUpdatedAt());
 
-        verify(newTicketKafkaTemplate).send(eq(TICKET_CREATED_TOPIC), newTicketEventCaptor.capture());
-        NewTicketEvent sentEvent = newTicketEventCaptor.getValue();
+        NewTicketEvent sentEvent = publishedNewTicketEvents().get(0);
         
         assertEquals(savedTicket.getTicketId().toString(), sentEvent.getTicketId());
         assertEquals("open", sentEvent.getStatus());
         assertEquals("user-001", sentEvent.getUserId());
         assertEquals("Test Subject", sentEvent.getSubject());
         assertEquals("Test Description", sentEvent.getDescription());
-        assertEquals(savedTicket.getCreatedAt().format(DATE_FORMATTER), sentEvent.getCreatedAt());
+        assertEquals(savedTicket.getCreatedAt(), EventTimestamps.toLocalDateTime(sentEvent.getCreatedAtEpochNanos()));
+    }
+
+    @Test
+    void processTicketCreated_shouldKeepTicketIdAndCreationTimeOfEvent() {
+        // Given
+        UUID ticketId = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 10, 15);
+        TicketCreatedEvent event = TicketCreatedEvent.builder().ticketId(ticketId).userId("user-001").subject("Test Subject").description("Test Description").createdAt(createdAt).build();
+        when(ticketRepository.findExistingTicketIds(Set.of(ticketId))).thenReturn(List.of());
+
+        // When
+        ticketService.processTicketCreated(event);
+
+        // Then
+        verify(ticketRepository).saveAll(ticketsCaptor.capture());
+        Ticket savedTicket = ticketsCaptor.getValue().iterator().next();
+        assertEquals(ticketId, savedTicket.getTicketId());
+        assertEquals(createdAt, savedTicket.getCreatedAt());
+
+        NewTicketEvent sentEvent = publishedNewTicketEvents().get(0);
+        assertEquals(ticketId.toString(), sentEvent.getTicketId());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 10, 15), EventTimestamps.toLocalDateTime(sentEvent.getCreatedAtEpochNanos()));
+        assertTrue(dedupeWindow.contains(ticketId));
+    }
+
+    @Test
+    void processTicketCreated_shouldRecordTicketIdInDedupeWindow_onlyAfterCommit() {
+        // Given
+        UUID ticketId = UUID.randomUUID();
+        TicketCreatedEvent event = TicketCreatedEvent.builder().ticketId(ticketId).userId("user-001").subject("Test Subject").description("Test Description").build();
+        when(ticketRepository.findExistingTicketIds(Set.of(ticketId))).thenReturn(List.of());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            ticketService.processTicketCreated(event);
+
+            // Then
+            assertFalse(dedupeWindow.contains(ticketId), "A rolled back ticket must not be skipped on redelivery");
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertTrue(dedupeWindow.contains(ticketId));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void processTicketCreated_shouldSkipRedeliveredEvent_withoutDatabaseLookup() {
+        // Given
+        UUID ticketId = UUID.randomUUID();
+        TicketCreatedEvent event = TicketCreatedEvent.builder().ticketId(ticketId).userId("user-001").subject("Test Subject").description("Test Description").build();
+        when(ticketRepository.findExistingTicketIds(Set.of(ticketId))).thenReturn(List.of());
+        ticketService.processTicketCreated(event);
+
+        // When
+        ticketService.processTicketCreated(event);
+
+        // Then
+        verify(ticketRepository, times(1)).findExistingTicketIds(any());
+        verify(ticketRepository, times(1)).saveAll(any());
+        verify(newTicketEventPublisher, times(1)).publish(any());
+    }
+
+    @Test
+    void processTicketCreated_shouldSkipReplayedEvent_whenTicketAlreadyExists() {
+        // Given
+        UUID ticketId = UUID.randomUUID();
+        TicketCreatedEvent event = TicketCreatedEvent.builder().ticketId(ticketId).userId("user-001").subject("Test Subject").description("Test Description").build();
+        when(ticketRepository.findExistingTicketIds(Set.of(ticketId))).thenReturn(List.of(ticketId));
+
+        // When
+        ticketService.processTicketCreated(event);
+
+        // Then
+        verify(ticketRepository, never()).saveAll(any());
+        verify(newTicketEventPublisher, never()).publish(any());
+        assertTrue(dedupeWindow.contains(ticketId));
+    }
+
+    @Test
+    void processTicketCreated_withKafkaTransactions_shouldRepublishEventOfExistingTicket() {
+        // Given: the ticket was committed, but the Kafka transaction with its NewTicketEvent was aborted
+        UUID ticketId = UUID.randomUUID();
+        TicketCreatedEvent event = TicketCreatedEvent.builder().ticketId(ticketId).userId("user-001").subject("Test Subject").build();
+        Ticket existingTicket = Ticket.builder()
+                .ticketId(ticketId)
+                .subject("Test Subject")
+                .status(Ticket.TicketStatus.OPEN)
+                .userId("user-001")
+                .createdAt(LocalDateTime.of(2024, 3, 1, 10, 15))
+                .build();
+        dedupeWindow.record(ticketId);
+        when(newTicketEventPublisher.isKafkaTransactional()).thenReturn(true);
+        when(ticketRepository.findExistingTicketIds(Set.of(ticketId))).thenReturn(List.of(ticketId));
+        when(ticketRepository.findAllById(List.of(ticketId))).thenReturn(List.of(existingTicket));
+
+        // When
+        ticketService.processTicketCreated(event);
+
+        // Then
+        verify(ticketRepository, never()).saveAll(any());
+        NewTicketEvent sentEvent = publishedNewTicketEvents().get(0);
+        assertEquals(ticketId.toString(), sentEvent.getTicketId());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 10, 15), EventTimestamps.toLocalDateTime(sentEvent.getCreatedAtEpochNanos()));
     }
 
     @Test
@@ -96,18 +210,20 @@ class TicketServiceTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
         
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(existingTicket));
+        when(ticketRepository.findAllById(Set.of(ticketId))).thenReturn(List.of(existingTicket));
 
         // When
         ticketService.processTicketAssigned(event);
 
         // Then
-        verify(ticketRepository).findById(ticketId);
-        verify(ticketRepository).save(ticketCaptor.capture());
+        verify(ticketRepository).findAllById(Set.of(ticketId));
+        verify(ticketRepository).saveAll(ticketsCaptor.capture());
         
-        Ticket updatedTicket = ticketCaptor.getValue();
+        Ticket updatedTicket = ticketsCaptor.getValue().iterator().next();
         assertEquals(assigneeId, updatedTicket.getAssigneeId());
         assertNotNull(updatedTicket.getUpdatedAt());
+        assertEquals(Optional.of(updatedTicket), ticketCache.get(ticketId));
+        assertNotSame(updatedTicket, ticketCache.get(ticketId).orElseThrow());
     }
 
     @Test
@@ -116,87 +232,228 @@ class TicketServiceTest {
         UUID ticketId = UUID.randomUUID();
         TicketAssignedEvent event = new TicketAssignedEvent(ticketId.toString(), "agent-007");
         
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.empty());
+        when(ticketRepository.findAllById(Set.of(ticketId))).thenReturn(List.of());
 
         // When
         ticketService.processTicketAssigned(event);
 
         // Then
-        verify(ticketRepository).findById(ticketId);
-        verify(ticketRepository, never()).save(any());
+        verify(ticketRepository).findAllById(Set.of(ticketId));
+        verify(ticketRepository, never()).saveAll(any());
     }
 
     @Test
-    void processTicketStatusUpdated_shouldUpdateTicketStatus_whenTicketExists() {
+    void processTicketStatusUpdated_shouldUpdateStatusWithSingleConditionalUpdate() {
         // Given
         UUID ticketId = UUID.randomUUID();
-        String newStatus = "in_progress";
-        TicketStatusUpdatedEvent event = new TicketStatusUpdatedEvent(ticketId.toString(), newStatus);
-        
-        Ticket existingTicket = Ticket.builder()
-                .ticketId(ticketId)
-                .subject("Test Subject")
-                .description("Test Description")
-                .status(Ticket.TicketStatus.OPEN)
-                .userId("user-001")
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
-        
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(existingTicket));
+        TicketStatusUpdatedEvent event = new TicketStatusUpdatedEvent(ticketId.toString(), "in_progress");
+        ticketCache.put(Ticket.builder().ticketId(ticketId).status(Ticket.TicketStatus.OPEN).build(), ticketCache.stamp());
+        when(ticketRepository.updateStatusIfIn(eq(Set.of(ticketId)), eq(Ticket.TicketStatus.IN_PROGRESS), eq(Set.of(Ticket.TicketStatus.OPEN)), any())).thenReturn(1);
 
         // When
         ticketService.processTicketStatusUpdated(event);
 
         // Then
-        verify(ticketRepository).findById(ticketId);
-        verify(ticketRepository).save(ticketCaptor.capture());
-        
-        Ticket updatedTicket = ticketCaptor.getValue();
-        assertEquals(Ticket.TicketStatus.IN_PROGRESS, updatedTicket.getStatus());
-        assertNotNull(updatedTicket.getUpdatedAt());
+        verify(ticketRepository).updateStatusIfIn(eq(Set.of(ticketId)), eq(Ticket.TicketStatus.IN_PROGRESS), eq(Set.of(Ticket.TicketStatus.OPEN)), any());
+        verifyNoMoreInteractions(ticketRepository);
+        assertTrue(ticketCache.get(ticketId).isEmpty());
+        // The event came from the ticket-updates topic, so it is not published again
+        verifyNoInteractions(ticketStatusUpdatedEventPublisher);
     }
 
     @Test
-    void processTicketStatusUpdated_shouldDoNothing_whenTicketDoesNotExist() {
+    void processTicketStatusUpdated_shouldKeepCachedTicket_whenUpdateDoesNotApply() {
+        // Given: a missing ticket, or one whose status does not allow the transition
+        UUID ticketId = UUID.randomUUID();
+        Ticket cachedTicket = Ticket.builder().ticketId(ticketId).status(Ticket.TicketStatus.CLOSED).build();
+        ticketCache.put(cachedTicket, ticketCache.stamp());
+        when(ticketRepository.updateStatusIfIn(eq(Set.of(ticketId)), eq(Ticket.TicketStatus.RESOLVED), any(), any())).thenReturn(0);
+
+        // When
+        ticketService.processTicketStatusUpdated(new TicketStatusUpdatedEvent(ticketId.toString(), "resolved"));
+
+        // Then
+        verifyNoMoreInteractions(ticketRepository);
+        assertEquals(Optional.of(cachedTicket), ticketCache.get(ticketId));
+    }
+
+    @Test
+    void processTicketStatusUpdated_shouldHandleInvalidStatus() {
         // Given
         UUID ticketId = UUID.randomUUID();
-        TicketStatusUpdatedEvent event = new TicketStatusUpdatedEvent(ticketId.toString(), "in_progress");
-        
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.empty());
+        TicketStatusUpdatedEvent event = new TicketStatusUpdatedEvent(ticketId.toString(), "invalid_status");
 
         // When
         ticketService.processTicketStatusUpdated(event);
 
         // Then
-        verify(ticketRepository).findById(ticketId);
-        verify(ticketRepository, never()).save(any());
+        verifyNoInteractions(ticketRepository);
     }
 
     @Test
-    void processTicketStatusUpdated_shouldHandleInvalidStatus() {
+    void processTicketStatusUpdated_shouldNotUpdate_whenNoStatusLeadsToTarget() {
+        // Given: no ticket can move back to OPEN
+        TicketStatusUpdatedEvent event = new TicketStatusUpdatedEvent(UUID.randomUUID().toString(), "OPEN");
+
+        // When
+        ticketService.processTicketStatusUpdated(event);
+
+        // Then
+        verifyNoInteractions(ticketRepository);
+    }
+
+    @Test
+    void updateTicketStatus_shouldReportOutcome() {
         // Given
+        UUID updatedId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        UUID closedId = UUID.randomUUID();
+        UUID resolvedId = UUID.randomUUID();
+        when(ticketRepository.updateStatusIfIn(any(), eq(Ticket.TicketStatus.RESOLVED), any(), any()))
+                .thenAnswer(invocation -> invocation.<Set<UUID>>getArgument(0).contains(updatedId) ? 1 : 0);
+        when(ticketRepository.findStatusById(any())).thenAnswer(invocation -> {
+            UUID ticketId = invocation.getArgument(0);
+            return closedId.equals(ticketId) ? Optional.of(Ticket.TicketStatus.CLOSED)
+                    : resolvedId.equals(ticketId) ? Optional.of(Ticket.TicketStatus.RESOLVED)
+                    : Optional.empty();
+        });
+
+        // When / Then
+        assertEquals(TicketService.StatusUpdateResult.UPDATED, ticketService.updateTicketStatus(updatedId, "RESOLVED"));
+        assertEquals(TicketService.StatusUpdateResult.UNCHANGED, ticketService.updateTicketStatus(resolvedId, "resolved"));
+        assertEquals(TicketService.StatusUpdateResult.NOT_FOUND, ticketService.updateTicketStatus(missingId, "resolved"));
+        assertEquals(TicketService.StatusUpdateResult.NOT_ALLOWED, ticketService.updateTicketStatus(closedId, "resolved"));
+        assertEquals(TicketService.StatusUpdateResult.INVALID_STATUS, ticketService.updateTicketStatus(updatedId, "done"));
+        assertEquals(TicketService.StatusUpdateResult.INVALID_STATUS, ticketService.updateTicketStatus(updatedId, null));
+        verify(ticketRepository, never()).findStatusById(updatedId);
+        verify(ticketStatusUpdatedEventPublisher, times(1)).publish(any());
+        verify(ticketStatusUpdatedEventPublisher).publish(new TicketStatusUpdatedEvent(updatedId.toString(), "RESOLVED"));
+    }
+
+    @Test
+    void processTicketsCreated_shouldCreateBatchWithSingleLookup() {
+        // Given: two new tickets, a duplicate within the batch and a ticket that already exists
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        UUID existingId = UUID.randomUUID();
+        TicketCreatedEvent first = TicketCreatedEvent.builder().ticketId(firstId).userId("user-001").subject("First").build();
+        TicketCreatedEvent second = TicketCreatedEvent.builder().ticketId(secondId).userId("user-002").subject("Second").build();
+        TicketCreatedEvent existing = TicketCreatedEvent.builder().ticketId(existingId).userId("user-003").subject("Existing").build();
+        when(ticketRepository.findExistingTicketIds(Set.of(firstId, secondId, existingId))).thenReturn(List.of(existingId));
+
+        // When
+        ticketService.processTicketsCreated(List.of(first, second, first, existing));
+
+        // Then
+        verify(ticketRepository).saveAll(ticketsCaptor.capture());
+        List<UUID> savedIds = new ArrayList<>();
+        ticketsCaptor.getValue().forEach(ticket -> savedIds.add(ticket.getTicketId()));
+        assertEquals(List.of(firstId, secondId), savedIds);
+
+        assertEquals(List.of(firstId.toString(), secondId.toString()),
+                publishedNewTicketEvents().stream().map(NewTicketEvent::getTicketId).toList());
+        verifyNoMoreInteractions(ticketRepository);
+    }
+
+    @Test
+    void processTicketsAssigned_shouldApplyEventsInOrderWithSingleLookup() {
+        // Given: two assignments of the same ticket and one of a missing ticket
         UUID ticketId = UUID.randomUUID();
-        String invalidStatus = "invalid_status";
-        TicketStatusUpdatedEvent event = new TicketStatusUpdatedEvent(ticketId.toString(), invalidStatus);
-        
+        UUID missingId = UUID.randomUUID();
         Ticket existingTicket = Ticket.builder()
                 .ticketId(ticketId)
                 .subject("Test Subject")
-                .description("Test Description")
                 .status(Ticket.TicketStatus.OPEN)
                 .userId("user-001")
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
                 .build();
-        
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(existingTicket));
+        when(ticketRepository.findAllById(Set.of(ticketId, missingId))).thenReturn(List.of(existingTicket));
 
         // When
-        ticketService.processTicketStatusUpdated(event);
+        ticketService.processTicketsAssigned(List.of(
+                new TicketAssignedEvent(ticketId.toString(), "agent-001"),
+                new TicketAssignedEvent(missingId.toString(), "agent-002"),
+                new TicketAssignedEvent(ticketId.toString(), "agent-003")));
+
+        // Then
+        verify(ticketRepository).saveAll(ticketsCaptor.capture());
+        List<Ticket> savedTickets = new ArrayList<>();
+        ticketsCaptor.getValue().forEach(savedTickets::add);
+        assertEquals(1, savedTickets.size());
+        assertEquals("agent-003", savedTickets.get(0).getAssigneeId());
+        verify(ticketRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void processTicketsStatusUpdated_shouldUpdateEachNewStatusWithOneStatementInLifecycleOrder() {
+        // Given: a ticket that is closed and then set in progress again, and a batch with an invalid status
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        UUID invalidId = UUID.randomUUID();
+        when(ticketRepository.updateStatusIfIn(any(), any(), any(), any())).thenReturn(1);
+
+        // When
+        ticketService.processTicketsStatusUpdated(List.of(
+                new TicketStatusUpdatedEvent(firstId.toString(), "closed"),
+                new TicketStatusUpdatedEvent(invalidId.toString(), "invalid_status"),
+                new TicketStatusUpdatedEvent(secondId.toString(), "in_progress"),
+                new TicketStatusUpdatedEvent(firstId.toString(), "in_progress"),
+                new TicketStatusUpdatedEvent(secondId.toString(), "closed")));
+
+        // Then: both tickets end up closed, whichever status they had
+        InOrder inOrder = inOrder(ticketRepository);
+        inOrder.verify(ticketRepository).updateStatusIfIn(eq(Set.of(secondId, firstId)), eq(Ticket.TicketStatus.IN_PROGRESS),
+                eq(Set.of(Ticket.TicketStatus.OPEN)), any());
+        inOrder.verify(ticketRepository).updateStatusIfIn(eq(Set.of(firstId, secondId)), eq(Ticket.TicketStatus.CLOSED),
+                eq(Set.of(Ticket.TicketStatus.OPEN, Ticket.TicketStatus.IN_PROGRESS, Ticket.TicketStatus.RESOLVED)), any());
+        verifyNoMoreInteractions(ticketRepository);
+    }
+
+    @Test
+    void processTicketsAssigned_shouldSkipMalformedTicketIds_andApplyOtherEvents() {
+        // Given: a batch with a malformed and a missing ticket ID
+        UUID ticketId = UUID.randomUUID();
+        Ticket existingTicket = Ticket.builder()
+                .ticketId(ticketId)
+                .subject("Test Subject")
+                .status(Ticket.TicketStatus.OPEN)
+                .userId("user-001")
+                .build();
+        when(ticketRepository.findAllById(Set.of(ticketId))).thenReturn(List.of(existingTicket));
+
+        // When
+        ticketService.processTicketsAssigned(List.of(
+                new TicketAssignedEvent("not-a-uuid", "agent-001"),
+                new TicketAssignedEvent(null, "agent-002"),
+                new TicketAssignedEvent(ticketId.toString(), "agent-003")));
 
         // Then
-        verify(ticketRepository).findById(ticketId);
-        verify(ticketRepository, never()).save(any());
+        verify(ticketRepository).saveAll(ticketsCaptor.capture());
+        List<Ticket> savedTickets = new ArrayList<>();
+        ticketsCaptor.getValue().forEach(savedTickets::add);
+        assertEquals(1, savedTickets.size());
+        assertEquals("agent-003", savedTickets.get(0).getAssigneeId());
+    }
+
+    @Test
+    void processTicketsStatusUpdated_shouldSkipMalformedTicketIds_andApplyOtherEvents() {
+        // Given
+        UUID ticketId = UUID.randomUUID();
+        when(ticketRepository.updateStatusIfIn(any(), any(), any(), any())).thenReturn(1);
+
+        // When
+        ticketService.processTicketsStatusUpdated(List.of(
+                new TicketStatusUpdatedEvent("not-a-uuid", "resolved"),
+                new TicketStatusUpdatedEvent(null, "resolved"),
+                new TicketStatusUpdatedEvent(ticketId.toString(), "resolved")));
+
+        // Then
+        verify(ticketRepository).updateStatusIfIn(eq(Set.of(ticketId)), eq(Ticket.TicketStatus.RESOLVED),
+                eq(Set.of(Ticket.TicketStatus.OPEN, Ticket.TicketStatus.IN_PROGRESS)), any());
+        verifyNoMoreInteractions(ticketRepository);
+    }
+
+    private List<NewTicketEvent> publishedNewTicketEvents() {
+        verify(newTicketEventPublisher).publish(newTicketEventsCaptor.capture());
+        return newTicketEventsCaptor.getValue();
     }
-}
\ No newline at end of file
+}
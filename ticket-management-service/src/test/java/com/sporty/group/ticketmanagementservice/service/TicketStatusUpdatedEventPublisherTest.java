@@ -0,0 +1,45 @@
+package com.sporty.group.ticketmanagementservice.service;
+
+import com.sporty.group.sportygroupticketingcommons.event.TicketStatusUpdatedEvent;
+import com.sporty.group.sportygroupticketingcommons.outbox.OutboxEvent;
+import com.sporty.group.sportygroupticketingcommons.outbox.OutboxEventRepository;
+import com.sporty.group.sportygroupticketingcommons.serialization.TicketStatusUpdatedEventDeserializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketStatusUpdatedEventPublisherTest {
+
+    private static final String TICKET_UPDATES_TOPIC = "ticket-updates";
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Captor
+    private ArgumentCaptor<OutboxEvent> outboxEventCaptor;
+
+    @Test
+    void publish_shouldWriteEventToOutbox() {
+        // Given
+        TicketStatusUpdatedEventPublisher publisher = new TicketStatusUpdatedEventPublisher(outboxEventRepository, TICKET_UPDATES_TOPIC);
+        TicketStatusUpdatedEvent event = new TicketStatusUpdatedEvent("ticket-1", "RESOLVED");
+
+        // When
+        publisher.publish(event);
+
+        // Then
+        verify(outboxEventRepository).save(outboxEventCaptor.capture());
+        OutboxEvent outboxEvent = outboxEventCaptor.getValue();
+        assertEquals(TICKET_UPDATES_TOPIC, outboxEvent.getTopic());
+        assertEquals("ticket-1", outboxEvent.getEventKey());
+        assertNotNull(outboxEvent.getCreatedAt());
+        assertEquals(event, new TicketStatusUpdatedEventDeserializer().deserialize(TICKET_UPDATES_TOPIC, outboxEvent.getPayload()));
+    }
+}
@@ -0,0 +1,61 @@
+package com.sporty.group.ticketmanagementservice.service;
+
+import com.sporty.group.ticketmanagementservice.model.Ticket;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketUpdateRetryTest {
+
+    private final TicketUpdateRetry retry = new TicketUpdateRetry(3, 0);
+
+    @Test
+    void run_shouldRunUpdateAgain_afterOptimisticLockingFailure() {
+        // Given: an update that conflicts twice
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        retry.run(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Ticket.class, "ticket-1");
+            }
+        });
+
+        // Then
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void run_shouldThrowLastFailure_whenAttemptsAreUsedUp() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When / Then
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> retry.run(() -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Ticket.class, "ticket-1");
+        }));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void run_shouldNotRetryOtherFailures() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> retry.run(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Database unavailable");
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void constructor_shouldRejectNonPositiveMaxAttempts() {
+        assertThrows(IllegalArgumentException.class, () -> new TicketUpdateRetry(0, 0));
+    }
+}